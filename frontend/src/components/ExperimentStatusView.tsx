@@ -10,7 +10,8 @@ interface ExperimentConfiguration {
 interface ExperimentStatusData {
   cyclesCompleted: number;
   organismsReplaced: number;
-  status: 'STOPPED' | 'RUNNING' | 'PAUSED' | 'EXCEPTION';
+  status: 'STOPPED' | 'RUNNING' | 'PAUSED' | 'EXCEPTION' | 'QUEUED';
+  queuePosition: number;
 }
 
 interface ExperimentStatusViewProps {
@@ -89,7 +90,8 @@ const ExperimentStatusView: React.FC<ExperimentStatusViewProps> = ({
       
       // Notify parent component of status changes
       if (onStatusChange) {
-        const newIsRunning = data.status === 'RUNNING';
+        // A queued experiment starts on its own, so keep polling while it waits
+        const newIsRunning = data.status === 'RUNNING' || data.status === 'QUEUED';
         const newStatusText = getStatusDisplayText(data);
         onStatusChange(newIsRunning, newStatusText);
       }
@@ -105,6 +107,8 @@ const ExperimentStatusView: React.FC<ExperimentStatusViewProps> = ({
       return 'Experiment Paused';
     } else if (data.status === 'EXCEPTION') {
       return 'Experiment Error';
+    } else if (data.status === 'QUEUED') {
+      return `Experiment Queued (position ${data.queuePosition})`;
     } else {
       return 'No Experiment Running';
     }
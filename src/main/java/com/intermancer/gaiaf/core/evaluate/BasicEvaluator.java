@@ -1,30 +1,33 @@
 package com.intermancer.gaiaf.core.evaluate;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.util.LinkedList;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.Queue;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.intermancer.gaiaf.core.organism.CompiledOrganism;
 import com.intermancer.gaiaf.core.organism.DataQuantum;
+import com.intermancer.gaiaf.core.organism.GenomeHash;
 import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.OrganismCompilationException;
+import com.intermancer.gaiaf.core.organism.OrganismCompiler;
+import com.intermancer.gaiaf.core.organism.OrganismProgram;
+import com.intermancer.gaiaf.core.organism.kernel.ColumnKernels;
 
 /**
  * A concrete implementation of the Evaluator interface that provides fitness scoring
  * for organisms using a prediction-based evaluation methodology. It operates by feeding
  * historical time-series data to an organism and measuring how accurately the organism
  * can predict future values.
+ *
+ * <p>evaluate() and evaluateAll() may be called from several threads at once. Settings
+ * such as the target index or the evaluation mode should only be changed while no
+ * evaluation is running.</p>
  */
 @Component
 public class BasicEvaluator implements Evaluator {
@@ -32,9 +35,21 @@ public class BasicEvaluator implements Evaluator {
     private static final String DEFAULT_HISTORICAL_DATA_PATH = "/training-data/HistoricalPrices-reversed.csv";
     private String trainingDataPath = DEFAULT_HISTORICAL_DATA_PATH;
     private static final int DEFAULT_LEAD_CONSUMPTION_COUNT = 3;
-    private static DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yy");
-    List<DataQuantum> historicalData;
+    private static final int DEFAULT_BATCH_BLOCK_SIZE = 512;
+    private static final double NO_CUTOFF = Double.POSITIVE_INFINITY;
 
+    /**
+     * The historical data and what is derived from it, replaced as a whole whenever the
+     * data changes so that concurrent evaluations never see a half-built set
+     */
+    private volatile HistoricalDataset historicalData;
+
+    /**
+     * The registry the historical data is acquired from, and the lease on the data
+     * currently in use, or null if the data was set directly or not yet loaded
+     */
+    private DatasetRegistry datasetRegistry;
+    private DatasetRegistry.Lease datasetLease;
     
     /**
      * Specifies which data column (by index) contains the target values to predict
@@ -45,6 +60,32 @@ public class BasicEvaluator implements Evaluator {
      * Defines the number of data points the organism processes before making a prediction
      */
     private int leadConsumptionCount = DEFAULT_LEAD_CONSUMPTION_COUNT;
+
+    /**
+     * Whether organisms are run over the historical data one row or one column at a time
+     */
+    private EvaluationMode evaluationMode = EvaluationMode.COLUMN;
+
+    /**
+     * The kernels used to run genes and reduce errors in COLUMN mode
+     */
+    private ColumnKernels columnKernels = ColumnKernels.getDefault();
+
+    /**
+     * The number of rows each organism is run over at a time in evaluateAll()
+     */
+    private int batchBlockSize = DEFAULT_BATCH_BLOCK_SIZE;
+
+    /**
+     * Scores of previously evaluated genomes, or null to evaluate every organism
+     */
+    private FitnessCache fitnessCache;
+
+    /**
+     * Columns computed by previously evaluated organisms, or null to run every program
+     * from its first instruction
+     */
+    private IntermediateColumnCache intermediateColumnCache;
     
     /**
      * Default constructor using sensible defaults.
@@ -64,157 +105,791 @@ public class BasicEvaluator implements Evaluator {
     public BasicEvaluator(int targetIndex, int leadConsumptionCount) {
         this.targetIndex = targetIndex;
         this.leadConsumptionCount = leadConsumptionCount;
+        // Unless a shared registry is set, each evaluator loads its own copy of the data
+        this.datasetRegistry = new DatasetRegistry(0);
+    }
+
+    /**
+     * Constructor used by Spring, applying the evaluator settings from the application configuration.
+     *
+     * @param evaluatorConfiguration The evaluator settings
+     * @param fitnessCache The shared cache of fitness scores
+     * @param datasetRegistry The shared registry of training datasets
+     */
+    @Autowired
+    public BasicEvaluator(EvaluatorConfiguration evaluatorConfiguration, FitnessCache fitnessCache,
+                          DatasetRegistry datasetRegistry) {
+        this();
+        this.datasetRegistry = datasetRegistry;
+        this.evaluationMode = evaluatorConfiguration.getMode();
+        setBatchBlockSize(evaluatorConfiguration.getBatchBlockSize());
+        setIntermediateColumnCacheBytes(evaluatorConfiguration.getIntermediateColumnCacheBytes());
+        this.fitnessCache = fitnessCache;
     }
     
-    private class EvaluationState {
-        private final Queue<Double> leadData = new LinkedList<>();
-        private boolean leadCountMet = false;
-        private int leadCount = 0;
-
-        boolean offerPrediction(double prediction) {
-            leadData.offer(prediction);
-            if (!leadCountMet) {
-                leadCount++;
-                if (leadCount >= getLeadConsumptionCount()) {
-                    leadCountMet = true;
-                }
+    /**
+     * Produces an organism's prediction for one row of historical data.
+     */
+    private interface RowPredictor {
+        double predict(DataQuantum dataQuantum);
+    }
+
+    /**
+     * Runs the organism as an OrganismProgram, recompiling only when the row width changes.
+     */
+    private class CompiledRowPredictor implements RowPredictor {
+        private final Organism organism;
+        private OrganismProgram program;
+        private double[] registers;
+
+        CompiledRowPredictor(Organism organism) {
+            this.organism = organism;
+        }
+
+        @Override
+        public double predict(DataQuantum dataQuantum) {
+            if (program == null || program.getInputWidth() != dataQuantum.size()) {
+                program = compile(organism, dataQuantum.size());
+                registers = new double[program.getRegisterCount()];
             }
-            return leadCountMet;
+            dataQuantum.copyValuesInto(registers);
+            return program.execute(registers);
         }
+    }
 
-        double getPrediction() {
-            return leadData.poll();
+    /**
+     * Feeds the organism a scratch copy of each row through Organism.consume().
+     */
+    private static class InterpretedRowPredictor implements RowPredictor {
+        private final Organism organism;
+        private final DataQuantum dataQuantumCopy = new DataQuantum();
+
+        InterpretedRowPredictor(Organism organism) {
+            this.organism = organism;
+        }
+
+        @Override
+        public double predict(DataQuantum dataQuantum) {
+            // Copy into the reused scratch DataQuantum to prevent mutation of cached data
+            dataQuantumCopy.copyFrom(dataQuantum);
+            
+            // Feed the organism the copied data
+            organism.consume(dataQuantumCopy);
+            
+            // Get the organism's prediction (final DataPoint value)
+            return dataQuantumCopy.getValue(dataQuantumCopy.size() - 1);
         }
     }
     
+    /**
+     * The columns one CompiledOrganism computes over the whole series, filled in one
+     * block of rows at a time so that they can be kept in the intermediate column cache.
+     * The program starts from the columns of an ancestor sharing its leading instructions,
+     * whose rows for each block are copied in, because the column kernels read from the
+     * start of their arrays.
+     */
+    private static final class RetainedColumns {
+        private final CompiledOrganism program;
+        private final int firstInstruction;
+        private final int inputWidth;
+        private final int firstOutputSlot;
+        // Every register over the whole series: the dataset's input columns, the
+        // ancestor's shared columns and the columns this program writes
+        private final double[][] columns;
+        private final double[][] blockColumns;
+
+        RetainedColumns(CompiledOrganism program, ColumnarDataset dataset, IntermediateColumnCache.Entry ancestor,
+                        int firstInstruction, int blockSize) {
+            this.program = program;
+            this.firstInstruction = firstInstruction;
+            this.inputWidth = program.getInputWidth();
+            this.firstOutputSlot = program.getFirstOutputSlot(firstInstruction);
+            int registerCount = program.getRegisterCount();
+            this.columns = new double[registerCount][];
+            System.arraycopy(dataset.getColumns(), 0, columns, 0, inputWidth);
+            if (ancestor != null) {
+                System.arraycopy(ancestor.columns(), inputWidth, columns, inputWidth, firstOutputSlot - inputWidth);
+            }
+            for (int slot = firstOutputSlot; slot < registerCount; slot++) {
+                columns[slot] = new double[dataset.getRowCount()];
+            }
+            this.blockColumns = new double[registerCount][];
+            for (int slot = inputWidth; slot < firstOutputSlot; slot++) {
+                blockColumns[slot] = new double[blockSize];
+            }
+        }
+
+        /**
+         * Runs the program over one block of rows and keeps the columns it writes.
+         *
+         * @return The predictions for the block
+         */
+        double[] executeBlock(double[][] inputBlock, int firstRow, int length, ColumnKernels kernels) {
+            System.arraycopy(inputBlock, 0, blockColumns, 0, inputWidth);
+            for (int slot = inputWidth; slot < firstOutputSlot; slot++) {
+                System.arraycopy(columns[slot], firstRow, blockColumns[slot], 0, length);
+            }
+            double[] predictions = program.executeColumnsFrom(blockColumns, firstInstruction, length, kernels);
+            for (int slot = firstOutputSlot; slot < columns.length; slot++) {
+                System.arraycopy(blockColumns[slot], 0, columns[slot], firstRow, length);
+            }
+            return predictions;
+        }
+    }
+
     /**
      * Evaluates an organism by feeding it historical data and measuring prediction accuracy.
+     * The organism is compiled with OrganismCompiler so that each row runs as a flat
+     * program; if it cannot be compiled, it is interpreted through Organism.consume().
+     * In COLUMN mode, each gene of the compiled program is applied to the whole series
+     * at once, as long as every row of the historical data has the same width.
+     * When a FitnessCache is set, a genome that has already been scored against the
+     * same data and parameters is not evaluated again. When the intermediate column
+     * cache is enabled, a child starts from the columns its parent computed for the
+     * Genes it inherited unchanged.
      * 
      * @param organism The organism to evaluate
      * @return The cumulative prediction error score (lower is better, 0 is perfect)
      */
     @Override
     public double evaluate(Organism organism) {
-        if (historicalData == null) {
-            // Load historical data only once
-            historicalData = loadHistoricalData();
+        return evaluate(organism, NO_CUTOFF);
+    }
+
+    /**
+     * Evaluates an organism, giving up as soon as its accumulated error exceeds the
+     * cutoff or stops being finite. Since the error only grows, the full score could
+     * not have come back under the cutoff. In COLUMN mode the organism is run over
+     * blocks of batchBlockSize rows so that the remaining blocks are not computed at all.
+     *
+     * @param organism The organism to evaluate
+     * @param cutoff The score above which the organism is rejected; Double.POSITIVE_INFINITY
+     *               evaluates it in full
+     * @return The organism's score, or REJECTED_SCORE
+     */
+    @Override
+    public double evaluate(Organism organism, double cutoff) {
+        if (evaluationMode == EvaluationMode.STREAMING) {
+            return evaluateAll(List.of(organism), cutoff)[0];
+        }
+        HistoricalDataset data = getHistoricalData();
+        if (fitnessCache == null) {
+            return scoreOf(evaluateUncached(organism, data, cutoff));
+        }
+
+        FitnessKey fitnessKey = getFitnessKey(organism, data.getHash());
+        Double cachedScore = fitnessCache.get(fitnessKey);
+        if (cachedScore != null) {
+            return cachedScore;
+        }
+        EvaluationState state = evaluateUncached(organism, data, cutoff);
+        if (state != null) {
+            fitnessCache.put(fitnessKey, state.toTerminalState(targetIndex));
+        }
+        return scoreOf(state);
+    }
+
+    /**
+     * @return The state the organism's evaluation ended in, or null if it was rejected
+     */
+    private EvaluationState evaluateUncached(Organism organism, HistoricalDataset data, double cutoff) {
+        if (evaluationMode == EvaluationMode.COLUMN) {
+            ColumnarDataset dataset = data.getColumns();
+            if (dataset != null) {
+                try {
+                    OrganismProgram program = compile(organism, dataset.getColumnCount());
+                    if (cutoff != NO_CUTOFF || intermediateColumnCache != null) {
+                        return scoreBlocks(List.of(organism), new OrganismProgram[] { program }, data, cutoff)[0];
+                    }
+                    return scoreColumns(program, dataset);
+                } catch (OrganismCompilationException e) {
+                    return score(new InterpretedRowPredictor(organism), data.getRows(), cutoff);
+                }
+            }
         }
 
-        EvaluationState state = new EvaluationState();
+        try {
+            return score(new CompiledRowPredictor(organism), data.getRows(), cutoff);
+        } catch (OrganismCompilationException e) {
+            return score(new InterpretedRowPredictor(organism), data.getRows(), cutoff);
+        }
+    }
+
+    /**
+     * Builds the program used to evaluate an organism over rows of the given width.
+     * Subclasses can override this to supply a different OrganismProgram implementation.
+     *
+     * @param organism The organism to compile
+     * @param inputWidth The number of values in each row of historical data
+     * @return The program to execute for each row
+     * @throws OrganismCompilationException if the organism cannot be compiled, in which
+     *                                      case it is evaluated through Organism.consume()
+     */
+    protected OrganismProgram compile(Organism organism, int inputWidth) {
+        return OrganismCompiler.compile(organism, inputWidth);
+    }
+
+    private EvaluationState score(RowPredictor predictor, List<DataQuantum> rows, double cutoff) {
+        EvaluationState state = new EvaluationState(leadConsumptionCount);
 
         // Prediction phase: feed data and compare predictions against actual values
-        return historicalData.stream()
-            .mapToDouble(dataQuantum -> {
-                // Create a copy to prevent mutation of cached data
-                DataQuantum dataQuantumCopy = dataQuantum.copyOf();
-                
-                // Feed the organism the copied data
-                organism.consume(dataQuantumCopy);
-                
-                // Get the organism's prediction (final DataPoint value)
-                double futurePrediction = dataQuantumCopy.getValue(dataQuantumCopy.getDataPoints().size() - 1);
-                double currentPrediction = 0.0;
-
-                if (state.offerPrediction(futurePrediction)) {
-                    currentPrediction = state.getPrediction();
+        for (DataQuantum dataQuantum : rows) {
+            state.accept(predictor.predict(dataQuantum), dataQuantum.getValue(targetIndex));
+            if (cutoff != NO_CUTOFF && state.isHopeless(cutoff)) {
+                return null;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * @return The score of the state an evaluation ended in, or REJECTED_SCORE for null
+     */
+    private static double scoreOf(EvaluationState state) {
+        return state != null ? state.getScore() : REJECTED_SCORE;
+    }
+
+    /**
+     * Scores a whole series at once. Predictions are computed for every row, then
+     * compared against the actual values by EvaluationState in the same order as the
+     * row-at-a-time path; scalar kernels give identical scores, vector kernels may
+     * differ in the last bits only where the program takes a sine.
+     */
+    private EvaluationState scoreColumns(OrganismProgram program, ColumnarDataset dataset) {
+        int rowCount = dataset.getRowCount();
+        double[] predictions = program.executeColumns(dataset.getColumns(), rowCount, columnKernels);
+        EvaluationState state = new EvaluationState(leadConsumptionCount);
+        state.acceptBlock(predictions, dataset.getColumn(targetIndex), 0, rowCount, columnKernels);
+        return state;
+    }
+
+    /**
+     * Sets up the columns each organism computes to be kept in the intermediate column
+     * cache, starting from the columns of the organism it inherited its leading Genes
+     * from. The inherited Gene count only bounds the reuse: the shared prefix is confirmed
+     * against the ancestor's program, so an organism changed outside its MutationCommands
+     * is still scored correctly. Columns cached from an earlier dataset are recognised by
+     * their input columns and ignored.
+     *
+     * @return The columns of each organism whose program is a CompiledOrganism, or null
+     *         for the others
+     */
+    private RetainedColumns[] retainColumns(List<Organism> organisms, OrganismProgram[] programs,
+                                            ColumnarDataset dataset, int blockSize) {
+        RetainedColumns[] retained = new RetainedColumns[programs.length];
+        for (int i = 0; i < programs.length; i++) {
+            if (!(programs[i] instanceof CompiledOrganism program)) {
+                continue;
+            }
+            Organism organism = organisms.get(i);
+            IntermediateColumnCache.Entry ancestor = null;
+            int firstInstruction = 0;
+            if (organism.getInheritedFromId() != null && organism.getInheritedGeneCount() > 0) {
+                ancestor = intermediateColumnCache.get(organism.getInheritedFromId());
+                if (ancestor != null && isComputedFrom(ancestor, dataset)) {
+                    firstInstruction = program.getSharedPrefixLength(ancestor.program(),
+                            organism.getInheritedGeneCount());
+                    intermediateColumnCache.recordReuse(firstInstruction);
+                } else {
+                    ancestor = null;
                 }
-                
-                // Get the actual target value
-                double actualValue = dataQuantum.getValue(targetIndex);
-                
-                // Calculate prediction error
-                return Math.abs(currentPrediction - actualValue);
-            })
-            .sum();
+            }
+            retained[i] = new RetainedColumns(program, dataset, ancestor, firstInstruction, blockSize);
+        }
+        return retained;
+    }
+
+    private static boolean isComputedFrom(IntermediateColumnCache.Entry entry, ColumnarDataset dataset) {
+        double[][] inputColumns = dataset.getColumns();
+        return inputColumns.length > 0 && entry.columns()[0] == inputColumns[0];
     }
 
     /**
-     * Sets the historical data used for evaluation. Useful for testing.
+     * Evaluates several organisms in one pass over the historical data. In COLUMN mode
+     * the data is walked in blocks of batchBlockSize rows, and every organism is run
+     * over a block while it is still in cache before moving on to the next block.
+     * Organisms that cannot be compiled are evaluated through Organism.consume() afterwards.
+     * When the intermediate column cache is enabled, each child starts from its parent's
+     * columns and the columns it computes are collected block by block, to be cached
+     * unless it is rejected. In ROW mode, or when the rows differ in width, each organism
+     * is evaluated in turn. Cached genomes, and repeats of a genome within the list, are
+     * only evaluated once.
+     *
+     * @param organisms The organisms to evaluate
+     * @return The score of each organism, in the same order as the list
      */
-    public void setHistoricalData(List<DataQuantum> historicalData) {
-        this.historicalData = historicalData;
+    @Override
+    public double[] evaluateAll(List<Organism> organisms) {
+        return evaluateAll(organisms, NO_CUTOFF);
     }
-    
+
     /**
-     * Loads historical data from the CSV file using streams.
-     * 
-     * @return List of DataQuantum objects representing the historical data
+     * Evaluates several organisms as evaluateAll() does, stopping work on each organism
+     * as soon as its accumulated error exceeds the cutoff. In the blocked pass an
+     * organism is dropped after the first block that puts it over, and the pass ends
+     * once every organism has been dropped.
+     *
+     * @param organisms The organisms to evaluate
+     * @param cutoff The score above which an organism is rejected; Double.POSITIVE_INFINITY
+     *               evaluates every organism in full
+     * @return The score of each organism, or REJECTED_SCORE, in the same order as the list
+     */
+    @Override
+    public double[] evaluateAll(List<Organism> organisms, double cutoff) {
+        // In STREAMING mode the data is never held, and files are told apart by their fingerprint
+        HistoricalDataset data = evaluationMode == EvaluationMode.STREAMING ? null : getHistoricalData();
+        if (fitnessCache == null) {
+            EvaluationState[] states = evaluateAllUncached(organisms, data, cutoff);
+            double[] scores = new double[states.length];
+            for (int i = 0; i < states.length; i++) {
+                scores[i] = scoreOf(states[i]);
+            }
+            return scores;
+        }
+
+        // Look up every organism, collecting each distinct uncached genome once
+        double[] scores = new double[organisms.size()];
+        FitnessKey[] fitnessKeys = new FitnessKey[organisms.size()];
+        Map<FitnessKey, Integer> uncachedIndexes = new LinkedHashMap<>();
+        List<Organism> uncachedOrganisms = new ArrayList<>();
+        long datasetHash = data != null ? data.getHash() : TrainingDataFiles.fingerprint(trainingDataPath).hashCode();
+        for (int i = 0; i < organisms.size(); i++) {
+            fitnessKeys[i] = getFitnessKey(organisms.get(i), datasetHash);
+            if (uncachedIndexes.containsKey(fitnessKeys[i])) {
+                fitnessCache.recordHit();
+                continue;
+            }
+            Double cachedScore = fitnessCache.get(fitnessKeys[i]);
+            if (cachedScore != null) {
+                scores[i] = cachedScore;
+            } else {
+                uncachedIndexes.put(fitnessKeys[i], uncachedOrganisms.size());
+                uncachedOrganisms.add(organisms.get(i));
+            }
+        }
+
+        EvaluationState[] uncachedStates = evaluateAllUncached(uncachedOrganisms, data, cutoff);
+        for (Map.Entry<FitnessKey, Integer> entry : uncachedIndexes.entrySet()) {
+            EvaluationState state = uncachedStates[entry.getValue()];
+            if (state != null) {
+                fitnessCache.put(entry.getKey(), state.toTerminalState(targetIndex));
+            }
+        }
+        for (int i = 0; i < organisms.size(); i++) {
+            Integer uncachedIndex = uncachedIndexes.get(fitnessKeys[i]);
+            if (uncachedIndex != null) {
+                scores[i] = scoreOf(uncachedStates[uncachedIndex]);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * @return The state each organism's evaluation ended in, or null for those rejected
      */
-    private List<DataQuantum> loadHistoricalData() {
+    private EvaluationState[] evaluateAllUncached(List<Organism> organisms, HistoricalDataset data, double cutoff) {
+        if (data == null) {
+            return evaluateAllStreamed(organisms, cutoff);
+        }
+        ColumnarDataset dataset = evaluationMode == EvaluationMode.COLUMN ? data.getColumns() : null;
+        if (dataset == null) {
+            EvaluationState[] states = new EvaluationState[organisms.size()];
+            for (int i = 0; i < states.length; i++) {
+                states[i] = evaluateUncached(organisms.get(i), data, cutoff);
+            }
+            return states;
+        }
+
+        OrganismProgram[] programs = compileAll(organisms, dataset.getColumnCount());
+        return scoreBlocks(organisms, programs, data, cutoff);
+    }
+
+    /**
+     * Runs every program over the historical data in memory one block of batchBlockSize
+     * rows at a time, then evaluates the organisms that could not be run as programs.
+     */
+    private EvaluationState[] scoreBlocks(List<Organism> organisms, OrganismProgram[] programs,
+                                          HistoricalDataset data, double cutoff) {
+        ColumnarDataset dataset = data.getColumns();
+        int blockSize = Math.min(batchBlockSize, Math.max(dataset.getRowCount(), 1));
+        RetainedColumns[] retained = intermediateColumnCache != null
+                ? retainColumns(organisms, programs, dataset, blockSize)
+                : null;
+        EvaluationState[] states;
+        try (ColumnChunkReader reader = ColumnChunkReader.of(dataset)) {
+            states = scoreBlocks(programs, retained, reader, blockSize, cutoff);
+        } catch (IOException e) {
+            // Copying from memory does not fail
+            throw new UncheckedIOException(e);
+        }
+        if (retained != null) {
+            // Rejected organisms never become parents, so only finished columns are kept
+            for (int i = 0; i < retained.length; i++) {
+                String id = organisms.get(i).getId();
+                if (retained[i] != null && programs[i] != null && states[i] != null && id != null) {
+                    intermediateColumnCache.put(id, retained[i].program, retained[i].columns,
+                            dataset.getRowCount());
+                }
+            }
+        }
+        scoreUncompiled(organisms, programs, states, data, cutoff);
+        return states;
+    }
+
+    /**
+     * Runs every program over the rows of the reader one block of rows at a time, carrying
+     * each organism's EvaluationState from block to block, so only one block of input is
+     * held at once. Organisms whose error exceeds the cutoff are dropped and left with a
+     * null state. Organisms without a program, or whose program fails while running, are
+     * left with a null program for the caller to evaluate through Organism.consume().
+     * Programs with retained columns start from their ancestor's columns and keep every
+     * column they compute.
+     */
+    private EvaluationState[] scoreBlocks(OrganismProgram[] programs, RetainedColumns[] retained,
+                                          ColumnChunkReader reader, int blockSize, double cutoff)
+            throws IOException {
+        int organismCount = programs.length;
+        int columnCount = reader.getColumnCount();
+        EvaluationState[] states = new EvaluationState[organismCount];
+        boolean[] rejected = new boolean[organismCount];
+        int activeCount = 0;
+        for (int i = 0; i < organismCount; i++) {
+            if (programs[i] != null) {
+                states[i] = new EvaluationState(leadConsumptionCount);
+                activeCount++;
+            }
+        }
+
+        double[][] blockColumns = new double[columnCount][blockSize];
+        int targetColumn = resolveTargetColumn(columnCount);
+        int firstRow = 0;
+        int length;
+        while (activeCount > 0 && (length = reader.read(blockColumns)) > 0) {
+            for (int i = 0; i < organismCount; i++) {
+                if (programs[i] == null || rejected[i]) {
+                    continue;
+                }
+                try {
+                    double[] predictions = retained != null && retained[i] != null
+                            ? retained[i].executeBlock(blockColumns, firstRow, length, columnKernels)
+                            : programs[i].executeColumns(blockColumns, length, columnKernels);
+                    states[i].acceptBlock(predictions, blockColumns[targetColumn], 0, length, columnKernels);
+                    if (cutoff != NO_CUTOFF && states[i].isHopeless(cutoff)) {
+                        rejected[i] = true;
+                        activeCount--;
+                    }
+                } catch (OrganismCompilationException e) {
+                    programs[i] = null;
+                    activeCount--;
+                }
+            }
+            firstRow += length;
+        }
+
+        for (int i = 0; i < organismCount; i++) {
+            if (rejected[i] || programs[i] == null) {
+                states[i] = null;
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Scores the organisms left without a program by scoreBlocks(), feeding them the
+     * historical data through Organism.consume().
+     */
+    private void scoreUncompiled(List<Organism> organisms, OrganismProgram[] programs, EvaluationState[] states,
+                                 HistoricalDataset data, double cutoff) {
+        for (int i = 0; i < programs.length; i++) {
+            if (programs[i] == null) {
+                states[i] = score(new InterpretedRowPredictor(organisms.get(i)), data.getRows(), cutoff);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the organisms in STREAMING mode: the data at trainingDataPath is read in
+     * chunks of batchBlockSize rows, so memory use depends on the chunk size and not on the
+     * length of the series. Organisms that cannot be run as programs are evaluated through
+     * Organism.consume() in a second pass over the data.
+     */
+    private EvaluationState[] evaluateAllStreamed(List<Organism> organisms, double cutoff) {
         try {
-            Path dataPath = Paths.get(getClass().getResource(getTrainingDataPath()).toURI());
-            
-            try (Stream<String> lines = Files.lines(dataPath)) {
-                return lines
-                    .skip(1) // Skip header row
-                    .map(this::parseDataRow)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            OrganismProgram[] programs;
+            EvaluationState[] states;
+            try (ColumnChunkReader reader = TrainingDataFiles.openChunkReader(trainingDataPath)) {
+                programs = compileAll(organisms, reader.getColumnCount());
+                states = scoreBlocks(programs, null, reader, batchBlockSize, cutoff);
             }
-        } catch (IOException | URISyntaxException e) {
-            throw new RuntimeException("Failed to load historical data from " + DEFAULT_HISTORICAL_DATA_PATH, e);
+            scoreUncompiledStreamed(organisms, programs, states, cutoff);
+            return states;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to stream historical data from " + trainingDataPath, e);
         }
     }
-    
+
     /**
-     * Parses a CSV row into a DataQuantum.
-     * 
-     * @param line The CSV line to parse
-     * @return DataQuantum containing the parsed values, or null if parsing fails
+     * Scores the organisms left without a program in one more pass over the data at
+     * trainingDataPath, turning each row of a chunk into a DataQuantum that every such
+     * organism consumes.
      */
-    private DataQuantum parseDataRow(String line) {
-        String[] values = line.split(",");
-        if (values.length < 2) {
+    private void scoreUncompiledStreamed(List<Organism> organisms, OrganismProgram[] programs,
+                                         EvaluationState[] scoredStates, double cutoff) throws IOException {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < programs.length; i++) {
+            if (programs[i] == null) {
+                indexes.add(i);
+            }
+        }
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        RowPredictor[] predictors = new RowPredictor[indexes.size()];
+        EvaluationState[] states = new EvaluationState[indexes.size()];
+        boolean[] rejected = new boolean[indexes.size()];
+        for (int k = 0; k < predictors.length; k++) {
+            predictors[k] = new InterpretedRowPredictor(organisms.get(indexes.get(k)));
+            states[k] = new EvaluationState(leadConsumptionCount);
+        }
+        int activeCount = predictors.length;
+        try (ColumnChunkReader reader = TrainingDataFiles.openChunkReader(trainingDataPath)) {
+            int columnCount = reader.getColumnCount();
+            double[][] chunkColumns = new double[columnCount][batchBlockSize];
+            int targetColumn = resolveTargetColumn(columnCount);
+            int length;
+            while (activeCount > 0 && (length = reader.read(chunkColumns)) > 0) {
+                for (int row = 0; row < length; row++) {
+                    DataQuantum dataQuantum = new DataQuantum();
+                    for (int column = 0; column < columnCount; column++) {
+                        dataQuantum.addValue(chunkColumns[column][row]);
+                    }
+                    for (int k = 0; k < predictors.length; k++) {
+                        if (rejected[k]) {
+                            continue;
+                        }
+                        states[k].accept(predictors[k].predict(dataQuantum), chunkColumns[targetColumn][row]);
+                        if (cutoff != NO_CUTOFF && states[k].isHopeless(cutoff)) {
+                            rejected[k] = true;
+                            activeCount--;
+                        }
+                    }
+                }
+            }
+        }
+        for (int k = 0; k < predictors.length; k++) {
+            scoredStates[indexes.get(k)] = rejected[k] ? null : states[k];
+        }
+    }
+
+    /**
+     * Evaluates an organism over the rows of the historical data that follow those it was
+     * last evaluated over, resuming from the state that evaluation ended in. When rows have
+     * only been appended to the data since, the returned state's score is exactly the one
+     * a full evaluation of the whole data in the same mode and with the same kernels would
+     * give, while only the new rows are run. The cost is O(new rows), except that
+     * in ROW mode the rows of a dataset loaded as columns are built once on first use.
+     * The FitnessCache is not used. STREAMING mode is not supported.
+     *
+     * @param organism The organism to evaluate
+     * @param previous The state the organism's last evaluation ended in, or null to
+     *                 evaluate it over every row
+     * @return The state this evaluation ended in, holding the organism's score
+     * @throws IllegalArgumentException if previous was evaluated with another lead or
+     *                                  target index, or over more rows than the data has
+     * @throws IllegalStateException in STREAMING mode
+     */
+    public TerminalEvaluationState evaluateFrom(Organism organism, TerminalEvaluationState previous) {
+        if (evaluationMode == EvaluationMode.STREAMING) {
+            throw new IllegalStateException("Evaluation cannot resume in STREAMING mode");
+        }
+        HistoricalDataset data = getHistoricalData();
+        ColumnarDataset dataset = data.getColumns();
+        int rowCount = dataset != null ? dataset.getRowCount() : data.getRows().size();
+        EvaluationState state;
+        if (previous == null) {
+            state = new EvaluationState(leadConsumptionCount);
+        } else {
+            if (previous.leadConsumptionCount() != Math.max(leadConsumptionCount, 1)
+                    || previous.targetIndex() != targetIndex) {
+                throw new IllegalArgumentException("The previous evaluation used lead " + previous.leadConsumptionCount()
+                        + " and target index " + previous.targetIndex() + ", not " + leadConsumptionCount
+                        + " and " + targetIndex);
+            }
+            if (previous.rowCount() > rowCount) {
+                throw new IllegalArgumentException("The previous evaluation covered " + previous.rowCount()
+                        + " rows but the historical data has " + rowCount + "; rows may only be appended");
+            }
+            state = new EvaluationState(previous);
+        }
+
+        int firstRow = (int) state.getRowCount();
+        int newRowCount = rowCount - firstRow;
+        if (newRowCount > 0) {
+            if (evaluationMode == EvaluationMode.COLUMN && dataset != null) {
+                acceptNewColumns(organism, dataset, firstRow, newRowCount, state);
+            } else {
+                state = acceptNewRows(organism, data.getRows().subList(firstRow, rowCount), state);
+            }
+        }
+        return state.toTerminalState(targetIndex);
+    }
+
+    /**
+     * Looks up the state in which the last full evaluation of an organism's genome over the
+     * current historical data ended, as kept by the FitnessCache alongside its score. It
+     * can be passed to evaluateFrom() once rows have been appended to the data, so that an
+     * organism scored by evaluate() or evaluateAll() is not run over the same rows again.
+     * The lookup is not counted as a cache hit or miss.
+     *
+     * @param organism An organism
+     * @return The state its evaluation ended in, or null if no FitnessCache is set, the
+     *         evaluator is in STREAMING mode, or the genome's state is not cached
+     */
+    public TerminalEvaluationState getTerminalState(Organism organism) {
+        if (fitnessCache == null || evaluationMode == EvaluationMode.STREAMING) {
             return null;
         }
-        
-        DataQuantum dataQuantum = new DataQuantum();
-        
-        // Parse each column value
-        for (int i = 0; i < values.length; i++) {
-            String value = values[i].trim();
-            
-            // First column is the date - convert to epoch time
-            if (i == 0) {
-                try {
-                    long epochMillis = parseDateToEpoch(value);
-                    dataQuantum.addValue((double) epochMillis);
-                } catch (Exception e) {
-                    // If date parsing fails, skip this row
-                    return null;
+        return fitnessCache.getTerminalState(getFitnessKey(organism, getHistoricalData().getHash()));
+    }
+
+    /**
+     * Runs the organism's program over a copy of the new rows' columns, or feeds the new
+     * rows to Organism.consume() if it cannot be compiled.
+     */
+    private void acceptNewColumns(Organism organism, ColumnarDataset dataset, int firstRow, int newRowCount,
+                                  EvaluationState state) {
+        double[][] newColumns = new double[dataset.getColumnCount()][newRowCount];
+        for (int column = 0; column < newColumns.length; column++) {
+            System.arraycopy(dataset.getColumn(column), firstRow, newColumns[column], 0, newRowCount);
+        }
+        int targetColumn = resolveTargetColumn(newColumns.length);
+        try {
+            OrganismProgram program = compile(organism, newColumns.length);
+            double[] predictions = program.executeColumns(newColumns, newRowCount, columnKernels);
+            state.acceptBlock(predictions, newColumns[targetColumn], 0, newRowCount, columnKernels);
+        } catch (OrganismCompilationException e) {
+            RowPredictor predictor = new InterpretedRowPredictor(organism);
+            for (int row = 0; row < newRowCount; row++) {
+                DataQuantum dataQuantum = new DataQuantum();
+                for (double[] column : newColumns) {
+                    dataQuantum.addValue(column[row]);
                 }
-            } else {            
-                // Parse numerical values
-                try {
-                    double numericValue = Double.parseDouble(value);
-                    dataQuantum.addValue(numericValue);
-                } catch (NumberFormatException e) {
-                    // Skip non-numeric values
+                state.accept(predictor.predict(dataQuantum), newColumns[targetColumn][row]);
+            }
+        }
+    }
+
+    /**
+     * Feeds the new rows to the organism's program, starting again through
+     * Organism.consume() if it cannot be compiled for one of them.
+     *
+     * @return The state after the new rows
+     */
+    private EvaluationState acceptNewRows(Organism organism, List<DataQuantum> newRows, EvaluationState state) {
+        TerminalEvaluationState start = state.toTerminalState(targetIndex);
+        try {
+            acceptRows(new CompiledRowPredictor(organism), newRows, state);
+            return state;
+        } catch (OrganismCompilationException e) {
+            EvaluationState restarted = new EvaluationState(start);
+            acceptRows(new InterpretedRowPredictor(organism), newRows, restarted);
+            return restarted;
+        }
+    }
+
+    private void acceptRows(RowPredictor predictor, List<DataQuantum> rows, EvaluationState state) {
+        for (DataQuantum dataQuantum : rows) {
+            state.accept(predictor.predict(dataQuantum), dataQuantum.getValue(targetIndex));
+        }
+    }
+
+    /**
+     * Compiles every organism for rows of the given width, leaving a null program for
+     * those that cannot be compiled.
+     */
+    private OrganismProgram[] compileAll(List<Organism> organisms, int inputWidth) {
+        OrganismProgram[] programs = new OrganismProgram[organisms.size()];
+        for (int i = 0; i < programs.length; i++) {
+            try {
+                programs[i] = compile(organisms.get(i), inputWidth);
+            } catch (OrganismCompilationException e) {
+                programs[i] = null;
+            }
+        }
+        return programs;
+    }
+
+    /**
+     * Resolves targetIndex with the same wrapping rules as DataQuantum.getValue().
+     */
+    private int resolveTargetColumn(int columnCount) {
+        if (columnCount == 0) {
+            throw new IllegalStateException("No columns available");
+        }
+        return Math.floorMod(targetIndex, columnCount);
+    }
+
+    /**
+     * Builds the key under which an organism's score is cached: its genome together with
+     * everything else that determines the score.
+     */
+    private FitnessKey getFitnessKey(Organism organism, long datasetHash) {
+        return new FitnessKey(GenomeHash.of(organism), trainingDataPath, datasetHash,
+                targetIndex, leadConsumptionCount);
+    }
+
+    /**
+     * Returns the current historical data, acquiring it from the dataset registry on first
+     * use. Concurrent first calls acquire it only once.
+     */
+    private HistoricalDataset getHistoricalData() {
+        HistoricalDataset data = historicalData;
+        if (data == null) {
+            synchronized (this) {
+                data = historicalData;
+                if (data == null) {
+                    datasetLease = datasetRegistry.acquire(trainingDataPath);
+                    data = datasetLease.getDataset();
+                    historicalData = data;
                 }
             }
         }
-        
-        return dataQuantum.getDataPoints().isEmpty() ? null : dataQuantum;
+        return data;
     }
-    
+
     /**
-     * Parses a date string to epoch milliseconds.
-     * Assumes dates are in MM/dd/yy format with years starting with "20".
-     * All dates are assumed to be at midnight UTC.
-     * 
-     * @param dateStr The date string to parse (e.g., "01/12/17")
-     * @return The epoch time in milliseconds
+     * Sets the historical data used for evaluation. Useful for testing. The rows are
+     * read when this is called, so later changes to the list are not seen.
      */
-    private long parseDateToEpoch(String dateStr) {
-        LocalDate date = LocalDate.parse(dateStr, formatter);
-        
-        // For two-digit years, ensure they're in the 2000s
-        if (date.getYear() < 100) {
-            date = date.withYear(2000 + date.getYear());
+    public void setHistoricalData(List<DataQuantum> historicalData) {
+        replaceHistoricalData(new HistoricalDataset(historicalData));
+    }
+
+    /**
+     * Releases the dataset acquired from the registry, so that the next evaluation
+     * acquires the data at trainingDataPath again and sees any change to its file. Data
+     * set through setHistoricalData() is kept.
+     */
+    public synchronized void reloadHistoricalData() {
+        if (datasetLease != null) {
+            replaceHistoricalData(null);
+        }
+    }
+
+    /**
+     * Replaces the historical data, releasing the dataset acquired from the registry.
+     * Evaluations still running keep the snapshot they read.
+     */
+    private synchronized void replaceHistoricalData(HistoricalDataset data) {
+        if (datasetLease != null) {
+            datasetLease.close();
+            datasetLease = null;
+        }
+        this.historicalData = data;
+        if (intermediateColumnCache != null) {
+            intermediateColumnCache.clear();
         }
-        
-        // Convert to epoch milliseconds at midnight UTC
-        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
     }
     
     // Getters for configuration
@@ -240,11 +915,86 @@ public class BasicEvaluator implements Evaluator {
 
     public void setTrainingDataPath(String trainingDataPath) {
         this.trainingDataPath = trainingDataPath;
-        this.historicalData = null; // Reset historical data to reload with new path
+        replaceHistoricalData(null); // Reset historical data to reload with new path
+    }
+
+    public DatasetRegistry getDatasetRegistry() {
+        return datasetRegistry;
+    }
+
+    /**
+     * Sets the registry the historical data is acquired from, releasing the data acquired
+     * from the previous one so that it is loaded again from the new registry.
+     */
+    public synchronized void setDatasetRegistry(DatasetRegistry datasetRegistry) {
+        replaceHistoricalData(null);
+        this.datasetRegistry = datasetRegistry;
     }
 
     public void setTargetIndex(int targetIndex) {
         this.targetIndex = targetIndex;
     }
 
+    public EvaluationMode getEvaluationMode() {
+        return evaluationMode;
+    }
+
+    public void setEvaluationMode(EvaluationMode evaluationMode) {
+        this.evaluationMode = evaluationMode;
+    }
+
+    public ColumnKernels getColumnKernels() {
+        return columnKernels;
+    }
+
+    public void setColumnKernels(ColumnKernels columnKernels) {
+        this.columnKernels = columnKernels;
+        if (intermediateColumnCache != null) {
+            // Cached columns computed by other kernels may differ in the last bits
+            intermediateColumnCache.clear();
+        }
+    }
+
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    public void setFitnessCache(FitnessCache fitnessCache) {
+        this.fitnessCache = fitnessCache;
+    }
+
+    /**
+     * @return The memory budget of the intermediate column cache in bytes, or 0 if it is disabled
+     */
+    public long getIntermediateColumnCacheBytes() {
+        return intermediateColumnCache == null ? 0 : intermediateColumnCache.getBudgetBytes();
+    }
+
+    /**
+     * Replaces the intermediate column cache with an empty one of the given budget.
+     *
+     * @param budgetBytes The maximum number of bytes of computed columns to keep; 0 disables the cache
+     */
+    public void setIntermediateColumnCacheBytes(long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("Intermediate column cache budget cannot be negative");
+        }
+        this.intermediateColumnCache = budgetBytes == 0 ? null : new IntermediateColumnCache(budgetBytes);
+    }
+
+    IntermediateColumnCache getIntermediateColumnCache() {
+        return intermediateColumnCache;
+    }
+
+    public int getBatchBlockSize() {
+        return batchBlockSize;
+    }
+
+    public void setBatchBlockSize(int batchBlockSize) {
+        if (batchBlockSize < 1) {
+            throw new IllegalArgumentException("Batch block size must be at least 1");
+        }
+        this.batchBlockSize = batchBlockSize;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.IOException;
+
+/**
+ * Reads a series of equally wide rows of historical data in order, a chunk of rows at a
+ * time, into columns supplied by the caller. Only the chunk being read is held in memory,
+ * so a series can be evaluated whatever its length.
+ */
+public interface ColumnChunkReader extends AutoCloseable {
+
+    /**
+     * @return The number of values in each row
+     */
+    int getColumnCount();
+
+    /**
+     * Reads the next rows into the start of each chunk column.
+     *
+     * @param chunkColumns getColumnCount() arrays of equal length; as many rows as they
+     *                     hold are read, unless the series ends first
+     * @return The number of rows read, or 0 at the end of the series
+     * @throws IOException if the rows cannot be read
+     * @throws IllegalArgumentException if a row does not have getColumnCount() values
+     */
+    int read(double[][] chunkColumns) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    /**
+     * @param dataset Columns held in memory
+     * @return A reader that copies chunks out of the dataset
+     */
+    static ColumnChunkReader of(ColumnarDataset dataset) {
+        return new ColumnChunkReader() {
+            private int nextRow = 0;
+
+            @Override
+            public int getColumnCount() {
+                return dataset.getColumnCount();
+            }
+
+            @Override
+            public int read(double[][] chunkColumns) {
+                int length = chunkColumns.length == 0 ? 0
+                        : Math.min(chunkColumns[0].length, dataset.getRowCount() - nextRow);
+                for (int column = 0; column < chunkColumns.length; column++) {
+                    System.arraycopy(dataset.getColumn(column), nextRow, chunkColumns[column], 0, length);
+                }
+                nextRow += length;
+                return length;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
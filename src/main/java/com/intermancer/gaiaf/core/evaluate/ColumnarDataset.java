@@ -0,0 +1,148 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+
+/**
+ * An immutable, column-major copy of a series of equally sized DataQuanta.
+ * Column c holds the value at index c of every row, in row order, so that an
+ * operation can be applied to a whole series with one loop over a double[].
+ *
+ * <p>The arrays returned by getColumn() and getColumns() are the backing arrays
+ * and must not be modified.</p>
+ */
+public final class ColumnarDataset {
+
+    private final double[][] columns;
+    private final int rowCount;
+
+    private ColumnarDataset(double[][] columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Copies the given rows into columns.
+     *
+     * @param rows The rows to copy, which must all have the same number of values
+     * @return The columnar copy of the rows
+     * @throws IllegalArgumentException if the rows do not all have the same number of values
+     */
+    public static ColumnarDataset fromRows(List<DataQuantum> rows) {
+        int columnCount = rows.isEmpty() ? 0 : rows.get(0).size();
+        double[][] columns = new double[columnCount][rows.size()];
+        double[] rowValues = new double[columnCount];
+        for (int row = 0; row < rows.size(); row++) {
+            DataQuantum dataQuantum = rows.get(row);
+            if (dataQuantum.size() != columnCount) {
+                throw new IllegalArgumentException("Row " + row + " has " + dataQuantum.size()
+                        + " values but the first row has " + columnCount);
+            }
+            dataQuantum.copyValuesInto(rowValues);
+            for (int column = 0; column < columnCount; column++) {
+                columns[column][row] = rowValues[column];
+            }
+        }
+        return new ColumnarDataset(columns, rows.size());
+    }
+
+    /**
+     * Wraps columns that have already been read, such as those loaded by ColumnarDatasetFile.
+     * The arrays are used as they are, not copied.
+     *
+     * @param columns The columns, indexed by column, which must all have the same length
+     * @return The dataset backed by the columns
+     * @throws IllegalArgumentException if the columns do not all have the same length
+     */
+    public static ColumnarDataset fromColumns(double[][] columns) {
+        int rowCount = columns.length == 0 ? 0 : columns[0].length;
+        for (int column = 0; column < columns.length; column++) {
+            if (columns[column].length != rowCount) {
+                throw new IllegalArgumentException("Column " + column + " has " + columns[column].length
+                        + " values but the first column has " + rowCount);
+            }
+        }
+        return new ColumnarDataset(columns, rowCount);
+    }
+
+    /**
+     * Copies the columns back into rows, for the evaluations that run row by row.
+     *
+     * @return A new DataQuantum for each row
+     */
+    public List<DataQuantum> toRows() {
+        List<DataQuantum> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            DataQuantum dataQuantum = new DataQuantum();
+            for (double[] column : columns) {
+                dataQuantum.addValue(column[row]);
+            }
+            rows.add(dataQuantum);
+        }
+        return rows;
+    }
+
+    /**
+     * @param rows A series of rows
+     * @return true if every row has the same, non-zero number of values
+     */
+    public static boolean isRectangular(List<DataQuantum> rows) {
+        if (rows.isEmpty()) {
+            return false;
+        }
+        int columnCount = rows.get(0).size();
+        if (columnCount == 0) {
+            return false;
+        }
+        for (DataQuantum dataQuantum : rows) {
+            if (dataQuantum.size() != columnCount) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Returns a column, resolving the index with the same wrapping rules as
+     * DataQuantum.getValue().
+     *
+     * @param index The column index, which may be negative or larger than the column count
+     * @return The backing array of the column
+     * @throws IllegalStateException if the dataset has no columns
+     */
+    public double[] getColumn(int index) {
+        return columns[resolveColumnIndex(index)];
+    }
+
+    /**
+     * Resolves a column index with the same wrapping rules as DataQuantum.getValue().
+     *
+     * @param index The column index, which may be negative or larger than the column count
+     * @return The index of the column in the range 0 to getColumnCount() - 1
+     * @throws IllegalStateException if the dataset has no columns
+     */
+    public int resolveColumnIndex(int index) {
+        int size = columns.length;
+        if (size == 0) {
+            throw new IllegalStateException("No columns available");
+        }
+        return index >= 0 ? index % size : ((index % size) + size) % size;
+    }
+
+    /**
+     * @return The backing column arrays, indexed by column
+     */
+    public double[][] getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,305 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes a ColumnarDataset in a compact binary form, so that training data is
+ * loaded without parsing text.
+ *
+ * <p>The file is little-endian: a 24-byte header of the magic bytes "GCOL", the format
+ * version (int), the column count (int), a reserved int and the row count (long),
+ * followed by each column in turn as row count doubles. Files use the .gcol extension.</p>
+ *
+ * <p>map() memory-maps the file read-only and copies each column onto the heap, one bulk
+ * get per mapped window, because the evaluation kernels work on double[] columns. Nothing
+ * is parsed, but the dataset still takes as much heap as the file's data, and every JVM
+ * loading the file holds its own copy; within one JVM the DatasetRegistry shares it.
+ * openChunkReader() copies only the rows being read, for series larger than the heap.</p>
+ *
+ * <p>To convert a CSV file: {@code java -cp <classpath>
+ * com.intermancer.gaiaf.core.evaluate.ColumnarDatasetFile <input.csv> <output.gcol>}</p>
+ */
+public final class ColumnarDatasetFile {
+
+    /**
+     * The extension of files in this format
+     */
+    public static final String EXTENSION = ".gcol";
+
+    static final int MAGIC = 'G' | 'C' << 8 | 'O' << 16 | 'L' << 24;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    /**
+     * The most doubles mapped at once, keeping each mapping well below the 2 GB limit of a
+     * MappedByteBuffer
+     */
+    private static final int MAPPED_CHUNK_DOUBLES = 1 << 26;
+
+    private ColumnarDatasetFile() {
+    }
+
+    /**
+     * Writes a dataset to a file, replacing any file already there.
+     *
+     * @param dataset The dataset to write
+     * @param path The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ColumnarDataset dataset, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(dataset.getColumnCount()).putInt(0)
+                    .putLong(dataset.getRowCount()).flip();
+            writeFully(channel, header);
+
+            ByteBuffer buffer = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+            for (double[] column : dataset.getColumns()) {
+                int row = 0;
+                while (row < column.length) {
+                    int count = Math.min(buffer.capacity() / Double.BYTES, column.length - row);
+                    buffer.clear();
+                    buffer.asDoubleBuffer().put(column, row, count);
+                    buffer.limit(count * Double.BYTES);
+                    writeFully(channel, buffer);
+                    row += count;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a dataset by memory-mapping a file and copying each column into a double[].
+     *
+     * @param path The file to load
+     * @return The dataset in the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not in this format or is truncated
+     */
+    public static ColumnarDataset map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IllegalArgumentException(path + " is too short to be a columnar dataset");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            double[][] columns = allocateColumns(header, size, path.toString());
+            long position = HEADER_BYTES;
+            for (double[] column : columns) {
+                int row = 0;
+                while (row < column.length) {
+                    int count = Math.min(MAPPED_CHUNK_DOUBLES, column.length - row);
+                    channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Double.BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN)
+                            .asDoubleBuffer()
+                            .get(column, row, count);
+                    position += (long) count * Double.BYTES;
+                    row += count;
+                }
+            }
+            return ColumnarDataset.fromColumns(columns);
+        }
+    }
+
+    /**
+     * Opens a file for reading in chunks of rows. Each column is mapped in windows of at
+     * most MAPPED_CHUNK_DOUBLES values, so the file may hold more rows than fit in an
+     * array, and only the chunks read are copied onto the heap.
+     *
+     * @param path The file to read
+     * @return A reader of the file's rows, to be closed when done
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not in this format or is truncated
+     */
+    public static ColumnChunkReader openChunkReader(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer headerBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_BYTES, channel.size()))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (headerBuffer.capacity() < HEADER_BYTES) {
+                throw new IllegalArgumentException(path + " is too short to be a columnar dataset");
+            }
+            return new MappedChunkReader(channel, readHeader(headerBuffer, channel.size(), path.toString()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads chunks of rows through a window of each column mapped around the next row.
+     */
+    private static final class MappedChunkReader implements ColumnChunkReader {
+        private final FileChannel channel;
+        private final Header header;
+        private final DoubleBuffer[] windows;
+        private long windowStart = 0;
+        private long nextRow = 0;
+
+        private MappedChunkReader(FileChannel channel, Header header) {
+            this.channel = channel;
+            this.header = header;
+            this.windows = new DoubleBuffer[header.columnCount()];
+        }
+
+        @Override
+        public int getColumnCount() {
+            return header.columnCount();
+        }
+
+        @Override
+        public int read(double[][] chunkColumns) throws IOException {
+            int capacity = chunkColumns.length == 0 ? 0 : chunkColumns[0].length;
+            int length = (int) Math.min(capacity, header.rowCount() - nextRow);
+            int read = 0;
+            while (read < length) {
+                if (windows.length > 0 && (windows[0] == null || nextRow >= windowStart + windows[0].capacity())) {
+                    mapWindows();
+                }
+                int count = (int) Math.min(length - read, windowStart + windows[0].capacity() - nextRow);
+                int offset = (int) (nextRow - windowStart);
+                for (int column = 0; column < windows.length; column++) {
+                    windows[column].get(offset, chunkColumns[column], read, count);
+                }
+                read += count;
+                nextRow += count;
+            }
+            return read;
+        }
+
+        /**
+         * Maps the window of each column that starts at the next row.
+         */
+        private void mapWindows() throws IOException {
+            windowStart = nextRow;
+            long windowLength = Math.min(MAPPED_CHUNK_DOUBLES, header.rowCount() - windowStart);
+            for (int column = 0; column < windows.length; column++) {
+                long position = HEADER_BYTES + ((long) column * header.rowCount() + windowStart) * Double.BYTES;
+                windows[column] = channel.map(FileChannel.MapMode.READ_ONLY, position, windowLength * Double.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asDoubleBuffer();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads a dataset from a stream, for files that cannot be mapped, such as classpath
+     * resources packaged in a jar.
+     *
+     * @param input The stream, positioned at the start of the header
+     * @param source A description of the stream for error messages
+     * @return The dataset in the stream
+     * @throws IOException if the stream cannot be read
+     * @throws IllegalArgumentException if the stream is not in this format or is truncated
+     */
+    public static ColumnarDataset read(InputStream input, String source) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(input.readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException(source + " is too short to be a columnar dataset");
+        }
+        double[][] columns = allocateColumns(buffer.slice(0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN),
+                buffer.remaining(), source);
+        DoubleBuffer values = buffer.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        for (double[] column : columns) {
+            values.get(column);
+        }
+        return ColumnarDataset.fromColumns(columns);
+    }
+
+    /**
+     * Converts a CSV file of historical data into this format. Rows are parsed in parallel
+     * by a CsvIngester, so the same rows and values are skipped as when the CSV is loaded.
+     *
+     * @param csvPath The CSV file to read
+     * @param outputPath The file to write
+     * @return The converted dataset
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if the parsed rows do not all have the same number of values
+     */
+    public static ColumnarDataset convertCsv(Path csvPath, Path outputPath) throws IOException {
+        CsvIngester.Result result = new CsvIngester(0).ingest(csvPath);
+        ColumnarDataset dataset = result.columns() != null ? result.columns() : ColumnarDataset.fromRows(result.rows());
+        write(dataset, outputPath);
+        return dataset;
+    }
+
+    /**
+     * Converts a CSV file given as the first argument into the file given as the second.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ColumnarDatasetFile <input.csv> <output" + EXTENSION + ">");
+            System.exit(1);
+        }
+        ColumnarDataset dataset = convertCsv(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("Wrote %d rows of %d columns to %s%n",
+                dataset.getRowCount(), dataset.getColumnCount(), args[1]);
+    }
+
+    /**
+     * The counts read from a file's header
+     */
+    private record Header(int columnCount, long rowCount) {
+    }
+
+    /**
+     * Reads a header and checks it against the size of the data.
+     */
+    private static Header readHeader(ByteBuffer header, long size, String source) {
+        if (header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(source + " is not a columnar dataset");
+        }
+        int version = header.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException(source + " has unsupported format version " + version);
+        }
+        int columnCount = header.getInt(8);
+        long rowCount = header.getLong(16);
+        if (columnCount < 0 || rowCount < 0) {
+            throw new IllegalArgumentException(source + " has an invalid header");
+        }
+        long expectedSize;
+        try {
+            expectedSize = Math.addExact(HEADER_BYTES,
+                    Math.multiplyExact(Math.multiplyExact(columnCount, rowCount), Double.BYTES));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(source + " has an invalid header");
+        }
+        if (size != expectedSize) {
+            throw new IllegalArgumentException(source + " is " + size + " bytes but its header describes "
+                    + expectedSize);
+        }
+        return new Header(columnCount, rowCount);
+    }
+
+    /**
+     * Checks a header against the size of the data and allocates the columns it describes.
+     */
+    private static double[][] allocateColumns(ByteBuffer header, long size, String source) {
+        Header counts = readHeader(header, size, source);
+        if (counts.rowCount() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(source + " has too many rows to load; evaluate it in STREAMING mode");
+        }
+        return new double[counts.columnCount()][(int) counts.rowCount()];
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+
+/**
+ * Parses CSV historical data in parallel, straight from its bytes into primitive columns.
+ *
+ * <p>The text is split into byte ranges that start and end on line boundaries, and each
+ * range is parsed by its own thread without making a String of each line or value: dates
+ * are read digit by digit, and numbers with at most 18 significant digits and a small
+ * exponent are converted exactly with a single multiplication or division. Numbers in any
+ * other form, such as "NaN" or hexadecimal, are passed to Double.parseDouble().</p>
+ *
+ * <p>Rows and values are skipped exactly as HistoricalDataCsv.parseDataRow() skips them:
+ * the header row, rows with fewer than two values once trailing empty values are dropped,
+ * rows whose first value is not a MM/dd/yy date, and values that are not numbers. Each one
+ * skipped is counted and the first MAX_REPORTED_PROBLEMS are reported with their line
+ * numbers in the Result.</p>
+ */
+public final class CsvIngester {
+
+    /**
+     * The most skipped rows and values described in a Result; any more are only counted
+     */
+    public static final int MAX_REPORTED_PROBLEMS = 100;
+
+    /**
+     * The fewest bytes worth parsing on a thread of their own
+     */
+    private static final long MIN_RANGE_BYTES = 1 << 20;
+
+    /**
+     * The most bytes in one range, keeping each mapping well below the 2 GB limit of a
+     * MappedByteBuffer
+     */
+    private static final long MAX_RANGE_BYTES = 1 << 30;
+
+    /**
+     * The ranges per thread, so that threads given quickly parsed ranges take more
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int MAX_EXACT_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final int threadCount;
+
+    /**
+     * @param threadCount The threads parsing each file; 0 uses one per available processor
+     */
+    public CsvIngester(int threadCount) {
+        if (threadCount < 0) {
+            throw new IllegalArgumentException("CSV ingestion thread count cannot be negative");
+        }
+        this.threadCount = threadCount == 0 ? Runtime.getRuntime().availableProcessors() : threadCount;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * A skipped row or value.
+     *
+     * @param line The line number, counting the header as line 1
+     * @param reason Why the row or value was skipped
+     */
+    public record Problem(long line, String reason) {
+    }
+
+    /**
+     * The parsed data and what was skipped.
+     *
+     * @param columns The values in columns, or null if there are no rows or they differ in width
+     * @param rows The values in rows when columns is null, otherwise null
+     * @param skippedRowCount The number of rows skipped, not counting the header
+     * @param skippedValueCount The number of values skipped in the rows kept
+     * @param problems The first MAX_REPORTED_PROBLEMS rows and values skipped, in line order
+     */
+    public record Result(ColumnarDataset columns, List<DataQuantum> rows, long skippedRowCount,
+                         long skippedValueCount, List<Problem> problems) {
+
+        /**
+         * @return The number of rows parsed
+         */
+        public int getRowCount() {
+            return columns != null ? columns.getRowCount() : rows.size();
+        }
+
+        /**
+         * @return A snapshot of the parsed data, holding only its columns when it has them
+         */
+        public HistoricalDataset toHistoricalDataset() {
+            return columns != null ? new HistoricalDataset(columns) : new HistoricalDataset(rows);
+        }
+    }
+
+    /**
+     * Memory-maps a file and parses it.
+     *
+     * @param file The CSV file
+     * @return The parsed data
+     * @throws IOException if the file cannot be read
+     */
+    public Result ingest(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            return ingest(size, (start, length) -> channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+        }
+    }
+
+    /**
+     * Reads a stream whole and parses it, for text that cannot be mapped, such as a
+     * classpath resource packaged in a jar.
+     *
+     * @param input The CSV text, positioned at the header row
+     * @return The parsed data
+     * @throws IOException if the stream cannot be read
+     */
+    public Result ingest(InputStream input) throws IOException {
+        byte[] bytes = input.readAllBytes();
+        return ingest(bytes.length, (start, length) -> ByteBuffer.wrap(bytes, (int) start, length).slice());
+    }
+
+    /**
+     * A view of part of the text being parsed.
+     */
+    @FunctionalInterface
+    private interface ByteSource {
+        ByteBuffer slice(long start, int length) throws IOException;
+    }
+
+    private Result ingest(long size, ByteSource source) throws IOException {
+        long[] bounds = splitRanges(size, source);
+        int rangeCount = bounds.length - 1;
+        ParsedRange[] ranges = new ParsedRange[rangeCount];
+        if (rangeCount == 1 || threadCount == 1) {
+            for (int range = 0; range < rangeCount; range++) {
+                ranges[range] = parseRange(source, bounds, range);
+            }
+        } else {
+            parseInParallel(source, bounds, ranges);
+        }
+        return assemble(ranges);
+    }
+
+    /**
+     * Parses the ranges on a pool of platform threads, as parsing is bound by the processor.
+     */
+    private void parseInParallel(ByteSource source, long[] bounds, ParsedRange[] ranges) throws IOException {
+        List<Future<ParsedRange>> futures = new ArrayList<>(ranges.length);
+        try (ExecutorService threads = Executors.newFixedThreadPool(Math.min(threadCount, ranges.length),
+                Thread.ofPlatform().name("csv-ingester-", 0).daemon(true).factory())) {
+            for (int range = 0; range < ranges.length; range++) {
+                int index = range;
+                futures.add(threads.submit(() -> parseRange(source, bounds, index)));
+            }
+            for (int range = 0; range < ranges.length; range++) {
+                ranges[range] = futures.get(range).get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing CSV", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to parse CSV", e.getCause());
+        }
+    }
+
+    /**
+     * Divides the text into ranges of about equal size, moving each boundary forward to the
+     * start of the next line.
+     *
+     * @return The start of each range followed by the end of the last
+     */
+    private long[] splitRanges(long size, ByteSource source) throws IOException {
+        long rangeCount = Math.max(1, Math.min((long) threadCount * RANGES_PER_THREAD, size / MIN_RANGE_BYTES));
+        rangeCount = Math.max(rangeCount, (size + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+        long[] bounds = new long[(int) rangeCount + 1];
+        bounds[(int) rangeCount] = size;
+        for (int range = 1; range < rangeCount; range++) {
+            bounds[range] = Math.max(bounds[range - 1], nextLineStart(source, size, size * range / rangeCount));
+        }
+        return bounds;
+    }
+
+    /**
+     * @return The start of the first line that begins after the position, treating "\r\n"
+     *         as a single line break, or the size if there is none
+     */
+    private static long nextLineStart(ByteSource source, long size, long position) throws IOException {
+        while (position < size) {
+            ByteBuffer window = source.slice(position, (int) Math.min(8192, size - position));
+            for (int i = 0; i < window.limit(); i++) {
+                byte b = window.get(i);
+                if (b == '\n') {
+                    return position + i + 1;
+                }
+                if (b == '\r') {
+                    long next = position + i + 1;
+                    if (next < size && source.slice(next, 1).get(0) == '\n') {
+                        next++;
+                    }
+                    return next;
+                }
+            }
+            position += window.limit();
+        }
+        return size;
+    }
+
+    private static ParsedRange parseRange(ByteSource source, long[] bounds, int range) throws IOException {
+        ByteBuffer bytes = source.slice(bounds[range], (int) (bounds[range + 1] - bounds[range]));
+        ParsedRange parsed = new ParsedRange();
+        parsed.parse(bytes, range == 0);
+        return parsed;
+    }
+
+    /**
+     * Concatenates the ranges in order, into columns if every row has the same width.
+     */
+    private static Result assemble(ParsedRange[] ranges) {
+        long rowCount = 0;
+        int width = -1;
+        boolean rectangular = true;
+        long skippedRowCount = 0;
+        long skippedValueCount = 0;
+        List<Problem> problems = new ArrayList<>();
+        long firstLine = 1;
+        for (ParsedRange range : ranges) {
+            rowCount += range.rowCount;
+            for (int row = 0; row < range.rowCount; row++) {
+                if (width == -1) {
+                    width = range.widths[row];
+                }
+                rectangular &= range.widths[row] == width;
+            }
+            skippedRowCount += range.skippedRowCount;
+            skippedValueCount += range.skippedValueCount;
+            for (int i = 0; i < range.problemLines.size() && problems.size() < MAX_REPORTED_PROBLEMS; i++) {
+                problems.add(new Problem(firstLine + range.problemLines.get(i), range.problemReasons.get(i)));
+            }
+            firstLine += range.lineCount;
+        }
+        if (rowCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("CSV has too many rows to load; evaluate it in STREAMING mode");
+        }
+
+        if (rectangular && rowCount > 0) {
+            double[][] columns = new double[width][(int) rowCount];
+            int offset = 0;
+            for (ParsedRange range : ranges) {
+                for (int row = 0; row < range.rowCount; row++) {
+                    for (int column = 0; column < width; column++) {
+                        columns[column][offset + row] = range.values[row * width + column];
+                    }
+                }
+                offset += range.rowCount;
+            }
+            return new Result(ColumnarDataset.fromColumns(columns), null, skippedRowCount, skippedValueCount,
+                    List.copyOf(problems));
+        }
+
+        List<DataQuantum> rows = new ArrayList<>((int) rowCount);
+        for (ParsedRange range : ranges) {
+            int value = 0;
+            for (int row = 0; row < range.rowCount; row++) {
+                DataQuantum dataQuantum = new DataQuantum();
+                for (int i = 0; i < range.widths[row]; i++) {
+                    dataQuantum.addValue(range.values[value++]);
+                }
+                rows.add(dataQuantum);
+            }
+        }
+        return new Result(null, rows, skippedRowCount, skippedValueCount, List.copyOf(problems));
+    }
+
+    /**
+     * The rows parsed from one range, their values stored row after row. Used by one thread.
+     */
+    private static final class ParsedRange {
+        private double[] values = new double[1024];
+        private int valueCount = 0;
+        private int[] widths = new int[256];
+        private int rowCount = 0;
+        private int lineCount = 0;
+        private long skippedRowCount = 0;
+        private long skippedValueCount = 0;
+        private final List<Integer> problemLines = new ArrayList<>();
+        private final List<String> problemReasons = new ArrayList<>();
+        private boolean numberValid;
+
+        /**
+         * Parses each line in the bytes, which hold whole lines.
+         *
+         * @param skipHeader true if the first line is the header row
+         */
+        private void parse(ByteBuffer bytes, boolean skipHeader) {
+            int limit = bytes.limit();
+            int position = 0;
+            while (position < limit) {
+                int lineEnd = position;
+                byte b;
+                while (lineEnd < limit && (b = bytes.get(lineEnd)) != '\n' && b != '\r') {
+                    lineEnd++;
+                }
+                if (!(skipHeader && lineCount == 0)) {
+                    parseLine(bytes, position, lineEnd);
+                }
+                lineCount++;
+                position = lineEnd;
+                if (position < limit) {
+                    position += bytes.get(position) == '\r' && position + 1 < limit && bytes.get(position + 1) == '\n'
+                            ? 2 : 1;
+                }
+            }
+        }
+
+        /**
+         * Parses a line as HistoricalDataCsv.parseDataRow() parses it.
+         */
+        private void parseLine(ByteBuffer bytes, int start, int end) {
+            // String.split() drops trailing empty values
+            int fieldsEnd = end;
+            while (fieldsEnd > start && bytes.get(fieldsEnd - 1) == ',') {
+                fieldsEnd--;
+            }
+            int dateEnd = indexOfComma(bytes, start, fieldsEnd);
+            if (dateEnd == fieldsEnd) {
+                skipRow("fewer than two values");
+                return;
+            }
+
+            long epochMillis = parseDate(bytes, trimStart(bytes, start, dateEnd), trimEnd(bytes, start, dateEnd));
+            if (epochMillis == Long.MIN_VALUE) {
+                skipRow("invalid date '" + decode(bytes, start, dateEnd).trim() + "'");
+                return;
+            }
+
+            int rowStart = valueCount;
+            addValue(epochMillis);
+            int fieldStart = dateEnd + 1;
+            int column = 1;
+            while (fieldStart <= fieldsEnd) {
+                int fieldEnd = indexOfComma(bytes, fieldStart, fieldsEnd);
+                int valueStart = trimStart(bytes, fieldStart, fieldEnd);
+                int valueEnd = trimEnd(bytes, valueStart, fieldEnd);
+                double value = parseNumber(bytes, valueStart, valueEnd);
+                if (numberValid) {
+                    addValue(value);
+                } else {
+                    skippedValueCount++;
+                    addProblem("non-numeric value '" + decode(bytes, valueStart, valueEnd) + "' in column "
+                            + column + " skipped");
+                }
+                fieldStart = fieldEnd + 1;
+                column++;
+            }
+
+            if (rowCount == widths.length) {
+                widths = Arrays.copyOf(widths, widths.length * 2);
+            }
+            widths[rowCount++] = valueCount - rowStart;
+        }
+
+        private void skipRow(String reason) {
+            skippedRowCount++;
+            addProblem(reason);
+        }
+
+        private void addProblem(String reason) {
+            if (problemLines.size() < MAX_REPORTED_PROBLEMS) {
+                problemLines.add(lineCount);
+                problemReasons.add(reason);
+            }
+        }
+
+        private void addValue(double value) {
+            if (valueCount == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[valueCount++] = value;
+        }
+
+        /**
+         * Parses a number, setting numberValid to whether it is one.
+         */
+        private double parseNumber(ByteBuffer bytes, int start, int end) {
+            numberValid = true;
+            int i = start;
+            boolean negative = false;
+            if (i < end && (bytes.get(i) == '+' || bytes.get(i) == '-')) {
+                negative = bytes.get(i) == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int significantDigits = 0;
+            int exponent = 0;
+            boolean anyDigits = false;
+            boolean fraction = false;
+            for (; i < end; i++) {
+                byte b = bytes.get(i);
+                if (b == '.' && !fraction) {
+                    fraction = true;
+                    continue;
+                }
+                int digit = b - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                anyDigits = true;
+                if (mantissa != 0 || digit != 0) {
+                    if (++significantDigits > MAX_EXACT_DIGITS) {
+                        return parseNumberSlowly(bytes, start, end);
+                    }
+                    mantissa = mantissa * 10 + digit;
+                }
+                if (fraction) {
+                    exponent--;
+                }
+            }
+            if (!anyDigits) {
+                return parseNumberSlowly(bytes, start, end);
+            }
+            if (i < end && (bytes.get(i) == 'e' || bytes.get(i) == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < end && (bytes.get(i) == '+' || bytes.get(i) == '-')) {
+                    negativeExponent = bytes.get(i) == '-';
+                    i++;
+                }
+                int exponentStart = i;
+                int explicitExponent = 0;
+                for (; i < end; i++) {
+                    int digit = bytes.get(i) - '0';
+                    if (digit < 0 || digit > 9 || explicitExponent > 1000) {
+                        break;
+                    }
+                    explicitExponent = explicitExponent * 10 + digit;
+                }
+                if (i == exponentStart) {
+                    return parseNumberSlowly(bytes, start, end);
+                }
+                exponent += negativeExponent ? -explicitExponent : explicitExponent;
+            }
+            if (i != end) {
+                return parseNumberSlowly(bytes, start, end);
+            }
+            if (mantissa == 0) {
+                return negative ? -0.0 : 0.0;
+            }
+            if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+                return parseNumberSlowly(bytes, start, end);
+            }
+            // Both operands are exact, so the single rounding gives the nearest double
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+
+        private double parseNumberSlowly(ByteBuffer bytes, int start, int end) {
+            try {
+                return Double.parseDouble(decode(bytes, start, end));
+            } catch (NumberFormatException e) {
+                numberValid = false;
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Parses a MM/dd/yy date in the 2000s to epoch milliseconds at midnight UTC, resolving
+     * days past the end of the month to its last day as LocalDate.parse() does.
+     *
+     * @return The epoch milliseconds, or Long.MIN_VALUE if the text is not such a date
+     */
+    private static long parseDate(ByteBuffer bytes, int start, int end) {
+        if (end - start != 8 || bytes.get(start + 2) != '/' || bytes.get(start + 5) != '/') {
+            return Long.MIN_VALUE;
+        }
+        int month = twoDigits(bytes, start);
+        int day = twoDigits(bytes, start + 3);
+        int year = twoDigits(bytes, start + 6);
+        if (month < 1 || month > 12 || day < 1 || day > 31 || year < 0) {
+            return Long.MIN_VALUE;
+        }
+        year += 2000;
+        day = Math.min(day, Month.of(month).length(Year.isLeap(year)));
+        return LocalDate.of(year, month, day).toEpochDay() * MILLIS_PER_DAY;
+    }
+
+    /**
+     * @return The number of two ASCII digits, or -1 if they are not digits
+     */
+    private static int twoDigits(ByteBuffer bytes, int start) {
+        int tens = bytes.get(start) - '0';
+        int units = bytes.get(start + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        return tens * 10 + units;
+    }
+
+    private static int indexOfComma(ByteBuffer bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes.get(i) == ',') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * @return The first position in the range that String.trim() keeps
+     */
+    private static int trimStart(ByteBuffer bytes, int start, int end) {
+        while (start < end && (bytes.get(start) & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * @return The end of the range once String.trim() drops its trailing characters
+     */
+    private static int trimEnd(ByteBuffer bytes, int start, int end) {
+        while (end > start && (bytes.get(end - 1) & 0xff) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static String decode(ByteBuffer bytes, int start, int end) {
+        byte[] text = new byte[end - start];
+        bytes.get(start, text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+}
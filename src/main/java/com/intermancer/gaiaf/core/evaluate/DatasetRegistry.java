@@ -0,0 +1,291 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Loads each training dataset once and shares the immutable HistoricalDataset snapshot
+ * among every evaluator that uses it, so that experiments running against the same data
+ * hold a single copy of it.
+ *
+ * <p>Datasets are acquired by path, loaded as TrainingDataFiles.load() describes, and
+ * released when no longer used.</p>
+ *
+ * <p>Each entry is keyed by its path and by the size and modification time of its file,
+ * so a file that changes is loaded again on its next acquisition while the evaluators
+ * still using the old snapshot keep it. Acquisitions of a file that is already being
+ * loaded wait for that load instead of starting another. A dataset whose values equal those of another
+ * entry, compared by hash and then value by value, shares that entry's snapshot.</p>
+ *
+ * <p>Datasets that are no longer acquired stay loaded, least recently used first out,
+ * while the snapshots of all entries fit in the memory budget. Datasets in use are never
+ * evicted, so the budget can be exceeded by them. An evicted snapshot is freed once the
+ * evaluations still reading it complete.</p>
+ */
+@Component
+public class DatasetRegistry implements MeterBinder {
+
+    private final long budgetBytes;
+    private final CsvIngester csvIngester;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Loads in progress, by path and fingerprint
+    private final Map<String, CompletableFuture<HistoricalDataset>> loading = new HashMap<>();
+    // The number of entries holding each snapshot, and the bytes of the snapshots held
+    private final Map<HistoricalDataset, Integer> snapshotEntryCounts = new IdentityHashMap<>();
+    private long sizeBytes;
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * A loaded dataset and the number of leases on it.
+     */
+    private static final class Entry {
+        private final String fingerprint;
+        private final HistoricalDataset dataset;
+        private int references;
+
+        private Entry(String fingerprint, HistoricalDataset dataset) {
+            this.fingerprint = fingerprint;
+            this.dataset = dataset;
+        }
+    }
+
+    /**
+     * A use of a dataset, which keeps it from being evicted until closed.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Entry entry;
+        private boolean closed;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public HistoricalDataset getDataset() {
+            return entry.dataset;
+        }
+
+        /**
+         * Releases the dataset. Closing a lease more than once has no further effect.
+         */
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+
+    @Autowired
+    public DatasetRegistry(EvaluatorConfiguration evaluatorConfiguration) {
+        this(evaluatorConfiguration.getDatasetRegistryBytes(), evaluatorConfiguration.getIngestionThreads());
+    }
+
+    /**
+     * Creates a registry that parses CSV datasets on one thread per available processor.
+     *
+     * @param budgetBytes The most bytes of datasets to keep loaded once they are no longer
+     *                    used; 0 unloads each dataset as soon as it is released
+     */
+    public DatasetRegistry(long budgetBytes) {
+        this(budgetBytes, 0);
+    }
+
+    /**
+     * @param budgetBytes The most bytes of datasets to keep loaded once they are no longer
+     *                    used; 0 unloads each dataset as soon as it is released
+     * @param ingestionThreads The threads parsing each CSV dataset; 0 uses one per
+     *                         available processor
+     */
+    public DatasetRegistry(long budgetBytes, int ingestionThreads) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("Dataset registry budget cannot be negative");
+        }
+        this.budgetBytes = budgetBytes;
+        this.csvIngester = new CsvIngester(ingestionThreads);
+    }
+
+    /**
+     * Acquires the dataset at a path, loading it if it is not loaded or its file has
+     * changed. The dataset is loaded without holding the registry's lock, so acquisitions
+     * of other datasets are not held up, and concurrent acquisitions of the same file share
+     * one load.
+     *
+     * @param path The classpath resource or file path of the dataset
+     * @return A lease on the dataset, to be closed when it is no longer used
+     * @throws IllegalStateException if there is no dataset at the path
+     */
+    public Lease acquire(String path) {
+        String fingerprint = TrainingDataFiles.fingerprint(path);
+        String loadKey = path + '\n' + fingerprint;
+        CompletableFuture<HistoricalDataset> load;
+        boolean loader = false;
+        synchronized (this) {
+            Entry entry = entries.get(path);
+            if (entry != null && entry.fingerprint.equals(fingerprint)) {
+                return lease(entry);
+            }
+            load = loading.get(loadKey);
+            if (load == null) {
+                load = new CompletableFuture<>();
+                loading.put(loadKey, load);
+                loader = true;
+            }
+        }
+
+        if (!loader) {
+            try {
+                return install(path, fingerprint, load.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            HistoricalDataset loaded = TrainingDataFiles.load(path, csvIngester);
+            loadCount.incrementAndGet();
+            Lease lease = install(path, fingerprint, loaded);
+            load.complete(loaded);
+            return lease;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                loading.remove(loadKey);
+            }
+        }
+    }
+
+    /**
+     * Leases the entry for a path, first adding one for the loaded dataset unless an
+     * entry with the same fingerprint is already there.
+     */
+    private synchronized Lease install(String path, String fingerprint, HistoricalDataset loaded) {
+        Entry entry = entries.get(path);
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            entry = new Entry(fingerprint, shareValues(loaded));
+            Entry replaced = entries.put(path, entry);
+            if (replaced != null) {
+                uncount(replaced);
+            }
+            snapshotEntryCounts.merge(entry.dataset, 1, Integer::sum);
+            if (snapshotEntryCounts.get(entry.dataset) == 1) {
+                sizeBytes += entry.dataset.getSizeBytes();
+            }
+        }
+        Lease lease = lease(entry);
+        evict();
+        return lease;
+    }
+
+    /**
+     * @return The number of loaded paths, including paths that share a snapshot
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The estimated heap used by the loaded snapshots, counting shared snapshots once
+     */
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public CsvIngester getCsvIngester() {
+        return csvIngester;
+    }
+
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gaiaf.dataset.registry.loads", this, DatasetRegistry::getLoadCount)
+                .description("Datasets loaded from their files")
+                .register(registry);
+        FunctionCounter.builder("gaiaf.dataset.registry.evictions", this, DatasetRegistry::getEvictionCount)
+                .description("Unused datasets evicted to stay within the memory budget")
+                .register(registry);
+        Gauge.builder("gaiaf.dataset.registry.size", this, DatasetRegistry::size)
+                .description("Number of loaded datasets")
+                .register(registry);
+        Gauge.builder("gaiaf.dataset.registry.bytes", this, DatasetRegistry::getSizeBytes)
+                .description("Estimated heap used by loaded datasets")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Lease lease(Entry entry) {
+        entry.references++;
+        return new Lease(entry);
+    }
+
+    private synchronized void release(Lease lease) {
+        if (lease.closed) {
+            return;
+        }
+        lease.closed = true;
+        lease.entry.references--;
+        evict();
+    }
+
+    /**
+     * @return The snapshot of another entry holding the same values, or the given snapshot
+     */
+    private HistoricalDataset shareValues(HistoricalDataset loaded) {
+        for (Entry entry : entries.values()) {
+            if (entry.dataset.hasSameValues(loaded)) {
+                return entry.dataset;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Removes unused entries, least recently used first, until the loaded snapshots fit in
+     * the budget.
+     */
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && sizeBytes > budgetBytes) {
+            Entry entry = iterator.next();
+            if (entry.references == 0) {
+                iterator.remove();
+                uncount(entry);
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Stops counting a removed entry's snapshot, and its bytes once no entry holds it.
+     */
+    private void uncount(Entry entry) {
+        if (snapshotEntryCounts.merge(entry.dataset, -1, Integer::sum) == 0) {
+            snapshotEntryCounts.remove(entry.dataset);
+            sizeBytes -= entry.dataset.getSizeBytes();
+        }
+    }
+}
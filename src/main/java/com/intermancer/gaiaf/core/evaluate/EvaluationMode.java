@@ -0,0 +1,21 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+/**
+ * How BasicEvaluator walks the historical data.
+ */
+public enum EvaluationMode {
+    /**
+     * Runs the whole organism over one row at a time.
+     */
+    ROW,
+    /**
+     * Runs each gene over the whole series at once, one column at a time.
+     * Falls back to ROW when the rows do not all have the same width.
+     */
+    COLUMN,
+    /**
+     * Runs each gene over one chunk of rows at a time, read from the training data file
+     * as the evaluation goes, so that series larger than the heap can be evaluated.
+     */
+    STREAMING
+}
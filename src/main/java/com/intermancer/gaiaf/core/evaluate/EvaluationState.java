@@ -0,0 +1,139 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import com.intermancer.gaiaf.core.organism.kernel.ColumnKernels;
+import com.intermancer.gaiaf.core.organism.kernel.CompensatedSum;
+
+/**
+ * The running score of one organism while historical data is fed to it.
+ *
+ * <p>Each prediction is compared with the actual value leadConsumptionCount - 1 rows
+ * later; rows before the lead is met are compared with 0. The predictions still
+ * waiting for their row are kept in a ring buffer, so rows can be accepted one at a
+ * time or in blocks of any size and the score is the same either way.</p>
+ *
+ * <p>The state can be saved as a TerminalEvaluationState and restored later, so that
+ * rows appended to the data are scored without scoring the earlier rows again.</p>
+ */
+final class EvaluationState {
+
+    private final int lag;
+    private final double[] pending;
+    private int pendingStart = 0;
+    private int pendingCount = 0;
+    private final CompensatedSum error;
+    private long rowCount = 0;
+
+    /**
+     * @param leadConsumptionCount The number of rows consumed before the first prediction is compared
+     */
+    EvaluationState(int leadConsumptionCount) {
+        this.lag = Math.max(leadConsumptionCount, 1) - 1;
+        this.pending = new double[lag];
+        this.error = new CompensatedSum();
+    }
+
+    /**
+     * Restores the state an evaluation ended in, to accept the rows that follow.
+     *
+     * @param terminalState The saved state
+     */
+    EvaluationState(TerminalEvaluationState terminalState) {
+        this.lag = terminalState.leadConsumptionCount() - 1;
+        this.pending = new double[lag];
+        double[] pendingPredictions = terminalState.pendingPredictions();
+        System.arraycopy(pendingPredictions, 0, pending, 0, pendingPredictions.length);
+        this.pendingCount = pendingPredictions.length;
+        this.error = new CompensatedSum(terminalState.errorSum(), terminalState.errorCompensation(),
+                terminalState.simpleErrorSum());
+        this.rowCount = terminalState.rowCount();
+    }
+
+    /**
+     * Accepts the prediction made for one row, along with that row's actual value.
+     */
+    void accept(double prediction, double actualValue) {
+        rowCount++;
+        if (lag == 0) {
+            error.add(Math.abs(prediction - actualValue));
+        } else if (pendingCount < lag) {
+            // Still in the lead: nothing has been predicted for this row yet
+            pending[(pendingStart + pendingCount) % lag] = prediction;
+            pendingCount++;
+            error.add(Math.abs(actualValue));
+        } else {
+            double currentPrediction = pending[pendingStart];
+            pending[pendingStart] = prediction;
+            pendingStart = (pendingStart + 1) % lag;
+            error.add(Math.abs(currentPrediction - actualValue));
+        }
+    }
+
+    /**
+     * Accepts the predictions made for a block of consecutive rows.
+     *
+     * @param predictions The predictions for the block, starting at index 0
+     * @param actualValues The actual values for the block
+     * @param actualOffset The index of the block's first row in actualValues
+     * @param length The number of rows in the block
+     * @param kernels The kernels used to sum the errors
+     */
+    void acceptBlock(double[] predictions, double[] actualValues, int actualOffset, int length, ColumnKernels kernels) {
+        // Lead rows, and rows whose prediction was made in an earlier block, go through the ring buffer
+        int rowByRowCount = Math.min(length, (lag - pendingCount) + lag);
+        for (int row = 0; row < rowByRowCount; row++) {
+            accept(predictions[row], actualValues[actualOffset + row]);
+        }
+        if (rowByRowCount == length) {
+            return;
+        }
+
+        // Every remaining row was predicted earlier in this block
+        rowCount += length - rowByRowCount;
+        kernels.addAbsoluteErrors(error, predictions, rowByRowCount - lag,
+                actualValues, actualOffset + rowByRowCount, length - rowByRowCount);
+        System.arraycopy(predictions, length - lag, pending, 0, lag);
+        pendingStart = 0;
+    }
+
+    /**
+     * Tells whether the organism can no longer finish with a score at or below the
+     * cutoff. Every accepted row adds a non-negative error, so once the running score
+     * exceeds the cutoff, or stops being finite, the final score will too.
+     *
+     * @param cutoff The highest score that is still of interest
+     * @return true if the score so far exceeds the cutoff or is NaN or infinite
+     */
+    boolean isHopeless(double cutoff) {
+        double score = error.getSum();
+        return !Double.isFinite(score) || score > cutoff;
+    }
+
+    /**
+     * @return The accumulated prediction error of the rows accepted so far
+     */
+    double getScore() {
+        return error.getSum();
+    }
+
+    /**
+     * @return The number of rows accepted, including those before any restored state
+     */
+    long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Saves the state, to be restored when more rows are to be accepted.
+     *
+     * @param targetIndex The target index the rows' actual values were taken from
+     * @return The saved state
+     */
+    TerminalEvaluationState toTerminalState(int targetIndex) {
+        double[] pendingPredictions = new double[pendingCount];
+        for (int i = 0; i < pendingCount; i++) {
+            pendingPredictions[i] = pending[(pendingStart + i) % lag];
+        }
+        return new TerminalEvaluationState(lag + 1, targetIndex, rowCount, error.getRunningSum(),
+                error.getCompensation(), error.getSimpleSum(), pendingPredictions);
+    }
+}
@@ -1,5 +1,7 @@
 package com.intermancer.gaiaf.core.evaluate;
 
+import java.util.List;
+
 import com.intermancer.gaiaf.core.organism.Organism;
 
 /**
@@ -8,6 +10,12 @@ import com.intermancer.gaiaf.core.organism.Organism;
  * "no deviations between predicted and actual values".
  */
 public interface Evaluator {
+
+    /**
+     * The score returned for an organism whose evaluation was abandoned because it
+     * could not finish at or below the cutoff. It ranks behind every finite score.
+     */
+    double REJECTED_SCORE = Double.POSITIVE_INFINITY;
     
     /**
      * Evaluate the given Organism.
@@ -17,4 +25,50 @@ public interface Evaluator {
      *         with 0 representing perfect prediction accuracy
      */
     double evaluate(Organism organism);
-}
\ No newline at end of file
+
+    /**
+     * Evaluate several Organisms. Implementations can override this to score the
+     * Organisms together, for example in one pass over their data; the default
+     * evaluates each Organism in turn.
+     * 
+     * @param organisms The organisms to evaluate
+     * @return The score of each organism, in the same order as the list
+     */
+    default double[] evaluateAll(List<Organism> organisms) {
+        double[] scores = new double[organisms.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = evaluate(organisms.get(i));
+        }
+        return scores;
+    }
+
+    /**
+     * Evaluate the given Organism, allowing the evaluation to stop early once the
+     * score is known to exceed the cutoff. The default ignores the cutoff and
+     * evaluates the Organism in full.
+     *
+     * @param organism The organism to evaluate
+     * @param cutoff The score above which the exact score is of no interest
+     * @return The organism's score, or REJECTED_SCORE if it was found to exceed the cutoff
+     */
+    default double evaluate(Organism organism, double cutoff) {
+        return evaluate(organism);
+    }
+
+    /**
+     * Evaluate several Organisms, allowing each evaluation to stop early once its score
+     * is known to exceed the cutoff. The default evaluates each Organism in turn with
+     * evaluate(Organism, double).
+     *
+     * @param organisms The organisms to evaluate
+     * @param cutoff The score above which the exact score is of no interest
+     * @return The score of each organism, or REJECTED_SCORE, in the same order as the list
+     */
+    default double[] evaluateAll(List<Organism> organisms, double cutoff) {
+        double[] scores = new double[organisms.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = evaluate(organisms.get(i), cutoff);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,108 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "evaluator")
+public class EvaluatorConfiguration {
+    /**
+     * Selects how organisms are executed: "register" runs the OrganismCompiler program,
+     * "bytecode" additionally generates hidden classes for frequently evaluated genomes.
+     */
+    private String backend = "register";
+    private EvaluationMode mode = EvaluationMode.COLUMN;
+    private int batchBlockSize = 512;
+    private int fitnessCacheCapacity = 100000;
+    /**
+     * The memory budget, in bytes, for the columns kept so that children can reuse their
+     * parent's results; 0 disables incremental re-evaluation. Off by default, since every
+     * organism evaluated with the cache allocates each column it computes over the whole
+     * series, even if the cutoff rejects it after the first block.
+     */
+    private long intermediateColumnCacheBytes = 0;
+    /**
+     * The memory budget, in bytes, for the training datasets kept loaded by the
+     * DatasetRegistry once no evaluator uses them; 0 unloads them when released.
+     */
+    private long datasetRegistryBytes = 512L * 1024 * 1024;
+    /**
+     * The threads the CsvIngester uses to parse each CSV training dataset; 0 uses one per
+     * available processor.
+     */
+    private int ingestionThreads = 0;
+    private int bytecodeCacheCapacity = 1024;
+    private int bytecodeGenerationThreshold = 2;
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public EvaluationMode getMode() {
+        return mode;
+    }
+
+    public void setMode(EvaluationMode mode) {
+        this.mode = mode;
+    }
+
+    public int getBatchBlockSize() {
+        return batchBlockSize;
+    }
+
+    public void setBatchBlockSize(int batchBlockSize) {
+        this.batchBlockSize = batchBlockSize;
+    }
+
+    public int getFitnessCacheCapacity() {
+        return fitnessCacheCapacity;
+    }
+
+    public void setFitnessCacheCapacity(int fitnessCacheCapacity) {
+        this.fitnessCacheCapacity = fitnessCacheCapacity;
+    }
+
+    public long getIntermediateColumnCacheBytes() {
+        return intermediateColumnCacheBytes;
+    }
+
+    public void setIntermediateColumnCacheBytes(long intermediateColumnCacheBytes) {
+        this.intermediateColumnCacheBytes = intermediateColumnCacheBytes;
+    }
+
+    public long getDatasetRegistryBytes() {
+        return datasetRegistryBytes;
+    }
+
+    public void setDatasetRegistryBytes(long datasetRegistryBytes) {
+        this.datasetRegistryBytes = datasetRegistryBytes;
+    }
+
+    public int getIngestionThreads() {
+        return ingestionThreads;
+    }
+
+    public void setIngestionThreads(int ingestionThreads) {
+        this.ingestionThreads = ingestionThreads;
+    }
+
+    public int getBytecodeCacheCapacity() {
+        return bytecodeCacheCapacity;
+    }
+
+    public void setBytecodeCacheCapacity(int bytecodeCacheCapacity) {
+        this.bytecodeCacheCapacity = bytecodeCacheCapacity;
+    }
+
+    public int getBytecodeGenerationThreshold() {
+        return bytecodeGenerationThreshold;
+    }
+
+    public void setBytecodeGenerationThreshold(int bytecodeGenerationThreshold) {
+        this.bytecodeGenerationThreshold = bytecodeGenerationThreshold;
+    }
+}
@@ -0,0 +1,197 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * A bounded, least-recently-used cache of fitness scores keyed by FitnessKey.
+ *
+ * <p>Children are often structurally identical to organisms that have already been
+ * scored, so evaluators consult this cache before evaluating an organism. One instance
+ * is shared by every evaluator in the application, so duplicates are caught across
+ * experiments as well as within them.</p>
+ *
+ * <p>Evaluators also cache the TerminalEvaluationState each full evaluation ended in,
+ * so that an IncrementalRescorer can resume the organism's evaluation when rows are
+ * appended to the data instead of running it over every row again.</p>
+ *
+ * <p>Hit, miss and eviction counts and the hit rate are published as Micrometer
+ * metrics under the gaiaf.fitness.cache prefix, and can be read through the actuator
+ * metrics endpoint.</p>
+ */
+@Component
+public class FitnessCache implements MeterBinder {
+
+    private final int capacity;
+    private final Map<FitnessKey, Entry> scores;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Autowired
+    public FitnessCache(EvaluatorConfiguration evaluatorConfiguration) {
+        this(evaluatorConfiguration.getFitnessCacheCapacity());
+    }
+
+    /**
+     * @param capacity The maximum number of scores to keep; 0 disables the cache
+     */
+    public FitnessCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Fitness cache capacity cannot be negative");
+        }
+        this.capacity = capacity;
+        this.scores = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FitnessKey, Entry> eldest) {
+                if (size() > FitnessCache.this.capacity) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up a score, recording a hit or a miss.
+     *
+     * @param key The key to look up
+     * @return The cached score, or null if it is not cached
+     */
+    public Double get(FitnessKey key) {
+        Entry entry;
+        synchronized (scores) {
+            entry = scores.get(key);
+        }
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.score();
+    }
+
+    /**
+     * Looks up the state the evaluation behind a cached score ended in, without recording
+     * a hit or a miss.
+     *
+     * @param key The key to look up
+     * @return The cached state, or null if it is not cached or only the score was
+     */
+    public TerminalEvaluationState getTerminalState(FitnessKey key) {
+        Entry entry;
+        synchronized (scores) {
+            entry = scores.get(key);
+        }
+        return entry != null ? entry.terminalState() : null;
+    }
+
+    /**
+     * Caches a score, evicting the least recently used score if the cache is full.
+     *
+     * @param key The key to cache the score under
+     * @param score The score
+     */
+    public void put(FitnessKey key, double score) {
+        put(key, new Entry(score, null));
+    }
+
+    /**
+     * Caches the state a full evaluation ended in, along with the score it holds.
+     *
+     * @param key The key to cache the state under
+     * @param terminalState The state the evaluation ended in
+     */
+    public void put(FitnessKey key, TerminalEvaluationState terminalState) {
+        put(key, new Entry(terminalState.getScore(), terminalState));
+    }
+
+    private void put(FitnessKey key, Entry entry) {
+        if (capacity == 0) {
+            return;
+        }
+        synchronized (scores) {
+            scores.put(key, entry);
+        }
+    }
+
+    /**
+     * Records a hit that was served without a lookup, such as a duplicate genome
+     * within one batch of organisms.
+     */
+    void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    public int size() {
+        synchronized (scores) {
+            return scores.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (scores) {
+            scores.clear();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return The fraction of lookups that were hits, or 0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * A cached score and, when the evaluator supplied it, the state its evaluation ended in.
+     */
+    private record Entry(double score, TerminalEvaluationState terminalState) {
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gaiaf.fitness.cache.hits", this, FitnessCache::getHitCount)
+                .description("Fitness scores served from the cache")
+                .register(registry);
+        FunctionCounter.builder("gaiaf.fitness.cache.misses", this, FitnessCache::getMissCount)
+                .description("Fitness lookups that required an evaluation")
+                .register(registry);
+        FunctionCounter.builder("gaiaf.fitness.cache.evictions", this, FitnessCache::getEvictionCount)
+                .description("Fitness scores evicted to stay within capacity")
+                .register(registry);
+        Gauge.builder("gaiaf.fitness.cache.hit.rate", this, FitnessCache::getHitRate)
+                .description("Fraction of fitness lookups served from the cache")
+                .register(registry);
+        Gauge.builder("gaiaf.fitness.cache.size", this, FitnessCache::size)
+                .description("Number of cached fitness scores")
+                .register(registry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import com.intermancer.gaiaf.core.organism.GenomeHash;
+
+/**
+ * Identifies one fitness score: a genome evaluated against one dataset with one set
+ * of evaluator parameters. Two organisms with the same FitnessKey always get the same score.
+ *
+ * @param genomeHash The structural hash of the organism's genome
+ * @param trainingDataPath The path the historical data was loaded from
+ * @param datasetHash A hash of the historical data's contents
+ * @param targetIndex The index of the column whose values are predicted
+ * @param leadConsumptionCount The number of rows consumed before predictions are compared
+ */
+public record FitnessKey(GenomeHash genomeHash, String trainingDataPath, long datasetHash,
+                         int targetIndex, int leadConsumptionCount) {
+}
@@ -0,0 +1,144 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.intermancer.gaiaf.core.organism.CompiledOrganism;
+import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.OrganismBytecodeGenerator;
+import com.intermancer.gaiaf.core.organism.OrganismCompilationException;
+import com.intermancer.gaiaf.core.organism.OrganismCompiler;
+import com.intermancer.gaiaf.core.organism.OrganismProgram;
+
+/**
+ * A BasicEvaluator that runs frequently evaluated genomes as generated hidden classes.
+ *
+ * <p>Every organism is first compiled with OrganismCompiler. The resulting CompiledOrganism
+ * is structural, so organisms with the same genome share one entry in a bounded,
+ * least-recently-used cache. Once a genome has been evaluated
+ * bytecodeGenerationThreshold times, OrganismBytecodeGenerator turns it into a hidden
+ * class, which later evaluations of that genome reuse. Evicting an entry drops the last
+ * reference to its hidden class so that the class can be unloaded.</p>
+ *
+ * <p>When a genome cannot be generated, the register program is used instead, and
+ * BasicEvaluator still falls back to Organism.consume() for organisms that cannot be
+ * compiled at all.</p>
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "evaluator", name = "backend", havingValue = "bytecode")
+public class HiddenClassEvaluator extends BasicEvaluator {
+
+    private final int generationThreshold;
+    private final Map<CompiledOrganism, CacheEntry> programCache;
+    private int generatedCount = 0;
+
+    private static class CacheEntry {
+        private int useCount = 0;
+        private OrganismProgram generated;
+        private boolean generationFailed = false;
+    }
+
+    /**
+     * Constructor used by Spring, applying the evaluator settings, including the bytecode
+     * cache settings, from the application configuration.
+     *
+     * @param evaluatorConfiguration The evaluator settings
+     * @param fitnessCache The shared cache of fitness scores
+     * @param datasetRegistry The shared registry of training datasets
+     */
+    @Autowired
+    public HiddenClassEvaluator(EvaluatorConfiguration evaluatorConfiguration, FitnessCache fitnessCache,
+                                DatasetRegistry datasetRegistry) {
+        super(evaluatorConfiguration, fitnessCache, datasetRegistry);
+        this.programCache = newProgramCache(evaluatorConfiguration.getBytecodeCacheCapacity());
+        this.generationThreshold = checkGenerationThreshold(evaluatorConfiguration.getBytecodeGenerationThreshold());
+    }
+
+    /**
+     * @param cacheCapacity The maximum number of genomes to keep in the cache
+     * @param generationThreshold The number of evaluations of a genome before its hidden class is generated
+     */
+    public HiddenClassEvaluator(int cacheCapacity, int generationThreshold) {
+        this.programCache = newProgramCache(cacheCapacity);
+        this.generationThreshold = checkGenerationThreshold(generationThreshold);
+    }
+
+    private static Map<CompiledOrganism, CacheEntry> newProgramCache(int cacheCapacity) {
+        if (cacheCapacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1");
+        }
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CompiledOrganism, CacheEntry> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    private static int checkGenerationThreshold(int generationThreshold) {
+        if (generationThreshold < 1) {
+            throw new IllegalArgumentException("Generation threshold must be at least 1");
+        }
+        return generationThreshold;
+    }
+
+    @Override
+    protected OrganismProgram compile(Organism organism, int inputWidth) {
+        CompiledOrganism program = OrganismCompiler.compile(organism, inputWidth);
+        if (!OrganismBytecodeGenerator.canGenerate(program)) {
+            return program;
+        }
+
+        CacheEntry entry;
+        synchronized (programCache) {
+            entry = programCache.computeIfAbsent(program, key -> new CacheEntry());
+            if (entry.generated != null) {
+                return entry.generated;
+            }
+            entry.useCount++;
+            if (entry.generationFailed || entry.useCount < generationThreshold) {
+                return program;
+            }
+        }
+
+        // Generate outside the lock; a concurrent caller may generate the same class, which is harmless
+        OrganismProgram generated;
+        try {
+            generated = OrganismBytecodeGenerator.generate(program);
+        } catch (OrganismCompilationException e) {
+            synchronized (programCache) {
+                entry.generationFailed = true;
+            }
+            return program;
+        }
+        synchronized (programCache) {
+            entry.generated = generated;
+            generatedCount++;
+        }
+        return generated;
+    }
+
+    /**
+     * @return The number of genomes currently in the cache
+     */
+    int getCacheSize() {
+        synchronized (programCache) {
+            return programCache.size();
+        }
+    }
+
+    /**
+     * @return The total number of hidden classes generated by this evaluator
+     */
+    int getGeneratedCount() {
+        synchronized (programCache) {
+            return generatedCount;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+
+/**
+ * Parses historical price data in CSV form: a header row, then one row per day whose
+ * first column is a MM/dd/yy date and whose other columns are numbers.
+ *
+ * <p>Used to stream CSV training data in STREAMING mode. CsvIngester, which loads and
+ * converts CSV training data, skips the same rows and values as parseDataRow().</p>
+ */
+public final class HistoricalDataCsv {
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yy");
+
+    private HistoricalDataCsv() {
+    }
+
+    /**
+     * Reads every row after the header, skipping those that cannot be parsed.
+     *
+     * @param reader The CSV text, positioned at the header row
+     * @return List of DataQuantum objects representing the historical data
+     * @throws IOException if the text cannot be read
+     */
+    public static List<DataQuantum> read(BufferedReader reader) throws IOException {
+        try {
+            return reader.lines()
+                .skip(1) // Skip header row
+                .map(HistoricalDataCsv::parseDataRow)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens CSV text for reading in chunks of rows, skipping the rows that read() skips.
+     * The first row that can be parsed sets the number of columns.
+     *
+     * @param reader The CSV text, positioned at the header row; closed with the chunk reader
+     * @return A reader of the parsed rows
+     * @throws IOException if the text cannot be read
+     */
+    public static ColumnChunkReader openChunkReader(BufferedReader reader) throws IOException {
+        try {
+            reader.readLine(); // Skip header row
+            DataQuantum firstRow = nextRow(reader);
+            return new CsvChunkReader(reader, firstRow);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The next row that can be parsed, or null at the end of the text
+     */
+    private static DataQuantum nextRow(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            DataQuantum row = parseDataRow(line);
+            if (row != null) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses rows as they are read, holding only the next row beyond the chunk.
+     */
+    private static final class CsvChunkReader implements ColumnChunkReader {
+        private final BufferedReader reader;
+        private final int columnCount;
+        private DataQuantum nextRow;
+        private long rowIndex = 0;
+
+        private CsvChunkReader(BufferedReader reader, DataQuantum firstRow) {
+            this.reader = reader;
+            this.nextRow = firstRow;
+            this.columnCount = firstRow == null ? 0 : firstRow.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnCount;
+        }
+
+        @Override
+        public int read(double[][] chunkColumns) throws IOException {
+            int capacity = chunkColumns.length == 0 ? 0 : chunkColumns[0].length;
+            int length = 0;
+            while (length < capacity && nextRow != null) {
+                if (nextRow.size() != columnCount) {
+                    throw new IllegalArgumentException("Row " + rowIndex + " has " + nextRow.size()
+                            + " values but the first row has " + columnCount);
+                }
+                for (int column = 0; column < columnCount; column++) {
+                    chunkColumns[column][length] = nextRow.getValue(column);
+                }
+                length++;
+                rowIndex++;
+                nextRow = nextRow(reader);
+            }
+            return length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Parses a CSV row into a DataQuantum.
+     *
+     * @param line The CSV line to parse
+     * @return DataQuantum containing the parsed values, or null if parsing fails
+     */
+    public static DataQuantum parseDataRow(String line) {
+        String[] values = line.split(",");
+        if (values.length < 2) {
+            return null;
+        }
+
+        DataQuantum dataQuantum = new DataQuantum();
+
+        // Parse each column value
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i].trim();
+
+            // First column is the date - convert to epoch time
+            if (i == 0) {
+                try {
+                    long epochMillis = parseDateToEpoch(value);
+                    dataQuantum.addValue((double) epochMillis);
+                } catch (Exception e) {
+                    // If date parsing fails, skip this row
+                    return null;
+                }
+            } else {
+                // Parse numerical values
+                try {
+                    double numericValue = Double.parseDouble(value);
+                    dataQuantum.addValue(numericValue);
+                } catch (NumberFormatException e) {
+                    // Skip non-numeric values
+                }
+            }
+        }
+
+        return dataQuantum.size() == 0 ? null : dataQuantum;
+    }
+
+    /**
+     * Parses a date string to epoch milliseconds.
+     * Assumes dates are in MM/dd/yy format with years starting with "20".
+     * All dates are assumed to be at midnight UTC.
+     *
+     * @param dateStr The date string to parse (e.g., "01/12/17")
+     * @return The epoch time in milliseconds
+     */
+    static long parseDateToEpoch(String dateStr) {
+        LocalDate date = LocalDate.parse(dateStr, formatter);
+
+        // For two-digit years, ensure they're in the 2000s
+        if (date.getYear() < 100) {
+            date = date.withYear(2000 + date.getYear());
+        }
+
+        // Convert to epoch milliseconds at midnight UTC
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,165 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+
+/**
+ * An immutable snapshot of historical data: its rows, their columnar copy when every row
+ * has the same width, and a hash of their values. Evaluations read one snapshot and use it
+ * throughout, so a snapshot can be shared by any number of evaluators and threads.
+ *
+ * <p>A snapshot made from columns, such as one loaded through the DatasetRegistry, has no
+ * rows until an evaluation runs row by row, so that COLUMN mode never holds the data as
+ * DataQuanta.</p>
+ */
+public final class HistoricalDataset {
+
+    /**
+     * An estimate of the heap used by a DataQuantum beyond its values
+     */
+    private static final long ROW_OVERHEAD_BYTES = 64;
+
+    private volatile List<DataQuantum> rows;
+    private volatile long rowBytes;
+    private final ColumnarDataset columns;
+    private final long hash;
+
+    /**
+     * Creates a snapshot of the rows, which are read when this is called, so later changes
+     * to the list are not seen.
+     *
+     * @param rows The rows of historical data
+     */
+    public HistoricalDataset(List<DataQuantum> rows) {
+        this.rows = List.copyOf(rows);
+        this.rowBytes = rowBytes(this.rows);
+        this.columns = ColumnarDataset.isRectangular(this.rows) ? ColumnarDataset.fromRows(this.rows) : null;
+        this.hash = hash(this.rows);
+    }
+
+    /**
+     * Creates a snapshot backed by the columns alone.
+     *
+     * @param columns The historical data in columns
+     */
+    public HistoricalDataset(ColumnarDataset columns) {
+        this.columns = columns;
+        this.hash = hash(columns);
+    }
+
+    /**
+     * @return The rows, copied from the columns on first use if the snapshot was made from columns
+     */
+    public List<DataQuantum> getRows() {
+        List<DataQuantum> result = rows;
+        if (result == null) {
+            synchronized (this) {
+                result = rows;
+                if (result == null) {
+                    result = List.copyOf(columns.toRows());
+                    rowBytes = rowBytes(result);
+                    rows = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The columnar copy of the data, or null if the rows differ in width
+     */
+    public ColumnarDataset getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return A hash of the values, the same for rows and for the columns that hold them
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return An estimate of the heap used by the columns and by any rows
+     */
+    public long getSizeBytes() {
+        long columnBytes = columns == null ? 0 : (long) columns.getColumnCount() * columns.getRowCount() * Double.BYTES;
+        return columnBytes + rowBytes;
+    }
+
+    private static long rowBytes(List<DataQuantum> rows) {
+        long bytes = 0;
+        for (DataQuantum dataQuantum : rows) {
+            bytes += ROW_OVERHEAD_BYTES + (long) dataQuantum.size() * (Double.BYTES + Integer.BYTES);
+        }
+        return bytes;
+    }
+
+    /**
+     * @param other Another snapshot
+     * @return true if both hold the same values
+     */
+    public boolean hasSameValues(HistoricalDataset other) {
+        if (hash != other.hash) {
+            return false;
+        }
+        if (columns != null && other.columns != null) {
+            return Arrays.deepEquals(columns.getColumns(), other.columns.getColumns());
+        }
+        List<DataQuantum> rows = getRows();
+        List<DataQuantum> otherRows = other.getRows();
+        if (rows.size() != otherRows.size()) {
+            return false;
+        }
+        for (int row = 0; row < rows.size(); row++) {
+            DataQuantum dataQuantum = rows.get(row);
+            DataQuantum otherDataQuantum = otherRows.get(row);
+            if (dataQuantum.size() != otherDataQuantum.size()) {
+                return false;
+            }
+            for (int i = 0; i < dataQuantum.size(); i++) {
+                if (Double.compare(dataQuantum.getValue(i), otherDataQuantum.getValue(i)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes the values of the rows, so that data set through setHistoricalData()
+     * is told apart from the data loaded from trainingDataPath.
+     */
+    private static long hash(List<DataQuantum> rows) {
+        long hash = rows.size();
+        double[] values = new double[0];
+        for (DataQuantum dataQuantum : rows) {
+            if (values.length < dataQuantum.size()) {
+                values = new double[dataQuantum.size()];
+            }
+            dataQuantum.copyValuesInto(values);
+            hash = 31 * hash + dataQuantum.size();
+            for (int i = 0; i < dataQuantum.size(); i++) {
+                hash = 31 * hash + Double.doubleToLongBits(values[i]);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes the values of the columns row by row, giving the same hash as the rows they hold.
+     */
+    private static long hash(ColumnarDataset dataset) {
+        double[][] columns = dataset.getColumns();
+        long hash = dataset.getRowCount();
+        for (int row = 0; row < dataset.getRowCount(); row++) {
+            hash = 31 * hash + columns.length;
+            for (double[] column : columns) {
+                hash = 31 * hash + Double.doubleToLongBits(column[row]);
+            }
+        }
+        return hash;
+    }
+}
@@ -1,15 +1,37 @@
 package com.intermancer.gaiaf.core.evaluate;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * An in-memory implementation of the ScoredOrganismRepository interface.
- * For each experimentId, maintains a ranked List of ScoredOrganisms for efficient 
+ * For each experimentId, maintains a RankedIndex of ScoredOrganisms for efficient 
  * score-based searches, as well as a Map of ScoredOrganisms (the "identity Map") 
- * for lookups by ID. Uses a Map of Lists (the "ordered Map") to maintain the order.
+ * for lookups by ID. Uses a Map of RankedIndexes (the "ordered Map") to maintain the order.
+ * A further RankedIndex (the "global index") ranks every ScoredOrganism across
+ * experiments. Saving, deleting and selecting by rank, within an experiment or
+ * globally, take O(log n).
+ *
+ * <p>Writers lock only the experiment's ranking, so that writes to different
+ * experiments run in parallel. Under that lock they queue the change to the global
+ * index, and after releasing it they apply the queued changes if no other thread is
+ * already doing so; global selection applies any still queued before reading. Changes
+ * are queued in the order each experiment makes them, so the global index always
+ * ends up as the union of the rankings.</p>
+ *
+ * <p>Reads that list or count an experiment's organisms take no lock:
+ * size(experimentId) reads a count published with every change, and
+ * getAllOrganismIds() and getTopOrganisms() read an immutable snapshot of the
+ * ranking. Writers never copy the ranking; they only count their changes. A reader that
+ * finds snapshotMutationInterval or more changes unpublished, or the oldest of them
+ * made snapshotIntervalMillis or more ago, publishes a new snapshot under the
+ * experiment's lock, so a ranking that nobody lists is never copied.</p>
  */
 @Repository
 public class InMemoryScoredOrganismRepository implements ScoredOrganismRepository {
@@ -17,8 +39,80 @@ public class InMemoryScoredOrganismRepository implements ScoredOrganismRepositor
     // Identity Map: for fast ID-based lookups
     private final Map<String, ScoredOrganism> organismMap = new ConcurrentHashMap<>();
     
-    // Ordered Map: Maps experimentId -> ranked list of ScoredOrganisms
-    private final Map<String, List<ScoredOrganism>> orderedMap = new ConcurrentHashMap<>();
+    // Ordered Map: Maps experimentId -> ScoredOrganisms ranked by score, then ID
+    private final Map<String, ExperimentRanking> orderedMap = new ConcurrentHashMap<>();
+
+    // Global index: every ScoredOrganism of every experiment, ranked by score, then ID
+    private final RankedIndex globalIndex = new RankedIndex();
+    private final ReentrantLock globalIndexLock = new ReentrantLock();
+
+    // Changes made to the rankings but not yet to the global index, oldest first
+    private final Queue<GlobalChange> pendingGlobalChanges = new ConcurrentLinkedQueue<>();
+
+    private final int snapshotMutationInterval;
+    private final long snapshotIntervalNanos;
+
+    /**
+     * An immutable view of an experiment's ranking, as of a given number of changes.
+     */
+    private record RankedSnapshot(List<ScoredOrganism> organisms, List<String> ids, long version) {
+    }
+
+    /**
+     * An organism added to or removed from a ranking, to be applied to the global index.
+     */
+    private record GlobalChange(ScoredOrganism organism, boolean added) {
+    }
+
+    /**
+     * The ranked organisms of one experiment. The RankedIndex is guarded by the
+     * instance's lock; size, version, snapshot and the time of the first change the
+     * snapshot is missing are written under it and read without it.
+     * A retired ranking has been dropped from the ordered Map and must not be added to;
+     * writers that find it retired look the experiment's ranking up again.
+     */
+    private static final class ExperimentRanking {
+        private final RankedIndex rankedIndex = new RankedIndex();
+        private boolean retired;
+        private volatile int size;
+        private volatile long version;
+        private volatile long firstUnpublishedChangeAt;
+        private volatile RankedSnapshot snapshot = new RankedSnapshot(List.of(), List.of(), 0);
+    }
+
+    /**
+     * Creates a repository with the default snapshot settings of RepositoryConfiguration.
+     */
+    public InMemoryScoredOrganismRepository() {
+        this(new RepositoryConfiguration());
+    }
+
+    /**
+     * Constructor used by Spring, applying the snapshot settings from the application configuration.
+     *
+     * @param repositoryConfiguration The repository settings
+     */
+    @Autowired
+    public InMemoryScoredOrganismRepository(RepositoryConfiguration repositoryConfiguration) {
+        this(repositoryConfiguration.getSnapshotMutationInterval(), repositoryConfiguration.getSnapshotIntervalMillis());
+    }
+
+    /**
+     * @param snapshotMutationInterval The number of unpublished changes to an experiment
+     *                                 after which a reader publishes a new snapshot; 1 keeps
+     *                                 reads current
+     * @param snapshotIntervalMillis The age after which a reader publishes unpublished changes
+     */
+    InMemoryScoredOrganismRepository(int snapshotMutationInterval, long snapshotIntervalMillis) {
+        if (snapshotMutationInterval < 1) {
+            throw new IllegalArgumentException("Snapshot mutation interval must be at least 1");
+        }
+        if (snapshotIntervalMillis < 0) {
+            throw new IllegalArgumentException("Snapshot interval cannot be negative");
+        }
+        this.snapshotMutationInterval = snapshotMutationInterval;
+        this.snapshotIntervalNanos = snapshotIntervalMillis * 1_000_000;
+    }
 
     @Override
     public ScoredOrganism getById(String id) {
@@ -31,42 +125,53 @@ public class InMemoryScoredOrganismRepository implements ScoredOrganismRepositor
 
     @Override
     public ScoredOrganism save(ScoredOrganism scoredOrganism) {
-        // Generate ID if not present
-        ScoredOrganism organismToSave;
-        if (scoredOrganism.id() == null || scoredOrganism.id().isEmpty()) {
-            organismToSave = new ScoredOrganism(
-                UUID.randomUUID().toString(),
-                scoredOrganism.score(),
-                scoredOrganism.organismId(),
-                scoredOrganism.organism(),
-                scoredOrganism.experimentId()
-            );
-        } else {
-            organismToSave = scoredOrganism;
-        }
+        ScoredOrganism saved = store(scoredOrganism);
+        applyGlobalChanges();
+        return saved;
+    }
 
-        String experimentId = organismToSave.experimentId();
-        
-        // Add to identity map
-        organismMap.put(organismToSave.id(), organismToSave);
+    /**
+     * Saves an organism, queuing the change to the global index without applying it.
+     */
+    private ScoredOrganism store(ScoredOrganism scoredOrganism) {
+        ScoredOrganism organismToSave = withId(scoredOrganism);
+        ScoredOrganism previous = organismMap.get(organismToSave.id());
+        if (previous != null) {
+            // Saving an existing ID replaces it, so that it is never ranked twice
+            unrank(previous);
+        }
 
-        // Get or create the ranked list for this experiment
-        List<ScoredOrganism> rankedList = orderedMap.computeIfAbsent(
-            experimentId, 
-            k -> Collections.synchronizedList(new ArrayList<>())
-        );
+        while (true) {
+            // Get or create the ranking for this experiment
+            ExperimentRanking ranking = orderedMap.computeIfAbsent(
+                organismToSave.experimentId(),
+                k -> new ExperimentRanking()
+            );
 
-        synchronized (rankedList) {
-            // Find insertion point using binary search
-            int insertionPoint = Collections.binarySearch(rankedList, organismToSave);
-            if (insertionPoint < 0) {
-                // Convert insertion point to actual index
-                insertionPoint = -(insertionPoint + 1);
+            synchronized (ranking) {
+                if (ranking.retired) {
+                    continue;
+                }
+                rank(ranking, organismToSave);
             }
-            rankedList.add(insertionPoint, organismToSave);
+            return organismToSave;
         }
+    }
 
-        return organismToSave;
+    /**
+     * @return The organism, with a generated ID if it has none
+     */
+    private static ScoredOrganism withId(ScoredOrganism scoredOrganism) {
+        if (scoredOrganism.id() != null && !scoredOrganism.id().isEmpty()) {
+            return scoredOrganism;
+        }
+        return new ScoredOrganism(
+            UUID.randomUUID().toString(),
+            scoredOrganism.score(),
+            scoredOrganism.organismId(),
+            scoredOrganism.organism(),
+            scoredOrganism.experimentId()
+        );
     }
 
     @Override
@@ -76,100 +181,294 @@ public class InMemoryScoredOrganismRepository implements ScoredOrganismRepositor
         if (organism == null) {
             throw new IllegalArgumentException("No ScoredOrganism found with ID: " + id);
         }
+        if (!orderedMap.containsKey(organism.experimentId())) {
+            throw new IllegalArgumentException("No ranked index found for experimentId: " + organism.experimentId());
+        }
+        remove(organism);
+    }
 
-        String experimentId = organism.experimentId();
-        List<ScoredOrganism> rankedList = orderedMap.get(experimentId);
-        
-        if (rankedList == null) {
-            throw new IllegalArgumentException("No ranked list found for experimentId: " + experimentId);
-        }
-
-        synchronized (rankedList) {
-            // Remove from identity map
-            organismMap.remove(id);
-
-            // Find and remove from ranked list using binary search by score
-            int index = Collections.binarySearch(rankedList, organism);
-            if (index >= 0) {
-                // Binary search may find any element with the same score
-                // We need to find the exact element by ID
-                while (index < rankedList.size() && 
-                       rankedList.get(index).score().equals(organism.score())) {
-                    if (rankedList.get(index).id().equals(id)) {
-                        rankedList.remove(index);
-                        return;
-                    }
-                    index++;
+    /**
+     * Checks and replaces under the experiment's lock.
+     */
+    @Override
+    public boolean replace(List<String> ids, List<ScoredOrganism> replacements) {
+        return replaceAll(List.of(new Replacement(ids, replacements)))[0];
+    }
+
+    /**
+     * Takes the experiment's lock once for the whole list, and updates the experiment's
+     * ranking under it. The changes to the global index are applied once the lock is released.
+     */
+    @Override
+    public boolean[] replaceAll(List<Replacement> replacements) {
+        if (replacements.isEmpty()) {
+            return new boolean[0];
+        }
+        String experimentId = null;
+        for (Replacement replacement : replacements) {
+            if (replacement.replacements().isEmpty()) {
+                throw new IllegalArgumentException("At least one replacement is required");
+            }
+            for (ScoredOrganism organism : replacement.replacements()) {
+                if (experimentId == null) {
+                    experimentId = organism.experimentId();
+                } else if (!Objects.equals(experimentId, organism.experimentId())) {
+                    throw new IllegalArgumentException("Replacements must all belong to experimentId: " + experimentId);
+                }
+            }
+        }
+
+        boolean[] applied = new boolean[replacements.size()];
+        while (true) {
+            ExperimentRanking ranking = orderedMap.computeIfAbsent(experimentId, k -> new ExperimentRanking());
+            synchronized (ranking) {
+                if (ranking.retired) {
+                    continue;
+                }
+                for (int i = 0; i < applied.length; i++) {
+                    applied[i] = applyReplacement(replacements.get(i), experimentId, ranking);
                 }
-                // Search backwards as well
-                index = Collections.binarySearch(rankedList, organism);
-                while (index >= 0 && 
-                       rankedList.get(index).score().equals(organism.score())) {
-                    if (rankedList.get(index).id().equals(id)) {
-                        rankedList.remove(index);
-                        return;
-                    }
-                    index--;
+            }
+            applyGlobalChanges();
+            return applied;
+        }
+    }
+
+    /**
+     * Applies one replacement, if every ID still belongs to the experiment.
+     * Called with the experiment's lock held.
+     */
+    private boolean applyReplacement(Replacement replacement, String experimentId, ExperimentRanking ranking) {
+        List<ScoredOrganism> replaced = new ArrayList<>(replacement.ids().size());
+        for (String id : replacement.ids()) {
+            ScoredOrganism organism = organismMap.get(id);
+            if (organism == null || !Objects.equals(experimentId, organism.experimentId())) {
+                return false;
+            }
+            replaced.add(organism);
+        }
+        for (ScoredOrganism organism : replaced) {
+            unrank(ranking, organism);
+        }
+        for (ScoredOrganism organism : replacement.replacements()) {
+            ScoredOrganism organismToSave = withId(organism);
+            ScoredOrganism previous = organismMap.get(organismToSave.id());
+            if (previous != null) {
+                if (Objects.equals(experimentId, previous.experimentId())) {
+                    unrank(ranking, previous);
+                } else {
+                    unrank(previous);
                 }
             }
+            rank(ranking, organismToSave);
         }
+        return true;
     }
 
+    /**
+     * Moves each organism as save() does, removing it from its old experiment's index.
+     * The emptied experiment's ranking is then retired and dropped under its lock, so that
+     * merged islands leave nothing behind and a save() that looked the ranking up meanwhile
+     * adds to a new one instead.
+     */
     @Override
-    public ScoredOrganism getRandomFromTopPercent(float percent) {
-        if (percent < 0.0f || percent > 1.0f) {
-            throw new IllegalArgumentException("Percent must be between 0.0 and 1.0, got: " + percent);
+    public int reassign(String fromExperimentId, String toExperimentId) {
+        ExperimentRanking ranking = orderedMap.get(fromExperimentId);
+        if (ranking == null || fromExperimentId.equals(toExperimentId)) {
+            return 0;
         }
+        List<ScoredOrganism> moving;
+        synchronized (ranking) {
+            moving = ranking.rankedIndex.toList();
+        }
+        for (ScoredOrganism organism : moving) {
+            store(new ScoredOrganism(organism.id(), organism.score(), organism.organismId(),
+                    organism.organism(), toExperimentId));
+        }
+        synchronized (ranking) {
+            if (ranking.rankedIndex.isEmpty()) {
+                ranking.retired = true;
+                orderedMap.remove(fromExperimentId, ranking);
+            }
+        }
+        applyGlobalChanges();
+        return moving.size();
+    }
+
+    /**
+     * Removes an organism from the identity Map and from its experiment's ranked index.
+     * The index is found by the organism's score and ID, so organisms sharing a score
+     * need no special handling.
+     */
+    private void remove(ScoredOrganism organism) {
+        unrank(organism);
+        applyGlobalChanges();
+    }
 
-        if (organismMap.isEmpty()) {
-            throw new IllegalArgumentException("Repository is empty");
+    /**
+     * Removes an organism under its experiment's lock, queuing the change to the global
+     * index without applying it.
+     */
+    private void unrank(ScoredOrganism organism) {
+        ExperimentRanking ranking = orderedMap.get(organism.experimentId());
+        if (ranking == null) {
+            organismMap.remove(organism.id(), organism);
+            return;
         }
+        synchronized (ranking) {
+            unrank(ranking, organism);
+        }
+    }
+
+    /**
+     * Removes an organism from the identity Map and the experiment's ranked index, if it is
+     * still there, and queues its removal from the global index. Called with the
+     * experiment's lock held.
+     */
+    private void unrank(ExperimentRanking ranking, ScoredOrganism organism) {
+        if (organismMap.remove(organism.id(), organism)) {
+            ranking.rankedIndex.remove(organism);
+            pendingGlobalChanges.add(new GlobalChange(organism, false));
+            recordChange(ranking);
+        }
+    }
+
+    /**
+     * Adds an organism to the identity Map and the experiment's ranked index, and queues
+     * its addition to the global index. Called with the experiment's lock held.
+     */
+    private void rank(ExperimentRanking ranking, ScoredOrganism organism) {
+        organismMap.put(organism.id(), organism);
+        ranking.rankedIndex.add(organism);
+        pendingGlobalChanges.add(new GlobalChange(organism, true));
+        recordChange(ranking);
+    }
 
-        // Create a combined sorted list from all experiments
-        List<ScoredOrganism> allOrganisms = new ArrayList<>(organismMap.values());
-        allOrganisms.sort(Comparator.naturalOrder());
+    /**
+     * Applies the queued changes to the global index, unless another thread holds its
+     * lock, in which case that thread applies them before releasing it. Checking the
+     * queue again after unlocking ensures no change is left behind by a writer that
+     * found the lock taken.
+     */
+    private void applyGlobalChanges() {
+        while (!pendingGlobalChanges.isEmpty() && globalIndexLock.tryLock()) {
+            try {
+                drainGlobalChanges();
+            } finally {
+                globalIndexLock.unlock();
+            }
+        }
+    }
 
-        // Calculate the cutoff index for the top percent
-        int size = allOrganisms.size();
-        int cutoffIndex = (int) Math.ceil(size * percent);
-        if (cutoffIndex > size) {
-            cutoffIndex = size;
+    /**
+     * Called with the global index's lock held.
+     */
+    private void drainGlobalChanges() {
+        GlobalChange change;
+        while ((change = pendingGlobalChanges.poll()) != null) {
+            if (change.added()) {
+                globalIndex.add(change.organism());
+            } else {
+                globalIndex.remove(change.organism());
+            }
         }
-        if (cutoffIndex == 0) {
-            cutoffIndex = 1;
+    }
+
+    /**
+     * Publishes the size of a ranking after a change, and counts the change against its
+     * snapshot. Called with the ranking's lock held.
+     */
+    private static void recordChange(ExperimentRanking ranking) {
+        ranking.size = ranking.rankedIndex.size();
+        if (ranking.version == ranking.snapshot.version()) {
+            // Written before the version, so a reader that sees the change sees its time
+            ranking.firstUnpublishedChangeAt = System.nanoTime();
         }
+        ranking.version++;
+    }
 
-        // Select a random organism from the top percentage
-        Random random = new Random();
-        int randomIndex = random.nextInt(cutoffIndex);
-        return allOrganisms.get(randomIndex);
+    private static RankedSnapshot publishSnapshot(ExperimentRanking ranking) {
+        List<ScoredOrganism> organisms = Collections.unmodifiableList(ranking.rankedIndex.toList());
+        List<String> ids = organisms.stream().map(ScoredOrganism::id).toList();
+        ranking.snapshot = new RankedSnapshot(organisms, ids, ranking.version);
+        return ranking.snapshot;
+    }
+
+    /**
+     * Returns the latest snapshot of a ranking without locking while it is missing fewer
+     * than snapshotMutationInterval changes, all made less than snapshotIntervalMillis ago.
+     * Otherwise publishes a current snapshot first.
+     */
+    private RankedSnapshot getSnapshot(ExperimentRanking ranking) {
+        RankedSnapshot snapshot = ranking.snapshot;
+        long unpublishedChanges = ranking.version - snapshot.version();
+        if (unpublishedChanges == 0 || (unpublishedChanges < snapshotMutationInterval
+                && System.nanoTime() - ranking.firstUnpublishedChangeAt < snapshotIntervalNanos)) {
+            return snapshot;
+        }
+        synchronized (ranking) {
+            snapshot = ranking.snapshot;
+            return snapshot.version() == ranking.version ? snapshot : publishSnapshot(ranking);
+        }
     }
 
     @Override
-    public ScoredOrganism getRandomFromBottomPercent(float percent) {
+    public ScoredOrganism getRandomFromTopPercent(float percent) {
         if (percent < 0.0f || percent > 1.0f) {
             throw new IllegalArgumentException("Percent must be between 0.0 and 1.0, got: " + percent);
         }
 
-        if (organismMap.isEmpty()) {
-            throw new IllegalArgumentException("Repository is empty");
-        }
+        globalIndexLock.lock();
+        try {
+            drainGlobalChanges();
+            if (globalIndex.isEmpty()) {
+                throw new IllegalArgumentException("Repository is empty");
+            }
+
+            // Calculate the cutoff rank for the top percent across all experiments
+            int size = globalIndex.size();
+            int cutoffIndex = (int) Math.ceil(size * percent);
+            if (cutoffIndex > size) {
+                cutoffIndex = size;
+            }
+            if (cutoffIndex == 0) {
+                cutoffIndex = 1;
+            }
 
-        // Create a combined sorted list from all experiments
-        List<ScoredOrganism> allOrganisms = new ArrayList<>(organismMap.values());
-        allOrganisms.sort(Comparator.naturalOrder());
+            // Select a random organism from the top percentage
+            int randomIndex = ThreadLocalRandom.current().nextInt(cutoffIndex);
+            return globalIndex.get(randomIndex);
+        } finally {
+            globalIndexLock.unlock();
+        }
+    }
 
-        // Calculate the cutoff index for the bottom percent
-        int size = allOrganisms.size();
-        int cutoffIndex = (int) Math.ceil(size * (1.0 - percent));
-        if (cutoffIndex >= size) {
-            cutoffIndex = size - 1;
+    @Override
+    public ScoredOrganism getRandomFromBottomPercent(float percent) {
+        if (percent < 0.0f || percent > 1.0f) {
+            throw new IllegalArgumentException("Percent must be between 0.0 and 1.0, got: " + percent);
         }
 
-        // Select a random organism from the bottom percentage
-        Random random = new Random();
-        int randomIndex = cutoffIndex + random.nextInt(size - cutoffIndex);
-        return allOrganisms.get(randomIndex);
+        globalIndexLock.lock();
+        try {
+            drainGlobalChanges();
+            if (globalIndex.isEmpty()) {
+                throw new IllegalArgumentException("Repository is empty");
+            }
+
+            // Calculate the cutoff rank for the bottom percent across all experiments
+            int size = globalIndex.size();
+            int cutoffIndex = (int) Math.ceil(size * (1.0 - percent));
+            if (cutoffIndex >= size) {
+                cutoffIndex = size - 1;
+            }
+
+            // Select a random organism from the bottom percentage
+            int randomIndex = cutoffIndex + ThreadLocalRandom.current().nextInt(size - cutoffIndex);
+            return globalIndex.get(randomIndex);
+        } finally {
+            globalIndexLock.unlock();
+        }
     }
 
     @Override
@@ -179,22 +478,31 @@ public class InMemoryScoredOrganismRepository implements ScoredOrganismRepositor
 
     @Override
     public int size(String experimentId) {
-        List<ScoredOrganism> rankedList = orderedMap.get(experimentId);
-        return rankedList == null ? 0 : rankedList.size();
+        ExperimentRanking ranking = orderedMap.get(experimentId);
+        return ranking == null ? 0 : ranking.size;
     }
 
     @Override
     public List<String> getAllOrganismIds(String experimentId) {
-        List<ScoredOrganism> rankedList = orderedMap.get(experimentId);
-        if (rankedList == null) {
+        ExperimentRanking ranking = orderedMap.get(experimentId);
+        if (ranking == null) {
             return Collections.emptyList();
         }
-        
-        synchronized (rankedList) {
-            return rankedList.stream()
-                    .map(ScoredOrganism::id)
-                    .toList();
+        return getSnapshot(ranking).ids();
+    }
+
+    @Override
+    public List<ScoredOrganism> getTopOrganisms(String experimentId, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative, got: " + count);
+        }
+
+        ExperimentRanking ranking = orderedMap.get(experimentId);
+        if (ranking == null) {
+            return Collections.emptyList();
         }
+        List<ScoredOrganism> organisms = getSnapshot(ranking).organisms();
+        return organisms.subList(0, Math.min(count, organisms.size()));
     }
 
     @Override
@@ -203,16 +511,20 @@ public class InMemoryScoredOrganismRepository implements ScoredOrganismRepositor
             throw new IllegalArgumentException("Percent must be between 0.0 and 1.0, got: " + percent);
         }
 
-        List<ScoredOrganism> rankedList = orderedMap.get(experimentId);
-        if (rankedList == null || rankedList.isEmpty()) {
+        ExperimentRanking ranking = orderedMap.get(experimentId);
+        if (ranking == null) {
             throw new IllegalArgumentException("Repository is empty for experimentId: " + experimentId);
         }
 
-        synchronized (rankedList) {
-            // Calculate the cutoff index for the top percent
-            // Since the list is sorted in ascending order and lower scores are better,
-            // top scores (best performers) are at the beginning
-            int size = rankedList.size();
+        synchronized (ranking) {
+            RankedIndex rankedIndex = ranking.rankedIndex;
+            if (rankedIndex.isEmpty()) {
+                throw new IllegalArgumentException("Repository is empty for experimentId: " + experimentId);
+            }
+
+            // Calculate the cutoff rank for the top percent
+            // Since lower scores are better, top scores (best performers) have the lowest ranks
+            int size = rankedIndex.size();
             int cutoffIndex = (int) Math.ceil(size * percent);
             if (cutoffIndex > size) {
                 cutoffIndex = size;
@@ -222,9 +534,8 @@ public class InMemoryScoredOrganismRepository implements ScoredOrganismRepositor
             }
 
             // Select a random organism from the top percentage
-            Random random = new Random();
-            int randomIndex = random.nextInt(cutoffIndex);
-            return rankedList.get(randomIndex);
+            int randomIndex = ThreadLocalRandom.current().nextInt(cutoffIndex);
+            return rankedIndex.get(randomIndex);
         }
     }
 
@@ -234,25 +545,28 @@ public class InMemoryScoredOrganismRepository implements ScoredOrganismRepositor
             throw new IllegalArgumentException("Percent must be between 0.0 and 1.0, got: " + percent);
         }
 
-        List<ScoredOrganism> rankedList = orderedMap.get(experimentId);
-        if (rankedList == null || rankedList.isEmpty()) {
+        ExperimentRanking ranking = orderedMap.get(experimentId);
+        if (ranking == null) {
             throw new IllegalArgumentException("Repository is empty for experimentId: " + experimentId);
         }
 
-        synchronized (rankedList) {
-            // Calculate the cutoff index for the bottom percent
-            // Since the list is sorted in ascending order and lower scores are better,
-            // bottom scores (worst performers) are at the end
-            int size = rankedList.size();
+        synchronized (ranking) {
+            RankedIndex rankedIndex = ranking.rankedIndex;
+            if (rankedIndex.isEmpty()) {
+                throw new IllegalArgumentException("Repository is empty for experimentId: " + experimentId);
+            }
+
+            // Calculate the cutoff rank for the bottom percent
+            // Since lower scores are better, bottom scores (worst performers) have the highest ranks
+            int size = rankedIndex.size();
             int cutoffIndex = (int) Math.ceil(size * (1.0 - percent));
             if (cutoffIndex >= size) {
                 cutoffIndex = size - 1;
             }
 
             // Select a random organism from the bottom percentage
-            Random random = new Random();
-            int randomIndex = cutoffIndex + random.nextInt(size - cutoffIndex);
-            return rankedList.get(randomIndex);
+            int randomIndex = cutoffIndex + ThreadLocalRandom.current().nextInt(size - cutoffIndex);
+            return rankedIndex.get(randomIndex);
         }
     }
 }
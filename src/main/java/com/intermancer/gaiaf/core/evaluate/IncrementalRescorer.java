@@ -0,0 +1,139 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.repo.OrganismNotFoundException;
+import com.intermancer.gaiaf.core.organism.repo.OrganismRepository;
+
+/**
+ * Brings the scores in the ScoredOrganismRepository up to date when rows are appended to
+ * the historical data, running each organism over the new rows only.
+ *
+ * <p>The TerminalEvaluationState each ScoredOrganism's last rescoring ended in is kept,
+ * by experiment and ScoredOrganism ID, and evaluation resumes from it through
+ * BasicEvaluator.evaluateFrom(). A ScoredOrganism saved since the last rescoring resumes
+ * from the state its first scoring ended in, which the evaluator keeps in the FitnessCache
+ * alongside its score. Only when neither state is available, because the FitnessCache is
+ * disabled or has evicted the genome, is the organism evaluated over every row. The
+ * resumed score is bit-identical to a full evaluation of the longer data with the same
+ * column kernels, vector or scalar.</p>
+ *
+ * <p>The data must only grow by rows appended at its end; rows changed or removed before
+ * the end are not detected. Rescoring is meant for experiments that are paused or stopped:
+ * changed scores are saved with ScoredOrganismRepository.replaceAll(), so an organism
+ * deleted meanwhile is not brought back, but the evaluator's historical data is reloaded,
+ * which running evaluations of the same evaluator would see part way through.</p>
+ */
+@Component
+public class IncrementalRescorer {
+
+    private final BasicEvaluator evaluator;
+    private final ScoredOrganismRepository scoredOrganismRepository;
+    private final OrganismRepository organismRepository;
+    private final Map<String, Map<String, TerminalEvaluationState>> terminalStates = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IncrementalRescorer(BasicEvaluator evaluator, ScoredOrganismRepository scoredOrganismRepository,
+                               OrganismRepository organismRepository) {
+        this.evaluator = evaluator;
+        this.scoredOrganismRepository = scoredOrganismRepository;
+        this.organismRepository = organismRepository;
+    }
+
+    /**
+     * Reloads the evaluator's historical data and updates the score of every
+     * ScoredOrganism of an experiment in place, replacing each whose score changed with
+     * one of the same ID. States kept for ScoredOrganisms no longer in the repository are
+     * dropped.
+     *
+     * @param experimentId The experiment whose organisms are rescored
+     * @return The number of ScoredOrganisms whose score was updated
+     * @throws IllegalArgumentException if the historical data has fewer rows than an
+     *                                  organism was last rescored over
+     */
+    public int rescoreAppendedRows(String experimentId) {
+        // Find where each organism's scoring ended before the data is reloaded
+        Map<String, TerminalEvaluationState> previousStates = terminalStates.getOrDefault(experimentId, Map.of());
+        List<Rescoring> rescorings = new ArrayList<>();
+        for (String id : scoredOrganismRepository.getAllOrganismIds(experimentId)) {
+            ScoredOrganism scoredOrganism;
+            Organism organism;
+            try {
+                scoredOrganism = scoredOrganismRepository.getById(id);
+                organism = scoredOrganism.organism() != null
+                        ? scoredOrganism.organism()
+                        : organismRepository.getOrganismById(scoredOrganism.organismId());
+            } catch (IllegalArgumentException | OrganismNotFoundException e) {
+                // Deleted since the IDs were read
+                continue;
+            }
+
+            TerminalEvaluationState previous = previousStates.get(id);
+            if (previous == null) {
+                previous = evaluator.getTerminalState(organism);
+            }
+            rescorings.add(new Rescoring(scoredOrganism, organism, previous));
+        }
+
+        evaluator.reloadHistoricalData();
+        Map<String, TerminalEvaluationState> states = new HashMap<>();
+        List<ScoredOrganismRepository.Replacement> replacements = new ArrayList<>();
+        for (Rescoring rescoring : rescorings) {
+            ScoredOrganism scoredOrganism = rescoring.scoredOrganism();
+            TerminalEvaluationState state = evaluator.evaluateFrom(rescoring.organism(), rescoring.previous());
+            states.put(scoredOrganism.id(), state);
+            Double score = state.getScore();
+            if (!Objects.equals(score, scoredOrganism.score())) {
+                replacements.add(new ScoredOrganismRepository.Replacement(List.of(scoredOrganism.id()),
+                        List.of(new ScoredOrganism(scoredOrganism.id(), score, scoredOrganism.organismId(),
+                                rescoring.organism(), scoredOrganism.experimentId()))));
+            }
+        }
+        terminalStates.put(experimentId, states);
+
+        int updatedCount = 0;
+        if (!replacements.isEmpty()) {
+            for (boolean applied : scoredOrganismRepository.replaceAll(replacements)) {
+                if (applied) {
+                    updatedCount++;
+                }
+            }
+        }
+        return updatedCount;
+    }
+
+    /**
+     * A ScoredOrganism to rescore, with the state its last evaluation ended in, or null
+     * to evaluate it over every row.
+     */
+    private record Rescoring(ScoredOrganism scoredOrganism, Organism organism, TerminalEvaluationState previous) {
+    }
+
+    /**
+     * @param experimentId An experiment
+     * @param id The ID of one of its ScoredOrganisms
+     * @return The state the ScoredOrganism's last rescoring ended in, or null if it has not been rescored
+     */
+    public TerminalEvaluationState getTerminalState(String experimentId, String id) {
+        return terminalStates.getOrDefault(experimentId, Map.of()).get(id);
+    }
+
+    /**
+     * Drops the states kept for an experiment, so that its organisms are next rescored
+     * over every row.
+     *
+     * @param experimentId The experiment
+     */
+    public void forget(String experimentId) {
+        terminalStates.remove(experimentId);
+    }
+}
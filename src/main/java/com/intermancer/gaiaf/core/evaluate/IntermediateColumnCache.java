@@ -0,0 +1,126 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.intermancer.gaiaf.core.organism.CompiledOrganism;
+
+/**
+ * A memory-budgeted, least-recently-used cache of the columns each evaluated organism
+ * computed, keyed by organism ID.
+ *
+ * <p>A child bred from a parent shares the parent's leading Genes until its first
+ * mutation, so BasicEvaluator looks the parent up here and only runs the child's
+ * program from the first instruction that differs. Only the columns written by the
+ * program count against the budget; the input columns belong to the dataset.</p>
+ *
+ * <p>Cached columns are shared with the programs that reuse them and must never be
+ * modified.</p>
+ */
+final class IntermediateColumnCache {
+
+    /**
+     * The program an organism was compiled to, with every register column it computed.
+     */
+    record Entry(CompiledOrganism program, double[][] columns, long bytes) {
+    }
+
+    private final long budgetBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long reusedInstructionCount = 0;
+
+    /**
+     * @param budgetBytes The maximum number of bytes of computed columns to keep
+     */
+    IntermediateColumnCache(long budgetBytes) {
+        if (budgetBytes < 1) {
+            throw new IllegalArgumentException("Intermediate column cache budget must be at least 1 byte");
+        }
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Looks up the columns of an organism, recording a hit or a miss.
+     *
+     * @param organismId The ID of the organism
+     * @return The organism's program and columns, or null if they are not cached
+     */
+    synchronized Entry get(String organismId) {
+        Entry entry = entries.get(organismId);
+        if (entry == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Caches the columns an organism computed, evicting the least recently used
+     * organisms until they fit in the budget. Columns larger than the whole budget
+     * are not cached.
+     *
+     * @param organismId The ID of the organism
+     * @param program The program the columns were computed by
+     * @param columns All getRegisterCount() columns of the program
+     * @param rowCount The number of rows in each column
+     */
+    synchronized void put(String organismId, CompiledOrganism program, double[][] columns, int rowCount) {
+        long bytes = (long) (program.getRegisterCount() - program.getInputWidth()) * rowCount * Double.BYTES;
+        Entry previous = entries.remove(organismId);
+        if (previous != null) {
+            usedBytes -= previous.bytes();
+        }
+        if (bytes > budgetBytes) {
+            return;
+        }
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (usedBytes + bytes > budgetBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().bytes();
+            eldest.remove();
+        }
+        entries.put(organismId, new Entry(program, columns, bytes));
+        usedBytes += bytes;
+    }
+
+    /**
+     * Records that a child started from the given number of its parent's instructions.
+     */
+    synchronized void recordReuse(int instructionCount) {
+        reusedInstructionCount += instructionCount;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    synchronized long getReusedInstructionCount() {
+        return reusedInstructionCount;
+    }
+}
@@ -0,0 +1,228 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An order-statistic tree of ScoredOrganisms, ranked by score and then by ID.
+ * Each node records the size of its subtree, so inserting, removing, finding the
+ * organism at a rank and finding the rank of an organism all take O(log n).
+ * Rank 0 is the best (lowest) score.
+ *
+ * <p>The tree is an AVL tree. It is not thread-safe; InMemoryScoredOrganismRepository
+ * guards each instance with its own lock.</p>
+ */
+final class RankedIndex {
+
+    /**
+     * Orders ScoredOrganisms by score, breaking ties by ID so that every organism
+     * has exactly one place in the index.
+     */
+    static final Comparator<ScoredOrganism> RANK_ORDER =
+            Comparator.comparing(ScoredOrganism::score).thenComparing(ScoredOrganism::id);
+
+    private static final class Node {
+        private final ScoredOrganism value;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private int size = 1;
+
+        Node(ScoredOrganism value) {
+            this.value = value;
+        }
+    }
+
+    private Node root;
+
+    /**
+     * @return The number of organisms in the index
+     */
+    int size() {
+        return size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Adds an organism, which must have a score and an ID.
+     *
+     * @param scoredOrganism The organism to add
+     * @throws IllegalArgumentException if an organism with the same score and ID is already present
+     */
+    void add(ScoredOrganism scoredOrganism) {
+        root = insert(root, scoredOrganism);
+    }
+
+    /**
+     * Removes an organism, found by its score and ID.
+     *
+     * @param scoredOrganism The organism to remove
+     * @return true if the organism was present
+     */
+    boolean remove(ScoredOrganism scoredOrganism) {
+        int sizeBefore = size();
+        root = delete(root, scoredOrganism);
+        return size() < sizeBefore;
+    }
+
+    /**
+     * @param rank The rank of the organism, from 0 (the best) to size() - 1 (the worst)
+     * @return The organism at the rank
+     * @throws IndexOutOfBoundsException if the rank is outside the index
+     */
+    ScoredOrganism get(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " is outside an index of size " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * @param scoredOrganism The organism to look for, by its score and ID
+     * @return The rank of the organism, or -1 if it is not in the index
+     */
+    int rankOf(ScoredOrganism scoredOrganism) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = RANK_ORDER.compare(scoredOrganism, node.value);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Every organism in the index, from the best score to the worst
+     */
+    List<ScoredOrganism> toList() {
+        List<ScoredOrganism> list = new ArrayList<>(size());
+        // Iterative in-order walk, so that deep trees cannot overflow the stack
+        List<Node> stack = new ArrayList<>();
+        Node node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.add(node);
+                node = node.left;
+            }
+            node = stack.remove(stack.size() - 1);
+            list.add(node.value);
+            node = node.right;
+        }
+        return list;
+    }
+
+    private static Node insert(Node node, ScoredOrganism value) {
+        if (node == null) {
+            return new Node(value);
+        }
+        int comparison = RANK_ORDER.compare(value, node.value);
+        if (comparison < 0) {
+            node.left = insert(node.left, value);
+        } else if (comparison > 0) {
+            node.right = insert(node.right, value);
+        } else {
+            throw new IllegalArgumentException("ScoredOrganism " + value.id() + " is already ranked");
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, ScoredOrganism value) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = RANK_ORDER.compare(value, node.value);
+        if (comparison < 0) {
+            node.left = delete(node.left, value);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace the node with its successor, the leftmost node of the right subtree
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.value);
+            replacement.right = delete(node.right, successor.value);
+            replacement.left = node.left;
+            return rebalance(replacement);
+        }
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,34 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "repository")
+public class RepositoryConfiguration {
+    /**
+     * The number of changes to an experiment's ranking after which the snapshot read by
+     * listing calls is republished.
+     */
+    private int snapshotMutationInterval = 64;
+    /**
+     * The age, in milliseconds, after which unpublished changes to a ranking are published.
+     */
+    private long snapshotIntervalMillis = 100;
+
+    public int getSnapshotMutationInterval() {
+        return snapshotMutationInterval;
+    }
+
+    public void setSnapshotMutationInterval(int snapshotMutationInterval) {
+        this.snapshotMutationInterval = snapshotMutationInterval;
+    }
+
+    public long getSnapshotIntervalMillis() {
+        return snapshotIntervalMillis;
+    }
+
+    public void setSnapshotIntervalMillis(long snapshotIntervalMillis) {
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+}
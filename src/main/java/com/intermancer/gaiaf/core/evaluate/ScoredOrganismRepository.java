@@ -9,6 +9,15 @@ import java.util.List;
  */
 public interface ScoredOrganismRepository {
 
+    /**
+     * One step of replaceAll(): the ScoredOrganisms to delete and those to save in their place.
+     *
+     * @param ids The IDs of the ScoredOrganisms to delete; may be empty to only save
+     * @param replacements The ScoredOrganisms to save, at least one
+     */
+    record Replacement(List<String> ids, List<ScoredOrganism> replacements) {
+    }
+
     /**
      * Retrieves a ScoredOrganism record by its ID.
      *
@@ -36,6 +45,40 @@ public interface ScoredOrganismRepository {
      */
     void delete(String id);
 
+    /**
+     * Atomically replaces ScoredOrganisms of one experiment: if every ID still exists,
+     * deletes them and saves the replacements; otherwise changes nothing. Lets several
+     * workers of an experiment replace parents without losing or duplicating records
+     * when two of them chose the same parent.
+     *
+     * @param ids The IDs of the ScoredOrganisms to delete
+     * @param replacements The ScoredOrganisms to save in their place, from the same experiment
+     * @return true if the replacement was made, false if any of the IDs no longer exists
+     * @throws IllegalArgumentException if replacements is empty or spans several experiments
+     */
+    boolean replace(List<String> ids, List<ScoredOrganism> replacements);
+
+    /**
+     * Applies several replacements of one experiment in order, as a single operation.
+     * Each replacement succeeds or fails on its own, exactly as replace() would, so a
+     * replacement whose IDs were deleted by an earlier one in the list fails.
+     *
+     * @param replacements The replacements to apply, all in the same experiment
+     * @return For each replacement, whether it was made
+     * @throws IllegalArgumentException if a replacement saves nothing, or the replacements span several experiments
+     */
+    boolean[] replaceAll(List<Replacement> replacements);
+
+    /**
+     * Moves every ScoredOrganism of one experiment to another, keeping their IDs and scores.
+     * Used to merge the islands of an island-model experiment back into the experiment.
+     *
+     * @param fromExperimentId The experiment to move ScoredOrganisms from
+     * @param toExperimentId The experiment to move them to
+     * @return The number of ScoredOrganisms moved
+     */
+    int reassign(String fromExperimentId, String toExperimentId);
+
     /**
      * Returns a random ScoredOrganism from the top percentage of scores.
      * Since lower scores indicate better performance (closer to 0), the top
@@ -91,6 +134,18 @@ public interface ScoredOrganismRepository {
      */
     List<String> getAllOrganismIds(String experimentId);
 
+    /**
+     * Returns the best-scoring ScoredOrganisms with the given experimentId, best first.
+     * Implementations may serve this from a recent snapshot rather than the latest state,
+     * so that frequent listing does not hold up experiments.
+     *
+     * @param experimentId The ID of the experiment to list organisms for
+     * @param count The maximum number of ScoredOrganisms to return
+     * @return Up to count ScoredOrganisms, in order of increasing score
+     * @throws IllegalArgumentException if count is negative
+     */
+    List<ScoredOrganism> getTopOrganisms(String experimentId, int count);
+
     /**
      * Returns a random ScoredOrganism from the top percentage of scores with the given experimentId.
      * Since lower scores indicate better performance (closer to 0), the top
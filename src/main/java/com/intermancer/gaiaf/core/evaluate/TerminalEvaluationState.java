@@ -0,0 +1,56 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import com.intermancer.gaiaf.core.organism.kernel.CompensatedSum;
+
+/**
+ * The state an organism's evaluation ended in: its accumulated error and the predictions
+ * still waiting for their row. Evaluation can resume from it when rows are appended to the
+ * historical data, giving the score a full evaluation of the longer series would.
+ *
+ * @param leadConsumptionCount The lead the organism was evaluated with
+ * @param targetIndex The target index the organism was evaluated with
+ * @param rowCount The number of rows evaluated
+ * @param errorSum The running sum of the errors, as CompensatedSum.getRunningSum()
+ * @param errorCompensation The compensation of the sum, as CompensatedSum.getCompensation()
+ * @param simpleErrorSum The plain sum of the errors, as CompensatedSum.getSimpleSum()
+ * @param pendingPredictions The predictions not yet compared with a row, oldest first
+ */
+public record TerminalEvaluationState(
+    int leadConsumptionCount,
+    int targetIndex,
+    long rowCount,
+    double errorSum,
+    double errorCompensation,
+    double simpleErrorSum,
+    double[] pendingPredictions
+) {
+
+    public TerminalEvaluationState {
+        if (leadConsumptionCount < 1) {
+            throw new IllegalArgumentException("Lead consumption count must be at least 1");
+        }
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("Row count cannot be negative");
+        }
+        if (pendingPredictions.length != Math.min(rowCount, leadConsumptionCount - 1)) {
+            throw new IllegalArgumentException("Expected " + Math.min(rowCount, leadConsumptionCount - 1)
+                    + " pending predictions after " + rowCount + " rows, not " + pendingPredictions.length);
+        }
+        pendingPredictions = pendingPredictions.clone();
+    }
+
+    /**
+     * @return A copy of the pending predictions, oldest first
+     */
+    @Override
+    public double[] pendingPredictions() {
+        return pendingPredictions.clone();
+    }
+
+    /**
+     * @return The organism's score over the rows evaluated
+     */
+    public double getScore() {
+        return new CompensatedSum(errorSum, errorCompensation, simpleErrorSum).getSum();
+    }
+}
@@ -0,0 +1,126 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Finds and opens the training data at a path. A path is looked up on the classpath first
+ * and then on the file system. A path ending in .gcol is read as a ColumnarDatasetFile,
+ * memory-mapped when it is a file; any other path is CSV, loaded by a CsvIngester and
+ * streamed by HistoricalDataCsv. Classpath resources that are not files, such as those
+ * packaged in a jar, are read as streams.
+ */
+final class TrainingDataFiles {
+
+    private TrainingDataFiles() {
+    }
+
+    /**
+     * Loads the dataset at a path.
+     *
+     * @param csvIngester Parses the dataset if it is CSV
+     * @return The loaded dataset
+     * @throws IllegalStateException if there is no dataset at the path
+     */
+    static HistoricalDataset load(String path, CsvIngester csvIngester) {
+        boolean columnar = isColumnar(path);
+        try {
+            Path file = resolveFile(path);
+            if (file != null) {
+                if (columnar) {
+                    return new HistoricalDataset(ColumnarDatasetFile.map(file));
+                }
+                return csvIngester.ingest(file).toHistoricalDataset();
+            }
+            try (InputStream input = openResource(path)) {
+                if (columnar) {
+                    return new HistoricalDataset(ColumnarDatasetFile.read(input, path));
+                }
+                return csvIngester.ingest(input).toHistoricalDataset();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load historical data from " + path, e);
+        }
+    }
+
+    /**
+     * Opens the dataset at a path for reading in chunks of rows. A .gcol file packaged in a
+     * jar cannot be mapped, so it is read whole and its chunks copied from memory.
+     *
+     * @return A reader of the dataset's rows, to be closed when done
+     * @throws IOException if the dataset cannot be read
+     * @throws IllegalStateException if there is no dataset at the path
+     */
+    static ColumnChunkReader openChunkReader(String path) throws IOException {
+        boolean columnar = isColumnar(path);
+        Path file = resolveFile(path);
+        if (file != null) {
+            return columnar
+                    ? ColumnarDatasetFile.openChunkReader(file)
+                    : HistoricalDataCsv.openChunkReader(Files.newBufferedReader(file));
+        }
+        InputStream input = openResource(path);
+        if (columnar) {
+            try (input) {
+                return ColumnChunkReader.of(ColumnarDatasetFile.read(input, path));
+            }
+        }
+        return HistoricalDataCsv.openChunkReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return The size and modification time of the dataset's file, or a constant for a
+     *         classpath resource that is not a file, since it cannot change
+     */
+    static String fingerprint(String path) {
+        Path file = resolveFile(path);
+        if (file == null) {
+            return "resource";
+        }
+        try {
+            return Files.size(file) + "@" + Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // Loading reports the failure
+            return "unreadable";
+        }
+    }
+
+    private static boolean isColumnar(String path) {
+        return path.endsWith(ColumnarDatasetFile.EXTENSION);
+    }
+
+    private static InputStream openResource(String path) {
+        InputStream input = TrainingDataFiles.class.getResourceAsStream(path);
+        if (input == null) {
+            throw new IllegalStateException("No historical data found at " + path);
+        }
+        return input;
+    }
+
+    /**
+     * @return The file holding the dataset, or null if it is a classpath resource that is
+     *         not a file, such as one packaged in a jar, or there is no dataset at the path
+     */
+    private static Path resolveFile(String path) {
+        URL resource = TrainingDataFiles.class.getResource(path);
+        if (resource == null) {
+            Path file = Path.of(path);
+            return Files.isRegularFile(file) ? file : null;
+        }
+        if (!"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Path.of(resource.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -4,16 +4,32 @@ import com.intermancer.gaiaf.core.experiment.repo.ExperimentStatusRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
 
 /**
  * BasicExperimentImpl orchestrates the complete experimentation process.
  * It manages seeding the ScoredOrganismRepository with initial evaluated organisms
  * and executing multiple Experiment Cycles.
+ * A prototype bean, so that each experiment started has its own instance and status.
  */
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class BasicExperimentImpl implements Experiment {
     
     private static final Logger logger = LoggerFactory.getLogger(BasicExperimentImpl.class);
@@ -22,21 +38,29 @@ public class BasicExperimentImpl implements Experiment {
     private final ExperimentConfiguration experimentConfiguration;
     private final ExperimentCycle experimentCycle;
     private final ExperimentStatusRepository experimentStatusRepository;
+    private final IslandMigrator islandMigrator;
     private ExperimentStatus experimentStatus;
     private volatile boolean paused = false;
+    // A lock rather than a monitor, so that a virtual thread waiting while paused unmounts
+    // from its carrier thread instead of pinning it
+    private final ReentrantLock pauseLock = new ReentrantLock();
+    private final Condition resumed = pauseLock.newCondition();
     private boolean pausable;
     private int pauseCycles;
+    private int cyclesRemaining;
     
     @Autowired
     public BasicExperimentImpl(Seeder seeder,
                                ExperimentConfiguration experimentConfiguration,
                                ExperimentCycle experimentCycle,
-                               ExperimentStatusRepository experimentStatusRepository) {
+                               ExperimentStatusRepository experimentStatusRepository,
+                               IslandMigrator islandMigrator) {
         this.experimentId = UUID.randomUUID().toString();
         this.seeder = seeder;
         this.experimentConfiguration = experimentConfiguration;
         this.experimentCycle = experimentCycle;
         this.experimentStatusRepository = experimentStatusRepository;
+        this.islandMigrator = islandMigrator;
     }
     
     @Override
@@ -48,17 +72,54 @@ public class BasicExperimentImpl implements Experiment {
      * Executes the complete experiment process:
      * 1. Seeds the ScoredOrganismRepository by calling the Seeder 
      *    (the Seeder evaluates organisms and stores them)
-     * 2. Runs the number of experiment cycles specified in ExperimentConfiguration
+     * 2. Runs the number of experiment cycles specified in ExperimentConfiguration,
+     *    on workerCount threads at once when workerCount is above 1
+     * When islandCount is above 1, the population is split into islands instead:
+     * each island is seeded and evolved on its own thread, and merged back into the
+     * experiment when the cycles are done.
      */
     @Override
     public void runExperiment() {
+        initializeStatus();
+        
+        try {
+            int cycleCount = experimentConfiguration.getCycleCount();
+            int islandCount = experimentConfiguration.getIslandCount();
+            if (islandCount > 1) {
+                runIslands(cycleCount, islandCount);
+            } else {
+                // Seed the repository with the experiment ID
+                seeder.seed(experimentId);
+                
+                // Run experiment cycles
+                runCycles(cycleCount);
+            }
+            
+            logger.info("Experiment {} completed", experimentId);
+            finish(ExperimentState.STOPPED);
+        } catch (Exception e) {
+            logger.error("Experiment {} failed with exception", experimentId, e);
+            finish(ExperimentState.EXCEPTION);
+            throw e;
+        }
+    }
+    
+    /**
+     * Copies pausable and pauseCycles from the configuration and creates and saves a
+     * RUNNING status for this run. The QUEUED status saved while the experiment waited to
+     * be admitted is taken over, so that the experiment's status can be read throughout.
+     */
+    private void initializeStatus() {
         // Copy pausable and pauseCycles from configuration
         this.pausable = experimentConfiguration.isPausable();
         this.pauseCycles = experimentConfiguration.getPauseCycles();
         
-        // Create a new experiment status instance for this experiment
-        experimentStatus = new ExperimentStatus();
+        // Create a new experiment status instance for this experiment, unless it was queued
+        experimentStatus = experimentStatusRepository.findByExperimentId(experimentId)
+                .filter(status -> status.getStatus() == ExperimentState.QUEUED)
+                .orElseGet(ExperimentStatus::new);
         experimentStatus.setExperimentId(experimentId);
+        experimentStatus.setQueuePosition(0);
         experimentStatus.setStatus(ExperimentState.RUNNING);
         
         // Save the status to the repository so it can be retrieved
@@ -66,74 +127,291 @@ public class BasicExperimentImpl implements Experiment {
         
         logger.info("Experiment {} running {} cycles (pausable: {}, pauseCycles: {})", 
             experimentId, experimentConfiguration.getCycleCount(), pausable, pauseCycles);
-        
+    }
+
+    /**
+     * Creates the status and seeds the repository. A sliced run always keeps a single
+     * population and runs its cycles one after another, since the ExperimentScheduler
+     * provides the parallelism: workerCount and islandCount are not used.
+     */
+    @Override
+    public void start() {
+        initializeStatus();
+        cyclesRemaining = experimentConfiguration.getCycleCount();
         try {
-            // Seed the repository with the experiment ID
             seeder.seed(experimentId);
-            
-             // Run experiment cycles
-             int cycleCount = experimentConfiguration.getCycleCount();
-             for (int i = 0; i < cycleCount; i++) {
-                 // Check if paused and wait if necessary
-                 synchronized (this) {
-                     while (paused) {
-                         logger.debug("Experiment {} paused, waiting...", experimentId);
-                         try {
-                             wait();
-                         } catch (InterruptedException e) {
-                             Thread.currentThread().interrupt();
-                             logger.warn("Experiment {} interrupted while paused", experimentId);
-                             throw new RuntimeException("Experiment interrupted while paused", e);
-                         }
-                     }
-                 }
-                 
-                 experimentCycle.mutationCycle(experimentId, experimentStatus);
-                 experimentStatus.incrementCyclesCompleted();
-                 
-                 // Check for auto-pause at regular intervals (every pauseCycles cycles)
-                 if (pausable && pauseCycles > 0 && experimentStatus.getCyclesCompleted() % pauseCycles == 0) {
-                     logger.info("Experiment {} auto-pausing at cycle {}", experimentId, experimentStatus.getCyclesCompleted());
-                     pause();
-                 }
-                 
-                 // Log progress every 100 cycles
-                 if ((i + 1) % 100 == 0) {
-                     logger.info("Cycles run:" + (i + 1));
-                 }
-             }
-            
-            logger.info("Experiment {} completed", experimentId);
-            experimentStatus.setStatus(ExperimentState.STOPPED);
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             logger.error("Experiment {} failed with exception", experimentId, e);
-            experimentStatus.setStatus(ExperimentState.EXCEPTION);
+            finish(ExperimentState.EXCEPTION);
             throw e;
         }
     }
+
+    /**
+     * Runs up to maxCycles cycles, stopping early once the experiment is paused, and sets
+     * the status to STOPPED when the last cycle has run.
+     */
+    @Override
+    public boolean runSlice(int maxCycles) {
+        if (experimentStatus == null) {
+            throw new IllegalStateException("Experiment " + experimentId + " has not been started");
+        }
+        try {
+            for (int i = 0; i < maxCycles && cyclesRemaining > 0 && !paused; i++) {
+                runCycle();
+                cyclesRemaining--;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Experiment {} failed with exception", experimentId, e);
+            finish(ExperimentState.EXCEPTION);
+            throw e;
+        }
+        if (cyclesRemaining > 0) {
+            return true;
+        }
+        logger.info("Experiment {} completed", experimentId);
+        finish(ExperimentState.STOPPED);
+        return false;
+    }
+
+    /**
+     * Runs the experiment's cycles once the repository has been seeded: one after another,
+     * or on workerCount threads at once when workerCount is above 1.
+     *
+     * @param cycleCount The number of cycles to run
+     */
+    protected void runCycles(int cycleCount) {
+        int workerCount = experimentConfiguration.getWorkerCount();
+        if (workerCount > 1) {
+            runCyclesConcurrently(cycleCount, workerCount);
+        } else {
+            for (int i = 0; i < cycleCount; i++) {
+                awaitResume();
+                runCycle();
+            }
+        }
+    }
+
+    /**
+     * @return The status of the current run, or null before the experiment has started
+     */
+    protected ExperimentStatus getExperimentStatus() {
+        return experimentStatus;
+    }
+
+    /**
+     * Blocks the calling thread while the experiment is paused.
+     */
+    protected void awaitResume() {
+        pauseLock.lock();
+        try {
+            while (paused) {
+                logger.debug("Experiment {} paused, waiting...", experimentId);
+                try {
+                    resumed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Experiment {} interrupted while paused", experimentId);
+                    throw new RuntimeException("Experiment interrupted while paused", e);
+                }
+            }
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Runs one mutation cycle and records it.
+     */
+    private void runCycle() {
+        experimentCycle.mutationCycle(experimentId, experimentStatus);
+        recordCycleCompleted();
+    }
+
+    /**
+     * Counts a completed cycle, auto-pausing every pauseCycles cycles.
+     */
+    protected void recordCycleCompleted() {
+        int cyclesCompleted = experimentStatus.incrementCyclesCompleted();
+        
+        // Check for auto-pause at regular intervals (every pauseCycles cycles)
+        if (pausable && pauseCycles > 0 && cyclesCompleted % pauseCycles == 0) {
+            logger.info("Experiment {} auto-pausing at cycle {}", experimentId, cyclesCompleted);
+            pause();
+        }
+        
+        // Log progress every 100 cycles
+        if (cyclesCompleted % 100 == 0) {
+            logger.info("Cycles run:" + cyclesCompleted);
+        }
+    }
+
+    /**
+     * Runs the cycles on workerCount threads, each claiming the next cycle until all have
+     * been claimed. Parents and children of concurrent cycles may overlap; maintainRepository()
+     * resolves that by dropping the children of a cycle whose parents were already replaced.
+     * Cycles that are in progress when the experiment is paused still complete.
+     */
+    private void runCyclesConcurrently(int cycleCount, int workerCount) {
+        AtomicInteger cyclesClaimed = new AtomicInteger();
+        runOnThreads("worker", workerCount, worker -> {
+            while (!Thread.currentThread().isInterrupted() && cyclesClaimed.getAndIncrement() < cycleCount) {
+                awaitResume();
+                runCycle();
+            }
+        });
+    }
+
+    /**
+     * Runs the cycles on islandCount islands, each a population of its own with an equal
+     * share of repoCapacity, evolved on its own thread. The islands claim cycles from the
+     * shared cycleCount, so a faster island runs more of them. Every migrationInterval of
+     * its own cycles, an island copies its best organisms to another island chosen by the
+     * migrationTopology. The islands are merged into the experiment when they finish.
+     */
+    private void runIslands(int cycleCount, int islandCount) {
+        int islandCapacity = Math.max(2, experimentConfiguration.getRepoCapacity() / islandCount);
+        int migrationInterval = experimentConfiguration.getMigrationInterval();
+        int migrationSize = experimentConfiguration.getMigrationSize();
+        MigrationTopology migrationTopology = experimentConfiguration.getMigrationTopology();
+
+        List<String> islandIds = new ArrayList<>(islandCount);
+        for (int island = 0; island < islandCount; island++) {
+            islandIds.add(getIslandId(island));
+        }
+        AtomicInteger cyclesClaimed = new AtomicInteger();
+        try {
+            for (String islandId : islandIds) {
+                seeder.seed(islandId);
+            }
+            runOnThreads("island", islandCount, island -> {
+                String islandId = islandIds.get(island);
+                int islandCycles = 0;
+                while (!Thread.currentThread().isInterrupted() && cyclesClaimed.getAndIncrement() < cycleCount) {
+                    awaitResume();
+                    experimentCycle.mutationCycle(islandId, islandCapacity, experimentStatus);
+                    recordCycleCompleted();
+                    islandCycles++;
+                    if (migrationInterval > 0 && migrationSize > 0 && islandCycles % migrationInterval == 0) {
+                        String targetIslandId = islandIds.get(chooseMigrationTarget(island, islandCount, migrationTopology));
+                        experimentStatus.incrementOrganismsMigrated(
+                                islandMigrator.migrate(islandId, targetIslandId, migrationSize, islandCapacity));
+                    }
+                }
+            });
+        } finally {
+            islandMigrator.merge(islandIds, experimentId);
+        }
+    }
+
+    /**
+     * @return The ID under which an island's population is kept while the experiment runs
+     */
+    String getIslandId(int island) {
+        return experimentId + ":island-" + island;
+    }
+
+    private static int chooseMigrationTarget(int island, int islandCount, MigrationTopology migrationTopology) {
+        if (migrationTopology == MigrationTopology.RANDOM) {
+            // Any island but this one
+            int target = ThreadLocalRandom.current().nextInt(islandCount - 1);
+            return target >= island ? target + 1 : target;
+        }
+        return (island + 1) % islandCount;
+    }
+
+    /**
+     * Runs the body on threadCount threads, passing each its index, and waits for all of them.
+     * If any thread fails, the others are interrupted and the failure is rethrown.
+     */
+    private void runOnThreads(String role, int threadCount, IntConsumer body) {
+        ExecutorService threads = Executors.newFixedThreadPool(threadCount,
+                Thread.ofPlatform().name("experiment-" + experimentId.substring(0, 8) + "-" + role + "-", 0).factory());
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(threads);
+        try {
+            for (int index = 0; index < threadCount; index++) {
+                int threadIndex = index;
+                completionService.submit(() -> {
+                    body.accept(threadIndex);
+                    return null;
+                });
+            }
+            for (int index = 0; index < threadCount; index++) {
+                completionService.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Experiment interrupted", e);
+        } catch (ExecutionException e) {
+            throw propagate(e, role);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Unwraps the failure of a task run by the experiment, rethrowing Errors as they are.
+     *
+     * @param e The failure of the task
+     * @param role What the task was doing, for the message of checked exceptions
+     * @return The RuntimeException to throw
+     */
+    protected static RuntimeException propagate(ExecutionException e, String role) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException("Experiment " + role + " failed", e.getCause());
+    }
     
     @Override
     public void pause() {
-        if (experimentStatus != null && experimentStatus.getStatus() == ExperimentState.RUNNING) {
-            logger.info("Pausing experiment {}", experimentId);
-            paused = true;
-            experimentStatus.setStatus(ExperimentState.PAUSED);
-        } else {
-            logger.warn("Cannot pause experiment {} - current state: {}", 
-                experimentId, experimentStatus != null ? experimentStatus.getStatus() : "null");
+        pauseLock.lock();
+        try {
+            if (experimentStatus != null && experimentStatus.getStatus() == ExperimentState.RUNNING) {
+                logger.info("Pausing experiment {}", experimentId);
+                paused = true;
+                experimentStatus.setStatus(ExperimentState.PAUSED);
+            } else {
+                logger.warn("Cannot pause experiment {} - current state: {}", 
+                    experimentId, experimentStatus != null ? experimentStatus.getStatus() : "null");
+            }
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Sets the final status of the run. Done under the pause lock, so that a pause() or
+     * resume() that checked the status just before cannot overwrite it, as could happen
+     * when the last cycle auto-pauses.
+     */
+    private void finish(ExperimentState state) {
+        pauseLock.lock();
+        try {
+            experimentStatus.setStatus(state);
+        } finally {
+            pauseLock.unlock();
         }
     }
     
     @Override
-    public synchronized void resume() {
-        if (experimentStatus != null && experimentStatus.getStatus() == ExperimentState.PAUSED) {
-            logger.info("Resuming experiment {}", experimentId);
-            paused = false;
-            experimentStatus.setStatus(ExperimentState.RUNNING);
-            notifyAll();
-        } else {
-            logger.warn("Cannot resume experiment {} - current state: {}", 
-                experimentId, experimentStatus != null ? experimentStatus.getStatus() : "null");
+    public void resume() {
+        pauseLock.lock();
+        try {
+            if (experimentStatus != null && experimentStatus.getStatus() == ExperimentState.PAUSED) {
+                logger.info("Resuming experiment {}", experimentId);
+                paused = false;
+                experimentStatus.setStatus(ExperimentState.RUNNING);
+                resumed.signalAll();
+            } else {
+                logger.warn("Cannot resume experiment {} - current state: {}", 
+                    experimentId, experimentStatus != null ? experimentStatus.getStatus() : "null");
+            }
+        } finally {
+            pauseLock.unlock();
         }
     }
     
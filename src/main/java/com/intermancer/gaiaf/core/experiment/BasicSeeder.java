@@ -10,9 +10,12 @@ import com.intermancer.gaiaf.core.organism.repo.OrganismRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.UUID;
+
 /**
  * BasicSeeder is a very basic implementation of the Seeder interface.
- * It statically defines 5 Organisms, evaluates them, and loads them into the repositories.
+ * It statically defines 5 Organisms, evaluates them as one batch, and loads them into the repositories.
  */
 @Component
 public class BasicSeeder implements Seeder {
@@ -32,11 +35,22 @@ public class BasicSeeder implements Seeder {
 
     @Override
     public void seed(String experimentId) {
-        createSimpleArithmeticOrganism(experimentId);
-        createTrigonometricAnalysisOrganism(experimentId);
-        createDataTransformationOrganism(experimentId);
-        createReductiveProcessingOrganism(experimentId);
-        createBasicCompositeOrganism(experimentId);
+        List<Organism> organisms = List.of(
+                createSimpleArithmeticOrganism(),
+                createTrigonometricAnalysisOrganism(),
+                createDataTransformationOrganism(),
+                createReductiveProcessingOrganism(),
+                createBasicCompositeOrganism());
+        saveAndScoreOrganisms(organisms, experimentId);
+    }
+
+    /**
+     * Creates an empty seed organism whose ID starts with its name. Each call gives a new
+     * ID, so that islands, and experiments running at once, seeded into the shared
+     * OrganismRepository never share an organism and can each delete their own.
+     */
+    private static Organism newSeedOrganism(String name) {
+        return new Organism(name + "-" + UUID.randomUUID());
     }
 
     /**
@@ -45,8 +59,8 @@ public class BasicSeeder implements Seeder {
      * This organism first adds 1.5 to an input value, then multiplies by 1.5
      * Useful for demonstrating basic sequential gene operations
      */
-    private void createSimpleArithmeticOrganism(String experimentId) {
-        Organism organism = new Organism("simple-arithmetic-organism");
+    private Organism createSimpleArithmeticOrganism() {
+        Organism organism = newSeedOrganism("simple-arithmetic-organism");
         Chromosome chromosome = new Chromosome();
         
         // Add AdditionGene
@@ -60,7 +74,7 @@ public class BasicSeeder implements Seeder {
         chromosome.getGenes().add(multiplicationGene);
         
         organism.addChromosome(chromosome);
-        saveAndScoreOrganism(organism, experimentId);
+        return organism;
     }
 
     /**
@@ -69,8 +83,8 @@ public class BasicSeeder implements Seeder {
      * This organism applies sine function and then amplifies the result by 1.5
      * Demonstrates combination of trigonometric and arithmetic operations
      */
-    private void createTrigonometricAnalysisOrganism(String experimentId) {
-        Organism organism = new Organism("trigonometric-analysis-organism");
+    private Organism createTrigonometricAnalysisOrganism() {
+        Organism organism = newSeedOrganism("trigonometric-analysis-organism");
         Chromosome chromosome = new Chromosome();
         
         // Add SineGene
@@ -84,7 +98,7 @@ public class BasicSeeder implements Seeder {
         chromosome.getGenes().add(multiplicationGene);
         
         organism.addChromosome(chromosome);
-        saveAndScoreOrganism(organism, experimentId);
+        return organism;
     }
 
     /**
@@ -94,8 +108,8 @@ public class BasicSeeder implements Seeder {
      * Two parallel chromosomes: one for additive operations, another for multiplicative
      * Shows how multiple chromosomes can process data differently
      */
-    private void createDataTransformationOrganism(String experimentId) {
-        Organism organism = new Organism("data-transformation-organism");
+    private Organism createDataTransformationOrganism() {
+        Organism organism = newSeedOrganism("data-transformation-organism");
         
         // First chromosome (additive operations)
         Chromosome chromosome1 = new Chromosome();
@@ -119,7 +133,7 @@ public class BasicSeeder implements Seeder {
         
         organism.addChromosome(chromosome1);
         organism.addChromosome(chromosome2);
-        saveAndScoreOrganism(organism, experimentId);
+        return organism;
     }
 
     /**
@@ -128,8 +142,8 @@ public class BasicSeeder implements Seeder {
      * A 3-gene chromosome that reduces values, normalizes, and applies trigonometry
      * Demonstrates longer processing chains
      */
-    private void createReductiveProcessingOrganism(String experimentId) {
-        Organism organism = new Organism("reductive-processing-organism");
+    private Organism createReductiveProcessingOrganism() {
+        Organism organism = newSeedOrganism("reductive-processing-organism");
         Chromosome chromosome = new Chromosome();
         
         // Add DivisionGene
@@ -148,7 +162,7 @@ public class BasicSeeder implements Seeder {
         chromosome.getGenes().add(sineGene);
         
         organism.addChromosome(chromosome);
-        saveAndScoreOrganism(organism, experimentId);
+        return organism;
     }
 
     /**
@@ -159,8 +173,8 @@ public class BasicSeeder implements Seeder {
      * Simple organism with 3 chromosomes showing different gene combinations
      * Useful for testing organism-level data flow
      */
-    private void createBasicCompositeOrganism(String experimentId) {
-        Organism organism = new Organism("basic-composite-organism");
+    private Organism createBasicCompositeOrganism() {
+        Organism organism = newSeedOrganism("basic-composite-organism");
         
         // First chromosome (single multiplication gene)
         Chromosome chromosome1 = new Chromosome();
@@ -187,29 +201,34 @@ public class BasicSeeder implements Seeder {
         organism.addChromosome(chromosome1);
         organism.addChromosome(chromosome2);
         organism.addChromosome(chromosome3);
-        saveAndScoreOrganism(organism, experimentId);
+        return organism;
     }
 
     /**
-     * Helper method to save an organism and its evaluated score to the repositories.
+     * Helper method to save organisms and their evaluated scores to the repositories.
      * 
-     * @param organism The organism to save and score
+     * @param organisms The organisms to save and score
      */
-    private void saveAndScoreOrganism(Organism organism, String experimentId) {
-        // Save the organism to the OrganismRepository
-        Organism savedOrganism = organismRepository.saveOrganism(organism);
-        
-        // Evaluate the organism
-        double score = evaluator.evaluate(savedOrganism);
-        
-        // Create and save a ScoredOrganism
-        ScoredOrganism scoredOrganism = new ScoredOrganism(
-                null, 
-                score, 
-                savedOrganism.getId(), 
-                savedOrganism,
-                experimentId
-        );
-        scoredOrganismRepository.save(scoredOrganism);
+    private void saveAndScoreOrganisms(List<Organism> organisms, String experimentId) {
+        // Save the organisms to the OrganismRepository
+        List<Organism> savedOrganisms = organisms.stream()
+                .map(organismRepository::saveOrganism)
+                .toList();
+        
+        // Evaluate the organisms together
+        double[] scores = evaluator.evaluateAll(savedOrganisms);
+        
+        // Create and save a ScoredOrganism for each
+        for (int i = 0; i < savedOrganisms.size(); i++) {
+            Organism savedOrganism = savedOrganisms.get(i);
+            ScoredOrganism scoredOrganism = new ScoredOrganism(
+                    null, 
+                    scores[i], 
+                    savedOrganism.getId(), 
+                    savedOrganism,
+                    experimentId
+            );
+            scoredOrganismRepository.save(scoredOrganism);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.intermancer.gaiaf.core.experiment;
+
+/**
+ * The kind of thread children are evaluated on when evaluation runs in parallel.
+ */
+public enum EvaluationThreadType {
+    /**
+     * A fixed pool of evaluationParallelism platform threads.
+     */
+    PLATFORM,
+    /**
+     * A new virtual thread for every group of children.
+     */
+    VIRTUAL
+}
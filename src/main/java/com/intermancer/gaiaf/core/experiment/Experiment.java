@@ -14,6 +14,21 @@ public interface Experiment {
      * 2. Runs the number of experiment cycles specified in ExperimentConfiguration
      */
     void runExperiment();
+
+    /**
+     * Prepares the experiment to be run in slices by an ExperimentScheduler instead of by
+     * runExperiment(): creates its status and seeds the ScoredOrganismRepository.
+     */
+    void start();
+
+    /**
+     * Runs up to maxCycles of the experiment's remaining cycles on the calling thread, one
+     * after another. Returns early, without waiting, once the experiment is paused.
+     *
+     * @param maxCycles The most cycles to run
+     * @return true if cycles remain, false once the experiment has completed
+     */
+    boolean runSlice(int maxCycles);
     
     /**
      * Returns the unique identifier for this experiment.
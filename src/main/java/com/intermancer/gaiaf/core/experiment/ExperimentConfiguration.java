@@ -6,10 +6,31 @@ import org.springframework.stereotype.Component;
 @Component
 @ConfigurationProperties(prefix = "experiment")
 public class ExperimentConfiguration {
+    /**
+     * Selects the Experiment implementation at startup: "cycle" runs BasicExperimentImpl,
+     * "pipeline" runs PipelinedExperimentImpl.
+     */
+    private String engine = "cycle";
     private int cycleCount = 1500;
     private int repoCapacity = 200;
     private boolean pausable = false;
     private int pauseCycles = 250;
+    private int workerCount = 1;
+    private int batchSize = 1;
+    private int evaluationParallelism = 1;
+    private EvaluationThreadType evaluationThreadType = EvaluationThreadType.PLATFORM;
+    private ExperimentThreadType experimentThreadType = ExperimentThreadType.PLATFORM;
+    private int islandCount = 1;
+    private int migrationInterval = 50;
+    private int migrationSize = 1;
+    private MigrationTopology migrationTopology = MigrationTopology.RING;
+    private int pipelineQueueCapacity = 16;
+    private int pipelineEvaluators = 0;
+    private int schedulerThreads = 0;
+    private int sliceCycles = 10;
+    private int weight = 1;
+    private int priority = 0;
+    private int maxConcurrentExperiments = 0;
 
     public int getCycleCount() {
         return cycleCount;
@@ -42,4 +63,191 @@ public class ExperimentConfiguration {
     public void setPauseCycles(int pauseCycles) {
         this.pauseCycles = pauseCycles;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The number of threads that run mutation cycles of an experiment at the same
+     *         time; 1 or less runs them one after another on the experiment's thread
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public void setWorkerCount(int workerCount) {
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * @return The number of parent pairs bred, evaluated and maintained together in each
+     *         cycle; 1 or less runs one family per cycle
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return The number of groups the children of a cycle are split into and evaluated
+     *         concurrently; 1 or less evaluates them on the experiment's own thread
+     */
+    public int getEvaluationParallelism() {
+        return evaluationParallelism;
+    }
+
+    public void setEvaluationParallelism(int evaluationParallelism) {
+        this.evaluationParallelism = evaluationParallelism;
+    }
+
+    public EvaluationThreadType getEvaluationThreadType() {
+        return evaluationThreadType;
+    }
+
+    public void setEvaluationThreadType(EvaluationThreadType evaluationThreadType) {
+        this.evaluationThreadType = evaluationThreadType;
+    }
+
+    /**
+     * @return Whether an experiment that is not scheduled runs on a pool thread of the
+     *         @Async executor or on a virtual thread of its own
+     */
+    public ExperimentThreadType getExperimentThreadType() {
+        return experimentThreadType;
+    }
+
+    public void setExperimentThreadType(ExperimentThreadType experimentThreadType) {
+        this.experimentThreadType = experimentThreadType;
+    }
+
+    /**
+     * @return The number of islands an experiment's population is split into, each evolved
+     *         on its own thread; 1 or less keeps a single population
+     */
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    public void setIslandCount(int islandCount) {
+        this.islandCount = islandCount;
+    }
+
+    /**
+     * @return The number of cycles an island runs between migrations; 0 or less disables migration
+     */
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public void setMigrationInterval(int migrationInterval) {
+        this.migrationInterval = migrationInterval;
+    }
+
+    /**
+     * @return The number of an island's best organisms copied to another island at each migration
+     */
+    public int getMigrationSize() {
+        return migrationSize;
+    }
+
+    public void setMigrationSize(int migrationSize) {
+        this.migrationSize = migrationSize;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * @return The number of families each queue between two stages of the pipelined engine holds
+     */
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+
+    public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+    }
+
+    /**
+     * @return The number of threads of the pipelined engine's evaluation stage; 0 or less
+     *         uses one per available processor
+     */
+    public int getPipelineEvaluators() {
+        return pipelineEvaluators;
+    }
+
+    public void setPipelineEvaluators(int pipelineEvaluators) {
+        this.pipelineEvaluators = pipelineEvaluators;
+    }
+
+    /**
+     * @return The number of worker threads of the ExperimentScheduler that all experiments
+     *         share; 0 or less runs each experiment on a thread of its own
+     */
+    public int getSchedulerThreads() {
+        return schedulerThreads;
+    }
+
+    public void setSchedulerThreads(int schedulerThreads) {
+        this.schedulerThreads = schedulerThreads;
+    }
+
+    /**
+     * @return The number of cycles a scheduled experiment runs before the worker moves on
+     *         to the next experiment
+     */
+    public int getSliceCycles() {
+        return sliceCycles;
+    }
+
+    public void setSliceCycles(int sliceCycles) {
+        this.sliceCycles = sliceCycles;
+    }
+
+    /**
+     * @return A scheduled experiment's share of the cycles among experiments of its priority
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * @return Scheduled experiments of a higher priority run before any of a lower one
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return The number of experiments that may run or be paused at once; further starts
+     *         are queued until one completes. 0 or less admits every start at once
+     */
+    public int getMaxConcurrentExperiments() {
+        return maxConcurrentExperiments;
+    }
+
+    public void setMaxConcurrentExperiments(int maxConcurrentExperiments) {
+        this.maxConcurrentExperiments = maxConcurrentExperiments;
+    }
+
+    public MigrationTopology getMigrationTopology() {
+        return migrationTopology;
+    }
+
+    public void setMigrationTopology(MigrationTopology migrationTopology) {
+        this.migrationTopology = migrationTopology;
+    }
+}
@@ -21,6 +21,16 @@ public interface ExperimentCycle {
      */
     void mutationCycle(String experimentId, ExperimentStatus experimentStatus);
 
+    /**
+     * Executes a complete mutation cycle against a population whose capacity differs from
+     * the configured repoCapacity, such as one island of an island-model experiment.
+     *
+     * @param experimentId The ID of the population for tracking organisms
+     * @param repoCapacity The number of ScoredOrganisms the population may hold
+     * @param experimentStatus The status object to track experiment progress
+     */
+    void mutationCycle(String experimentId, int repoCapacity, ExperimentStatus experimentStatus);
+
     /**
      * Selects parent organisms for breeding.
      * Default algorithm chooses one parent from the top 10% and one from the bottom 90%.
@@ -54,6 +64,29 @@ public interface ExperimentCycle {
      */
     List<ScoredOrganism> evaluateChildren(List<Organism> children, String experimentId);
 
+    /**
+     * Evaluates the child organisms, allowing the evaluation of a child to stop as soon
+     * as its score is known to exceed the cutoff. Such children are returned with
+     * Evaluator.REJECTED_SCORE.
+     *
+     * @param children the child organisms to evaluate
+     * @param experimentId The ID of the experiment for tracking organisms
+     * @param cutoff The score above which a child cannot be kept
+     * @return list of evaluated children with their scores
+     */
+    List<ScoredOrganism> evaluateChildren(List<Organism> children, String experimentId, double cutoff);
+
+    /**
+     * Returns the score a child must not exceed to have any chance of being kept, for use
+     * as the cutoff of evaluateChildren().
+     *
+     * @param parents the parent organisms with their scores
+     * @param experimentId The ID of the experiment the parents belong to
+     * @param repoCapacity The number of ScoredOrganisms the experiment may hold
+     * @return The cutoff, or null while every child is kept
+     */
+    Double getChildScoreCutoff(List<ScoredOrganism> parents, String experimentId, int repoCapacity);
+
     /**
      * Maintains the repository by potentially replacing parents with better-performing children.
      *
@@ -3,15 +3,26 @@ package com.intermancer.gaiaf.core.experiment;
 import com.intermancer.gaiaf.core.evaluate.Evaluator;
 import com.intermancer.gaiaf.core.evaluate.ScoredOrganism;
 import com.intermancer.gaiaf.core.evaluate.ScoredOrganismRepository;
+import com.intermancer.gaiaf.core.evaluate.ScoredOrganismRepository.Replacement;
 import com.intermancer.gaiaf.core.organism.Organism;
 import com.intermancer.gaiaf.core.organism.breeding.OrganismBreeder;
 import com.intermancer.gaiaf.core.organism.repo.OrganismRepository;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 /**
  * Default implementation of the ExperimentCycle interface.
@@ -24,7 +35,13 @@ public class ExperimentCycleImpl implements ExperimentCycle {
     private final OrganismBreeder organismBreeder;
     private final Evaluator evaluator;
     private final ExperimentConfiguration experimentConfiguration;
-    private final Random random;
+
+    /**
+     * The platform threads children are evaluated on when evaluationParallelism is above 1,
+     * created on first use and rebuilt when the parallelism changes
+     */
+    private ExecutorService evaluationExecutor;
+    private int evaluationExecutorParallelism;
     
     @Autowired
     public ExperimentCycleImpl(
@@ -38,7 +55,6 @@ public class ExperimentCycleImpl implements ExperimentCycle {
         this.organismBreeder = organismBreeder;
         this.evaluator = evaluator;
         this.experimentConfiguration = experimentConfiguration;
-        this.random = new Random();
     }
     
     /**
@@ -50,16 +66,103 @@ public class ExperimentCycleImpl implements ExperimentCycle {
      */
     @Override
     public void mutationCycle(String experimentId, ExperimentStatus experimentStatus) {
+        mutationCycle(experimentId, experimentConfiguration.getRepoCapacity(), experimentStatus);
+    }
+
+    /**
+     * Executes a complete mutation cycle against a population of the given capacity.
+     *
+     * @param experimentId The ID of the population for tracking organisms
+     * @param repoCapacity The number of ScoredOrganisms the population may hold
+     * @param experimentStatus The status object to track experiment progress
+     */
+    @Override
+    public void mutationCycle(String experimentId, int repoCapacity, ExperimentStatus experimentStatus) {
+        int batchSize = experimentConfiguration.getBatchSize();
+        if (batchSize > 1) {
+            batchCycle(experimentId, repoCapacity, batchSize, experimentStatus);
+            return;
+        }
         List<ScoredOrganism> parents = selectParents(experimentId);
         List<Organism> parentOrganisms = parents.stream()
                 .map(ScoredOrganism::organism)
                 .toList();
         List<Organism> children = breedParents(parentOrganisms);
         mutateChildren(children);
-        List<ScoredOrganism> scoredChildren = evaluateChildren(children, experimentId);
-        maintainRepository(parents, scoredChildren, experimentId, experimentStatus);
+        Double cutoff = getChildScoreCutoff(parents, experimentId, repoCapacity);
+        List<ScoredOrganism> scoredChildren = cutoff == null
+                ? evaluateChildren(children, experimentId)
+                : evaluateChildren(children, experimentId, cutoff);
+        maintainRepository(parents, scoredChildren, experimentId, repoCapacity, experimentStatus);
     }
     
+    /**
+     * Executes a generational batch of batchSize families: selects batchSize parent pairs,
+     * breeds and mutates all of their children, evaluates the children together (in
+     * parallel when evaluationParallelism is above 1), and applies every family's
+     * replacements in one ScoredOrganismRepository.replaceAll() call.
+     *
+     * @param experimentId The ID of the population for tracking organisms
+     * @param repoCapacity The number of ScoredOrganisms the population may hold
+     * @param batchSize The number of parent pairs to breed
+     * @param experimentStatus The status object to track experiment progress
+     */
+    private void batchCycle(String experimentId, int repoCapacity, int batchSize, ExperimentStatus experimentStatus) {
+        List<List<ScoredOrganism>> parentsByFamily = new ArrayList<>(batchSize);
+        List<Organism> children = new ArrayList<>();
+        int[] familySizes = new int[batchSize];
+        for (int family = 0; family < batchSize; family++) {
+            List<ScoredOrganism> parents = selectParents(experimentId);
+            List<Organism> familyChildren = breedParents(parents.stream().map(ScoredOrganism::organism).toList());
+            parentsByFamily.add(parents);
+            children.addAll(familyChildren);
+            familySizes[family] = familyChildren.size();
+        }
+        mutateChildren(children);
+
+        // Once the repository is full, no child can be kept if it is worse than every worse parent
+        Double cutoff = null;
+        if (scoredOrganismRepository.size(experimentId) >= repoCapacity) {
+            for (List<ScoredOrganism> parents : parentsByFamily) {
+                if (parents.size() != 2) {
+                    cutoff = null;
+                    break;
+                }
+                double familyCutoff = Math.max(parents.get(0).score(), parents.get(1).score());
+                cutoff = cutoff == null ? familyCutoff : Math.max(cutoff, familyCutoff);
+            }
+        }
+        List<ScoredOrganism> scoredChildren = cutoff == null
+                ? evaluateChildren(children, experimentId)
+                : evaluateChildren(children, experimentId, cutoff);
+
+        List<List<ScoredOrganism>> childrenByFamily = new ArrayList<>(batchSize);
+        int start = 0;
+        for (int familySize : familySizes) {
+            childrenByFamily.add(scoredChildren.subList(start, start + familySize));
+            start += familySize;
+        }
+        maintainRepositoryForBatch(parentsByFamily, childrenByFamily, experimentId, repoCapacity, experimentStatus);
+    }
+
+    /**
+     * Returns the score a child must not exceed to have any chance of being kept.
+     * Once the repository is at capacity, a child is only kept if it ranks in the top two
+     * of its family, so a child scoring worse than both parents is discarded.
+     *
+     * @param parents the parent organisms with their scores
+     * @param experimentId The ID of the experiment the parents belong to
+     * @param repoCapacity The number of ScoredOrganisms the experiment may hold
+     * @return The worse parent's score, or null while every child is kept
+     */
+    @Override
+    public Double getChildScoreCutoff(List<ScoredOrganism> parents, String experimentId, int repoCapacity) {
+        if (parents.size() != 2 || scoredOrganismRepository.size(experimentId) < repoCapacity) {
+            return null;
+        }
+        return Math.max(parents.get(0).score(), parents.get(1).score());
+    }
+
     /**
      * Selects parent organisms for breeding.
      * Chooses one parent from the top 10% and one from the bottom 90%.
@@ -97,6 +200,7 @@ public class ExperimentCycleImpl implements ExperimentCycle {
     public void mutateChildren(List<Organism> children) {
         for (Organism child : children) {
             if (child instanceof Mutational mutational) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
                 int mutationCount = random.nextInt(5) + 1; // Random number between 1 and 5
                 for (int i = 0; i < mutationCount; i++) {
                     List<MutationCommand> mutations = mutational.getMutationCommandList();
@@ -111,7 +215,7 @@ public class ExperimentCycleImpl implements ExperimentCycle {
     
     /**
      * Evaluates the child organisms and returns them with their scores.
-     * Uses the injected Evaluator to evaluate the child organisms.
+     * Uses the injected Evaluator to evaluate all of the child organisms as one batch.
      * Each ScoredOrganism is created with the current experiment's experimentId.
      * 
      * @param children the child organisms to evaluate
@@ -120,10 +224,128 @@ public class ExperimentCycleImpl implements ExperimentCycle {
      */
     @Override
     public List<ScoredOrganism> evaluateChildren(List<Organism> children, String experimentId) {
+        return toScoredChildren(children, scoreChildren(children, evaluator::evaluateAll), experimentId);
+    }
+
+    /**
+     * Evaluates the child organisms with a cutoff, so that the Evaluator can stop
+     * evaluating a child once its score is known to exceed the cutoff.
+     * Rejected children are returned with Evaluator.REJECTED_SCORE, which ranks them
+     * behind both parents.
+     *
+     * @param children the child organisms to evaluate
+     * @param experimentId The ID of the experiment for tracking organisms
+     * @param cutoff The score above which a child cannot be kept
+     * @return list of evaluated children with their scores
+     */
+    @Override
+    public List<ScoredOrganism> evaluateChildren(List<Organism> children, String experimentId, double cutoff) {
+        return toScoredChildren(children, scoreChildren(children, group -> evaluator.evaluateAll(group, cutoff)),
+                experimentId);
+    }
+
+    /**
+     * Scores the children with the given batch evaluation. When evaluationParallelism is
+     * above 1, the children are split into that many contiguous groups (at most one per
+     * child), each group is evaluated as a batch, and the scores are collected in the
+     * order of the children.
+     *
+     * <p>On VIRTUAL threads, the groups are forked into a scope of their own: an executor
+     * that starts a virtual thread per group and is closed, waiting for every group, before
+     * this method returns, so that no evaluation outlives the cycle that forked it. On
+     * PLATFORM threads they run on the shared fixed pool.</p>
+     *
+     * @param children the child organisms to evaluate
+     * @param batchEvaluation evaluates a list of organisms, returning their scores in order
+     * @return the score of each child, in the same order as the list
+     */
+    private double[] scoreChildren(List<Organism> children, Function<List<Organism>, double[]> batchEvaluation) {
+        int groupCount = Math.min(experimentConfiguration.getEvaluationParallelism(), children.size());
+        if (groupCount <= 1) {
+            return batchEvaluation.apply(children);
+        }
+
+        if (experimentConfiguration.getEvaluationThreadType() == EvaluationThreadType.VIRTUAL) {
+            try (ExecutorService scope = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("gaiaf-evaluation-", 0).factory())) {
+                return scoreGroups(scope, children, groupCount, batchEvaluation);
+            }
+        }
+        return scoreGroups(getEvaluationExecutor(), children, groupCount, batchEvaluation);
+    }
+
+    /**
+     * Forks one evaluation per group on the executor and joins them in the order they
+     * complete, so that the first failure is seen at once and the other groups are
+     * cancelled instead of being waited for.
+     */
+    private static double[] scoreGroups(ExecutorService executor, List<Organism> children, int groupCount,
+                                        Function<List<Organism>, double[]> batchEvaluation) {
+        CompletionService<double[]> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<double[]>> futures = new ArrayList<>(groupCount);
+        Map<Future<double[]>, Integer> groupOffsets = new HashMap<>(groupCount * 2);
+        for (int group = 0; group < groupCount; group++) {
+            int from = group * children.size() / groupCount;
+            List<Organism> groupChildren = children.subList(from, (group + 1) * children.size() / groupCount);
+            Future<double[]> future = completionService.submit(() -> batchEvaluation.apply(groupChildren));
+            futures.add(future);
+            groupOffsets.put(future, from);
+        }
+
+        double[] scores = new double[children.size()];
+        try {
+            for (int group = 0; group < groupCount; group++) {
+                Future<double[]> future = completionService.take();
+                double[] groupScores = future.get();
+                System.arraycopy(groupScores, 0, scores, groupOffsets.get(future), groupScores.length);
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating children", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to evaluate children", e.getCause());
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the platform thread pool for parallel evaluation, replacing it if the
+     * configured parallelism has changed since it was created.
+     */
+    private synchronized ExecutorService getEvaluationExecutor() {
+        int parallelism = experimentConfiguration.getEvaluationParallelism();
+        if (evaluationExecutor == null || parallelism != evaluationExecutorParallelism) {
+            if (evaluationExecutor != null) {
+                // Tasks already submitted to the old executor still run to completion
+                evaluationExecutor.shutdown();
+            }
+            evaluationExecutor = Executors.newFixedThreadPool(parallelism,
+                    Thread.ofPlatform().name("gaiaf-evaluation-", 0).daemon(true).factory());
+            evaluationExecutorParallelism = parallelism;
+        }
+        return evaluationExecutor;
+    }
+
+    /**
+     * Stops the evaluation threads when the application shuts down.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (evaluationExecutor != null) {
+            evaluationExecutor.shutdownNow();
+            evaluationExecutor = null;
+        }
+    }
+
+    private List<ScoredOrganism> toScoredChildren(List<Organism> children, double[] scores, String experimentId) {
         List<ScoredOrganism> scoredChildren = new ArrayList<>();
-        for (Organism child : children) {
-            double score = evaluator.evaluate(child);
-            ScoredOrganism scoredChild = new ScoredOrganism(score, child, experimentId);
+        for (int i = 0; i < children.size(); i++) {
+            ScoredOrganism scoredChild = new ScoredOrganism(scores[i], children.get(i), experimentId);
             scoredChildren.add(scoredChild);
         }
         return scoredChildren;
@@ -137,6 +359,9 @@ public class ExperimentCycleImpl implements ExperimentCycle {
       * If the top two organisms are the parents, no changes are made (preserves best parent).
       * If one of the top two is a child, the worst parent is replaced.
       * If both top two are children, both parents are replaced.
+      * Replacements are optimistic: when several workers run cycles of the same experiment,
+      * a parent may already have been replaced by another worker, in which case the
+      * children are dropped and the conflict is counted instead.
       *
       * @param parents the parent organisms with their scores
       * @param children the child organisms with their scores
@@ -145,13 +370,17 @@ public class ExperimentCycleImpl implements ExperimentCycle {
       */
      @Override
      public void maintainRepository(List<ScoredOrganism> parents, List<ScoredOrganism> children, String experimentId, ExperimentStatus experimentStatus) {
+        maintainRepository(parents, children, experimentId, experimentConfiguration.getRepoCapacity(), experimentStatus);
+     }
+
+    private void maintainRepository(List<ScoredOrganism> parents, List<ScoredOrganism> children, String experimentId,
+                                    int capacity, ExperimentStatus experimentStatus) {
         if (parents.size() != 2 || children.isEmpty()) {
             return;
         }
 
         // Check if repository is at capacity for this experiment
         int currentSize = scoredOrganismRepository.size(experimentId);
-        int capacity = experimentConfiguration.getRepoCapacity();
 
         // If not at capacity, simply add all children
         if (currentSize < capacity) {
@@ -165,7 +394,85 @@ public class ExperimentCycleImpl implements ExperimentCycle {
         }
 
         // Repository is at capacity - use comparison algorithm
+        FamilyReplacement familyReplacement = chooseReplacement(parents, children);
+        if (familyReplacement != null
+                && replaceParents(familyReplacement.parents(), familyReplacement.children(), experimentId, experimentStatus)) {
+            // Track the replacements
+            experimentStatus.incrementOrganismsReplaced(familyReplacement.parents().size());
+        }
+    }
+
+    /**
+     * Maintains the repository for a batch of families at once. While the repository has
+     * room, families simply add their children; after that, each family is compared as in
+     * the single-family maintainRepository(). The resulting replacements are applied in one
+     * ScoredOrganismRepository.replaceAll() call. A family whose parent was already replaced,
+     * by an earlier family of the batch or by another worker, has its children dropped and
+     * counts as a replacement conflict.
+     */
+    private void maintainRepositoryForBatch(List<List<ScoredOrganism>> parentsByFamily,
+                                            List<List<ScoredOrganism>> childrenByFamily, String experimentId,
+                                            int capacity, ExperimentStatus experimentStatus) {
+        int freeSlots = capacity - scoredOrganismRepository.size(experimentId);
+        List<FamilyReplacement> familyReplacements = new ArrayList<>();
+        for (int family = 0; family < parentsByFamily.size(); family++) {
+            List<ScoredOrganism> parents = parentsByFamily.get(family);
+            List<ScoredOrganism> children = childrenByFamily.get(family);
+            if (parents.size() != 2 || children.isEmpty()) {
+                continue;
+            }
+            if (freeSlots > 0) {
+                familyReplacements.add(new FamilyReplacement(List.of(), children));
+                freeSlots -= children.size();
+                continue;
+            }
+            FamilyReplacement familyReplacement = chooseReplacement(parents, children);
+            if (familyReplacement != null) {
+                familyReplacements.add(familyReplacement);
+            }
+        }
+        if (familyReplacements.isEmpty()) {
+            return;
+        }
 
+        List<Replacement> replacements = new ArrayList<>(familyReplacements.size());
+        for (FamilyReplacement familyReplacement : familyReplacements) {
+            replacements.add(new Replacement(
+                    familyReplacement.parents().stream().map(ScoredOrganism::id).toList(),
+                    saveChildren(familyReplacement.children(), experimentId)));
+        }
+        boolean[] applied = scoredOrganismRepository.replaceAll(replacements);
+        for (int i = 0; i < applied.length; i++) {
+            List<ScoredOrganism> replacedParents = familyReplacements.get(i).parents();
+            if (applied[i]) {
+                for (ScoredOrganism parent : replacedParents) {
+                    organismRepository.deleteOrganism(parent.organismId());
+                }
+                experimentStatus.incrementOrganismsReplaced(replacedParents.size());
+            } else {
+                for (ScoredOrganism savedChild : replacements.get(i).replacements()) {
+                    organismRepository.deleteOrganism(savedChild.organismId());
+                }
+                experimentStatus.incrementReplacementConflicts();
+            }
+        }
+    }
+
+    /**
+     * The parents a family's children replace. Parents are empty when the children are
+     * simply added to a repository that is not yet full.
+     */
+    private record FamilyReplacement(List<ScoredOrganism> parents, List<ScoredOrganism> children) {
+    }
+
+    /**
+     * Chooses the replacement for a family in a full repository: if the top two organisms
+     * of the family are the parents, there is none; if one of them is a child, it replaces
+     * the worst parent; if both are children, they replace both parents.
+     *
+     * @return The replacement, or null if the parents are kept
+     */
+    private static FamilyReplacement chooseReplacement(List<ScoredOrganism> parents, List<ScoredOrganism> children) {
         // 1. Add parents and children to a single list and sort
         List<ScoredOrganism> family = new ArrayList<>();
         family.addAll(parents);
@@ -177,48 +484,63 @@ public class ExperimentCycleImpl implements ExperimentCycle {
 
         // 2. If the top two organisms are the parents, return
         if (parents.contains(topFirst) && parents.contains(topSecond)) {
-            return;
+            return null;
         }
 
         // Identify which parent is worst (will be removed if either child makes top 2)
         ScoredOrganism worstParent = parents.get(0).compareTo(parents.get(1)) < 0
                 ? parents.get(1) : parents.get(0);
 
-        // 3. If one of the top two organisms is a child, delete the worst parent and add the child
+        // 3. If one of the top two organisms is a child, replace the worst parent with the child
         if ((parents.contains(topFirst) && children.contains(topSecond)) ||
                 (children.contains(topFirst) && parents.contains(topSecond))) {
-
             ScoredOrganism childToAdd = children.contains(topFirst) ? topFirst : topSecond;
+            return new FamilyReplacement(List.of(worstParent), List.of(childToAdd));
+        }
+        // 4. If both of the top two organisms are children, replace both parents with both children
+        if (children.contains(topFirst) && children.contains(topSecond)) {
+            return new FamilyReplacement(parents, List.of(topFirst, topSecond));
+        }
+        return null;
+    }
 
-            scoredOrganismRepository.delete(worstParent.id());
-            organismRepository.deleteOrganism(worstParent.organismId());
-
-            Organism savedOrganism = organismRepository.saveOrganism(childToAdd.organism());
-            ScoredOrganism savedScoredChild = new ScoredOrganism(
-                    null, childToAdd.score(), savedOrganism.getId(), savedOrganism, experimentId);
-            scoredOrganismRepository.save(savedScoredChild);
-            
-            // Track the replacement
-            experimentStatus.incrementOrganismsReplaced();
-        }
-        // 4. If both of the top two organisms are children, delete both parents and add both children
-        else if (children.contains(topFirst) && children.contains(topSecond)) {
-            // Delete both parents
-            for (ScoredOrganism parent : parents) {
-                scoredOrganismRepository.delete(parent.id());
-                organismRepository.deleteOrganism(parent.organismId());
-            }
+    /**
+     * Saves the children's Organisms and returns the children as ScoredOrganisms ready to be
+     * saved in the experiment.
+     */
+    private List<ScoredOrganism> saveChildren(List<ScoredOrganism> children, String experimentId) {
+        List<ScoredOrganism> savedChildren = new ArrayList<>(children.size());
+        for (ScoredOrganism child : children) {
+            Organism savedOrganism = organismRepository.saveOrganism(child.organism());
+            savedChildren.add(new ScoredOrganism(null, child.score(), savedOrganism.getId(), savedOrganism, experimentId));
+        }
+        return savedChildren;
+    }
 
-            // Add both children
-            for (ScoredOrganism child : List.of(topFirst, topSecond)) {
-                Organism savedOrganism = organismRepository.saveOrganism(child.organism());
-                ScoredOrganism savedScoredChild = new ScoredOrganism(
-                        null, child.score(), savedOrganism.getId(), savedOrganism, experimentId);
-                scoredOrganismRepository.save(savedScoredChild);
+    /**
+     * Replaces parents with children in one atomic repository operation, which only
+     * succeeds if every parent is still in the repository. The children's Organisms are
+     * saved first, and removed again if the replacement fails.
+     *
+     * @return true if the parents were replaced
+     */
+    private boolean replaceParents(List<ScoredOrganism> parents, List<ScoredOrganism> children, String experimentId,
+                                   ExperimentStatus experimentStatus) {
+        List<ScoredOrganism> savedChildren = saveChildren(children, experimentId);
+
+        List<String> parentIds = parents.stream().map(ScoredOrganism::id).toList();
+        if (!scoredOrganismRepository.replace(parentIds, savedChildren)) {
+            // Another worker replaced a parent after this cycle selected it
+            for (ScoredOrganism savedChild : savedChildren) {
+                organismRepository.deleteOrganism(savedChild.organismId());
             }
-            
-            // Track both replacements
-            experimentStatus.incrementOrganismsReplaced(2);
+            experimentStatus.incrementReplacementConflicts();
+            return false;
+        }
+
+        for (ScoredOrganism parent : parents) {
+            organismRepository.deleteOrganism(parent.organismId());
         }
+        return true;
     }
 }
@@ -0,0 +1,264 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Time-slices experiments across a fixed pool of worker threads, so that many experiments
+ * can share one machine instead of each holding a thread for its whole run.
+ *
+ * <p>Each scheduled experiment is a task that runs in slices of sliceCycles cycles through
+ * Experiment.runSlice(). Between slices the task goes back into the run queue, and a
+ * worker takes the next task from it:</p>
+ * <ul>
+ *   <li>Tasks of a higher priority always run before tasks of a lower one.</li>
+ *   <li>Among tasks of the same priority, the one with the least virtual time runs next.
+ *       A slice adds sliceCycles / weight to its task's virtual time, so an experiment of
+ *       weight 3 is given three times the cycles of an experiment of weight 1.</li>
+ *   <li>A task that joins or rejoins the queue starts no earlier than the least virtual
+ *       time of the queued tasks of its priority, so it neither waits behind nor starves
+ *       the tasks already there.</li>
+ * </ul>
+ *
+ * <p>A paused experiment is not put back into the run queue: it is parked, holding no
+ * thread, until resume() is called for it.</p>
+ */
+@Component
+public class ExperimentScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExperimentScheduler.class);
+
+    private final ExperimentConfiguration experimentConfiguration;
+    private final PriorityQueue<Task> runQueue = new PriorityQueue<>(
+            Comparator.comparingInt(Task::priority).reversed().thenComparingDouble(Task::virtualTime));
+    private final Map<String, Task> parkedTasks = new HashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private boolean shutdown = false;
+
+    /**
+     * An experiment with its scheduling parameters. The virtual time is changed only while
+     * the task is out of the run queue.
+     */
+    private static final class Task {
+        private final Experiment experiment;
+        private final int weight;
+        private final int priority;
+        private final Runnable onCompletion;
+        private double virtualTime;
+        private boolean started;
+
+        private Task(Experiment experiment, int weight, int priority, Runnable onCompletion) {
+            this.experiment = experiment;
+            this.weight = weight;
+            this.priority = priority;
+            this.onCompletion = onCompletion;
+        }
+
+        private int priority() {
+            return priority;
+        }
+
+        private double virtualTime() {
+            return virtualTime;
+        }
+    }
+
+    @Autowired
+    public ExperimentScheduler(ExperimentConfiguration experimentConfiguration) {
+        this.experimentConfiguration = experimentConfiguration;
+    }
+
+    /**
+     * Schedules an experiment that has not been started. It is started by a worker, so
+     * seeding also runs on the pool.
+     *
+     * @param experiment The experiment to run
+     * @param weight The experiment's share of the cycles among experiments of its priority
+     * @param priority Experiments of a higher priority run before any of a lower one
+     */
+    public void schedule(Experiment experiment, int weight, int priority) {
+        schedule(experiment, weight, priority, () -> {
+        });
+    }
+
+    /**
+     * Schedules an experiment that has not been started, calling onCompletion on the
+     * worker once it has completed or failed.
+     *
+     * @param experiment The experiment to run
+     * @param weight The experiment's share of the cycles among experiments of its priority
+     * @param priority Experiments of a higher priority run before any of a lower one
+     * @param onCompletion Called when the experiment no longer runs
+     */
+    public synchronized void schedule(Experiment experiment, int weight, int priority, Runnable onCompletion) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be at least 1: " + weight);
+        }
+        if (shutdown) {
+            throw new IllegalStateException("The experiment scheduler has been shut down");
+        }
+        startWorkers();
+        Task task = new Task(experiment, weight, priority, onCompletion);
+        catchUp(task);
+        enqueue(task);
+        logger.info("Scheduled experiment {} (weight: {}, priority: {})", experiment.getId(), weight, priority);
+    }
+
+    /**
+     * Puts an experiment that was parked while paused back into the run queue. Call after
+     * the experiment has been resumed; does nothing if the experiment is not parked, as when
+     * it is resumed before the end of the slice in which it was paused.
+     *
+     * @param experimentId The ID of the resumed experiment
+     */
+    public synchronized void resume(String experimentId) {
+        Task task = parkedTasks.remove(experimentId);
+        if (task != null) {
+            catchUp(task);
+            enqueue(task);
+        }
+    }
+
+    /**
+     * @return The number of experiments waiting in the run queue, excluding running and parked ones
+     */
+    public synchronized int getQueuedCount() {
+        return runQueue.size();
+    }
+
+    /**
+     * @return The number of paused experiments that hold no thread
+     */
+    public synchronized int getParkedCount() {
+        return parkedTasks.size();
+    }
+
+    /**
+     * Interrupts the workers. Slices in progress stop at their next blocking call, and the
+     * experiments still queued or parked are not run.
+     */
+    @PreDestroy
+    public void shutdown() {
+        List<Thread> running;
+        synchronized (this) {
+            shutdown = true;
+            running = new ArrayList<>(workers);
+            notifyAll();
+        }
+        running.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Creates the worker threads on first use, so that the pool size is read from the
+     * configuration as it is when the first experiment is scheduled.
+     */
+    private void startWorkers() {
+        if (!workers.isEmpty()) {
+            return;
+        }
+        int threadCount = Math.max(1, experimentConfiguration.getSchedulerThreads());
+        for (int worker = 0; worker < threadCount; worker++) {
+            Thread thread = Thread.ofPlatform().name("experiment-scheduler-", worker).daemon().unstarted(this::work);
+            workers.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Moves the virtual time of a task that joins or rejoins the queue up to the least
+     * virtual time of the queued tasks of its priority, so that the time it spent out of
+     * the queue does not earn it a run of slices.
+     */
+    private void catchUp(Task task) {
+        runQueue.stream()
+                .filter(queued -> queued.priority == task.priority)
+                .mapToDouble(Task::virtualTime)
+                .min()
+                .ifPresent(leastVirtualTime -> task.virtualTime = Math.max(task.virtualTime, leastVirtualTime));
+    }
+
+    private void enqueue(Task task) {
+        runQueue.add(task);
+        notifyAll();
+    }
+
+    private synchronized Task take() throws InterruptedException {
+        while (runQueue.isEmpty() && !shutdown) {
+            wait();
+        }
+        return shutdown ? null : runQueue.poll();
+    }
+
+    /**
+     * Parks a paused task or requeues it. Done under the scheduler's lock, so that a resume()
+     * between the end of the slice and this check is not missed.
+     */
+    private synchronized void requeue(Task task) {
+        if (task.experiment.isPaused()) {
+            parkedTasks.put(task.experiment.getId(), task);
+            logger.info("Experiment {} parked while paused", task.experiment.getId());
+        } else {
+            enqueue(task);
+        }
+    }
+
+    private void work() {
+        int sliceCycles = Math.max(1, experimentConfiguration.getSliceCycles());
+        while (true) {
+            Task task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) {
+                return;
+            }
+            if (runSlice(task, sliceCycles)) {
+                requeue(task);
+            } else {
+                complete(task);
+            }
+        }
+    }
+
+    private void complete(Task task) {
+        try {
+            task.onCompletion.run();
+        } catch (RuntimeException e) {
+            logger.error("Completion of scheduled experiment {} failed", task.experiment.getId(), e);
+        }
+    }
+
+    /**
+     * Runs one slice of a task, starting its experiment first if need be.
+     *
+     * @return true if the experiment has cycles left
+     */
+    private boolean runSlice(Task task, int sliceCycles) {
+        Experiment experiment = task.experiment;
+        try {
+            if (!task.started) {
+                experiment.start();
+                task.started = true;
+            }
+            boolean remaining = experiment.runSlice(sliceCycles);
+            task.virtualTime += (double) sliceCycles / task.weight;
+            return remaining;
+        } catch (RuntimeException e) {
+            // The experiment has recorded the failure in its status
+            logger.error("Scheduled experiment {} failed", experiment.getId(), e);
+            return false;
+        }
+    }
+}
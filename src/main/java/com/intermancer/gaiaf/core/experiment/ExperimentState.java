@@ -11,5 +11,7 @@ public enum ExperimentState {
     /** The experiment is paused and can be resumed */
     PAUSED,
     /** The experiment encountered an error and has stopped */
-    EXCEPTION
+    EXCEPTION,
+    /** The experiment is waiting for a free slot before it starts */
+    QUEUED
 }
@@ -1,6 +1,7 @@
 package com.intermancer.gaiaf.core.experiment;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A data class that tracks the runtime state and progress of an experiment.
@@ -10,12 +11,18 @@ import java.util.UUID;
  * ExperimentStatus instances are created and managed by the Experiment implementations.
  * When an experiment starts, a new ExperimentStatus instance is created
  * and persisted to the ExperimentStatusRepository.
+ * 
+ * The counters can be incremented by several experiment workers at once, and the
+ * state can be read from other threads while the experiment runs.
  */
 public class ExperimentStatus {
 
-    private int cyclesCompleted = 0;
-    private int organismsReplaced = 0;
-    private ExperimentState status = ExperimentState.STOPPED;
+    private final AtomicInteger cyclesCompleted = new AtomicInteger();
+    private final AtomicInteger organismsReplaced = new AtomicInteger();
+    private final AtomicInteger replacementConflicts = new AtomicInteger();
+    private final AtomicInteger organismsMigrated = new AtomicInteger();
+    private volatile ExperimentState status = ExperimentState.STOPPED;
+    private volatile int queuePosition;
     private String experimentId;
     private String id;
 
@@ -32,7 +39,7 @@ public class ExperimentStatus {
      * @return the number of completed cycles
      */
     public int getCyclesCompleted() {
-        return cyclesCompleted;
+        return cyclesCompleted.get();
     }
 
     /**
@@ -41,7 +48,7 @@ public class ExperimentStatus {
      * @param cyclesCompleted the number of completed cycles
      */
     public void setCyclesCompleted(int cyclesCompleted) {
-        this.cyclesCompleted = cyclesCompleted;
+        this.cyclesCompleted.set(cyclesCompleted);
     }
 
     /**
@@ -50,7 +57,7 @@ public class ExperimentStatus {
      * @return the number of organisms replaced
      */
     public int getOrganismsReplaced() {
-        return organismsReplaced;
+        return organismsReplaced.get();
     }
 
     /**
@@ -59,7 +66,45 @@ public class ExperimentStatus {
      * @param organismsReplaced the number of organisms replaced
      */
     public void setOrganismsReplaced(int organismsReplaced) {
-        this.organismsReplaced = organismsReplaced;
+        this.organismsReplaced.set(organismsReplaced);
+    }
+
+    /**
+     * Gets the number of times a worker's children were dropped because another worker
+     * had already replaced one of their parents.
+     *
+     * @return the number of replacement conflicts
+     */
+    public int getReplacementConflicts() {
+        return replacementConflicts.get();
+    }
+
+    /**
+     * Sets the number of replacement conflicts.
+     *
+     * @param replacementConflicts the number of replacement conflicts
+     */
+    public void setReplacementConflicts(int replacementConflicts) {
+        this.replacementConflicts.set(replacementConflicts);
+    }
+
+    /**
+     * Gets the number of organisms that have settled on another island of an
+     * island-model experiment.
+     *
+     * @return the number of organisms migrated
+     */
+    public int getOrganismsMigrated() {
+        return organismsMigrated.get();
+    }
+
+    /**
+     * Sets the number of organisms migrated.
+     *
+     * @param organismsMigrated the number of organisms migrated
+     */
+    public void setOrganismsMigrated(int organismsMigrated) {
+        this.organismsMigrated.set(organismsMigrated);
     }
 
     /**
@@ -80,6 +125,25 @@ public class ExperimentStatus {
         this.status = status;
     }
     
+    /**
+     * Gets the experiment's place in the queue of experiments waiting to start, 1 being the
+     * next to start. 0 when the experiment is not QUEUED.
+     *
+     * @return the queue position
+     */
+    public int getQueuePosition() {
+        return queuePosition;
+    }
+
+    /**
+     * Sets the experiment's place in the queue of experiments waiting to start.
+     *
+     * @param queuePosition the queue position, or 0 when not queued
+     */
+    public void setQueuePosition(int queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+    
     public String getExperimentId() {
         return experimentId;
     }
@@ -98,20 +162,25 @@ public class ExperimentStatus {
 
     /**
      * Resets all tracking metrics to their initial state.
-     * Sets cyclesCompleted to 0, organismsReplaced to 0, and status to STOPPED.
+     * Sets cyclesCompleted, organismsReplaced, replacementConflicts and organismsMigrated to 0,
+     * and status to STOPPED.
      */
     public void reset() {
-        this.cyclesCompleted = 0;
-        this.organismsReplaced = 0;
+        this.cyclesCompleted.set(0);
+        this.organismsReplaced.set(0);
+        this.replacementConflicts.set(0);
+        this.organismsMigrated.set(0);
         this.status = ExperimentState.STOPPED;
     }
 
     /**
      * Increments the cyclesCompleted counter by 1.
      * Called after each successful experiment cycle.
+     *
+     * @return the number of completed cycles, including this one
      */
-    public void incrementCyclesCompleted() {
-        this.cyclesCompleted++;
+    public int incrementCyclesCompleted() {
+        return this.cyclesCompleted.incrementAndGet();
     }
 
     /**
@@ -119,7 +188,7 @@ public class ExperimentStatus {
      * Called when an organism is successfully replaced in the ScoredOrganismRepository.
      */
     public void incrementOrganismsReplaced() {
-        this.organismsReplaced++;
+        this.organismsReplaced.incrementAndGet();
     }
 
     /**
@@ -129,6 +198,24 @@ public class ExperimentStatus {
      * @param count the number of organisms replaced
      */
     public void incrementOrganismsReplaced(int count) {
-        this.organismsReplaced += count;
+        this.organismsReplaced.addAndGet(count);
+    }
+
+    /**
+     * Increments the replacementConflicts counter by 1.
+     * Called when a worker's children are dropped because one of their parents was
+     * already replaced by another worker.
+     */
+    public void incrementReplacementConflicts() {
+        this.replacementConflicts.incrementAndGet();
+    }
+
+    /**
+     * Increments the organismsMigrated counter by the specified count.
+     *
+     * @param count the number of organisms that settled on another island
+     */
+    public void incrementOrganismsMigrated(int count) {
+        this.organismsMigrated.addAndGet(count);
     }
 }
@@ -0,0 +1,15 @@
+package com.intermancer.gaiaf.core.experiment;
+
+/**
+ * The kind of thread ExperimentService runs each experiment on when it is not scheduled.
+ */
+public enum ExperimentThreadType {
+    /**
+     * A pool thread of Spring's @Async executor.
+     */
+    PLATFORM,
+    /**
+     * A new virtual thread for every experiment.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,90 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import com.intermancer.gaiaf.core.evaluate.ScoredOrganism;
+import com.intermancer.gaiaf.core.evaluate.ScoredOrganismRepository;
+import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.repo.OrganismRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * IslandMigrator moves organisms between the islands of an island-model experiment.
+ * Each island is a population of its own in the ScoredOrganismRepository, keyed by the
+ * island's ID in place of an experiment ID.
+ */
+@Component
+public class IslandMigrator {
+
+    private final ScoredOrganismRepository scoredOrganismRepository;
+    private final OrganismRepository organismRepository;
+
+    @Autowired
+    public IslandMigrator(ScoredOrganismRepository scoredOrganismRepository,
+                          OrganismRepository organismRepository) {
+        this.scoredOrganismRepository = scoredOrganismRepository;
+        this.organismRepository = organismRepository;
+    }
+
+    /**
+     * Copies the best organisms of one island to another. A migrant keeps its score, since
+     * its genome is unchanged. While the target island is below capacity the migrant is
+     * simply added; at capacity it replaces the target's worst organism, and only if it
+     * scores better. The migrants are read from the source island's published snapshot.
+     *
+     * @param sourceIslandId The island to copy organisms from
+     * @param targetIslandId The island to copy them to
+     * @param migrationSize The number of the source island's best organisms to copy
+     * @param targetCapacity The number of ScoredOrganisms the target island may hold
+     * @return The number of migrants that settled on the target island
+     */
+    public int migrate(String sourceIslandId, String targetIslandId, int migrationSize, int targetCapacity) {
+        int settled = 0;
+        for (ScoredOrganism migrant : scoredOrganismRepository.getTopOrganisms(sourceIslandId, migrationSize)) {
+            if (settle(migrant, targetIslandId, targetCapacity)) {
+                settled++;
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Moves every organism of the given islands into the experiment, so that the
+     * experiment's population can be listed once its islands have finished.
+     *
+     * @param islandIds The islands to merge
+     * @param experimentId The experiment the islands belong to
+     */
+    public void merge(List<String> islandIds, String experimentId) {
+        for (String islandId : islandIds) {
+            scoredOrganismRepository.reassign(islandId, experimentId);
+        }
+    }
+
+    private boolean settle(ScoredOrganism migrant, String targetIslandId, int targetCapacity) {
+        ScoredOrganism worst = null;
+        if (scoredOrganismRepository.size(targetIslandId) >= targetCapacity) {
+            worst = scoredOrganismRepository.getRandomFromBottomPercent(targetIslandId, 0.0f);
+            if (migrant.score() >= worst.score()) {
+                return false;
+            }
+        }
+
+        // The migrant is a copy, so that each island can delete its own organisms
+        Organism settlerOrganism = organismRepository.saveOrganism(migrant.organism().copyOf());
+        ScoredOrganism settler = new ScoredOrganism(
+                null, migrant.score(), settlerOrganism.getId(), settlerOrganism, targetIslandId);
+        if (worst == null) {
+            scoredOrganismRepository.save(settler);
+            return true;
+        }
+        if (!scoredOrganismRepository.replace(List.of(worst.id()), List.of(settler))) {
+            // The target island replaced its worst organism in the meantime
+            organismRepository.deleteOrganism(settlerOrganism.getId());
+            return false;
+        }
+        organismRepository.deleteOrganism(worst.organismId());
+        return true;
+    }
+}
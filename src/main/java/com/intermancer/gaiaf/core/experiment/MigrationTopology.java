@@ -0,0 +1,15 @@
+package com.intermancer.gaiaf.core.experiment;
+
+/**
+ * The island an island-model experiment's migrants are sent to.
+ */
+public enum MigrationTopology {
+    /**
+     * Island n sends its migrants to island n + 1, and the last island to the first.
+     */
+    RING,
+    /**
+     * Each migration goes to another island chosen at random.
+     */
+    RANDOM
+}
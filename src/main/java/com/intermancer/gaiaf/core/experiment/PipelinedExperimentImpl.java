@@ -0,0 +1,186 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import com.intermancer.gaiaf.core.evaluate.ScoredOrganism;
+import com.intermancer.gaiaf.core.experiment.repo.ExperimentStatusRepository;
+import com.intermancer.gaiaf.core.organism.Organism;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An Experiment that runs its cycles as a pipeline instead of one cycle at a time.
+ *
+ * <p>Each phase of the ExperimentCycle is a stage: selection, breeding, mutation,
+ * evaluation and maintenance. A family (a pair of parents and their children) moves from
+ * stage to stage through bounded queues. Selection, breeding, mutation and maintenance each
+ * run on a thread of their own, while evaluation, the expensive phase, runs on a fixed pool
+ * of pipelineEvaluators threads, so the cheap stages keep it supplied.
+ * A full queue blocks the stage that feeds it, so no stage can run more than
+ * pipelineQueueCapacity families ahead of the next.</p>
+ *
+ * <p>Because parents are selected before earlier families have been maintained, a family's
+ * parent may have been replaced by the time its children reach maintenance. The optimistic
+ * replacement in maintainRepository() then drops the children, as it does for concurrent
+ * workers.</p>
+ *
+ * <p>Pausing stops the selection stage; the families already in the pipeline are finished,
+ * so the pipeline drains and then waits, holding no families. The cycle count at which
+ * an auto-pause is seen can therefore overshoot pauseCycles by the families in flight.</p>
+ */
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+@Primary
+@ConditionalOnProperty(prefix = "experiment", name = "engine", havingValue = "pipeline")
+public class PipelinedExperimentImpl extends BasicExperimentImpl {
+
+    private static final int STAGE_THREAD_COUNT = 4;
+
+    private final ExperimentConfiguration experimentConfiguration;
+    private final ExperimentCycle experimentCycle;
+
+    /**
+     * A family on its way through the pipeline. The scored children are filled in by the
+     * evaluation stage.
+     */
+    private record Family(List<ScoredOrganism> parents, List<Organism> children, List<ScoredOrganism> scoredChildren) {
+    }
+
+    @Autowired
+    public PipelinedExperimentImpl(Seeder seeder,
+                                   ExperimentConfiguration experimentConfiguration,
+                                   ExperimentCycle experimentCycle,
+                                   ExperimentStatusRepository experimentStatusRepository,
+                                   IslandMigrator islandMigrator) {
+        super(seeder, experimentConfiguration, experimentCycle, experimentStatusRepository, islandMigrator);
+        this.experimentConfiguration = experimentConfiguration;
+        this.experimentCycle = experimentCycle;
+    }
+
+    /**
+     * Runs the cycles through the pipeline. Every stage handles exactly cycleCount families,
+     * so the pipeline stops once the last family has been maintained. If any stage fails,
+     * the others are interrupted and the failure is rethrown.
+     */
+    @Override
+    protected void runCycles(int cycleCount) {
+        int queueCapacity = Math.max(1, experimentConfiguration.getPipelineQueueCapacity());
+        int evaluatorCount = experimentConfiguration.getPipelineEvaluators() > 0
+                ? experimentConfiguration.getPipelineEvaluators()
+                : Runtime.getRuntime().availableProcessors();
+        String experimentId = getId();
+        ExperimentStatus experimentStatus = getExperimentStatus();
+
+        BlockingQueue<List<ScoredOrganism>> selected = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Family> bred = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Family> mutated = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Family> evaluated = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger evaluationsClaimed = new AtomicInteger();
+
+        String threadPrefix = "experiment-" + experimentId.substring(0, 8);
+        ExecutorService stageThreads = Executors.newFixedThreadPool(STAGE_THREAD_COUNT,
+                Thread.ofPlatform().name(threadPrefix + "-stage-", 0).factory());
+        // Each evaluator loops on the mutated queue for the whole run, so a plain fixed pool
+        ExecutorService evaluationPool = Executors.newFixedThreadPool(evaluatorCount,
+                Thread.ofPlatform().name(threadPrefix + "-evaluator-", 0).factory());
+        // Both executors report to one queue, so that the first failure of any stage is seen
+        BlockingQueue<Future<Void>> completed = new LinkedBlockingQueue<>();
+        try {
+            submit(stageThreads, completed, () -> {
+                for (int i = 0; i < cycleCount; i++) {
+                    awaitResume();
+                    selected.put(experimentCycle.selectParents(experimentId));
+                }
+                return null;
+            });
+            submit(stageThreads, completed, () -> {
+                for (int i = 0; i < cycleCount; i++) {
+                    List<ScoredOrganism> parents = selected.take();
+                    List<Organism> children = experimentCycle.breedParents(
+                            parents.stream().map(ScoredOrganism::organism).toList());
+                    bred.put(new Family(parents, children, null));
+                }
+                return null;
+            });
+            submit(stageThreads, completed, () -> {
+                for (int i = 0; i < cycleCount; i++) {
+                    Family family = bred.take();
+                    experimentCycle.mutateChildren(family.children());
+                    mutated.put(family);
+                }
+                return null;
+            });
+            for (int evaluator = 0; evaluator < evaluatorCount; evaluator++) {
+                submit(evaluationPool, completed, () -> {
+                    while (evaluationsClaimed.getAndIncrement() < cycleCount) {
+                        Family family = mutated.take();
+                        evaluated.put(new Family(family.parents(), family.children(),
+                                evaluate(family, experimentId)));
+                    }
+                    return null;
+                });
+            }
+            submit(stageThreads, completed, () -> {
+                for (int i = 0; i < cycleCount; i++) {
+                    Family family = evaluated.take();
+                    experimentCycle.maintainRepository(family.parents(), family.scoredChildren(),
+                            experimentId, experimentStatus);
+                    recordCycleCompleted();
+                }
+                return null;
+            });
+
+            for (int i = 0; i < STAGE_THREAD_COUNT + evaluatorCount; i++) {
+                completed.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Experiment interrupted", e);
+        } catch (ExecutionException e) {
+            throw propagate(e, "stage");
+        } finally {
+            stageThreads.shutdownNow();
+            evaluationPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs a stage on the executor, adding its Future to the completed queue when it ends.
+     * A plain FutureTask is used on both executors so that a stage's failure is reported
+     * as it was thrown.
+     */
+    private static void submit(ExecutorService executor, BlockingQueue<Future<Void>> completed, Callable<Void> stage) {
+        executor.execute(new FutureTask<>(stage) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        });
+    }
+
+    /**
+     * Evaluates a family's children, with the cutoff ExperimentCycle.getChildScoreCutoff()
+     * gives, as ExperimentCycleImpl.mutationCycle() does.
+     */
+    private List<ScoredOrganism> evaluate(Family family, String experimentId) {
+        Double cutoff = experimentCycle.getChildScoreCutoff(family.parents(), experimentId,
+                experimentConfiguration.getRepoCapacity());
+        return cutoff == null
+                ? experimentCycle.evaluateChildren(family.children(), experimentId)
+                : experimentCycle.evaluateChildren(family.children(), experimentId, cutoff);
+    }
+}
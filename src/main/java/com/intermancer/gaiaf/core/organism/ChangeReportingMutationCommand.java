@@ -0,0 +1,28 @@
+package com.intermancer.gaiaf.core.organism;
+
+import com.intermancer.gaiaf.core.experiment.MutationCommand;
+
+/**
+ * Wraps a MutationCommand of a nested genetic element so that the enclosing element
+ * is told where its genome changed once the mutation has been executed.
+ */
+class ChangeReportingMutationCommand implements MutationCommand {
+    private final MutationCommand mutation;
+    private final Runnable changeReporter;
+
+    ChangeReportingMutationCommand(MutationCommand mutation, Runnable changeReporter) {
+        this.mutation = mutation;
+        this.changeReporter = changeReporter;
+    }
+
+    @Override
+    public void execute() {
+        mutation.execute();
+        changeReporter.run();
+    }
+
+    @Override
+    public String getDescription() {
+        return mutation.getDescription();
+    }
+}
@@ -3,6 +3,7 @@ package com.intermancer.gaiaf.core.organism;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.IntConsumer;
 
 import com.intermancer.gaiaf.core.experiment.GeneGenerator;
 import com.intermancer.gaiaf.core.experiment.MutationCommand;
@@ -105,6 +106,18 @@ public class Chromosome implements DataQuantumConsumer, Mutational {
      */
     @Override
     public List<MutationCommand> getMutationCommandList() {
+        return getMutationCommandList(geneIndex -> { });
+    }
+
+    /**
+     * Returns the possible mutations of this Chromosome, each of which reports the
+     * index of the first Gene it changes when executed. Every Gene from that index
+     * onwards may compute different values than before the mutation.
+     *
+     * @param changeListener Receives the index of the first changed Gene
+     * @return List of MutationCommand objects
+     */
+    List<MutationCommand> getMutationCommandList(IntConsumer changeListener) {
         List<MutationCommand> mutations = new ArrayList<>();
         Random random = new Random();
         
@@ -112,22 +125,37 @@ public class Chromosome implements DataQuantumConsumer, Mutational {
         
         // Move a random Gene to a different place in the List
         if (genes.size() > 1) {
-            mutations.add(getExchangeGeneMutationCommand(random));
-            mutations.add(getRemoveRandomGeneMutationCommand(random));
+            mutations.add(getExchangeGeneMutationCommand(random, changeListener));
+            mutations.add(getRemoveRandomGeneMutationCommand(random, changeListener));
         }
         
         // Add a random Gene
-        mutations.add(getAddRandomGeneMutationCommand(random));
+        mutations.add(getAddRandomGeneMutationCommand(random, changeListener));
         
         // Add mutations from each gene
         for (Gene gene : genes) {
-            mutations.addAll(gene.getMutationCommandList());
+            for (MutationCommand mutation : gene.getMutationCommandList()) {
+                mutations.add(new ChangeReportingMutationCommand(mutation,
+                        () -> changeListener.accept(indexOfGene(gene))));
+            }
         }
         
         return mutations;
     }
 
-    private MutationCommand getExchangeGeneMutationCommand(Random random) {
+    /**
+     * Finds a Gene by identity, since equal Genes may appear more than once.
+     */
+    private int indexOfGene(Gene gene) {
+        for (int i = 0; i < genes.size(); i++) {
+            if (genes.get(i) == gene) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private MutationCommand getExchangeGeneMutationCommand(Random random, IntConsumer changeListener) {
         return new MutationCommand() {
             @Override
             public void execute() {
@@ -138,6 +166,7 @@ public class Chromosome implements DataQuantumConsumer, Mutational {
                 }
                 Gene gene = genes.remove(fromIndex);
                 genes.add(toIndex, gene);
+                changeListener.accept(Math.min(fromIndex, toIndex));
             }
             
             @Override
@@ -147,12 +176,13 @@ public class Chromosome implements DataQuantumConsumer, Mutational {
         };
     }
 
-    private MutationCommand getRemoveRandomGeneMutationCommand(Random random) {
+    private MutationCommand getRemoveRandomGeneMutationCommand(Random random, IntConsumer changeListener) {
         return new MutationCommand() {
             @Override
             public void execute() {
                 int indexToRemove = random.nextInt(genes.size());
                 genes.remove(indexToRemove);
+                changeListener.accept(indexToRemove);
             }
             
             @Override
@@ -162,13 +192,14 @@ public class Chromosome implements DataQuantumConsumer, Mutational {
         };
     }
 
-    private MutationCommand getAddRandomGeneMutationCommand(Random random) {
+    private MutationCommand getAddRandomGeneMutationCommand(Random random, IntConsumer changeListener) {
         return new MutationCommand() {
             @Override
             public void execute() {
                 Gene newGene = GeneGenerator.getRandomGene();
                 int insertIndex = genes.isEmpty() ? 0 : random.nextInt(genes.size() + 1);
                 genes.add(insertIndex, newGene);
+                changeListener.accept(insertIndex);
             }
             
             @Override
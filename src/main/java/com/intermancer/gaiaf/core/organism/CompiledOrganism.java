@@ -0,0 +1,327 @@
+package com.intermancer.gaiaf.core.organism;
+
+import java.util.Arrays;
+
+import com.intermancer.gaiaf.core.organism.kernel.ColumnKernels;
+
+/**
+ * An immutable, linear register-machine program produced by OrganismCompiler.
+ *
+ * <p>Registers 0 to inputWidth - 1 hold the values of the input DataQuantum. Each
+ * instruction reads from pre-resolved absolute register slots and writes its result
+ * to the next free slot, mirroring the way Gene.consume() appends DataPoints. The
+ * result of the program is the last register written, which is the same value as
+ * the final DataPoint of a DataQuantum consumed by the source Organism.</p>
+ *
+ * <p>A CompiledOrganism holds no mutable state, so one instance can be executed
+ * concurrently as long as each caller supplies its own register array.</p>
+ */
+public final class CompiledOrganism implements OrganismProgram {
+
+    static final int OP_ADD = 0;
+    static final int OP_SUBTRACT = 1;
+    static final int OP_MULTIPLY = 2;
+    static final int OP_DIVIDE = 3;
+    static final int OP_SINE = 4;
+    static final int OP_GENE = 5;
+
+    private final int inputWidth;
+    private final int registerCount;
+    private final int resultSlot;
+    private final int[] opcodes;
+    private final int[] operandStarts;
+    private final int[] operands;
+    private final int[] outputSlots;
+    private final double[] constants;
+    private final Gene[] genes;
+    private final int hashCode;
+
+    CompiledOrganism(int inputWidth, int registerCount, int[] opcodes, int[] operandStarts,
+                     int[] operands, int[] outputSlots, double[] constants, Gene[] genes) {
+        this.inputWidth = inputWidth;
+        this.registerCount = registerCount;
+        this.resultSlot = registerCount - 1;
+        this.opcodes = opcodes;
+        this.operandStarts = operandStarts;
+        this.operands = operands;
+        this.outputSlots = outputSlots;
+        this.constants = constants;
+        this.genes = genes;
+        this.hashCode = computeHashCode();
+    }
+
+    @Override
+    public int getInputWidth() {
+        return inputWidth;
+    }
+
+    @Override
+    public int getRegisterCount() {
+        return registerCount;
+    }
+
+    /**
+     * @return The number of instructions in the program
+     */
+    public int getInstructionCount() {
+        return opcodes.length;
+    }
+
+    /**
+     * Runs the program over one row of input, writing every intermediate value to
+     * its register.
+     *
+     * @param registers An array of at least getRegisterCount() values whose first
+     *                  getInputWidth() entries hold the input row
+     * @return The value of the final register, which is the organism's prediction
+     * @throws OrganismCompilationException if a Gene produces a different number of
+     *                                      values than it declared when compiled
+     */
+    @Override
+    public double execute(double[] registers) {
+        for (int i = 0; i < opcodes.length; i++) {
+            int output = outputSlots[i];
+            switch (opcodes[i]) {
+                case OP_ADD -> registers[output] = registers[operands[operandStarts[i]]] + constants[i];
+                case OP_SUBTRACT -> registers[output] = registers[operands[operandStarts[i]]] - constants[i];
+                case OP_MULTIPLY -> registers[output] = registers[operands[operandStarts[i]]] * constants[i];
+                case OP_DIVIDE -> registers[output] = registers[operands[operandStarts[i]]] / constants[i];
+                case OP_SINE -> registers[output] = Math.sin(registers[operands[operandStarts[i]]]);
+                default -> executeGene(i, registers);
+            }
+        }
+        return registers[resultSlot];
+    }
+
+    /**
+     * Executes a Gene that has no dedicated opcode by calling its operation directly.
+     */
+    private void executeGene(int instruction, double[] registers) {
+        int start = operandStarts[instruction];
+        int count = operandStarts[instruction + 1] - start;
+        double[] values = new double[count];
+        for (int j = 0; j < count; j++) {
+            values[j] = registers[operands[start + j]];
+        }
+
+        Gene gene = genes[instruction];
+        double[] results = gene.operation(values);
+        int expected = nextOutputSlot(instruction) - outputSlots[instruction];
+        if (results.length != expected) {
+            throw new OrganismCompilationException("Gene " + gene.getId() + " produced " + results.length
+                    + " values but was compiled for " + expected);
+        }
+        System.arraycopy(results, 0, registers, outputSlots[instruction], expected);
+    }
+
+    /**
+     * Runs the program over a whole series, applying each instruction to every row
+     * before moving on to the next instruction. Each dedicated opcode is executed by
+     * one call to the given kernels.
+     *
+     * @throws OrganismCompilationException if a Gene produces a different number of
+     *                                      values than it declared when compiled
+     */
+    @Override
+    public double[] executeColumns(double[][] inputColumns, int rowCount, ColumnKernels kernels) {
+        double[][] columns = new double[registerCount][];
+        System.arraycopy(inputColumns, 0, columns, 0, inputWidth);
+        return executeColumnsFrom(columns, 0, rowCount, kernels);
+    }
+
+    /**
+     * Runs the instructions from firstInstruction onwards over a whole series, reusing
+     * the columns already computed for the instructions before it. This lets a program
+     * that shares a prefix with another program start from that program's columns.
+     *
+     * <p>Every column written is a new array, so the columns passed in are never
+     * modified and can be shared between programs.</p>
+     *
+     * @param columns An array of getRegisterCount() columns in which every slot below
+     *                getFirstOutputSlot(firstInstruction) is filled; the remaining
+     *                slots are filled by this method
+     * @param firstInstruction The index of the first instruction to run
+     * @param rowCount The number of rows in each column
+     * @param kernels The kernels used to run the dedicated opcodes
+     * @return The column of the final register, which holds the prediction for each row
+     * @throws OrganismCompilationException if a Gene produces a different number of
+     *                                      values than it declared when compiled
+     */
+    public double[] executeColumnsFrom(double[][] columns, int firstInstruction, int rowCount, ColumnKernels kernels) {
+        for (int i = firstInstruction; i < opcodes.length; i++) {
+            int opcode = opcodes[i];
+            if (opcode == OP_GENE) {
+                executeGeneColumns(i, columns, rowCount);
+                continue;
+            }
+
+            double[] input = columns[operands[operandStarts[i]]];
+            double[] output = new double[rowCount];
+            switch (opcode) {
+                case OP_ADD -> kernels.add(input, constants[i], output, rowCount);
+                case OP_SUBTRACT -> kernels.subtract(input, constants[i], output, rowCount);
+                case OP_MULTIPLY -> kernels.multiply(input, constants[i], output, rowCount);
+                case OP_DIVIDE -> kernels.divide(input, constants[i], output, rowCount);
+                default -> kernels.sine(input, output, rowCount);
+            }
+            columns[outputSlots[i]] = output;
+        }
+
+        if (resultSlot < inputWidth) {
+            return Arrays.copyOf(columns[resultSlot], rowCount);
+        }
+        return columns[resultSlot];
+    }
+
+    /**
+     * Returns the first register written by an instruction. Every register below it
+     * holds either an input value or the output of an earlier instruction.
+     *
+     * @param instruction An instruction index from 0 to getInstructionCount(); passing
+     *                    getInstructionCount() returns getRegisterCount()
+     * @return The first register written by the instruction
+     */
+    public int getFirstOutputSlot(int instruction) {
+        return instruction < outputSlots.length ? outputSlots[instruction] : registerCount;
+    }
+
+    /**
+     * Counts the leading instructions this program shares with another program. A
+     * shared instruction reads the same registers, writes the same registers and
+     * performs the same operation, so every register it writes holds the same values
+     * in both programs for the same input.
+     *
+     * @param other The program to compare against
+     * @param limit The maximum number of instructions to compare
+     * @return The number of leading instructions, up to limit, that the programs share
+     */
+    public int getSharedPrefixLength(CompiledOrganism other, int limit) {
+        if (inputWidth != other.inputWidth) {
+            return 0;
+        }
+        int bound = Math.min(limit, Math.min(opcodes.length, other.opcodes.length));
+        for (int i = 0; i < bound; i++) {
+            if (opcodes[i] != other.opcodes[i]
+                    || outputSlots[i] != other.outputSlots[i]
+                    || nextOutputSlot(i) != other.nextOutputSlot(i)
+                    || Double.doubleToRawLongBits(constants[i]) != Double.doubleToRawLongBits(other.constants[i])
+                    || !Arrays.equals(operands, operandStarts[i], operandStarts[i + 1],
+                            other.operands, other.operandStarts[i], other.operandStarts[i + 1])
+                    || !sameGene(genes[i], other.genes[i])) {
+                return i;
+            }
+        }
+        return bound;
+    }
+
+    private static boolean sameGene(Gene gene, Gene other) {
+        return gene == null ? other == null : gene.equals(other);
+    }
+
+    /**
+     * Executes a Gene that has no dedicated opcode over every row of a series.
+     */
+    private void executeGeneColumns(int instruction, double[][] columns, int rowCount) {
+        int start = operandStarts[instruction];
+        int count = operandStarts[instruction + 1] - start;
+        int firstOutput = outputSlots[instruction];
+        int expected = nextOutputSlot(instruction) - firstOutput;
+        for (int j = 0; j < expected; j++) {
+            columns[firstOutput + j] = new double[rowCount];
+        }
+
+        Gene gene = genes[instruction];
+        double[] values = new double[count];
+        for (int row = 0; row < rowCount; row++) {
+            for (int j = 0; j < count; j++) {
+                values[j] = columns[operands[start + j]][row];
+            }
+            double[] results = gene.operation(values);
+            if (results.length != expected) {
+                throw new OrganismCompilationException("Gene " + gene.getId() + " produced " + results.length
+                        + " values but was compiled for " + expected);
+            }
+            for (int j = 0; j < expected; j++) {
+                columns[firstOutput + j][row] = results[j];
+            }
+        }
+    }
+
+    private int nextOutputSlot(int instruction) {
+        return instruction + 1 < outputSlots.length ? outputSlots[instruction + 1] : registerCount;
+    }
+
+    // Package-private accessors used by OrganismBytecodeGenerator
+
+    int getResultSlot() {
+        return resultSlot;
+    }
+
+    int getOpcode(int instruction) {
+        return opcodes[instruction];
+    }
+
+    int getFirstOperand(int instruction) {
+        return operands[operandStarts[instruction]];
+    }
+
+    int getOutputSlot(int instruction) {
+        return outputSlots[instruction];
+    }
+
+    double getConstant(int instruction) {
+        return constants[instruction];
+    }
+
+    /**
+     * @return true if any instruction calls a Gene's operation instead of a dedicated opcode
+     */
+    boolean hasGeneInstructions() {
+        for (int opcode : opcodes) {
+            if (opcode == OP_GENE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Two CompiledOrganisms are equal when they execute the same instructions on the
+     * same slots with bit-identical constants, regardless of which Organism they were
+     * compiled from. This makes a CompiledOrganism usable as a genome cache key.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        CompiledOrganism other = (CompiledOrganism) obj;
+        return inputWidth == other.inputWidth
+                && registerCount == other.registerCount
+                && hashCode == other.hashCode
+                && Arrays.equals(opcodes, other.opcodes)
+                && Arrays.equals(operandStarts, other.operandStarts)
+                && Arrays.equals(operands, other.operands)
+                && Arrays.equals(outputSlots, other.outputSlots)
+                && Arrays.equals(constants, other.constants)
+                && Arrays.equals(genes, other.genes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    private int computeHashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + inputWidth;
+        result = prime * result + registerCount;
+        result = prime * result + Arrays.hashCode(opcodes);
+        result = prime * result + Arrays.hashCode(operands);
+        result = prime * result + Arrays.hashCode(outputSlots);
+        result = prime * result + Arrays.hashCode(constants);
+        result = prime * result + Arrays.hashCode(genes);
+        return result;
+    }
+}
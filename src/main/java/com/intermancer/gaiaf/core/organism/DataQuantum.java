@@ -1,6 +1,7 @@
 package com.intermancer.gaiaf.core.organism;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -9,33 +10,70 @@ import com.fasterxml.jackson.annotation.JsonCreator;
  * Represents a DataQuantum, which contains an ordered list of DataPoints.
  * A DataQuantum provides methods to add and retrieve DataPoints, ensuring
  * compliance with the specification in OrganismDomainObjects.md.
+ *
+ * <p>Values are stored in a growable primitive array, with a parallel array holding
+ * a reference to each value's sourceId, so that Genes can append values without
+ * allocating a DataPoint per value. DataPoint instances are only created on demand by
+ * {@link #getDataPoint(int)} and the {@link #getDataPoints()} view.</p>
  */
 public class DataQuantum {
-    private List<DataPoint> dataPoints;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private double[] values;
+    private String[] sourceIds;
+    private int size;
+    private List<DataPoint> dataPointView;
 
     /**
      * Default constructor for Jackson deserialization.
      */
     public DataQuantum() {
-        this.dataPoints = new ArrayList<>();
+        this(DEFAULT_CAPACITY);
+    }
+
+    private DataQuantum(int capacity) {
+        this.values = new double[capacity];
+        this.sourceIds = new String[capacity];
     }
 
     /**
-     * Gets the list of DataPoints in this DataQuantum.
+     * Gets the DataPoints in this DataQuantum. The returned list is a read-only view
+     * backed by this DataQuantum; each element is materialized when it is accessed.
      *
-     * @return The list of DataPoints
+     * @return A view of the DataPoints
      */
     public List<DataPoint> getDataPoints() {
-        return dataPoints;
+        if (dataPointView == null) {
+            dataPointView = new AbstractList<>() {
+                @Override
+                public DataPoint get(int index) {
+                    if (index < 0 || index >= size) {
+                        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+                    }
+                    return dataPointAt(index);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return dataPointView;
     }
 
     /**
-     * Sets the list of DataPoints for this DataQuantum.
+     * Sets the list of DataPoints for this DataQuantum, replacing any existing values.
      *
      * @param dataPoints The list of DataPoints to set
      */
     public void setDataPoints(List<DataPoint> dataPoints) {
-        this.dataPoints = dataPoints;
+        size = 0;
+        if (dataPoints != null) {
+            for (DataPoint dataPoint : dataPoints) {
+                addDataPoint(dataPoint);
+            }
+        }
     }
 
     /**
@@ -48,7 +86,7 @@ public class DataQuantum {
         if (dataPoint == null) {
             throw new IllegalArgumentException("DataPoint cannot be null");
         }
-        dataPoints.add(dataPoint);
+        append(dataPoint.getSourceId(), dataPoint.getValue());
         return this;
     }
 
@@ -74,24 +112,7 @@ public class DataQuantum {
      * @throws IllegalStateException if the list of DataPoints is empty.
      */
     public DataPoint getDataPoint(int index) {
-        if (dataPoints.isEmpty()) {
-            throw new IllegalStateException("No DataPoints available");
-        }
-        
-        int size = dataPoints.size();
-        int actualIndex;
-        
-        if (index >= 0) {
-            // Positive index: use modulo for wrapping
-            actualIndex = index % size;
-        } else {
-            // Negative index: convert to positive equivalent
-            // -1 becomes size-1, -2 becomes size-2, etc.
-            // Handle cases where |index| > size using modulo
-            actualIndex = ((index % size) + size) % size;
-        }
-        
-        return dataPoints.get(actualIndex);
+        return dataPointAt(resolveIndex(index));
     }
 
     /**
@@ -100,25 +121,52 @@ public class DataQuantum {
      * @param value The value of the new DataPoint.
      */
     public void addValue(double value) {
-        dataPoints.add(new DataPoint(null, value));
+        append(null, value);
+    }
+
+    /**
+     * Adds a new value attributed to the given sourceId.
+     * Used by Gene so that appending a result does not allocate a DataPoint.
+     *
+     * @param sourceId The source ID of the value (can be null)
+     * @param value The value to add
+     */
+    void addValue(String sourceId, double value) {
+        append(sourceId, value);
     }
 
     /**
      * Retrieves the value of a DataPoint at the specified index.
-     * This is a convenience method for getDataPoint(index).getValue().
+     * Uses the same index behavior as getDataPoint(index), without creating a DataPoint.
      *
      * @param index The index of the DataPoint.
      * @return The value of the DataPoint at the specified index.
      */
     public double getValue(int index) {
-        return getDataPoint(index).getValue();
+        return values[resolveIndex(index)];
     }
 
     /**
-     * Creates a deep copy of this DataQuantum, including copies of all DataPoints.
-     * The copy contains new DataPoint instances with the same sourceId and value
-     * as the originals, ensuring that modifications to the copy do not affect
-     * the original DataQuantum.
+     * Returns the number of DataPoints in this DataQuantum.
+     *
+     * @return The number of DataPoints
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the values of this DataQuantum, in order, into the start of the destination array.
+     *
+     * @param destination An array of at least size() elements
+     */
+    public void copyValuesInto(double[] destination) {
+        System.arraycopy(values, 0, destination, 0, size);
+    }
+
+    /**
+     * Creates a deep copy of this DataQuantum. Modifications to the copy do not
+     * affect the original DataQuantum, and vice versa.
      * 
      * <p>This method is essential when passing DataQuanta to organisms for evaluation.
      * Since organisms modify DataQuanta by adding new DataPoints during consumption
@@ -128,13 +176,59 @@ public class DataQuantum {
      * @return A new DataQuantum containing copies of all DataPoints
      */
     public DataQuantum copyOf() {
-        DataQuantum copy = new DataQuantum();
-        for (DataPoint dp : this.dataPoints) {
-            copy.addDataPoint(new DataPoint(dp.getSourceId(), dp.getValue()));
-        }
+        DataQuantum copy = new DataQuantum(size + DEFAULT_CAPACITY);
+        copy.copyFrom(this);
         return copy;
     }
 
+    /**
+     * Replaces the contents of this DataQuantum with the contents of the source,
+     * reusing this instance's storage where possible. This lets an evaluation loop
+     * reuse a single scratch DataQuantum instead of calling copyOf() for every row.
+     *
+     * @param source The DataQuantum to copy from
+     */
+    public void copyFrom(DataQuantum source) {
+        if (values.length < source.size) {
+            int capacity = source.size + DEFAULT_CAPACITY;
+            values = new double[capacity];
+            sourceIds = new String[capacity];
+        }
+        System.arraycopy(source.values, 0, values, 0, source.size);
+        System.arraycopy(source.sourceIds, 0, sourceIds, 0, source.size);
+        size = source.size;
+    }
+
+    private void append(String sourceId, double value) {
+        if (size == values.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+            values = Arrays.copyOf(values, capacity);
+            sourceIds = Arrays.copyOf(sourceIds, capacity);
+        }
+        values[size] = value;
+        sourceIds[size] = sourceId;
+        size++;
+    }
+
+    private int resolveIndex(int index) {
+        if (size == 0) {
+            throw new IllegalStateException("No DataPoints available");
+        }
+        
+        if (index >= 0) {
+            // Positive index: use modulo for wrapping
+            return index % size;
+        }
+        // Negative index: convert to positive equivalent
+        // -1 becomes size-1, -2 becomes size-2, etc.
+        // Handle cases where |index| > size using modulo
+        return ((index % size) + size) % size;
+    }
+
+    private DataPoint dataPointAt(int actualIndex) {
+        return new DataPoint(sourceIds[actualIndex], values[actualIndex]);
+    }
+
     /**
      * Represents a single DataPoint within a DataQuantum.
      * Each DataPoint has a sourceId and a value.
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.intermancer.gaiaf.core.experiment.MutationCommand;
 import com.intermancer.gaiaf.core.experiment.Mutational;
@@ -75,12 +76,26 @@ public abstract class Gene implements DataQuantumConsumer, Mutational {
         // Perform operation on values
         double[] results = operation(values);
         
-        // Add results as new DataPoints to dataQuantum
+        // Add results as new values to dataQuantum, attributed to this Gene
+        String sourceId = getId();
         for (double result : results) {
-            dataQuantum.addDataPoint(new DataQuantum.DataPoint(getId(), result));
+            dataQuantum.addValue(sourceId, result);
         }
     }
     
+    /**
+     * Returns the number of values that operation() produces, and therefore the number
+     * of DataPoints this Gene appends to a DataQuantum. OrganismCompiler relies on this
+     * to lay out registers ahead of time, so Genes that produce more than one value
+     * must override it.
+     *
+     * @return The number of values produced by operation()
+     */
+    @JsonIgnore
+    public int getOutputCount() {
+        return 1;
+    }
+    
     /**
      * Abstract method to define the operation performed on the input values.
      *
@@ -0,0 +1,114 @@
+package com.intermancer.gaiaf.core.organism;
+
+import java.util.List;
+
+/**
+ * A stable 128-bit hash of an Organism's genome.
+ *
+ * <p>The hash covers the same structure that Organism.equals() compares: the order of
+ * the Chromosomes, and the class, target indexes and operation constants of each Gene.
+ * IDs are ignored. Because it only uses class names and the bits of each value, the
+ * same genome hashes to the same value in every JVM.</p>
+ *
+ * <p>Values are mixed with the MurmurHash3 x64 128-bit block and finalization steps.</p>
+ *
+ * @param high The upper 64 bits of the hash
+ * @param low The lower 64 bits of the hash
+ */
+public record GenomeHash(long high, long low) {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    // Markers that keep differently shaped genomes from hashing the same values in the same order
+    private static final long CHROMOSOME_MARKER = 0x43484f524f4d4fL;
+    private static final long TARGET_INDEXES_MARKER = 0x5441524745545fL;
+    private static final long CONSTANTS_MARKER = 0x434f4e5354414eL;
+    private static final long NULL_CONSTANT = 0x7ff8dead0000beefL;
+
+    /**
+     * Computes the genome hash of an Organism.
+     *
+     * @param organism The Organism to hash
+     * @return The hash of the Organism's genome
+     */
+    public static GenomeHash of(Organism organism) {
+        Hasher hasher = new Hasher();
+        for (Chromosome chromosome : organism.getChromosomes()) {
+            hasher.add(CHROMOSOME_MARKER);
+            for (Gene gene : chromosome.getGenes()) {
+                hasher.add(gene.getClass().getName());
+
+                List<Integer> targetIndexList = gene.getTargetIndexList();
+                hasher.add(TARGET_INDEXES_MARKER ^ targetIndexList.size());
+                for (Integer targetIndex : targetIndexList) {
+                    hasher.add(targetIndex);
+                }
+
+                List<Double> operationConstantList = gene.getOperationConstantList();
+                hasher.add(CONSTANTS_MARKER ^ operationConstantList.size());
+                for (Double constant : operationConstantList) {
+                    hasher.add(constant == null ? NULL_CONSTANT : Double.doubleToLongBits(constant));
+                }
+            }
+        }
+        return hasher.finish();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    private static final class Hasher {
+        private long h1 = 0x9368e53c2f6af274L;
+        private long h2 = 0x586dcd208f7cd3fdL;
+        private long length = 0;
+
+        void add(String value) {
+            add(value.length());
+            for (int i = 0; i < value.length(); i += 4) {
+                long packed = 0;
+                for (int j = i; j < Math.min(i + 4, value.length()); j++) {
+                    packed = (packed << 16) | value.charAt(j);
+                }
+                add(packed);
+            }
+        }
+
+        void add(long value) {
+            long k1 = Long.rotateLeft(value * C1, 31) * C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            long k2 = Long.rotateLeft(value * C2, 33) * C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+
+            length++;
+        }
+
+        GenomeHash finish() {
+            long high = h1 ^ length;
+            long low = h2 ^ length;
+            high += low;
+            low += high;
+            high = mix(high);
+            low = mix(low);
+            high += low;
+            low += high;
+            return new GenomeHash(high, low);
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
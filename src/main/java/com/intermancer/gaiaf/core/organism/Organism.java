@@ -3,8 +3,10 @@ package com.intermancer.gaiaf.core.organism;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.intermancer.gaiaf.core.experiment.ChromosomeGenerator;
 import com.intermancer.gaiaf.core.experiment.MutationCommand;
@@ -19,6 +21,16 @@ public class Organism implements DataQuantumConsumer, Mutational {
     private List<Chromosome> chromosomes;
     private String id;
 
+    /**
+     * The ID of the Organism whose leading Genes this Organism inherited, if any
+     */
+    private String inheritedFromId;
+
+    /**
+     * The number of leading Genes known to be unchanged since they were inherited
+     */
+    private int inheritedGeneCount;
+
     /**
      * Default constructor for Jackson deserialization.
      */
@@ -102,6 +114,85 @@ public class Organism implements DataQuantumConsumer, Mutational {
         return id;
     }
 
+    /**
+     * Records that this Organism's leading Genes are copies of another Organism's leading
+     * Genes, so that an evaluator can reuse the values that Organism computed for them.
+     * Mutations made through getMutationCommandList() shrink the inherited count to the
+     * first Gene they change.
+     *
+     * @param organismId The ID of the Organism the Genes were copied from
+     * @param geneCount The number of leading Genes copied unchanged
+     */
+    public void setInheritance(String organismId, int geneCount) {
+        this.inheritedFromId = organismId;
+        this.inheritedGeneCount = organismId == null ? 0 : Math.max(geneCount, 0);
+    }
+
+    /**
+     * @return The ID of the Organism whose leading Genes this Organism inherited, or null
+     */
+    @JsonIgnore
+    public String getInheritedFromId() {
+        return inheritedFromId;
+    }
+
+    /**
+     * @return The number of leading Genes, across all Chromosomes, that are unchanged
+     *         since they were inherited
+     */
+    @JsonIgnore
+    public int getInheritedGeneCount() {
+        return inheritedGeneCount;
+    }
+
+    /**
+     * Creates a clone of this Organism with a new ID.
+     * The clone contains deep copies of all Chromosomes and inherits every Gene from this Organism.
+     *
+     * @return A new Organism that is a deep copy of this one
+     */
+    public Organism copyOf() {
+        Organism clone = new Organism(UUID.randomUUID().toString());
+        int geneCount = 0;
+        for (Chromosome chromosome : chromosomes) {
+            clone.addChromosome(chromosome.copyOf());
+            geneCount += chromosome.getGenes().size();
+        }
+        clone.setInheritance(id, geneCount);
+        return clone;
+    }
+
+    /**
+     * Records that the Gene at the given position, counted across all Chromosomes, and
+     * every Gene after it may have changed.
+     */
+    void markChangedFrom(int geneIndex) {
+        inheritedGeneCount = Math.min(inheritedGeneCount, geneIndex);
+    }
+
+    /**
+     * Counts the Genes in the Chromosomes before the given one.
+     */
+    private int getGeneOffset(int chromosomeIndex) {
+        int offset = 0;
+        for (int i = 0; i < chromosomeIndex; i++) {
+            offset += chromosomes.get(i).getGenes().size();
+        }
+        return offset;
+    }
+
+    /**
+     * Finds a Chromosome by identity, since equal Chromosomes may appear more than once.
+     */
+    private int indexOfChromosome(Chromosome chromosome) {
+        for (int i = 0; i < chromosomes.size(); i++) {
+            if (chromosomes.get(i) == chromosome) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -152,7 +243,8 @@ public class Organism implements DataQuantumConsumer, Mutational {
         
         // Add mutations from each chromosome
         for (Chromosome chromosome : chromosomes) {
-            mutations.addAll(chromosome.getMutationCommandList());
+            mutations.addAll(chromosome.getMutationCommandList(
+                    geneIndex -> markChangedFrom(getGeneOffset(indexOfChromosome(chromosome)) + geneIndex)));
         }
         
         return mutations;
@@ -167,6 +259,7 @@ public class Organism implements DataQuantumConsumer, Mutational {
                 while (toIndex == fromIndex) {
                     toIndex = random.nextInt(chromosomes.size());
                 }
+                markChangedFrom(getGeneOffset(Math.min(fromIndex, toIndex)));
                 Chromosome chromosome = chromosomes.remove(fromIndex);
                 chromosomes.add(toIndex, chromosome);
             }
@@ -183,6 +276,7 @@ public class Organism implements DataQuantumConsumer, Mutational {
             @Override
             public void execute() {
                 int indexToRemove = random.nextInt(chromosomes.size());
+                markChangedFrom(getGeneOffset(indexToRemove));
                 chromosomes.remove(indexToRemove);
             }
             
@@ -199,6 +293,7 @@ public class Organism implements DataQuantumConsumer, Mutational {
             public void execute() {
                 Chromosome newChromosome = ChromosomeGenerator.getRandomChromosome();
                 int insertIndex = chromosomes.isEmpty() ? 0 : random.nextInt(chromosomes.size() + 1);
+                markChangedFrom(getGeneOffset(insertIndex));
                 chromosomes.add(insertIndex, newChromosome);
             }
             
@@ -0,0 +1,169 @@
+package com.intermancer.gaiaf.core.organism;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+/**
+ * Utility class that turns a CompiledOrganism into straight-line Java bytecode and
+ * loads it as a hidden class, so the JIT sees one monomorphic execute() method with
+ * every operation constant inlined.
+ *
+ * <p>Intermediate values live in local variables instead of the register array, and
+ * input values are read from the register array only where a Gene refers to them.
+ * Only programs built entirely from dedicated opcodes can be generated; programs that
+ * call a Gene's operation directly are rejected.</p>
+ *
+ * <p>Hidden classes are defined without the STRONG option, so a generated class is
+ * unloaded once nothing references its OrganismProgram instance any more.</p>
+ */
+public class OrganismBytecodeGenerator {
+
+    /**
+     * Keeps generated methods well below the JVM's 64KB method size limit.
+     */
+    static final int MAX_INSTRUCTIONS = 4096;
+
+    private static final String CLASS_NAME =
+            Type.getInternalName(OrganismBytecodeGenerator.class).replace("OrganismBytecodeGenerator", "GeneratedOrganism");
+    private static final String SUPER_NAME = Type.getInternalName(GeneratedOrganismProgram.class);
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    private OrganismBytecodeGenerator() {
+    }
+
+    /**
+     * Base class for generated programs, which only implement execute().
+     */
+    abstract static class GeneratedOrganismProgram implements OrganismProgram {
+        private final int inputWidth;
+        private final int registerCount;
+
+        protected GeneratedOrganismProgram(int inputWidth, int registerCount) {
+            this.inputWidth = inputWidth;
+            this.registerCount = registerCount;
+        }
+
+        @Override
+        public int getInputWidth() {
+            return inputWidth;
+        }
+
+        @Override
+        public int getRegisterCount() {
+            return registerCount;
+        }
+    }
+
+    /**
+     * @param program A compiled program
+     * @return true if the program only uses opcodes that can be turned into bytecode
+     */
+    public static boolean canGenerate(CompiledOrganism program) {
+        return !program.hasGeneInstructions() && program.getInstructionCount() <= MAX_INSTRUCTIONS;
+    }
+
+    /**
+     * Generates and loads a hidden class that executes the given program.
+     *
+     * @param program The program to generate bytecode for
+     * @return An OrganismProgram backed by the generated class
+     * @throws OrganismCompilationException if the program cannot be generated or loaded
+     */
+    public static OrganismProgram generate(CompiledOrganism program) {
+        if (program.hasGeneInstructions()) {
+            throw new OrganismCompilationException("Programs that call Gene operations cannot be generated");
+        }
+        if (program.getInstructionCount() > MAX_INSTRUCTIONS) {
+            throw new OrganismCompilationException("Program has " + program.getInstructionCount()
+                    + " instructions, more than the limit of " + MAX_INSTRUCTIONS);
+        }
+
+        try {
+            byte[] bytecode = toBytecode(program);
+            MethodHandles.Lookup hiddenClassLookup = lookup.defineHiddenClass(bytecode, true);
+            return (OrganismProgram) hiddenClassLookup
+                    .findConstructor(hiddenClassLookup.lookupClass(), MethodType.methodType(void.class, int.class, int.class))
+                    .invoke(program.getInputWidth(), program.getRegisterCount());
+        } catch (Throwable e) {
+            if (e instanceof Error && !(e instanceof LinkageError)) {
+                throw (Error) e;
+            }
+            OrganismCompilationException exception =
+                    new OrganismCompilationException("Failed to generate bytecode: " + e.getMessage());
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    private static byte[] toBytecode(CompiledOrganism program) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null, SUPER_NAME, null);
+
+        // Constructor passing the program dimensions to GeneratedOrganismProgram
+        MethodVisitor constructor = classWriter.visitMethod(0, "<init>", "(II)V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitVarInsn(Opcodes.ILOAD, 1);
+        constructor.visitVarInsn(Opcodes.ILOAD, 2);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPER_NAME, "<init>", "(II)V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        // public double execute(double[] registers)
+        MethodVisitor execute = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "execute", "([D)D", null, null);
+        execute.visitCode();
+        int inputWidth = program.getInputWidth();
+        for (int i = 0; i < program.getInstructionCount(); i++) {
+            int opcode = program.getOpcode(i);
+            loadSlot(execute, program.getFirstOperand(i), inputWidth);
+            if (opcode == CompiledOrganism.OP_SINE) {
+                execute.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", "sin", "(D)D", false);
+            } else {
+                execute.visitLdcInsn(program.getConstant(i));
+                execute.visitInsn(switch (opcode) {
+                    case CompiledOrganism.OP_ADD -> Opcodes.DADD;
+                    case CompiledOrganism.OP_SUBTRACT -> Opcodes.DSUB;
+                    case CompiledOrganism.OP_MULTIPLY -> Opcodes.DMUL;
+                    case CompiledOrganism.OP_DIVIDE -> Opcodes.DDIV;
+                    default -> throw new OrganismCompilationException("Unsupported opcode " + opcode);
+                });
+            }
+            execute.visitVarInsn(Opcodes.DSTORE, localFor(program.getOutputSlot(i), inputWidth));
+        }
+        loadSlot(execute, program.getResultSlot(), inputWidth);
+        execute.visitInsn(Opcodes.DRETURN);
+        execute.visitMaxs(0, 0);
+        execute.visitEnd();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Pushes the value of a register: input registers are read from the array,
+     * computed registers from their local variable.
+     */
+    private static void loadSlot(MethodVisitor method, int slot, int inputWidth) {
+        if (slot < inputWidth) {
+            method.visitVarInsn(Opcodes.ALOAD, 1);
+            method.visitLdcInsn(slot);
+            method.visitInsn(Opcodes.DALOAD);
+        } else {
+            method.visitVarInsn(Opcodes.DLOAD, localFor(slot, inputWidth));
+        }
+    }
+
+    /**
+     * Local 0 is this and local 1 is the register array; each computed register
+     * takes two local slots because it holds a double.
+     */
+    private static int localFor(int slot, int inputWidth) {
+        return 2 + 2 * (slot - inputWidth);
+    }
+}
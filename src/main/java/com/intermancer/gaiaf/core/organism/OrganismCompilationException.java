@@ -0,0 +1,12 @@
+package com.intermancer.gaiaf.core.organism;
+
+/**
+ * Thrown when an Organism cannot be lowered into a CompiledOrganism, or when a
+ * CompiledOrganism discovers at run time that a Gene does not match the layout
+ * it was compiled against. Callers are expected to fall back to Organism.consume().
+ */
+public class OrganismCompilationException extends RuntimeException {
+    public OrganismCompilationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,132 @@
+package com.intermancer.gaiaf.core.organism;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.intermancer.gaiaf.core.organism.gene.basic.AdditionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.DivisionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.MultiplicationGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SineGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SubtractionGene;
+
+/**
+ * Utility class that lowers an Organism into a CompiledOrganism.
+ *
+ * <p>Because every Gene appends a known number of values, the length of the DataQuantum
+ * at each Gene is known ahead of time for a given input width. The compiler uses this
+ * to resolve each Gene's negative or wrapping target indexes into absolute register
+ * slots once, instead of once per row in DataQuantum.getValue().</p>
+ *
+ * <p>The basic Genes are lowered to dedicated opcodes with their operation constant
+ * unboxed. Any other Gene, or a basic Gene whose configuration would make its operation
+ * fail, is compiled to a generic instruction that calls the Gene's operation directly,
+ * so the compiled program behaves exactly like Organism.consume().</p>
+ */
+public class OrganismCompiler {
+
+    private OrganismCompiler() {
+    }
+
+    /**
+     * Compiles the given Organism for input rows of the given width.
+     * The Organism's genome is read once; later mutations are not reflected
+     * in the returned program.
+     *
+     * @param organism The Organism to compile
+     * @param inputWidth The number of values in each input DataQuantum
+     * @return The compiled program
+     * @throws OrganismCompilationException if a Gene reads from an empty DataQuantum
+     */
+    public static CompiledOrganism compile(Organism organism, int inputWidth) {
+        List<Gene> genes = new ArrayList<>();
+        for (Chromosome chromosome : organism.getChromosomes()) {
+            genes.addAll(chromosome.getGenes());
+        }
+
+        int instructionCount = genes.size();
+        int[] opcodes = new int[instructionCount];
+        int[] operandStarts = new int[instructionCount + 1];
+        int[] outputSlots = new int[instructionCount];
+        double[] constants = new double[instructionCount];
+        Gene[] geneRefs = new Gene[instructionCount];
+        List<Integer> operands = new ArrayList<>();
+
+        int length = inputWidth;
+        for (int i = 0; i < instructionCount; i++) {
+            Gene gene = genes.get(i);
+            List<Integer> targetIndexList = gene.getTargetIndexList();
+            if (length == 0 && !targetIndexList.isEmpty()) {
+                throw new OrganismCompilationException("Gene " + gene.getId() + " reads from an empty DataQuantum");
+            }
+
+            operandStarts[i] = operands.size();
+            for (Integer targetIndex : targetIndexList) {
+                operands.add(resolveIndex(targetIndex, length));
+            }
+
+            int opcode = opcodeFor(gene);
+            opcodes[i] = opcode;
+            outputSlots[i] = length;
+            if (opcode == CompiledOrganism.OP_GENE) {
+                geneRefs[i] = gene;
+                length += gene.getOutputCount();
+            } else {
+                if (opcode != CompiledOrganism.OP_SINE) {
+                    constants[i] = gene.getOperationConstantList().get(0);
+                }
+                length++;
+            }
+        }
+        operandStarts[instructionCount] = operands.size();
+
+        if (length == 0) {
+            throw new OrganismCompilationException("Organism produces no values for an empty DataQuantum");
+        }
+
+        return new CompiledOrganism(inputWidth, length, opcodes, operandStarts,
+                operands.stream().mapToInt(Integer::intValue).toArray(), outputSlots, constants, geneRefs);
+    }
+
+    /**
+     * Chooses the opcode for a Gene. Only the exact basic Gene classes get a dedicated
+     * opcode, since a subclass may override operation().
+     */
+    private static int opcodeFor(Gene gene) {
+        if (gene.getTargetIndexList().isEmpty()) {
+            return CompiledOrganism.OP_GENE;
+        }
+        Class<?> geneClass = gene.getClass();
+        if (geneClass == SineGene.class) {
+            return CompiledOrganism.OP_SINE;
+        }
+
+        List<Double> operationConstantList = gene.getOperationConstantList();
+        if (operationConstantList.isEmpty() || operationConstantList.get(0) == null) {
+            return CompiledOrganism.OP_GENE;
+        }
+        if (geneClass == AdditionGene.class) {
+            return CompiledOrganism.OP_ADD;
+        }
+        if (geneClass == SubtractionGene.class) {
+            return CompiledOrganism.OP_SUBTRACT;
+        }
+        if (geneClass == MultiplicationGene.class) {
+            return CompiledOrganism.OP_MULTIPLY;
+        }
+        if (geneClass == DivisionGene.class && operationConstantList.get(0) != 0) {
+            // A zero divisor keeps the generic path so the Gene still throws
+            return CompiledOrganism.OP_DIVIDE;
+        }
+        return CompiledOrganism.OP_GENE;
+    }
+
+    /**
+     * Resolves an index using the same wrapping rules as DataQuantum.getDataPoint().
+     */
+    private static int resolveIndex(int index, int size) {
+        if (index >= 0) {
+            return index % size;
+        }
+        return ((index % size) + size) % size;
+    }
+}
@@ -0,0 +1,66 @@
+package com.intermancer.gaiaf.core.organism;
+
+import com.intermancer.gaiaf.core.organism.kernel.ColumnKernels;
+
+/**
+ * An executable form of an Organism's gene chain that computes the Organism's
+ * prediction for one row of input without going through Organism.consume().
+ * Implementations are immutable and can be shared between threads, as long as
+ * each caller supplies its own register array.
+ */
+public interface OrganismProgram {
+
+    /**
+     * @return The number of values the input DataQuantum must contain
+     */
+    int getInputWidth();
+
+    /**
+     * @return The minimum size of the register array passed to {@link #execute(double[])}
+     */
+    int getRegisterCount();
+
+    /**
+     * Runs the program over one row of input.
+     *
+     * @param registers An array of at least getRegisterCount() values whose first
+     *                  getInputWidth() entries hold the input row. The remaining
+     *                  entries may be overwritten.
+     * @return The organism's prediction, which is the value of the final DataPoint
+     *         the Organism would have appended to the DataQuantum
+     */
+    double execute(double[] registers);
+
+    /**
+     * Runs the program over a whole series of rows using the default ColumnKernels.
+     *
+     * @see #executeColumns(double[][], int, ColumnKernels)
+     */
+    default double[] executeColumns(double[][] inputColumns, int rowCount) {
+        return executeColumns(inputColumns, rowCount, ColumnKernels.getDefault());
+    }
+
+    /**
+     * Runs the program over a whole series of rows. The default implementation
+     * executes one row at a time and ignores the kernels; implementations may instead
+     * apply each operation to a whole column with the given kernels.
+     *
+     * @param inputColumns getInputWidth() columns, each holding at least rowCount values.
+     *                     The columns are not modified.
+     * @param rowCount The number of rows to run
+     * @param kernels The column kernels used for the basic operations
+     * @return A new array holding the organism's prediction for each row
+     */
+    default double[] executeColumns(double[][] inputColumns, int rowCount, ColumnKernels kernels) {
+        int inputWidth = getInputWidth();
+        double[] registers = new double[getRegisterCount()];
+        double[] predictions = new double[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < inputWidth; column++) {
+                registers[column] = inputColumns[column][row];
+            }
+            predictions[row] = execute(registers);
+        }
+        return predictions;
+    }
+}
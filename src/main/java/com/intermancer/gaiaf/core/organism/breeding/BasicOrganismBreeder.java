@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 
 import com.intermancer.gaiaf.core.organism.Organism;
 import com.intermancer.gaiaf.core.organism.Chromosome;
+import com.intermancer.gaiaf.core.organism.Gene;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -54,12 +55,33 @@ public class BasicOrganismBreeder implements OrganismBreeder {
                 }
             }
             
+            recordInheritance(child, parents.get(i));
             children.add(child);
         }
         
         return children;
     }
     
+    /**
+     * Records the leading genes the child shares with the parent its first chromosome
+     * came from: every chromosome up to the first one taken from a different parent.
+     *
+     * @param child The newly bred child
+     * @param parent The parent the child's first chromosome was copied from
+     */
+    private void recordInheritance(Organism child, Organism parent) {
+        int geneCount = 0;
+        int chromosomeCount = Math.min(child.getChromosomes().size(), parent.getChromosomes().size());
+        for (int chromPos = 0; chromPos < chromosomeCount; chromPos++) {
+            List<Gene> childGenes = child.getChromosomes().get(chromPos).getGenes();
+            if (!childGenes.equals(parent.getChromosomes().get(chromPos).getGenes())) {
+                break;
+            }
+            geneCount += childGenes.size();
+        }
+        child.setInheritance(parent.getId(), geneCount);
+    }
+
     /**
      * Finds the maximum number of chromosomes in any parent organism.
      * 
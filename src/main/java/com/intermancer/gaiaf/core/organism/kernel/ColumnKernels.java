@@ -0,0 +1,46 @@
+package com.intermancer.gaiaf.core.organism.kernel;
+
+/**
+ * Whole-column implementations of the basic Gene operations and of the error
+ * reduction used to score an organism's predictions.
+ *
+ * <p>Each operation reads length values from its input, starting at index 0, and
+ * writes length results to its output. The input and output may be the same array.</p>
+ */
+public interface ColumnKernels {
+
+    void add(double[] input, double constant, double[] output, int length);
+
+    void subtract(double[] input, double constant, double[] output, int length);
+
+    void multiply(double[] input, double constant, double[] output, int length);
+
+    void divide(double[] input, double constant, double[] output, int length);
+
+    void sine(double[] input, double[] output, int length);
+
+    /**
+     * Adds |predictions[predictionOffset + i] - actualValues[actualOffset + i]| for
+     * i from 0 to length - 1 to the given sum.
+     *
+     * @param sum The running sum to add the errors to
+     * @param predictions The predicted values
+     * @param predictionOffset The index of the first prediction to compare
+     * @param actualValues The actual values
+     * @param actualOffset The index of the first actual value to compare
+     * @param length The number of values to compare
+     */
+    void addAbsoluteErrors(CompensatedSum sum, double[] predictions, int predictionOffset,
+                           double[] actualValues, int actualOffset, int length);
+
+    /**
+     * Returns the vectorized kernels when the jdk.incubator.vector module has been
+     * added to the JVM and the platform supports more than one double per vector,
+     * or the scalar kernels otherwise.
+     *
+     * @return The fastest kernels available in this JVM
+     */
+    static ColumnKernels getDefault() {
+        return ColumnKernelsHolder.DEFAULT;
+    }
+}
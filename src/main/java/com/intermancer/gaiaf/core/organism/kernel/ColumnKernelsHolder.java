@@ -0,0 +1,30 @@
+package com.intermancer.gaiaf.core.organism.kernel;
+
+/**
+ * Selects the default ColumnKernels once, when first used.
+ */
+final class ColumnKernelsHolder {
+
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+    static final ColumnKernels DEFAULT = selectDefault();
+
+    private ColumnKernelsHolder() {
+    }
+
+    /**
+     * VectorColumnKernels is loaded reflectively so that no class from the vector
+     * module is linked when the module is missing.
+     */
+    private static ColumnKernels selectDefault() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return new ScalarColumnKernels();
+        }
+        try {
+            return (ColumnKernels) Class.forName(ColumnKernelsHolder.class.getPackageName() + ".VectorColumnKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            return new ScalarColumnKernels();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.intermancer.gaiaf.core.organism.kernel;
+
+/**
+ * A running Kahan-compensated sum that produces exactly the same result as
+ * DoubleStream.sum() over the same values in the same order, so that scores
+ * computed outside a stream match the ones BasicEvaluator computes row by row.
+ */
+public final class CompensatedSum {
+
+    private double sum;
+    // Negated low-order bits of the sum, as in Collectors.sumWithCompensation()
+    private double compensation;
+    // Plain sum, used when same-signed infinities make the compensated sum NaN
+    private double simpleSum;
+
+    public CompensatedSum() {
+    }
+
+    /**
+     * Restores a sum from the parts of another, so that adding further values gives
+     * exactly the result the other would have.
+     *
+     * @param sum The other's getRunningSum()
+     * @param compensation The other's getCompensation()
+     * @param simpleSum The other's getSimpleSum()
+     */
+    public CompensatedSum(double sum, double compensation, double simpleSum) {
+        this.sum = sum;
+        this.compensation = compensation;
+        this.simpleSum = simpleSum;
+    }
+
+    public void add(double value) {
+        double tmp = value - compensation;
+        double velvel = sum + tmp;
+        compensation = (velvel - sum) - tmp;
+        sum = velvel;
+        simpleSum += value;
+    }
+
+    public double getSum() {
+        double tmp = sum - compensation;
+        if (Double.isNaN(tmp) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return tmp;
+    }
+
+    /**
+     * @return The running sum, before its compensation is applied
+     */
+    public double getRunningSum() {
+        return sum;
+    }
+
+    public double getCompensation() {
+        return compensation;
+    }
+
+    public double getSimpleSum() {
+        return simpleSum;
+    }
+}
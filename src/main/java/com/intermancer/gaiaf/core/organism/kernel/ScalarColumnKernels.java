@@ -0,0 +1,51 @@
+package com.intermancer.gaiaf.core.organism.kernel;
+
+/**
+ * Plain loop implementations of the column kernels. Results are bit-identical to
+ * the basic Genes' operation() and to BasicEvaluator's row-by-row scoring.
+ */
+public class ScalarColumnKernels implements ColumnKernels {
+
+    @Override
+    public void add(double[] input, double constant, double[] output, int length) {
+        for (int i = 0; i < length; i++) {
+            output[i] = input[i] + constant;
+        }
+    }
+
+    @Override
+    public void subtract(double[] input, double constant, double[] output, int length) {
+        for (int i = 0; i < length; i++) {
+            output[i] = input[i] - constant;
+        }
+    }
+
+    @Override
+    public void multiply(double[] input, double constant, double[] output, int length) {
+        for (int i = 0; i < length; i++) {
+            output[i] = input[i] * constant;
+        }
+    }
+
+    @Override
+    public void divide(double[] input, double constant, double[] output, int length) {
+        for (int i = 0; i < length; i++) {
+            output[i] = input[i] / constant;
+        }
+    }
+
+    @Override
+    public void sine(double[] input, double[] output, int length) {
+        for (int i = 0; i < length; i++) {
+            output[i] = Math.sin(input[i]);
+        }
+    }
+
+    @Override
+    public void addAbsoluteErrors(CompensatedSum sum, double[] predictions, int predictionOffset,
+                                  double[] actualValues, int actualOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            sum.add(Math.abs(predictions[predictionOffset + i] - actualValues[actualOffset + i]));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.intermancer.gaiaf.core.organism.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Column kernels built on the jdk.incubator.vector API, processing as many rows per
+ * instruction as the platform's preferred vector width allows, with a scalar loop
+ * for the remaining tail.
+ *
+ * <p>Addition, subtraction, multiplication, division and the error reduction produce
+ * the same values as the scalar kernels. Only the sine kernel may differ in the last
+ * bits, as vector sine is not required to match Math.sin exactly. The errors are
+ * computed a vector at a time but added to the running sum one row at a time, in row
+ * order, so a column's score does not depend on how its rows are split between calls.</p>
+ *
+ * <p>Only load this class through ColumnKernels.getDefault(), which checks that the
+ * vector module is present.</p>
+ */
+public class VectorColumnKernels implements ColumnKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * @throws UnsupportedOperationException if vectors on this platform hold only one double
+     */
+    public VectorColumnKernels() {
+        if (SPECIES.length() < 2) {
+            throw new UnsupportedOperationException("Vectors of doubles are not supported on this platform");
+        }
+    }
+
+    @Override
+    public void add(double[] input, double constant, double[] output, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, input, i).add(constant).intoArray(output, i);
+        }
+        for (; i < length; i++) {
+            output[i] = input[i] + constant;
+        }
+    }
+
+    @Override
+    public void subtract(double[] input, double constant, double[] output, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, input, i).sub(constant).intoArray(output, i);
+        }
+        for (; i < length; i++) {
+            output[i] = input[i] - constant;
+        }
+    }
+
+    @Override
+    public void multiply(double[] input, double constant, double[] output, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, input, i).mul(constant).intoArray(output, i);
+        }
+        for (; i < length; i++) {
+            output[i] = input[i] * constant;
+        }
+    }
+
+    @Override
+    public void divide(double[] input, double constant, double[] output, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, input, i).div(constant).intoArray(output, i);
+        }
+        for (; i < length; i++) {
+            output[i] = input[i] / constant;
+        }
+    }
+
+    @Override
+    public void sine(double[] input, double[] output, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, input, i).lanewise(VectorOperators.SIN).intoArray(output, i);
+        }
+        for (; i < length; i++) {
+            output[i] = Math.sin(input[i]);
+        }
+    }
+
+    @Override
+    public void addAbsoluteErrors(CompensatedSum sum, double[] predictions, int predictionOffset,
+                                  double[] actualValues, int actualOffset, int length) {
+        double[] errors = new double[SPECIES.length()];
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector prediction = DoubleVector.fromArray(SPECIES, predictions, predictionOffset + i);
+            DoubleVector actual = DoubleVector.fromArray(SPECIES, actualValues, actualOffset + i);
+            prediction.sub(actual).abs().intoArray(errors, 0);
+            for (double error : errors) {
+                sum.add(error);
+            }
+        }
+        for (; i < length; i++) {
+            sum.add(Math.abs(predictions[predictionOffset + i] - actualValues[actualOffset + i]));
+        }
+    }
+}
@@ -2,18 +2,19 @@ package com.intermancer.gaiaf.core.organism.repo;
 
 import com.intermancer.gaiaf.core.organism.Organism;
 import org.springframework.stereotype.Component;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of the OrganismRepository interface.
- * Stores organisms in a simple HashMap.
+ * Stores organisms in a ConcurrentHashMap, so that several experiment workers can
+ * save and delete organisms at the same time.
  */
 @Component
 public class InMemoryOrganismRepository implements OrganismRepository {
-    private final Map<String, Organism> organismMap = new HashMap<>();
+    private final Map<String, Organism> organismMap = new ConcurrentHashMap<>();
 
     /**
      * Retrieves an organism by its ID.
@@ -24,10 +25,11 @@ public class InMemoryOrganismRepository implements OrganismRepository {
      */
     @Override
     public Organism getOrganismById(String organismId) {
-        if (!organismMap.containsKey(organismId)) {
+        Organism organism = organismMap.get(organismId);
+        if (organism == null) {
             throw new OrganismNotFoundException("Organism with ID " + organismId + " not found.");
         }
-        return organismMap.get(organismId);
+        return organism;
     }
 
     /**
@@ -50,10 +52,9 @@ public class InMemoryOrganismRepository implements OrganismRepository {
      */
     @Override
     public void deleteOrganism(String organismId) {
-        if (!organismMap.containsKey(organismId)) {
+        if (organismMap.remove(organismId) == null) {
             throw new OrganismNotFoundException("Organism with ID " + organismId + " not found.");
         }
-        organismMap.remove(organismId);
     }
 
     /**
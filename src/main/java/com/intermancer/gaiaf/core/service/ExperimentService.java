@@ -2,8 +2,10 @@ package com.intermancer.gaiaf.core.service;
 
 import com.intermancer.gaiaf.core.experiment.Experiment;
 import com.intermancer.gaiaf.core.experiment.ExperimentConfiguration;
+import com.intermancer.gaiaf.core.experiment.ExperimentScheduler;
 import com.intermancer.gaiaf.core.experiment.ExperimentState;
 import com.intermancer.gaiaf.core.experiment.ExperimentStatus;
+import com.intermancer.gaiaf.core.experiment.ExperimentThreadType;
 import com.intermancer.gaiaf.core.experiment.repo.ExperimentRepository;
 import com.intermancer.gaiaf.core.experiment.repo.ExperimentStatusRepository;
 import org.slf4j.Logger;
@@ -14,6 +16,11 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
 /**
  * Service class for managing experiment operations.
  * Handles the business logic for starting experiments, managing configuration,
@@ -28,24 +35,37 @@ public class ExperimentService {
     private final ExperimentStatusRepository experimentStatusRepository;
     private final ExperimentConfiguration experimentConfiguration;
     private final ObjectProvider<ExperimentService> serviceProvider;
+    private final ExperimentScheduler experimentScheduler;
+    // Admission state, guarded by this service's lock
+    private final Deque<Experiment> admissionQueue = new ArrayDeque<>();
+    private int admittedCount = 0;
 
     @Autowired
     public ExperimentService(ApplicationContext applicationContext,
                              ExperimentRepository experimentRepository,
                              ExperimentStatusRepository experimentStatusRepository,
                              ExperimentConfiguration experimentConfiguration,
-                             ObjectProvider<ExperimentService> serviceProvider) {
+                             ObjectProvider<ExperimentService> serviceProvider,
+                             ExperimentScheduler experimentScheduler) {
         this.applicationContext = applicationContext;
         this.experimentRepository = experimentRepository;
         this.experimentStatusRepository = experimentStatusRepository;
         this.experimentConfiguration = experimentConfiguration;
         this.serviceProvider = serviceProvider;
+        this.experimentScheduler = experimentScheduler;
     }
 
     /**
      * Starts a new experiment by instantiating it using ApplicationContext,
      * saving it to the repository, and calling its runExperiment() method asynchronously.
      * The experiment runs on a separate thread so status updates are visible in real-time.
+     * When schedulerThreads is above 0, the experiment is handed to the ExperimentScheduler
+     * instead, with the configured weight and priority, and shares its worker threads.
+     * Otherwise, when experimentThreadType is VIRTUAL, it runs on a virtual thread of its own,
+     * which holds no platform thread while the experiment is paused.
+     * When maxConcurrentExperiments experiments are already running or paused, the
+     * experiment is queued with a QUEUED status instead, and started as soon as one of
+     * them completes.
      *
      * @return the ID of the started experiment
      */
@@ -56,25 +76,110 @@ public class ExperimentService {
         // Save experiment to repository
         experimentRepository.save(experiment);
 
-        logger.info("Starting experiment with ID: {}", experiment.getId());
+        if (admit(experiment)) {
+            launch(experiment);
+        }
 
-        // Start the experiment asynchronously (call through proxy to enable @Async)
-        serviceProvider.getObject().runExperimentAsync(experiment);
+        return experiment.getId();
+    }
 
-        logger.info("Returned from runExperimentAsync()");
+    /**
+     * Takes a slot for the experiment if one is free, or queues it with a QUEUED status.
+     *
+     * @return true if the experiment was admitted and should be launched
+     */
+    private synchronized boolean admit(Experiment experiment) {
+        int maxConcurrentExperiments = experimentConfiguration.getMaxConcurrentExperiments();
+        if (maxConcurrentExperiments <= 0 || admittedCount < maxConcurrentExperiments) {
+            admittedCount++;
+            return true;
+        }
+        ExperimentStatus queuedStatus = new ExperimentStatus();
+        queuedStatus.setExperimentId(experiment.getId());
+        queuedStatus.setStatus(ExperimentState.QUEUED);
+        admissionQueue.add(experiment);
+        queuedStatus.setQueuePosition(admissionQueue.size());
+        experimentStatusRepository.save(queuedStatus);
+        logger.info("Queued experiment with ID: {} at position {}", experiment.getId(), admissionQueue.size());
+        return false;
+    }
 
-        return experiment.getId();
+    /**
+     * Frees the slot of an experiment that has completed or failed, and launches the queued
+     * experiments that now fit, in the order they were started.
+     */
+    private void releaseSlot() {
+        List<Experiment> admitted = new ArrayList<>();
+        synchronized (this) {
+            admittedCount--;
+            int maxConcurrentExperiments = experimentConfiguration.getMaxConcurrentExperiments();
+            while (!admissionQueue.isEmpty()
+                    && (maxConcurrentExperiments <= 0 || admittedCount < maxConcurrentExperiments)) {
+                admitted.add(admissionQueue.poll());
+                admittedCount++;
+            }
+            if (!admitted.isEmpty()) {
+                renumberQueue();
+            }
+        }
+        admitted.forEach(this::launch);
+    }
+
+    /**
+     * Updates the queue position of every experiment still waiting.
+     */
+    private void renumberQueue() {
+        int queuePosition = 1;
+        for (Experiment queued : admissionQueue) {
+            int position = queuePosition++;
+            experimentStatusRepository.findByExperimentId(queued.getId())
+                    .ifPresent(status -> status.setQueuePosition(position));
+        }
+    }
+
+    /**
+     * Runs an admitted experiment, releasing its slot when it completes or fails.
+     */
+    private void launch(Experiment experiment) {
+        logger.info("Starting experiment with ID: {}", experiment.getId());
+
+        if (experimentConfiguration.getSchedulerThreads() > 0) {
+            experimentScheduler.schedule(experiment, experimentConfiguration.getWeight(),
+                    experimentConfiguration.getPriority(), this::releaseSlot);
+        } else if (experimentConfiguration.getExperimentThreadType() == ExperimentThreadType.VIRTUAL) {
+            Thread.ofVirtual().name("experiment-" + experiment.getId()).start(() -> {
+                try {
+                    runAndRelease(experiment);
+                } catch (RuntimeException e) {
+                    logger.error("Experiment {} failed", experiment.getId(), e);
+                }
+            });
+        } else {
+            // Start the experiment asynchronously (call through proxy to enable @Async)
+            serviceProvider.getObject().runExperimentAsync(experiment);
+
+            logger.info("Returned from runExperimentAsync()");
+        }
     }
 
     /**
      * Runs an experiment asynchronously on a separate thread.
      * This allows status updates to be polled and observed in real-time.
+     * The experiment's admission slot is released when it completes or fails.
      *
      * @param experiment the experiment to run
      */
     @Async
     public void runExperimentAsync(Experiment experiment) {
-        experiment.runExperiment();
+        runAndRelease(experiment);
+    }
+
+    private void runAndRelease(Experiment experiment) {
+        try {
+            experiment.runExperiment();
+        } finally {
+            releaseSlot();
+        }
     }
 
     /**
@@ -99,6 +204,22 @@ public class ExperimentService {
         experimentConfiguration.setRepoCapacity(updatedConfig.getRepoCapacity());
         experimentConfiguration.setPausable(updatedConfig.isPausable());
         experimentConfiguration.setPauseCycles(updatedConfig.getPauseCycles());
+        experimentConfiguration.setWorkerCount(updatedConfig.getWorkerCount());
+        experimentConfiguration.setBatchSize(updatedConfig.getBatchSize());
+        experimentConfiguration.setEvaluationParallelism(updatedConfig.getEvaluationParallelism());
+        experimentConfiguration.setEvaluationThreadType(updatedConfig.getEvaluationThreadType());
+        experimentConfiguration.setExperimentThreadType(updatedConfig.getExperimentThreadType());
+        experimentConfiguration.setIslandCount(updatedConfig.getIslandCount());
+        experimentConfiguration.setMigrationInterval(updatedConfig.getMigrationInterval());
+        experimentConfiguration.setMigrationSize(updatedConfig.getMigrationSize());
+        experimentConfiguration.setMigrationTopology(updatedConfig.getMigrationTopology());
+        experimentConfiguration.setPipelineQueueCapacity(updatedConfig.getPipelineQueueCapacity());
+        experimentConfiguration.setPipelineEvaluators(updatedConfig.getPipelineEvaluators());
+        experimentConfiguration.setSchedulerThreads(updatedConfig.getSchedulerThreads());
+        experimentConfiguration.setSliceCycles(updatedConfig.getSliceCycles());
+        experimentConfiguration.setWeight(updatedConfig.getWeight());
+        experimentConfiguration.setPriority(updatedConfig.getPriority());
+        experimentConfiguration.setMaxConcurrentExperiments(updatedConfig.getMaxConcurrentExperiments());
         return experimentConfiguration;
     }
 
@@ -174,5 +295,6 @@ public class ExperimentService {
         
         logger.info("Resuming experiment with ID: {}", experimentId);
         experiment.resume();
+        experimentScheduler.resume(experimentId);
     }
 }
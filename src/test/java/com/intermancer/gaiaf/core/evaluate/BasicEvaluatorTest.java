@@ -1,17 +1,35 @@
 package com.intermancer.gaiaf.core.evaluate;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import com.intermancer.gaiaf.core.experiment.ChromosomeGenerator;
+import com.intermancer.gaiaf.core.experiment.MutationCommand;
 import com.intermancer.gaiaf.core.organism.Chromosome;
 import com.intermancer.gaiaf.core.organism.DataQuantum;
 import com.intermancer.gaiaf.core.organism.DataQuantum.DataPoint;
+import com.intermancer.gaiaf.core.organism.Gene;
 import com.intermancer.gaiaf.core.organism.Organism;
 import com.intermancer.gaiaf.core.organism.TestGenes;
+import com.intermancer.gaiaf.core.organism.breeding.BasicOrganismBreeder;
+import com.intermancer.gaiaf.core.organism.kernel.ScalarColumnKernels;
 
 public class BasicEvaluatorTest {
 
@@ -98,4 +116,782 @@ public class BasicEvaluatorTest {
         }
     }
 
+    @Test
+    public void testFallsBackToInterpretedEvaluationWhenCompiledLayoutIsWrong() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        
+        // Declares one output but appends two, which the compiled program detects
+        Gene duplicatingGene = new Gene() {
+            @Override
+            protected double[] operation(double[] values) {
+                return new double[] { values[0] + 1.0, values[0] + 1.0 };
+            }
+
+            @Override
+            public Gene copyOf() {
+                return this;
+            }
+        };
+        Organism organism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(duplicatingGene);
+        organism.addChromosome(chromosome);
+        
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        
+        evaluator.setHistoricalData(historicalData);
+        evaluator.setLeadConsumptionCount(3);
+        evaluator.setTargetIndex(0);
+
+        // Same predictions as the adder organism in testHappyPathEvaluation
+        assertEquals(8.0, evaluator.evaluate(organism));
+    }
+
+    @Test
+    public void testColumnModeMatchesRowModeOnTrainingData() {
+        BasicEvaluator rowEvaluator = new BasicEvaluator();
+        rowEvaluator.setEvaluationMode(EvaluationMode.ROW);
+        BasicEvaluator columnEvaluator = new BasicEvaluator();
+        columnEvaluator.setEvaluationMode(EvaluationMode.COLUMN);
+        columnEvaluator.setColumnKernels(new ScalarColumnKernels());
+        BasicEvaluator defaultKernelEvaluator = new BasicEvaluator();
+        defaultKernelEvaluator.setEvaluationMode(EvaluationMode.COLUMN);
+
+        Random random = new Random(11);
+        for (int n = 0; n < 25; n++) {
+            Organism organism = new Organism("random-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            for (int m = 0; m < 5; m++) {
+                List<MutationCommand> mutations = organism.getMutationCommandList();
+                mutations.get(random.nextInt(mutations.size())).execute();
+            }
+
+            double expected = rowEvaluator.evaluate(organism);
+            assertEquals(expected, columnEvaluator.evaluate(organism), "Organism " + n);
+            // Vector kernels may round sine differently
+            assertEquals(expected, defaultKernelEvaluator.evaluate(organism), Math.abs(expected) * 1e-9, "Organism " + n);
+        }
+    }
+
+    @Test
+    public void testColumnModeMatchesRowModeForLeadCounts() {
+        Organism organism = createTestAdderOrganism();
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)).addDataPoint(new DataPoint(-i * 0.5)));
+        }
+
+        for (int leadConsumptionCount = 1; leadConsumptionCount <= 9; leadConsumptionCount++) {
+            BasicEvaluator rowEvaluator = new BasicEvaluator(0, leadConsumptionCount);
+            rowEvaluator.setEvaluationMode(EvaluationMode.ROW);
+            rowEvaluator.setHistoricalData(historicalData);
+            BasicEvaluator columnEvaluator = new BasicEvaluator(1, leadConsumptionCount);
+            columnEvaluator.setColumnKernels(new ScalarColumnKernels());
+            columnEvaluator.setTargetIndex(0);
+            columnEvaluator.setHistoricalData(historicalData);
+
+            assertEquals(rowEvaluator.evaluate(organism), columnEvaluator.evaluate(organism),
+                "Lead consumption count " + leadConsumptionCount);
+        }
+    }
+
+    @Test
+    public void testColumnModeFallsBackToRowsOfDifferentWidths() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        evaluator.setEvaluationMode(EvaluationMode.COLUMN);
+        Organism organism = createTestAdderOrganism();
+        
+        // The adder reads the last value, so the wider row changes its prediction
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        historicalData.get(1).addDataPoint(new DataPoint(10.0));
+        
+        evaluator.setHistoricalData(historicalData);
+        evaluator.setLeadConsumptionCount(3);
+        evaluator.setTargetIndex(0);
+
+        // Same as testHappyPathEvaluation, except row 1 predicts 11 instead of 3 for row 3
+        assertEquals(14.0, evaluator.evaluate(organism));
+    }
+
+    @Test
+    public void testEvaluateAllMatchesEvaluate() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        evaluator.setColumnKernels(new ScalarColumnKernels());
+        evaluator.setBatchBlockSize(100);
+
+        Random random = new Random(5);
+        List<Organism> organisms = new ArrayList<>();
+        for (int n = 0; n < 10; n++) {
+            Organism organism = new Organism("batch-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            List<MutationCommand> mutations = organism.getMutationCommandList();
+            mutations.get(random.nextInt(mutations.size())).execute();
+            organisms.add(organism);
+        }
+        organisms.add(createTestAdderOrganism());
+
+        double[] scores = evaluator.evaluateAll(organisms);
+
+        assertEquals(organisms.size(), scores.length);
+        for (int i = 0; i < organisms.size(); i++) {
+            assertEquals(evaluator.evaluate(organisms.get(i)), scores[i], "Organism " + i);
+        }
+    }
+
+    @Test
+    public void testEvaluateAllFallsBackForOrganismsThatCannotBeCompiled() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        evaluator.setBatchBlockSize(2);
+
+        // Declares one output but appends two, which is only detected while running
+        Gene duplicatingGene = new Gene() {
+            @Override
+            protected double[] operation(double[] values) {
+                return new double[] { values[0] + 1.0, values[0] + 1.0 };
+            }
+
+            @Override
+            public Gene copyOf() {
+                return this;
+            }
+        };
+        Organism duplicatingOrganism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(duplicatingGene);
+        duplicatingOrganism.addChromosome(chromosome);
+        
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        evaluator.setHistoricalData(historicalData);
+        evaluator.setLeadConsumptionCount(3);
+        evaluator.setTargetIndex(0);
+
+        double[] scores = evaluator.evaluateAll(List.of(createTestAdderOrganism(), duplicatingOrganism));
+
+        assertEquals(8.0, scores[0]);
+        assertEquals(8.0, scores[1]);
+    }
+
+
+    @Test
+    public void testFitnessCacheSkipsRepeatedGenomes() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        FitnessCache fitnessCache = new FitnessCache(100);
+        evaluator.setFitnessCache(fitnessCache);
+
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        evaluator.setHistoricalData(historicalData);
+        evaluator.setLeadConsumptionCount(3);
+        evaluator.setTargetIndex(0);
+
+        // Two structurally identical organisms with different IDs
+        Organism organism = createTestAdderOrganism();
+        Organism duplicate = createTestAdderOrganism();
+        duplicate.setId("duplicate");
+
+        double[] scores = evaluator.evaluateAll(List.of(organism, duplicate));
+        assertEquals(8.0, scores[0]);
+        assertEquals(8.0, scores[1]);
+        assertEquals(1, fitnessCache.size());
+        assertEquals(1, fitnessCache.getMissCount());
+        assertEquals(1, fitnessCache.getHitCount());
+
+        assertEquals(8.0, evaluator.evaluate(duplicate));
+        assertEquals(2, fitnessCache.getHitCount());
+
+        // A different lead is a different score
+        evaluator.setLeadConsumptionCount(2);
+        evaluator.evaluate(organism);
+        assertEquals(2, fitnessCache.getMissCount());
+
+        // As is different data
+        historicalData.add(new DataQuantum().addDataPoint(new DataPoint(8.0)));
+        evaluator.setHistoricalData(historicalData);
+        evaluator.evaluate(organism);
+        assertEquals(3, fitnessCache.getMissCount());
+        assertEquals(3, fitnessCache.size());
+    }
+
+    @Test
+    public void testChildrenReuseParentColumnsWithIdenticalScores() {
+        BasicEvaluator incrementalEvaluator = new BasicEvaluator();
+        incrementalEvaluator.setColumnKernels(new ScalarColumnKernels());
+        incrementalEvaluator.setIntermediateColumnCacheBytes(64L * 1024 * 1024);
+        // Several blocks, the last one partial, so reused columns are sliced per block
+        incrementalEvaluator.setBatchBlockSize(100);
+        BasicEvaluator fullEvaluator = new BasicEvaluator();
+        fullEvaluator.setColumnKernels(new ScalarColumnKernels());
+
+        Random random = new Random(8);
+        List<Organism> parents = new ArrayList<>();
+        for (int n = 0; n < 6; n++) {
+            Organism parent = new Organism("parent-" + n);
+            parent.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            parent.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            parents.add(parent);
+        }
+        incrementalEvaluator.evaluateAll(parents);
+        assertEquals(parents.size(), incrementalEvaluator.getIntermediateColumnCache().size());
+
+        BasicOrganismBreeder breeder = new BasicOrganismBreeder();
+        List<Organism> children = new ArrayList<>();
+        for (int n = 0; n < parents.size(); n += 2) {
+            children.addAll(breeder.breed(List.of(parents.get(n), parents.get(n + 1))));
+        }
+        for (Organism child : children) {
+            for (int m = random.nextInt(5); m >= 0; m--) {
+                List<MutationCommand> mutations = child.getMutationCommandList();
+                mutations.get(random.nextInt(mutations.size())).execute();
+            }
+        }
+
+        double[] incrementalScores = incrementalEvaluator.evaluateAll(children);
+        double[] fullScores = fullEvaluator.evaluateAll(children);
+        for (int i = 0; i < children.size(); i++) {
+            assertEquals(fullScores[i], incrementalScores[i], "Child " + i);
+        }
+        // Children whose first gene was mutated have nothing to reuse and skip the lookup
+        long childrenWithInheritedGenes = children.stream().filter(child -> child.getInheritedGeneCount() > 0).count();
+        assertTrue(childrenWithInheritedGenes > 0);
+        assertEquals(childrenWithInheritedGenes, incrementalEvaluator.getIntermediateColumnCache().getHitCount());
+        assertTrue(incrementalEvaluator.getIntermediateColumnCache().getReusedInstructionCount() > 0);
+    }
+
+    @Test
+    public void testInheritanceIsVerifiedAgainstTheParentProgram() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        evaluator.setColumnKernels(new ScalarColumnKernels());
+        evaluator.setIntermediateColumnCacheBytes(1024 * 1024);
+
+        Organism parent = createTestAdderOrganism();
+        parent.setId("parent");
+        evaluator.evaluate(parent);
+
+        // Changed behind the back of the mutation tracking, so the recorded count is wrong
+        Organism child = createTestAdderOrganism();
+        child.setId("child");
+        child.setInheritance("parent", 1);
+        child.getChromosomes().get(0).getGenes().get(0).getOperationConstantList().set(0, 2.0);
+
+        BasicEvaluator fullEvaluator = new BasicEvaluator();
+        fullEvaluator.setColumnKernels(new ScalarColumnKernels());
+        assertEquals(fullEvaluator.evaluate(child), evaluator.evaluate(child));
+        assertEquals(0, evaluator.getIntermediateColumnCache().getReusedInstructionCount());
+    }
+
+    @Test
+    public void testIntermediateColumnsStayWithinBudget() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        evaluator.setHistoricalData(historicalData);
+        evaluator.setTargetIndex(0);
+
+        // Each single-gene organism computes one column of 100 doubles
+        evaluator.setIntermediateColumnCacheBytes(2 * 100 * Double.BYTES);
+        for (int n = 0; n < 3; n++) {
+            Organism organism = createTestAdderOrganism();
+            organism.setId("organism-" + n);
+            evaluator.evaluate(organism);
+        }
+
+        IntermediateColumnCache cache = evaluator.getIntermediateColumnCache();
+        assertEquals(2, cache.size());
+        assertEquals(2 * 100 * Double.BYTES, cache.getUsedBytes());
+        assertNull(cache.get("organism-0"));
+
+        evaluator.setHistoricalData(historicalData);
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * A Gene that counts how many rows it has been run over, passing its input through.
+     */
+    private static class CountingGene extends Gene {
+        private int rowCount = 0;
+
+        CountingGene() {
+            getOperationConstantList().add(1.0);
+        }
+
+        @Override
+        protected double[] operation(double[] values) {
+            rowCount++;
+            return new double[] { values[0] * getOperationConstantList().get(0) };
+        }
+
+        @Override
+        public Gene copyOf() {
+            return this;
+        }
+    }
+
+    private Organism createOrganism(Gene gene) {
+        Organism organism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(gene);
+        organism.addChromosome(chromosome);
+        return organism;
+    }
+
+    @Test
+    public void testCutoffAboveTheScoreReturnsTheExactScore() {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            BasicEvaluator evaluator = new BasicEvaluator();
+            evaluator.setEvaluationMode(mode);
+            evaluator.setColumnKernels(new ScalarColumnKernels());
+            Organism organism = createTestAdderOrganism();
+
+            double score = evaluator.evaluate(organism);
+            assertEquals(score, evaluator.evaluate(organism, score), mode.name());
+            assertEquals(score, evaluator.evaluateAll(List.of(organism), score * 2)[0], mode.name());
+            assertEquals(Evaluator.REJECTED_SCORE, evaluator.evaluate(organism, score / 2), mode.name());
+        }
+    }
+
+    @Test
+    public void testEvaluationStopsOnceTheCutoffIsExceeded() {
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+
+        // Predicting 10x the value is off by at least 9 per row after the first few
+        BasicEvaluator evaluator = new BasicEvaluator(0, 1);
+        evaluator.setHistoricalData(historicalData);
+        evaluator.setBatchBlockSize(100);
+        CountingGene hopeless = new CountingGene();
+        hopeless.getOperationConstantList().set(0, 10.0);
+        CountingGene exact = new CountingGene();
+
+        double[] scores = evaluator.evaluateAll(List.of(createOrganism(hopeless), createOrganism(exact)), 1000.0);
+
+        assertEquals(Evaluator.REJECTED_SCORE, scores[0]);
+        assertEquals(0.0, scores[1]);
+        assertEquals(100, hopeless.rowCount);
+        assertEquals(1000, exact.rowCount);
+
+        // Row by row, it stops on the first row that crosses the cutoff
+        evaluator.setEvaluationMode(EvaluationMode.ROW);
+        hopeless.rowCount = 0;
+        assertEquals(Evaluator.REJECTED_SCORE, evaluator.evaluate(createOrganism(hopeless), 1000.0));
+        assertEquals(16, hopeless.rowCount);
+    }
+
+    @Test
+    public void testDefaultConfigurationRunsBlocksAndStopsAtTheCutoff() {
+        EvaluatorConfiguration configuration = new EvaluatorConfiguration();
+        BasicEvaluator evaluator = new BasicEvaluator(configuration, null, new DatasetRegistry(0));
+        evaluator.setTargetIndex(0);
+        evaluator.setLeadConsumptionCount(1);
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 0; i < configuration.getBatchBlockSize() * 4; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        evaluator.setHistoricalData(historicalData);
+        CountingGene hopeless = new CountingGene();
+        hopeless.getOperationConstantList().set(0, 10.0);
+        CountingGene exact = new CountingGene();
+
+        double[] scores = evaluator.evaluateAll(List.of(createOrganism(hopeless), createOrganism(exact)), 1000.0);
+
+        // The intermediate column cache is off unless configured
+        assertEquals(0, evaluator.getIntermediateColumnCacheBytes());
+        assertEquals(Evaluator.REJECTED_SCORE, scores[0]);
+        assertEquals(0.0, scores[1]);
+        assertEquals(configuration.getBatchBlockSize(), hopeless.rowCount);
+        assertEquals(historicalData.size(), exact.rowCount);
+
+        hopeless.rowCount = 0;
+        assertEquals(Evaluator.REJECTED_SCORE, evaluator.evaluate(createOrganism(hopeless), 1000.0));
+        assertEquals(configuration.getBatchBlockSize(), hopeless.rowCount);
+    }
+
+    @Test
+    public void testIntermediateColumnCacheRunsBlocksAndStopsAtTheCutoff() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        evaluator.setTargetIndex(0);
+        evaluator.setLeadConsumptionCount(1);
+        evaluator.setBatchBlockSize(100);
+        evaluator.setIntermediateColumnCacheBytes(1024 * 1024);
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int i = 0; i < 350; i++) {
+            historicalData.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        evaluator.setHistoricalData(historicalData);
+
+        Organism parent = createOrganism(new CountingGene());
+        parent.setId("parent");
+        assertEquals(0.0, evaluator.evaluate(parent));
+        CountingGene hopeless = new CountingGene();
+        hopeless.getOperationConstantList().set(0, 10.0);
+        Organism rejectedChild = createOrganism(hopeless);
+        rejectedChild.setId("rejected");
+        CountingGene exact = new CountingGene();
+        Organism exactChild = createOrganism(new CountingGene());
+        exactChild.getChromosomes().get(0).getGenes().add(exact);
+        exactChild.setId("exact");
+        exactChild.setInheritance("parent", 1);
+
+        double[] scores = evaluator.evaluateAll(List.of(rejectedChild, exactChild), 1000.0);
+
+        assertEquals(Evaluator.REJECTED_SCORE, scores[0]);
+        assertEquals(0.0, scores[1]);
+        assertEquals(100, hopeless.rowCount);
+        assertEquals(historicalData.size(), exact.rowCount);
+        IntermediateColumnCache cache = evaluator.getIntermediateColumnCache();
+        assertEquals(1, cache.getReusedInstructionCount());
+        assertNull(cache.get("rejected"));
+        assertNotNull(cache.get("exact"));
+    }
+
+    @Test
+    public void testNonFiniteErrorsAreRejectedImmediately() {
+        Gene nanGene = new Gene() {
+            @Override
+            protected double[] operation(double[] values) {
+                return new double[] { Double.NaN };
+            }
+
+            @Override
+            public Gene copyOf() {
+                return this;
+            }
+        };
+        BasicEvaluator evaluator = new BasicEvaluator();
+        Organism organism = createOrganism(nanGene);
+
+        assertTrue(Double.isNaN(evaluator.evaluate(organism)));
+        assertEquals(Evaluator.REJECTED_SCORE, evaluator.evaluate(organism, Double.MAX_VALUE));
+        evaluator.setEvaluationMode(EvaluationMode.ROW);
+        assertEquals(Evaluator.REJECTED_SCORE, evaluator.evaluate(organism, Double.MAX_VALUE));
+    }
+
+    @Test
+    public void testRejectedScoresAreNotCached() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        FitnessCache fitnessCache = new FitnessCache(100);
+        evaluator.setFitnessCache(fitnessCache);
+        Organism organism = createTestAdderOrganism();
+
+        assertEquals(Evaluator.REJECTED_SCORE, evaluator.evaluate(organism, 1.0));
+        assertEquals(0, fitnessCache.size());
+
+        double score = evaluator.evaluate(organism);
+        assertEquals(1, fitnessCache.size());
+        // A cached score is exact, so it is returned even above the cutoff
+        assertEquals(score, evaluator.evaluate(organism, 1.0));
+    }
+
+    @Test
+    public void testConcurrentEvaluationsMatchSequentialScores() throws Exception {
+        List<Organism> organisms = new ArrayList<>();
+        for (int n = 0; n < 16; n++) {
+            Organism organism = new Organism("organism-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organisms.add(organism);
+        }
+        BasicEvaluator sequentialEvaluator = new BasicEvaluator();
+        sequentialEvaluator.setColumnKernels(new ScalarColumnKernels());
+        double[] expected = sequentialEvaluator.evaluateAll(organisms);
+
+        // A fresh evaluator, so that every thread races to load the training data
+        BasicEvaluator evaluator = new BasicEvaluator();
+        evaluator.setColumnKernels(new ScalarColumnKernels());
+        evaluator.setFitnessCache(new FitnessCache(1000));
+        evaluator.setIntermediateColumnCacheBytes(1 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<double[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> evaluator.evaluateAll(organisms)));
+            }
+            for (Future<double[]> future : futures) {
+                assertArrayEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testColumnarFileGivesTheSameScoresAsTheCsv(@TempDir Path tempDir) throws IOException {
+        List<Organism> organisms = new ArrayList<>();
+        for (int n = 0; n < 8; n++) {
+            Organism organism = new Organism("organism-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organisms.add(organism);
+        }
+        Path csv = Path.of(getClass().getResource("/training-data/HistoricalPrices-reversed.csv").getPath());
+        Path columnarFile = tempDir.resolve("prices" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.convertCsv(csv, columnarFile);
+
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            BasicEvaluator csvEvaluator = new BasicEvaluator();
+            csvEvaluator.setEvaluationMode(mode);
+            csvEvaluator.setColumnKernels(new ScalarColumnKernels());
+            BasicEvaluator columnarEvaluator = new BasicEvaluator();
+            columnarEvaluator.setEvaluationMode(mode);
+            columnarEvaluator.setColumnKernels(new ScalarColumnKernels());
+            columnarEvaluator.setTrainingDataPath(columnarFile.toString());
+
+            assertArrayEquals(csvEvaluator.evaluateAll(organisms), columnarEvaluator.evaluateAll(organisms));
+        }
+    }
+
+    @Test
+    public void testMissingTrainingDataThrows() {
+        BasicEvaluator evaluator = new BasicEvaluator();
+        evaluator.setTrainingDataPath("/training-data/missing.csv");
+
+        assertThrows(IllegalStateException.class, () -> evaluator.evaluate(createTestAdderOrganism()));
+    }
+
+    @Test
+    public void testStreamingModeMatchesColumnModeAcrossChunks(@TempDir Path tempDir) throws IOException {
+        List<Organism> organisms = new ArrayList<>();
+        for (int n = 0; n < 12; n++) {
+            Organism organism = new Organism("organism-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organisms.add(organism);
+        }
+        Path csv = Path.of(getClass().getResource("/training-data/HistoricalPrices-reversed.csv").getPath());
+        Path columnarFile = tempDir.resolve("prices" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.convertCsv(csv, columnarFile);
+
+        BasicEvaluator columnEvaluator = new BasicEvaluator(1, 5);
+        columnEvaluator.setColumnKernels(new ScalarColumnKernels());
+        double[] expected = columnEvaluator.evaluateAll(organisms);
+        double[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        double cutoff = sorted[sorted.length / 2];
+        double[] expectedWithCutoff = columnEvaluator.evaluateAll(organisms, cutoff);
+
+        for (String path : List.of(csv.toString(), columnarFile.toString())) {
+            BasicEvaluator streamingEvaluator = new BasicEvaluator(1, 5);
+            streamingEvaluator.setEvaluationMode(EvaluationMode.STREAMING);
+            streamingEvaluator.setColumnKernels(new ScalarColumnKernels());
+            // Chunks that do not divide the series, shorter than the lead in the last one
+            streamingEvaluator.setBatchBlockSize(97);
+            streamingEvaluator.setTrainingDataPath(path);
+
+            assertArrayEquals(expected, streamingEvaluator.evaluateAll(organisms), path);
+            assertArrayEquals(expectedWithCutoff, streamingEvaluator.evaluateAll(organisms, cutoff), path);
+            assertEquals(expected[0], streamingEvaluator.evaluate(organisms.get(0)), path);
+        }
+    }
+
+    @Test
+    public void testStreamingModeFallsBackForOrganismsThatCannotBeCompiled(@TempDir Path tempDir) throws IOException {
+        Path csv = tempDir.resolve("series.csv");
+        StringBuilder text = new StringBuilder("Date, Value\n");
+        for (int day = 1; day <= 9; day++) {
+            text.append(String.format("01/%02d/20, %d%n", day, day * day));
+        }
+        Files.writeString(csv, text.toString());
+
+        // Declares one output but appends two, which is only detected while running
+        Gene duplicatingGene = new Gene() {
+            @Override
+            protected double[] operation(double[] values) {
+                return new double[] { values[0] + 1.0, values[0] + 1.0 };
+            }
+
+            @Override
+            public Gene copyOf() {
+                return this;
+            }
+        };
+        Organism duplicatingOrganism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(duplicatingGene);
+        duplicatingOrganism.addChromosome(chromosome);
+        List<Organism> organisms = List.of(createTestAdderOrganism(), duplicatingOrganism);
+
+        BasicEvaluator rowEvaluator = new BasicEvaluator();
+        rowEvaluator.setEvaluationMode(EvaluationMode.ROW);
+        rowEvaluator.setTrainingDataPath(csv.toString());
+        BasicEvaluator streamingEvaluator = new BasicEvaluator();
+        streamingEvaluator.setEvaluationMode(EvaluationMode.STREAMING);
+        streamingEvaluator.setBatchBlockSize(2);
+        streamingEvaluator.setTrainingDataPath(csv.toString());
+
+        assertArrayEquals(rowEvaluator.evaluateAll(organisms), streamingEvaluator.evaluateAll(organisms));
+    }
+
+    @Test
+    public void testEvaluateFromResumesWithTheScoreOfAFullEvaluation() throws IOException {
+        List<DataQuantum> rows = readTrainingRows();
+        List<Organism> organisms = new ArrayList<>();
+        for (int n = 0; n < 8; n++) {
+            Organism organism = new Organism("organism-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organisms.add(organism);
+        }
+
+        for (EvaluationMode mode : List.of(EvaluationMode.COLUMN, EvaluationMode.ROW)) {
+            BasicEvaluator evaluator = new BasicEvaluator(1, 5);
+            evaluator.setEvaluationMode(mode);
+            evaluator.setColumnKernels(new ScalarColumnKernels());
+            for (Organism organism : organisms) {
+                evaluator.setHistoricalData(rows);
+                double expected = evaluator.evaluate(organism);
+                for (int splitRow : new int[] { 0, 2, 4, 5, 100, rows.size() - 1, rows.size() }) {
+                    evaluator.setHistoricalData(rows.subList(0, splitRow));
+                    TerminalEvaluationState previous = evaluator.evaluateFrom(organism, null);
+                    evaluator.setHistoricalData(rows);
+                    TerminalEvaluationState resumed = evaluator.evaluateFrom(organism, previous);
+
+                    assertEquals(splitRow, previous.rowCount());
+                    assertEquals(rows.size(), resumed.rowCount());
+                    assertEquals(expected, resumed.getScore(), mode + ", split at " + splitRow);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultKernelsGiveTheSameScoreOnEveryPath() throws IOException {
+        List<DataQuantum> rows = readTrainingRows();
+        BasicEvaluator evaluator = new BasicEvaluator(1, 5);
+        evaluator.setBatchBlockSize(100);
+        Random random = new Random(17);
+        List<Organism> organisms = new ArrayList<>();
+        for (int n = 0; n < 8; n++) {
+            Organism organism = new Organism("paths-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            List<MutationCommand> mutations = organism.getMutationCommandList();
+            mutations.get(random.nextInt(mutations.size())).execute();
+            organisms.add(organism);
+        }
+
+        evaluator.setHistoricalData(rows);
+        double[] batchScores = evaluator.evaluateAll(organisms);
+        for (int i = 0; i < organisms.size(); i++) {
+            Organism organism = organisms.get(i);
+            evaluator.setHistoricalData(rows);
+            double expected = evaluator.evaluate(organism);
+            assertEquals(expected, batchScores[i], "evaluateAll, organism " + i);
+            for (int splitRow : new int[] { 3, 101, rows.size() - 7 }) {
+                evaluator.setHistoricalData(rows.subList(0, splitRow));
+                TerminalEvaluationState previous = evaluator.evaluateFrom(organism, null);
+                evaluator.setHistoricalData(rows);
+                assertEquals(expected, evaluator.evaluateFrom(organism, previous).getScore(),
+                        "evaluateFrom, organism " + i + ", split at " + splitRow);
+            }
+        }
+    }
+
+    @Test
+    public void testEvaluateFromOnlyRunsTheNewRows() throws IOException {
+        List<DataQuantum> rows = readTrainingRows();
+        Organism organism = createTestAdderOrganism();
+        BasicEvaluator evaluator = new BasicEvaluator(1, 3);
+        evaluator.setColumnKernels(new ScalarColumnKernels());
+        evaluator.setHistoricalData(rows);
+        double expected = evaluator.evaluate(organism);
+
+        int splitRow = rows.size() - 10;
+        evaluator.setHistoricalData(rows.subList(0, splitRow));
+        TerminalEvaluationState previous = evaluator.evaluateFrom(organism, null);
+
+        // Rows already scored would turn the score into NaN if they were run again
+        List<DataQuantum> appended = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            if (row < splitRow) {
+                DataQuantum poisoned = new DataQuantum();
+                for (int i = 0; i < rows.get(row).size(); i++) {
+                    poisoned.addValue(Double.NaN);
+                }
+                appended.add(poisoned);
+            } else {
+                appended.add(rows.get(row));
+            }
+        }
+        for (EvaluationMode mode : List.of(EvaluationMode.COLUMN, EvaluationMode.ROW)) {
+            evaluator.setEvaluationMode(mode);
+            evaluator.setHistoricalData(appended);
+            assertEquals(expected, evaluator.evaluateFrom(organism, previous).getScore(), mode.toString());
+        }
+    }
+
+    @Test
+    public void testEvaluateFromFallsBackForOrganismsThatCannotBeCompiled() {
+        // Declares one output but appends two, which is only detected while running
+        Gene duplicatingGene = new Gene() {
+            @Override
+            protected double[] operation(double[] values) {
+                return new double[] { values[0] + 1.0, values[0] + 1.0 };
+            }
+
+            @Override
+            public Gene copyOf() {
+                return this;
+            }
+        };
+        Organism organism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(duplicatingGene);
+        organism.addChromosome(chromosome);
+        List<DataQuantum> rows = new ArrayList<>();
+        for (int i = 1; i <= 9; i++) {
+            rows.add(new DataQuantum().addDataPoint(new DataPoint(i * i)));
+        }
+
+        for (EvaluationMode mode : List.of(EvaluationMode.COLUMN, EvaluationMode.ROW)) {
+            BasicEvaluator evaluator = new BasicEvaluator(0, 3);
+            evaluator.setEvaluationMode(mode);
+            evaluator.setHistoricalData(rows);
+            double expected = evaluator.evaluate(organism);
+            evaluator.setHistoricalData(rows.subList(0, 4));
+            TerminalEvaluationState previous = evaluator.evaluateFrom(organism, null);
+            evaluator.setHistoricalData(rows);
+
+            assertEquals(expected, evaluator.evaluateFrom(organism, previous).getScore(), mode.toString());
+        }
+    }
+
+    @Test
+    public void testEvaluateFromRejectsStatesItCannotResume() {
+        Organism organism = createTestAdderOrganism();
+        List<DataQuantum> rows = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            rows.add(new DataQuantum().addDataPoint(new DataPoint(i)));
+        }
+        BasicEvaluator evaluator = new BasicEvaluator(0, 3);
+        evaluator.setHistoricalData(rows);
+        TerminalEvaluationState previous = evaluator.evaluateFrom(organism, null);
+
+        // Rows removed since the state was saved
+        evaluator.setHistoricalData(rows.subList(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluateFrom(organism, previous));
+
+        evaluator.setHistoricalData(rows);
+        evaluator.setLeadConsumptionCount(4);
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluateFrom(organism, previous));
+
+        evaluator.setEvaluationMode(EvaluationMode.STREAMING);
+        assertThrows(IllegalStateException.class, () -> evaluator.evaluateFrom(organism, null));
+    }
+
+    private List<DataQuantum> readTrainingRows() throws IOException {
+        Path csv = Path.of(getClass().getResource("/training-data/HistoricalPrices-reversed.csv").getPath());
+        try (var reader = Files.newBufferedReader(csv)) {
+            return HistoricalDataCsv.read(reader);
+        }
+    }
 }
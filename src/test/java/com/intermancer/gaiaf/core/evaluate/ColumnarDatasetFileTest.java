@@ -0,0 +1,136 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+
+public class ColumnarDatasetFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ColumnarDataset dataset() {
+        return ColumnarDataset.fromColumns(new double[][] {
+                { 1.0, 2.0, 3.0 },
+                { -0.5, Double.NaN, Double.MAX_VALUE }
+        });
+    }
+
+    @Test
+    public void testWriteThenMapRoundTrips() throws IOException {
+        Path file = tempDir.resolve("data" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.write(dataset(), file);
+
+        ColumnarDataset loaded = ColumnarDatasetFile.map(file);
+
+        assertEquals(ColumnarDatasetFile.HEADER_BYTES + 6 * Double.BYTES, Files.size(file));
+        assertEquals(3, loaded.getRowCount());
+        assertArrayEquals(dataset().getColumn(0), loaded.getColumn(0));
+        assertArrayEquals(dataset().getColumn(1), loaded.getColumn(1));
+    }
+
+    @Test
+    public void testFileIsLittleEndian() throws IOException {
+        Path file = tempDir.resolve("data" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.write(dataset(), file);
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals("GCOL", new String(Arrays.copyOf(bytes.array(), 4)));
+        assertEquals(ColumnarDatasetFile.VERSION, bytes.getInt(4));
+        assertEquals(2, bytes.getInt(8));
+        assertEquals(3L, bytes.getLong(16));
+        assertEquals(1.0, bytes.getDouble(ColumnarDatasetFile.HEADER_BYTES));
+        assertEquals(-0.5, bytes.getDouble(ColumnarDatasetFile.HEADER_BYTES + 3 * Double.BYTES));
+    }
+
+    @Test
+    public void testReadFromStreamMatchesMap() throws IOException {
+        Path file = tempDir.resolve("data" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.write(dataset(), file);
+
+        ColumnarDataset loaded = ColumnarDatasetFile.read(new ByteArrayInputStream(Files.readAllBytes(file)), "stream");
+
+        assertArrayEquals(ColumnarDatasetFile.map(file).getColumns(), loaded.getColumns());
+    }
+
+    @Test
+    public void testConvertCsvSkipsRowsLikeTheEvaluator() throws IOException {
+        Path csv = tempDir.resolve("prices.csv");
+        Files.writeString(csv, String.join("\n",
+                "Date, Open, Close",
+                "03/18/15, 10.5, 11.0",
+                "not a date, 1.0, 2.0",
+                "03/19/15, 11.0, 12.25"));
+        Path file = tempDir.resolve("prices" + ColumnarDatasetFile.EXTENSION);
+
+        ColumnarDatasetFile.convertCsv(csv, file);
+
+        ColumnarDataset loaded = ColumnarDatasetFile.map(file);
+        assertEquals(2, loaded.getRowCount());
+        assertArrayEquals(new double[] { 10.5, 11.0 }, loaded.getColumn(1));
+        assertArrayEquals(new double[] { 11.0, 12.25 }, loaded.getColumn(2));
+        List<DataQuantum> rows = loaded.toRows();
+        assertEquals(HistoricalDataCsv.parseDataRow("03/19/15, 11.0, 12.25").getValue(0), rows.get(1).getValue(0));
+    }
+
+    @Test
+    public void testTruncatedOrForeignFilesAreRejected() throws IOException {
+        Path file = tempDir.resolve("data" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.write(dataset(), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarDatasetFile.map(file));
+
+        Files.writeString(file, "Date, Open, High, Low, Close\n03/18/15,1,2,3,4\n");
+        assertThrows(IllegalArgumentException.class, () -> ColumnarDatasetFile.map(file));
+    }
+
+    @Test
+    public void testChunkReaderReadsTheColumnsInOrder() throws IOException {
+        Path file = tempDir.resolve("data" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.write(dataset(), file);
+
+        try (ColumnChunkReader reader = ColumnarDatasetFile.openChunkReader(file)) {
+            double[][] chunk = new double[reader.getColumnCount()][2];
+            assertEquals(2, reader.read(chunk));
+            assertArrayEquals(new double[] { 1.0, 2.0 }, chunk[0]);
+            assertArrayEquals(new double[] { -0.5, Double.NaN }, chunk[1]);
+            assertEquals(1, reader.read(chunk));
+            assertEquals(3.0, chunk[0][0]);
+            assertEquals(Double.MAX_VALUE, chunk[1][0]);
+            assertEquals(0, reader.read(chunk));
+        }
+    }
+
+    @Test
+    public void testCsvChunkReaderRejectsRowsOfADifferentWidth() throws IOException {
+        Path csv = tempDir.resolve("prices.csv");
+        Files.writeString(csv, String.join("\n",
+                "Date, Open, Close",
+                "03/18/15, 10.5, 11.0",
+                "not a date, 1.0, 2.0",
+                "03/19/15, 11.0"));
+
+        try (ColumnChunkReader reader = HistoricalDataCsv.openChunkReader(Files.newBufferedReader(csv))) {
+            double[][] chunk = new double[reader.getColumnCount()][1];
+            assertEquals(3, reader.getColumnCount());
+            assertEquals(1, reader.read(chunk));
+            assertEquals(10.5, chunk[1][0]);
+            assertThrows(IllegalArgumentException.class, () -> reader.read(chunk));
+        }
+    }
+}
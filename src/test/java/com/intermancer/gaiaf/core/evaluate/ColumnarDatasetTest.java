@@ -0,0 +1,57 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+
+public class ColumnarDatasetTest {
+
+    private static DataQuantum row(double... values) {
+        DataQuantum dataQuantum = new DataQuantum();
+        for (double value : values) {
+            dataQuantum.addValue(value);
+        }
+        return dataQuantum;
+    }
+
+    @Test
+    public void testFromRowsTransposesValues() {
+        List<DataQuantum> rows = List.of(row(1.0, 10.0), row(2.0, 20.0), row(3.0, 30.0));
+
+        ColumnarDataset dataset = ColumnarDataset.fromRows(rows);
+
+        assertEquals(3, dataset.getRowCount());
+        assertEquals(2, dataset.getColumnCount());
+        assertArrayEquals(new double[] { 1.0, 2.0, 3.0 }, dataset.getColumn(0));
+        assertArrayEquals(new double[] { 10.0, 20.0, 30.0 }, dataset.getColumn(1));
+    }
+
+    @Test
+    public void testColumnIndexesWrapLikeDataQuantum() {
+        ColumnarDataset dataset = ColumnarDataset.fromRows(List.of(row(1.0, 10.0, 100.0)));
+
+        assertSame(dataset.getColumn(1), dataset.getColumn(4));
+        assertSame(dataset.getColumn(2), dataset.getColumn(-1));
+    }
+
+    @Test
+    public void testRowsOfDifferentWidthsAreRejected() {
+        List<DataQuantum> rows = new ArrayList<>();
+        rows.add(row(1.0, 10.0));
+        rows.add(row(2.0));
+
+        assertFalse(ColumnarDataset.isRectangular(rows));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarDataset.fromRows(rows));
+        assertTrue(ColumnarDataset.isRectangular(List.of(row(1.0), row(2.0))));
+        assertFalse(ColumnarDataset.isRectangular(List.of()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+
+public class CsvIngesterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<DataQuantum> parseWithHistoricalDataCsv(String text) throws IOException {
+        return HistoricalDataCsv.read(new BufferedReader(new StringReader(text)));
+    }
+
+    private static List<DataQuantum> rowsOf(CsvIngester.Result result) {
+        return result.columns() != null ? result.columns().toRows() : result.rows();
+    }
+
+    private static void assertSameRows(List<DataQuantum> expected, List<DataQuantum> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int row = 0; row < expected.size(); row++) {
+            assertEquals(expected.get(row).size(), actual.get(row).size(), "width of row " + row);
+            for (int i = 0; i < expected.get(row).size(); i++) {
+                assertEquals(0, Double.compare(expected.get(row).getValue(i), actual.get(row).getValue(i)),
+                        "row " + row + " value " + i + ": " + expected.get(row).getValue(i) + " vs "
+                                + actual.get(row).getValue(i));
+            }
+        }
+    }
+
+    @Test
+    public void testTrainingDataMatchesHistoricalDataCsv() throws IOException {
+        String path = "/training-data/HistoricalPrices-reversed.csv";
+        List<DataQuantum> expected;
+        try (InputStream input = getClass().getResourceAsStream(path)) {
+            expected = parseWithHistoricalDataCsv(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        CsvIngester.Result result;
+        try (InputStream input = getClass().getResourceAsStream(path)) {
+            result = new CsvIngester(4).ingest(input);
+        }
+
+        assertNotNull(result.columns());
+        assertNull(result.rows());
+        assertSameRows(expected, rowsOf(result));
+    }
+
+    @Test
+    public void testSkipsRowsAndValuesAsParseDataRowDoes() throws IOException {
+        String text = String.join("\n",
+                "Date, Open, High, Low, Close",
+                "01/02/15, 1.5, 2, 3, 4",
+                "",
+                "not a row",
+                "01/03/15,,,",
+                "13/01/15, 1, 2, 3, 4",
+                "1/04/15, 1, 2, 3, 4",
+                " 02/30/15 ,+.5,-0,1e3,4.",
+                "02/29/16, NaN, Infinity, 0x1p3, 1d",
+                "03/01/16, 1, , x, 5,,",
+                "04/01/16,12345678901234567890,0.1234567890123456789,1e-30,-7.25e+2",
+                "05/01/16, 1, 2 ,\t3\t, 4, ");
+
+        CsvIngester.Result result = new CsvIngester(1).ingest(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+
+        assertSameRows(parseWithHistoricalDataCsv(text), rowsOf(result));
+        assertNull(result.columns());
+        assertEquals(5, result.skippedRowCount());
+        assertEquals(3, result.skippedValueCount());
+        assertEquals(new CsvIngester.Problem(3, "fewer than two values"), result.problems().get(0));
+        assertEquals(new CsvIngester.Problem(6, "invalid date '13/01/15'"), result.problems().get(3));
+        assertEquals(10, result.problems().get(5).line());
+        assertEquals("non-numeric value '' in column 2 skipped", result.problems().get(5).reason());
+    }
+
+    @Test
+    public void testCarriageReturnsEndLines() throws IOException {
+        String text = "Date,Close\r\n01/02/15,1\r\n01/05/15,2\r01/06/15,3\n";
+
+        CsvIngester.Result result = new CsvIngester(1).ingest(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+
+        assertSameRows(parseWithHistoricalDataCsv(text), rowsOf(result));
+        assertEquals(3, result.getRowCount());
+    }
+
+    @Test
+    public void testParallelRangesMatchSequentialParse() throws IOException {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder("Date,Open,High,Low,Close\n");
+        while (text.length() < 5 << 20) {
+            text.append(String.format("%02d/%02d/%02d", 1 + random.nextInt(12), 1 + random.nextInt(31),
+                    random.nextInt(100)));
+            for (int column = 0; column < 4; column++) {
+                text.append(',').append(random.nextDouble() * Math.pow(10, random.nextInt(12) - 4));
+            }
+            text.append(random.nextInt(50) == 0 ? "\r\n" : "\n");
+            if (random.nextInt(1000) == 0) {
+                text.append("bad,row\n");
+            }
+        }
+        Path file = tempDir.resolve("large.csv");
+        Files.writeString(file, text);
+
+        CsvIngester.Result parallel = new CsvIngester(4).ingest(file);
+        CsvIngester.Result sequential = new CsvIngester(1).ingest(file);
+
+        List<DataQuantum> expected = parseWithHistoricalDataCsv(text.toString());
+        assertSameRows(expected, rowsOf(parallel));
+        assertSameRows(expected, rowsOf(sequential));
+        assertEquals(sequential.skippedRowCount(), parallel.skippedRowCount());
+        assertEquals(sequential.problems(), parallel.problems());
+    }
+
+    @Test
+    public void testReportsAtMostMaxProblems() throws IOException {
+        StringBuilder text = new StringBuilder("Date,Close\n");
+        for (int row = 0; row < CsvIngester.MAX_REPORTED_PROBLEMS + 10; row++) {
+            text.append("bad,row\n");
+        }
+
+        CsvIngester.Result result = new CsvIngester(1).ingest(
+                new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, result.getRowCount());
+        assertEquals(CsvIngester.MAX_REPORTED_PROBLEMS + 10, result.skippedRowCount());
+        assertEquals(CsvIngester.MAX_REPORTED_PROBLEMS, result.problems().size());
+        assertEquals(CsvIngester.MAX_REPORTED_PROBLEMS + 1, result.problems().get(CsvIngester.MAX_REPORTED_PROBLEMS - 1).line());
+    }
+
+    @Test
+    public void testRejectsNegativeThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new CsvIngester(-1));
+    }
+}
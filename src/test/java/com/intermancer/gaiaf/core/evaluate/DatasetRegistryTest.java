@@ -0,0 +1,163 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.intermancer.gaiaf.core.organism.Chromosome;
+import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.TestGenes;
+
+public class DatasetRegistryTest {
+
+    private static final String CLASSPATH_DATA = "/training-data/HistoricalPrices-reversed.csv";
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeCsv(String name, String... rows) throws IOException {
+        Path csv = tempDir.resolve(name);
+        Files.writeString(csv, "Date, Open, Close\n" + String.join("\n", rows));
+        return csv;
+    }
+
+    @Test
+    public void testAcquisitionsOfOnePathShareOneSnapshot() {
+        DatasetRegistry registry = new DatasetRegistry(0);
+
+        try (DatasetRegistry.Lease first = registry.acquire(CLASSPATH_DATA);
+             DatasetRegistry.Lease second = registry.acquire(CLASSPATH_DATA)) {
+            assertSame(first.getDataset(), second.getDataset());
+            assertEquals(1, registry.getLoadCount());
+            assertEquals(2578, first.getDataset().getColumns().getRowCount());
+        }
+    }
+
+    @Test
+    public void testConcurrentFirstAcquisitionsShareOneLoad() throws Exception {
+        DatasetRegistry registry = new DatasetRegistry(0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<DatasetRegistry.Lease>> leases = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                leases.add(executor.submit(() -> {
+                    start.await();
+                    return registry.acquire(CLASSPATH_DATA);
+                }));
+            }
+            start.countDown();
+            HistoricalDataset dataset = leases.get(0).get().getDataset();
+            for (Future<DatasetRegistry.Lease> lease : leases) {
+                assertSame(dataset, lease.get().getDataset());
+                lease.get().close();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, registry.getLoadCount());
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getSizeBytes());
+    }
+
+    @Test
+    public void testPathsWithTheSameValuesShareOneSnapshot() throws IOException {
+        DatasetRegistry registry = new DatasetRegistry(0);
+        Path csv = writeCsv("prices.csv", "03/18/15, 10.5, 11.0", "03/19/15, 11.0, 12.25");
+        Path columnar = tempDir.resolve("prices" + ColumnarDatasetFile.EXTENSION);
+        ColumnarDatasetFile.convertCsv(csv, columnar);
+
+        try (DatasetRegistry.Lease fromCsv = registry.acquire(csv.toString());
+             DatasetRegistry.Lease fromColumns = registry.acquire(columnar.toString())) {
+            assertSame(fromCsv.getDataset(), fromColumns.getDataset());
+            assertEquals(2, registry.size());
+            assertEquals(6 * Double.BYTES, registry.getSizeBytes());
+        }
+    }
+
+    @Test
+    public void testUnusedDatasetsAreEvictedBeyondTheBudget() throws IOException {
+        Path first = writeCsv("first.csv", "03/18/15, 1.0, 2.0");
+        Path second = writeCsv("second.csv", "03/18/15, 3.0, 4.0");
+        // Room for one dataset of one row and three columns
+        DatasetRegistry registry = new DatasetRegistry(3 * Double.BYTES);
+
+        DatasetRegistry.Lease firstLease = registry.acquire(first.toString());
+        DatasetRegistry.Lease secondLease = registry.acquire(second.toString());
+        assertEquals(2, registry.size());
+
+        firstLease.close();
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.getEvictionCount());
+
+        // Closing again has no further effect, and the dataset kept within the budget stays loaded
+        firstLease.close();
+        secondLease.close();
+        assertEquals(1, registry.size());
+        try (DatasetRegistry.Lease lease = registry.acquire(second.toString())) {
+            assertSame(secondLease.getDataset(), lease.getDataset());
+        }
+        assertEquals(2, registry.getLoadCount());
+    }
+
+    @Test
+    public void testChangedFilesAreLoadedAgain() throws IOException {
+        DatasetRegistry registry = new DatasetRegistry(Long.MAX_VALUE);
+        Path csv = writeCsv("prices.csv", "03/18/15, 1.0, 2.0");
+        DatasetRegistry.Lease oldLease = registry.acquire(csv.toString());
+
+        writeCsv("prices.csv", "03/18/15, 1.0, 2.0", "03/19/15, 3.0, 4.0");
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 1000));
+
+        try (DatasetRegistry.Lease newLease = registry.acquire(csv.toString())) {
+            assertNotSame(oldLease.getDataset(), newLease.getDataset());
+            assertEquals(1, oldLease.getDataset().getColumns().getRowCount());
+            assertEquals(2, newLease.getDataset().getColumns().getRowCount());
+        }
+        oldLease.close();
+    }
+
+    @Test
+    public void testMissingDatasetThrows() {
+        DatasetRegistry registry = new DatasetRegistry(0);
+
+        assertThrows(IllegalStateException.class, () -> registry.acquire("/training-data/missing.csv"));
+    }
+
+    @Test
+    public void testEvaluatorsShareTheRegistrysSnapshot() {
+        DatasetRegistry registry = new DatasetRegistry(0);
+        BasicEvaluator first = new BasicEvaluator();
+        first.setDatasetRegistry(registry);
+        BasicEvaluator second = new BasicEvaluator();
+        second.setDatasetRegistry(registry);
+        Organism organism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.AdderGene(1.0, -1, "adder1"));
+        organism.addChromosome(chromosome);
+
+        assertEquals(first.evaluate(organism), second.evaluate(organism));
+        assertEquals(1, registry.getLoadCount());
+
+        // Both evaluators release the dataset when their data changes, so it is unloaded
+        first.setTrainingDataPath(CLASSPATH_DATA);
+        assertEquals(1, registry.size());
+        second.setHistoricalData(List.of());
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.intermancer.gaiaf.core.organism.kernel.ScalarColumnKernels;
+
+public class EvaluationStateTest {
+
+    @Test
+    public void testLeadRowsAreComparedAgainstZero() {
+        EvaluationState state = new EvaluationState(3);
+        state.accept(10.0, 1.0);
+        state.accept(20.0, -2.0);
+        assertEquals(3.0, state.getScore());
+
+        // The third row is compared with the first prediction
+        state.accept(30.0, 4.0);
+        assertEquals(9.0, state.getScore());
+    }
+
+    @Test
+    public void testBlocksOfAnySizeMatchRowByRow() {
+        Random random = new Random(3);
+        double[] predictions = new double[50];
+        double[] actualValues = new double[50];
+        for (int i = 0; i < predictions.length; i++) {
+            predictions[i] = random.nextDouble() * 100;
+            actualValues[i] = random.nextDouble() * 100;
+        }
+
+        for (int leadConsumptionCount = 1; leadConsumptionCount <= 6; leadConsumptionCount++) {
+            EvaluationState rowByRow = new EvaluationState(leadConsumptionCount);
+            for (int i = 0; i < predictions.length; i++) {
+                rowByRow.accept(predictions[i], actualValues[i]);
+            }
+
+            for (int blockSize = 1; blockSize <= 12; blockSize++) {
+                EvaluationState blocked = new EvaluationState(leadConsumptionCount);
+                for (int start = 0; start < predictions.length; start += blockSize) {
+                    int length = Math.min(blockSize, predictions.length - start);
+                    double[] blockPredictions = new double[length];
+                    System.arraycopy(predictions, start, blockPredictions, 0, length);
+                    blocked.acceptBlock(blockPredictions, actualValues, start, length, new ScalarColumnKernels());
+                }
+                assertEquals(rowByRow.getScore(), blocked.getScore(),
+                        "Lead " + leadConsumptionCount + ", block size " + blockSize);
+            }
+        }
+    }
+
+    @Test
+    public void testRestoredStateContinuesAsIfUninterrupted() {
+        Random random = new Random(5);
+        double[] predictions = new double[40];
+        double[] actualValues = new double[40];
+        for (int i = 0; i < predictions.length; i++) {
+            predictions[i] = random.nextDouble() * 1e6;
+            actualValues[i] = random.nextDouble() * 1e-3;
+        }
+
+        for (int leadConsumptionCount = 1; leadConsumptionCount <= 5; leadConsumptionCount++) {
+            EvaluationState uninterrupted = new EvaluationState(leadConsumptionCount);
+            for (int i = 0; i < predictions.length; i++) {
+                uninterrupted.accept(predictions[i], actualValues[i]);
+            }
+
+            for (int splitRow = 0; splitRow <= predictions.length; splitRow++) {
+                EvaluationState first = new EvaluationState(leadConsumptionCount);
+                for (int i = 0; i < splitRow; i++) {
+                    first.accept(predictions[i], actualValues[i]);
+                }
+                TerminalEvaluationState saved = first.toTerminalState(0);
+                EvaluationState restored = new EvaluationState(saved);
+                for (int i = splitRow; i < predictions.length; i++) {
+                    restored.accept(predictions[i], actualValues[i]);
+                }
+
+                assertEquals(first.getScore(), saved.getScore());
+                assertEquals(predictions.length, restored.getRowCount());
+                assertEquals(uninterrupted.getScore(), restored.getScore(),
+                        "Lead " + leadConsumptionCount + ", split at " + splitRow);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.intermancer.gaiaf.core.organism.GenomeHash;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class FitnessCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+        FitnessCache cache = new FitnessCache(10);
+        FitnessKey key = createKey(1);
+
+        assertNull(cache.get(key));
+        cache.put(key, 4.5);
+        assertEquals(4.5, cache.get(key));
+        assertEquals(4.5, cache.get(key));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3.0, cache.getHitRate(), 1e-12);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedScoreIsEvicted() {
+        FitnessCache cache = new FitnessCache(2);
+        cache.put(createKey(1), 1.0);
+        cache.put(createKey(2), 2.0);
+        cache.get(createKey(1));
+        cache.put(createKey(3), 3.0);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1.0, cache.get(createKey(1)));
+        assertNull(cache.get(createKey(2)));
+        assertEquals(3.0, cache.get(createKey(3)));
+    }
+
+    @Test
+    public void testKeysDifferingOnlyInEvaluationSettingsAreDistinct() {
+        FitnessCache cache = new FitnessCache(10);
+        GenomeHash genomeHash = new GenomeHash(7, 11);
+        cache.put(new FitnessKey(genomeHash, "data.csv", 1L, 0, 1), 1.0);
+
+        assertNull(cache.get(new FitnessKey(genomeHash, "data.csv", 1L, 1, 1)));
+        assertNull(cache.get(new FitnessKey(genomeHash, "data.csv", 1L, 0, 2)));
+        assertNull(cache.get(new FitnessKey(genomeHash, "data.csv", 2L, 0, 1)));
+        assertNull(cache.get(new FitnessKey(genomeHash, "other.csv", 1L, 0, 1)));
+        assertEquals(1.0, cache.get(new FitnessKey(genomeHash, "data.csv", 1L, 0, 1)));
+    }
+
+    @Test
+    public void testZeroCapacityDisablesCaching() {
+        FitnessCache cache = new FitnessCache(0);
+        cache.put(createKey(1), 1.0);
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(createKey(1)));
+        assertThrows(IllegalArgumentException.class, () -> new FitnessCache(-1));
+    }
+
+    @Test
+    public void testMetricsAreBound() {
+        FitnessCache cache = new FitnessCache(10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(createKey(1));
+        cache.put(createKey(1), 1.0);
+        cache.get(createKey(1));
+
+        assertEquals(1.0, registry.get("gaiaf.fitness.cache.hits").functionCounter().count());
+        assertEquals(1.0, registry.get("gaiaf.fitness.cache.misses").functionCounter().count());
+        assertEquals(1.0, registry.get("gaiaf.fitness.cache.size").gauge().value());
+        assertEquals(0.5, registry.get("gaiaf.fitness.cache.hit.rate").gauge().value());
+    }
+
+    @Test
+    public void testTerminalStatesAreCachedAlongsideScores() {
+        FitnessCache cache = new FitnessCache(10);
+        TerminalEvaluationState state = new TerminalEvaluationState(2, 0, 5, 4.5, 0.0, 4.5, new double[] { 1.0 });
+        cache.put(createKey(1), state);
+        cache.put(createKey(2), 2.0);
+
+        assertEquals(state, cache.getTerminalState(createKey(1)));
+        assertNull(cache.getTerminalState(createKey(2)));
+        assertNull(cache.getTerminalState(createKey(3)));
+        assertEquals(0, cache.getHitCount() + cache.getMissCount());
+        assertEquals(4.5, cache.get(createKey(1)));
+    }
+
+    private FitnessKey createKey(long genome) {
+        return new FitnessKey(new GenomeHash(genome, genome), "data.csv", 1L, 0, 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compares global parent selection through the repository's global index with the
+ * previous approach of copying and sorting every ScoredOrganism on each call.
+ * Excluded from the test task; run it with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class GlobalSelectionBenchmark {
+
+    private static final int EXPERIMENT_COUNT = 10;
+
+    @Test
+    void benchmarkGlobalSelection() {
+        for (int organismCount : new int[] { 100_000, 1_000_000 }) {
+            InMemoryScoredOrganismRepository repository = new InMemoryScoredOrganismRepository();
+            List<ScoredOrganism> organisms = new ArrayList<>(organismCount);
+            Random random = new Random(17);
+            for (int i = 0; i < organismCount; i++) {
+                organisms.add(repository.save(new ScoredOrganism(null, random.nextDouble() * 1000, "organism-" + i, null,
+                        "exp-" + (i % EXPERIMENT_COUNT))));
+            }
+
+            int sortedSelections = organismCount >= 1_000_000 ? 5 : 20;
+            long start = System.nanoTime();
+            for (int i = 0; i < sortedSelections; i++) {
+                assertNotNull(selectBySorting(organisms, 0.1f, random));
+            }
+            double sortedMicros = (System.nanoTime() - start) / 1000.0 / sortedSelections;
+
+            int indexedSelections = 100_000;
+            // Warm up the indexed path before timing it
+            for (int i = 0; i < indexedSelections; i++) {
+                repository.getRandomFromTopPercent(0.1f);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < indexedSelections; i++) {
+                assertNotNull(repository.getRandomFromTopPercent(0.1f));
+            }
+            double indexedMicros = (System.nanoTime() - start) / 1000.0 / indexedSelections;
+
+            System.out.printf("%,d organisms: sort per call %.1f us/selection, global index %.3f us/selection%n",
+                    organismCount, sortedMicros, indexedMicros);
+        }
+    }
+
+    /**
+     * The selection getRandomFromTopPercent(float) made before the global index existed.
+     */
+    private static ScoredOrganism selectBySorting(List<ScoredOrganism> organisms, float percent, Random random) {
+        List<ScoredOrganism> allOrganisms = new ArrayList<>(organisms);
+        allOrganisms.sort(Comparator.naturalOrder());
+        int cutoffIndex = Math.max(1, Math.min(allOrganisms.size(), (int) Math.ceil(allOrganisms.size() * percent)));
+        return allOrganisms.get(random.nextInt(cutoffIndex));
+    }
+}
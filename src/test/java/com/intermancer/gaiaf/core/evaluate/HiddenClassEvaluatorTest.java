@@ -0,0 +1,148 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.intermancer.gaiaf.core.organism.Chromosome;
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.TestGenes;
+import com.intermancer.gaiaf.core.organism.gene.basic.AdditionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.MultiplicationGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SineGene;
+
+public class HiddenClassEvaluatorTest {
+
+    private List<DataQuantum> historicalData;
+
+    @BeforeEach
+    public void setUp() {
+        historicalData = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            DataQuantum dataQuantum = new DataQuantum();
+            dataQuantum.addValue(i);
+            dataQuantum.addValue(i * 1.5);
+            dataQuantum.addValue(100.0 - i);
+            historicalData.add(dataQuantum);
+        }
+    }
+
+    private HiddenClassEvaluator createEvaluator(int cacheCapacity, int generationThreshold) {
+        HiddenClassEvaluator evaluator = new HiddenClassEvaluator(cacheCapacity, generationThreshold);
+        evaluator.setHistoricalData(historicalData);
+        return evaluator;
+    }
+
+    private Organism createBasicOrganism(double addend) {
+        Organism organism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        AdditionGene additionGene = new AdditionGene();
+        additionGene.getOperationConstantList().set(0, addend);
+        chromosome.getGenes().add(additionGene);
+        chromosome.getGenes().add(new SineGene());
+        MultiplicationGene multiplicationGene = new MultiplicationGene();
+        multiplicationGene.getTargetIndexList().set(0, 1);
+        chromosome.getGenes().add(multiplicationGene);
+        organism.addChromosome(chromosome);
+        return organism;
+    }
+
+    @Test
+    public void testScoresMatchBasicEvaluator() {
+        BasicEvaluator basicEvaluator = new BasicEvaluator();
+        basicEvaluator.setHistoricalData(historicalData);
+        HiddenClassEvaluator evaluator = createEvaluator(16, 1);
+        Organism organism = createBasicOrganism(2.5);
+
+        double expected = basicEvaluator.evaluate(organism);
+
+        assertEquals(expected, evaluator.evaluate(organism));
+        assertEquals(1, evaluator.getGeneratedCount());
+        assertEquals(expected, evaluator.evaluate(organism));
+        assertEquals(1, evaluator.getGeneratedCount());
+    }
+
+    @Test
+    public void testGeneratesOnlyAfterThresholdForSameGenome() {
+        HiddenClassEvaluator evaluator = createEvaluator(16, 3);
+
+        // Structurally identical organisms share one cache entry
+        evaluator.evaluate(createBasicOrganism(1.0));
+        evaluator.evaluate(createBasicOrganism(1.0));
+        assertEquals(0, evaluator.getGeneratedCount());
+
+        evaluator.evaluate(createBasicOrganism(1.0));
+        assertEquals(1, evaluator.getGeneratedCount());
+        assertEquals(1, evaluator.getCacheSize());
+    }
+
+    @Test
+    public void testSpringConstructorAppliesEveryEvaluatorSetting() {
+        EvaluatorConfiguration configuration = new EvaluatorConfiguration();
+        configuration.setMode(EvaluationMode.ROW);
+        configuration.setBatchBlockSize(64);
+        configuration.setIntermediateColumnCacheBytes(1024);
+        configuration.setBytecodeGenerationThreshold(1);
+        FitnessCache fitnessCache = new FitnessCache(16);
+        DatasetRegistry datasetRegistry = new DatasetRegistry(0);
+
+        HiddenClassEvaluator evaluator = new HiddenClassEvaluator(configuration, fitnessCache, datasetRegistry);
+
+        assertEquals(EvaluationMode.ROW, evaluator.getEvaluationMode());
+        assertEquals(64, evaluator.getBatchBlockSize());
+        assertEquals(1024, evaluator.getIntermediateColumnCacheBytes());
+        assertSame(fitnessCache, evaluator.getFitnessCache());
+        assertSame(datasetRegistry, evaluator.getDatasetRegistry());
+        evaluator.setHistoricalData(historicalData);
+        double score = evaluator.evaluate(createBasicOrganism(1.0));
+        assertEquals(1, evaluator.getGeneratedCount());
+        // The same genome is then scored from the fitness cache
+        assertEquals(score, evaluator.evaluate(createBasicOrganism(1.0)));
+        assertEquals(1, fitnessCache.getHitCount());
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsedGenome() {
+        HiddenClassEvaluator evaluator = createEvaluator(2, 1);
+
+        evaluator.evaluate(createBasicOrganism(1.0));
+        evaluator.evaluate(createBasicOrganism(2.0));
+        evaluator.evaluate(createBasicOrganism(1.0));
+        evaluator.evaluate(createBasicOrganism(3.0));
+        assertEquals(2, evaluator.getCacheSize());
+        assertEquals(3, evaluator.getGeneratedCount());
+
+        // 1.0 was used more recently than 2.0, so it is still cached
+        evaluator.evaluate(createBasicOrganism(1.0));
+        assertEquals(3, evaluator.getGeneratedCount());
+        evaluator.evaluate(createBasicOrganism(2.0));
+        assertEquals(4, evaluator.getGeneratedCount());
+    }
+
+    @Test
+    public void testGenomesThatCannotBeGeneratedStillEvaluate() {
+        BasicEvaluator basicEvaluator = new BasicEvaluator();
+        basicEvaluator.setHistoricalData(historicalData);
+        HiddenClassEvaluator evaluator = createEvaluator(16, 1);
+        Organism organism = new Organism();
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.SquareGene(0, "square"));
+        organism.addChromosome(chromosome);
+
+        assertEquals(basicEvaluator.evaluate(organism), evaluator.evaluate(organism));
+        assertEquals(0, evaluator.getGeneratedCount());
+        assertEquals(0, evaluator.getCacheSize());
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HiddenClassEvaluator(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new HiddenClassEvaluator(1, 0));
+    }
+}
@@ -6,9 +6,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,7 +27,8 @@ class InMemoryScoredOrganismRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        repository = new InMemoryScoredOrganismRepository();
+        // Listings always current unless a test sets the snapshot intervals
+        repository = new InMemoryScoredOrganismRepository(1, 0);
         mockOrganism1 = new Organism("organism-1");
         mockOrganism2 = new Organism("organism-2");
         mockOrganism3 = new Organism("organism-3");
@@ -473,4 +478,319 @@ class InMemoryScoredOrganismRepositoryTest {
              assertTrue(fromTop.score() <= 15.0, "Top performers should have scores 5.0 or 10.0, not 15.0");
          }
      }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("save() should replace an organism saved again under the same ID")
+    void testSaveWithExistingIdReplacesRanking() {
+        repository.save(new ScoredOrganism("same-id", 5.0, "organism-1", mockOrganism1, EXPERIMENT_ID_1));
+        repository.save(new ScoredOrganism("other-id", 7.0, "organism-2", mockOrganism2, EXPERIMENT_ID_1));
+        repository.save(new ScoredOrganism("same-id", 9.0, "organism-1", mockOrganism1, EXPERIMENT_ID_1));
+
+        assertEquals(2, repository.size());
+        assertEquals(2, repository.size(EXPERIMENT_ID_1));
+        assertEquals(9.0, repository.getById("same-id").score());
+        assertEquals(List.of("other-id", "same-id"), repository.getAllOrganismIds(EXPERIMENT_ID_1));
+    }
+
+    @Test
+    @DisplayName("getRandomFromBottomPercent(experimentId) should select by rank in a large experiment")
+    void testSelectionByRankInLargeExperiment() {
+        for (int i = 0; i < 10000; i++) {
+            repository.save(new ScoredOrganism(String.format("id-%05d", i), (double) (i % 1000), "organism-" + i,
+                    mockOrganism1, EXPERIMENT_ID_1));
+        }
+        for (int i = 0; i < 10000; i += 2) {
+            repository.delete(String.format("id-%05d", i));
+        }
+
+        assertEquals(5000, repository.size(EXPERIMENT_ID_1));
+        for (int i = 0; i < 100; i++) {
+            // The top 10% are the 500 best of the odd scores 1, 3, ... 999, each held by 5 organisms
+            assertTrue(repository.getRandomFromTopPercent(EXPERIMENT_ID_1, 0.1f).score() <= 99.0);
+            assertTrue(repository.getRandomFromBottomPercent(EXPERIMENT_ID_1, 0.1f).score() >= 901.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Global selection should follow saves and deletes in every experiment")
+    void testGlobalSelectionFollowsSavesAndDeletes() {
+        ScoredOrganism best = repository.save(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1));
+        repository.save(new ScoredOrganism(2.0, mockOrganism2, EXPERIMENT_ID_2));
+        ScoredOrganism worst = repository.save(new ScoredOrganism(3.0, mockOrganism3, EXPERIMENT_ID_1));
+
+        assertEquals(best, repository.getRandomFromTopPercent(0.0f));
+        assertEquals(worst, repository.getRandomFromBottomPercent(0.0f));
+
+        repository.delete(best.id());
+        repository.delete(worst.id());
+
+        assertEquals(2.0, repository.getRandomFromTopPercent(0.0f).score());
+        assertEquals(2.0, repository.getRandomFromBottomPercent(1.0f).score());
+    }
+
+    @Test
+    @DisplayName("Global selection should match every experiment after concurrent writes to each")
+    void testGlobalSelectionAfterConcurrentWrites() throws Exception {
+        ScoredOrganism best = repository.save(new ScoredOrganism(-1.0, mockOrganism2, EXPERIMENT_ID_1));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<ScoredOrganism>>> writers = new ArrayList<>();
+        try {
+            for (int w = 0; w < 4; w++) {
+                String experimentId = "exp-writer-" + w;
+                double offset = w * 1000;
+                writers.add(executor.submit(() -> {
+                    List<ScoredOrganism> kept = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) {
+                        ScoredOrganism saved = repository.save(
+                                new ScoredOrganism(offset + i, mockOrganism1, experimentId));
+                        if (i % 100 == 0) {
+                            kept.add(saved);
+                        } else {
+                            repository.delete(saved.id());
+                        }
+                    }
+                    return kept;
+                }));
+            }
+            while (!writers.stream().allMatch(Future::isDone)) {
+                repository.getRandomFromTopPercent(1.0f);
+            }
+            Set<ScoredOrganism> kept = new HashSet<>(List.of(best));
+            for (Future<List<ScoredOrganism>> writer : writers) {
+                kept.addAll(writer.get());
+            }
+
+            assertEquals(41, repository.size());
+            assertEquals(best, repository.getRandomFromTopPercent(0.0f));
+            assertEquals(3900.0, repository.getRandomFromBottomPercent(0.0f).score());
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(kept.contains(repository.getRandomFromTopPercent(1.0f)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ===== Replace Tests =====
+
+    @Test
+    @DisplayName("replace() should swap parents for children in one step")
+    void testReplaceSwapsParentsForChildren() {
+        ScoredOrganism parent1 = repository.save(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1));
+        ScoredOrganism parent2 = repository.save(new ScoredOrganism(5.0, mockOrganism2, EXPERIMENT_ID_1));
+
+        assertTrue(repository.replace(List.of(parent2.id()),
+                List.of(new ScoredOrganism(2.0, mockOrganism3, EXPERIMENT_ID_1))));
+
+        assertEquals(2, repository.size(EXPERIMENT_ID_1));
+        assertThrows(IllegalArgumentException.class, () -> repository.getById(parent2.id()));
+        assertEquals(List.of(1.0, 2.0), repository.getTopOrganisms(EXPERIMENT_ID_1, 10).stream()
+                .map(ScoredOrganism::score).toList());
+        assertEquals(parent1, repository.getRandomFromTopPercent(EXPERIMENT_ID_1, 0.0f));
+    }
+
+    @Test
+    @DisplayName("replace() should change nothing when a parent is already gone")
+    void testReplaceWithMissingParentChangesNothing() {
+        ScoredOrganism parent1 = repository.save(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1));
+        ScoredOrganism parent2 = repository.save(new ScoredOrganism(5.0, mockOrganism2, EXPERIMENT_ID_1));
+        repository.delete(parent2.id());
+
+        assertFalse(repository.replace(List.of(parent1.id(), parent2.id()),
+                List.of(new ScoredOrganism(2.0, mockOrganism3, EXPERIMENT_ID_1))));
+
+        assertEquals(1, repository.size(EXPERIMENT_ID_1));
+        assertEquals(parent1, repository.getById(parent1.id()));
+        assertThrows(IllegalArgumentException.class, () -> repository.replace(List.of(parent1.id()), List.of()));
+    }
+
+    @Test
+    @DisplayName("replace() should let only one of several concurrent callers replace the same parent")
+    void testConcurrentReplaceOfSameParent() throws Exception {
+        ScoredOrganism parent = repository.save(new ScoredOrganism(5.0, mockOrganism1, EXPERIMENT_ID_1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                double score = i;
+                results.add(executor.submit(() -> repository.replace(List.of(parent.id()),
+                        List.of(new ScoredOrganism(score, mockOrganism2, EXPERIMENT_ID_1)))));
+            }
+            int successes = 0;
+            for (Future<Boolean> result : results) {
+                successes += result.get() ? 1 : 0;
+            }
+            assertEquals(1, successes);
+            assertEquals(1, repository.size(EXPERIMENT_ID_1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ===== Snapshot Tests =====
+
+    @Test
+    @DisplayName("getAllOrganismIds() should read a snapshot published every N changes, while size is exact")
+    void testSnapshotIsPublishedEveryNChanges() {
+        repository = new InMemoryScoredOrganismRepository(3, 3_600_000);
+        ScoredOrganism first = repository.save(new ScoredOrganism(3.0, mockOrganism1, EXPERIMENT_ID_1));
+        ScoredOrganism second = repository.save(new ScoredOrganism(1.0, mockOrganism2, EXPERIMENT_ID_1));
+
+        assertEquals(2, repository.size(EXPERIMENT_ID_1));
+        assertEquals(List.of(), repository.getAllOrganismIds(EXPERIMENT_ID_1));
+
+        ScoredOrganism third = repository.save(new ScoredOrganism(2.0, mockOrganism3, EXPERIMENT_ID_1));
+
+        assertEquals(List.of(second.id(), third.id(), first.id()), repository.getAllOrganismIds(EXPERIMENT_ID_1));
+    }
+
+    @Test
+    @DisplayName("A read should publish every change made since the last read once N are unpublished")
+    void testReadsPublishAllChangesSinceTheLastRead() {
+        repository = new InMemoryScoredOrganismRepository(3, 3_600_000);
+        for (int i = 0; i < 5; i++) {
+            repository.save(new ScoredOrganism((double) i, mockOrganism1, EXPERIMENT_ID_1));
+        }
+
+        // Writers published nothing, so the first read publishes all five changes
+        assertEquals(5, repository.getAllOrganismIds(EXPERIMENT_ID_1).size());
+        repository.save(new ScoredOrganism(9.0, mockOrganism1, EXPERIMENT_ID_1));
+        assertEquals(5, repository.getAllOrganismIds(EXPERIMENT_ID_1).size());
+        assertEquals(6, repository.size(EXPERIMENT_ID_1));
+    }
+
+    @Test
+    @DisplayName("The default constructor should apply RepositoryConfiguration's snapshot settings")
+    void testDefaultConstructorUsesConfiguredIntervals() {
+        repository = new InMemoryScoredOrganismRepository();
+        repository.getAllOrganismIds(EXPERIMENT_ID_1);
+        repository.save(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1));
+
+        // One change is fewer than the default snapshotMutationInterval, and under 100 ms old
+        assertEquals(List.of(), repository.getAllOrganismIds(EXPERIMENT_ID_1));
+        assertEquals(1, repository.size(EXPERIMENT_ID_1));
+    }
+
+    @Test
+    @DisplayName("Reads should publish changes once they are older than the snapshot interval")
+    void testStaleChangesArePublishedAfterTheInterval() throws InterruptedException {
+        repository = new InMemoryScoredOrganismRepository(Integer.MAX_VALUE, 1);
+        ScoredOrganism saved = repository.save(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1));
+
+        Thread.sleep(5);
+
+        assertEquals(List.of(saved.id()), repository.getAllOrganismIds(EXPERIMENT_ID_1));
+        assertEquals(List.of(saved), repository.getTopOrganisms(EXPERIMENT_ID_1, 10));
+    }
+
+    @Test
+    @DisplayName("getTopOrganisms() should return the best organisms, best first")
+    void testGetTopOrganisms() {
+        ScoredOrganism worst = repository.save(new ScoredOrganism(9.0, mockOrganism1, EXPERIMENT_ID_1));
+        ScoredOrganism best = repository.save(new ScoredOrganism(1.0, mockOrganism2, EXPERIMENT_ID_1));
+        ScoredOrganism middle = repository.save(new ScoredOrganism(5.0, mockOrganism3, EXPERIMENT_ID_1));
+
+        assertEquals(List.of(best, middle), repository.getTopOrganisms(EXPERIMENT_ID_1, 2));
+        assertEquals(List.of(best, middle, worst), repository.getTopOrganisms(EXPERIMENT_ID_1, 10));
+        assertEquals(List.of(), repository.getTopOrganisms(EXPERIMENT_ID_2, 10));
+        assertThrows(IllegalArgumentException.class, () -> repository.getTopOrganisms(EXPERIMENT_ID_1, -1));
+        assertThrows(UnsupportedOperationException.class,
+                () -> repository.getTopOrganisms(EXPERIMENT_ID_1, 2).clear());
+    }
+
+    @Test
+    @DisplayName("Snapshot reads should stay consistent while another thread saves and deletes")
+    void testSnapshotReadsDuringWrites() throws Exception {
+        repository = new InMemoryScoredOrganismRepository(8, 1);
+        Thread writer = new Thread(() -> {
+            List<ScoredOrganism> saved = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                saved.add(repository.save(new ScoredOrganism((double) (i % 97), mockOrganism1, EXPERIMENT_ID_1)));
+                if (saved.size() > 100) {
+                    repository.delete(saved.remove(0).id());
+                }
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            List<ScoredOrganism> top = repository.getTopOrganisms(EXPERIMENT_ID_1, 200);
+            assertTrue(top.size() <= 101);
+            for (int i = 1; i < top.size(); i++) {
+                assertTrue(RankedIndex.RANK_ORDER.compare(top.get(i - 1), top.get(i)) < 0);
+            }
+        }
+        writer.join();
+        assertEquals(100, repository.size(EXPERIMENT_ID_1));
+    }
+
+    @Test
+    @DisplayName("reassign() should move every organism of one experiment to another")
+    void testReassignMovesOrganisms() {
+        ScoredOrganism first = repository.save(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1));
+        ScoredOrganism second = repository.save(new ScoredOrganism(2.0, mockOrganism2, EXPERIMENT_ID_1));
+        ScoredOrganism other = repository.save(new ScoredOrganism(3.0, mockOrganism3, EXPERIMENT_ID_2));
+
+        assertEquals(2, repository.reassign(EXPERIMENT_ID_1, EXPERIMENT_ID_2));
+
+        assertEquals(0, repository.size(EXPERIMENT_ID_1));
+        assertEquals(3, repository.size(EXPERIMENT_ID_2));
+        assertEquals(3, repository.size());
+        assertEquals(List.of(first.id(), second.id(), other.id()), repository.getAllOrganismIds(EXPERIMENT_ID_2));
+        assertEquals(EXPERIMENT_ID_2, repository.getById(first.id()).experimentId());
+        assertEquals(0, repository.reassign(EXPERIMENT_ID_1, EXPERIMENT_ID_2));
+    }
+
+    @Test
+    @DisplayName("reassign() should not lose organisms saved to the experiment while it is being emptied")
+    void testReassignDuringSaves() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        repository.save(new ScoredOrganism((double) i, mockOrganism1, EXPERIMENT_ID_1));
+                    }
+                }));
+            }
+            while (!writers.stream().allMatch(Future::isDone)) {
+                repository.reassign(EXPERIMENT_ID_1, EXPERIMENT_ID_2);
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        repository.reassign(EXPERIMENT_ID_1, EXPERIMENT_ID_2);
+
+        assertEquals(0, repository.size(EXPERIMENT_ID_1));
+        assertEquals(4000, repository.size(EXPERIMENT_ID_2));
+        assertEquals(4000, repository.size());
+    }
+
+    @Test
+    @DisplayName("replaceAll() should apply each replacement in order, failing those whose IDs are gone")
+    void testReplaceAllAppliesReplacementsInOrder() {
+        ScoredOrganism parent1 = repository.save(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1));
+        ScoredOrganism parent2 = repository.save(new ScoredOrganism(5.0, mockOrganism2, EXPERIMENT_ID_1));
+
+        boolean[] applied = repository.replaceAll(List.of(
+                new ScoredOrganismRepository.Replacement(List.of(parent2.id()),
+                        List.of(new ScoredOrganism(2.0, mockOrganism3, EXPERIMENT_ID_1))),
+                new ScoredOrganismRepository.Replacement(List.of(parent2.id()),
+                        List.of(new ScoredOrganism(3.0, mockOrganism3, EXPERIMENT_ID_1))),
+                new ScoredOrganismRepository.Replacement(List.of(),
+                        List.of(new ScoredOrganism(4.0, mockOrganism3, EXPERIMENT_ID_1)))));
+
+        assertArrayEquals(new boolean[] { true, false, true }, applied);
+        assertEquals(List.of(1.0, 2.0, 4.0), repository.getTopOrganisms(EXPERIMENT_ID_1, 10).stream()
+                .map(ScoredOrganism::score).toList());
+        assertEquals(parent1, repository.getById(parent1.id()));
+        assertThrows(IllegalArgumentException.class, () -> repository.replaceAll(List.of(
+                new ScoredOrganismRepository.Replacement(List.of(),
+                        List.of(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_1))),
+                new ScoredOrganismRepository.Replacement(List.of(),
+                        List.of(new ScoredOrganism(1.0, mockOrganism1, EXPERIMENT_ID_2))))));
+    }
+}
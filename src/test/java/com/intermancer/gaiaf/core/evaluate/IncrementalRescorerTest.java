@@ -0,0 +1,130 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.intermancer.gaiaf.core.experiment.ChromosomeGenerator;
+import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.kernel.ColumnKernels;
+import com.intermancer.gaiaf.core.organism.kernel.ScalarColumnKernels;
+import com.intermancer.gaiaf.core.organism.repo.InMemoryOrganismRepository;
+
+public class IncrementalRescorerTest {
+
+    private static final String EXPERIMENT_ID = "daily";
+
+    @TempDir
+    Path tempDir;
+
+    private Path csv;
+    private BasicEvaluator evaluator;
+    private InMemoryScoredOrganismRepository scoredOrganismRepository;
+    private IncrementalRescorer rescorer;
+    private List<ScoredOrganism> scoredOrganisms;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        csv = tempDir.resolve("prices.csv");
+        Files.writeString(csv, "Date, Open, Close\n" + days(1, 40));
+        evaluator = new BasicEvaluator(1, 3);
+        evaluator.setColumnKernels(new ScalarColumnKernels());
+        evaluator.setTrainingDataPath(csv.toString());
+        // Listings always current, so that every saved organism is rescored
+        scoredOrganismRepository = new InMemoryScoredOrganismRepository(1, 0);
+        InMemoryOrganismRepository organismRepository = new InMemoryOrganismRepository();
+        rescorer = new IncrementalRescorer(evaluator, scoredOrganismRepository, organismRepository);
+
+        scoredOrganisms = new ArrayList<>();
+        for (int n = 0; n < 6; n++) {
+            Organism organism = new Organism("organism-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organismRepository.saveOrganism(organism);
+            scoredOrganisms.add(scoredOrganismRepository.save(
+                    new ScoredOrganism(evaluator.evaluate(organism), organism, EXPERIMENT_ID)));
+        }
+    }
+
+    private static String days(int firstDay, int lastDay) {
+        StringBuilder text = new StringBuilder();
+        for (int day = firstDay; day <= lastDay; day++) {
+            text.append(String.format("%02d/%02d/20, %.2f, %.2f%n", 1 + day / 28, 1 + day % 28,
+                    100 + Math.sin(day) * 10, 101 + Math.cos(day) * 10));
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void testUnchangedDataKeepsScores() {
+        assertEquals(0, rescorer.rescoreAppendedRows(EXPERIMENT_ID));
+
+        for (ScoredOrganism scoredOrganism : scoredOrganisms) {
+            assertEquals(scoredOrganism.score(), scoredOrganismRepository.getById(scoredOrganism.id()).score());
+            assertEquals(40, rescorer.getTerminalState(EXPERIMENT_ID, scoredOrganism.id()).rowCount());
+        }
+    }
+
+    @Test
+    public void testAppendedRowsUpdateScoresInPlace() throws IOException {
+        rescorer.rescoreAppendedRows(EXPERIMENT_ID);
+        Files.writeString(csv, days(41, 43), StandardOpenOption.APPEND);
+
+        assertEquals(scoredOrganisms.size(), rescorer.rescoreAppendedRows(EXPERIMENT_ID));
+
+        BasicEvaluator fullEvaluator = new BasicEvaluator(1, 3);
+        fullEvaluator.setColumnKernels(new ScalarColumnKernels());
+        fullEvaluator.setTrainingDataPath(csv.toString());
+        assertEquals(scoredOrganisms.size(), scoredOrganismRepository.size(EXPERIMENT_ID));
+        for (ScoredOrganism scoredOrganism : scoredOrganisms) {
+            ScoredOrganism rescored = scoredOrganismRepository.getById(scoredOrganism.id());
+            assertEquals(fullEvaluator.evaluate(scoredOrganism.organism()), rescored.score());
+            assertEquals(scoredOrganism.organismId(), rescored.organismId());
+            assertEquals(43, rescorer.getTerminalState(EXPERIMENT_ID, scoredOrganism.id()).rowCount());
+        }
+    }
+
+    @Test
+    public void testOrganismsScoredSinceTheLastRescoreResumeFromTheirFirstScoring() throws IOException {
+        evaluator.setColumnKernels(ColumnKernels.getDefault());
+        evaluator.setFitnessCache(new FitnessCache(100));
+        Organism newcomer = new Organism("newcomer");
+        newcomer.addChromosome(ChromosomeGenerator.getRandomChromosome());
+        double firstScore = evaluator.evaluateAll(List.of(newcomer), Double.MAX_VALUE)[0];
+        ScoredOrganism saved = scoredOrganismRepository.save(new ScoredOrganism(firstScore, newcomer, EXPERIMENT_ID));
+
+        // Rows already scored would change the score if they were run again
+        String appended = days(41, 43);
+        Files.writeString(csv, "Date, Open, Close\n" + days(1, 40).replace("/20, ", "/20, 9") + appended);
+        rescorer.rescoreAppendedRows(EXPERIMENT_ID);
+
+        Path original = tempDir.resolve("original.csv");
+        Files.writeString(original, "Date, Open, Close\n" + days(1, 40) + appended);
+        BasicEvaluator fullEvaluator = new BasicEvaluator(1, 3);
+        fullEvaluator.setTrainingDataPath(original.toString());
+        assertEquals(fullEvaluator.evaluate(newcomer), scoredOrganismRepository.getById(saved.id()).score());
+        assertEquals(43, rescorer.getTerminalState(EXPERIMENT_ID, saved.id()).rowCount());
+    }
+
+    @Test
+    public void testStatesOfDeletedOrganismsAreDropped() {
+        rescorer.rescoreAppendedRows(EXPERIMENT_ID);
+        String deletedId = scoredOrganisms.get(0).id();
+        assertNotNull(rescorer.getTerminalState(EXPERIMENT_ID, deletedId));
+
+        scoredOrganismRepository.delete(deletedId);
+        rescorer.rescoreAppendedRows(EXPERIMENT_ID);
+
+        assertNull(rescorer.getTerminalState(EXPERIMENT_ID, deletedId));
+        assertNotNull(rescorer.getTerminalState(EXPERIMENT_ID, scoredOrganisms.get(1).id()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.intermancer.gaiaf.core.evaluate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedIndexTest {
+
+    private static ScoredOrganism scored(String id, double score) {
+        return new ScoredOrganism(id, score, "organism-" + id, null, "exp-1");
+    }
+
+    @Test
+    @DisplayName("get() should return organisms by rank, breaking score ties by ID")
+    void testGetByRank() {
+        RankedIndex index = new RankedIndex();
+        index.add(scored("c", 2.0));
+        index.add(scored("b", 1.0));
+        index.add(scored("a", 2.0));
+        index.add(scored("d", 0.5));
+
+        assertEquals(4, index.size());
+        assertEquals(List.of("d", "b", "a", "c"), index.toList().stream().map(ScoredOrganism::id).toList());
+        assertEquals("d", index.get(0).id());
+        assertEquals("c", index.get(3).id());
+        assertEquals(2, index.rankOf(scored("a", 2.0)));
+        assertEquals(-1, index.rankOf(scored("a", 1.0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(4));
+    }
+
+    @Test
+    @DisplayName("add() should reject an organism that is already ranked")
+    void testAddRejectsDuplicates() {
+        RankedIndex index = new RankedIndex();
+        index.add(scored("a", 1.0));
+
+        assertThrows(IllegalArgumentException.class, () -> index.add(scored("a", 1.0)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Random inserts and removals should keep the same order as a sorted list")
+    void testMatchesSortedListUnderRandomOperations() {
+        RankedIndex index = new RankedIndex();
+        List<ScoredOrganism> expected = new ArrayList<>();
+        Random random = new Random(5);
+
+        for (int operation = 0; operation < 5000; operation++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                // Few distinct scores, so that many organisms share one
+                ScoredOrganism scoredOrganism = scored("id-" + operation, random.nextInt(50));
+                index.add(scoredOrganism);
+                expected.add(scoredOrganism);
+            } else {
+                ScoredOrganism scoredOrganism = expected.remove(random.nextInt(expected.size()));
+                assertTrue(index.remove(scoredOrganism));
+                assertFalse(index.remove(scoredOrganism));
+            }
+        }
+        expected.sort(RankedIndex.RANK_ORDER);
+
+        assertEquals(expected, index.toList());
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertEquals(expected.get(rank), index.get(rank));
+            assertEquals(rank, index.rankOf(expected.get(rank)));
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.intermancer.gaiaf.core.experiment;
 
+import com.intermancer.gaiaf.core.evaluate.BasicEvaluator;
+import com.intermancer.gaiaf.core.evaluate.InMemoryScoredOrganismRepository;
+import com.intermancer.gaiaf.core.evaluate.RepositoryConfiguration;
 import com.intermancer.gaiaf.core.experiment.repo.ExperimentStatusRepository;
+import com.intermancer.gaiaf.core.experiment.repo.InMemoryExperimentStatusRepository;
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+import com.intermancer.gaiaf.core.organism.breeding.BasicOrganismBreeder;
+import com.intermancer.gaiaf.core.organism.repo.InMemoryOrganismRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,6 +19,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Test class for BasicExperimentImpl.
  * Verifies that the experiment orchestration correctly seeds the repository
@@ -32,6 +43,9 @@ class BasicExperimentImplTest {
     @Mock
     private ExperimentStatusRepository experimentStatusRepository;
     
+    @Mock
+    private IslandMigrator islandMigrator;
+    
     @InjectMocks
     private BasicExperimentImpl basicExperiment;
 
@@ -295,4 +309,268 @@ class BasicExperimentImplTest {
         ExperimentStatus savedStatus = statusCaptor.getValue();
         assertEquals(basicExperiment.getId(), savedStatus.getExperimentId());
     }
+
+    @Test
+    void testRunExperiment_withSeveralWorkers_runsEveryCycleOnce() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(100);
+        when(experimentConfiguration.getWorkerCount()).thenReturn(4);
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+        
+        // Act
+        basicExperiment.runExperiment();
+        
+        // Assert
+        verify(experimentCycle, times(100)).mutationCycle(eq(basicExperiment.getId()), any(ExperimentStatus.class));
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        ExperimentStatus savedStatus = statusCaptor.getValue();
+        assertEquals(100, savedStatus.getCyclesCompleted());
+        assertEquals(ExperimentState.STOPPED, savedStatus.getStatus());
+    }
+    
+    @Test
+    void testRunExperiment_withSeveralWorkers_setsStatusToExceptionOnError() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(100);
+        when(experimentConfiguration.getWorkerCount()).thenReturn(4);
+        doThrow(new IllegalStateException("Worker exception"))
+                .when(experimentCycle).mutationCycle(anyString(), any(ExperimentStatus.class));
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+        
+        // Act & Assert
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> basicExperiment.runExperiment());
+        assertEquals("Worker exception", thrown.getMessage());
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        assertEquals(ExperimentState.EXCEPTION, statusCaptor.getValue().getStatus());
+    }
+    
+    @Test
+    void testRunExperiment_withIslands_seedsAndEvolvesEachIslandAndMergesThem() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(60);
+        when(experimentConfiguration.getIslandCount()).thenReturn(3);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(30);
+        when(experimentConfiguration.getMigrationInterval()).thenReturn(5);
+        when(experimentConfiguration.getMigrationSize()).thenReturn(2);
+        when(experimentConfiguration.getMigrationTopology()).thenReturn(MigrationTopology.RING);
+        when(islandMigrator.migrate(anyString(), anyString(), anyInt(), anyInt())).thenReturn(1);
+        List<String> islandIds = List.of(basicExperiment.getIslandId(0), basicExperiment.getIslandId(1),
+                basicExperiment.getIslandId(2));
+        ArgumentCaptor<String> sourceCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> targetCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+        
+        // Act
+        basicExperiment.runExperiment();
+        
+        // Assert - each island is seeded and evolved with a third of the capacity
+        verify(seeder, never()).seed(basicExperiment.getId());
+        for (String islandId : islandIds) {
+            verify(seeder).seed(islandId);
+        }
+        verify(experimentCycle, times(60)).mutationCycle(argThat(islandIds::contains), eq(10), any(ExperimentStatus.class));
+        verify(experimentCycle, never()).mutationCycle(anyString(), any(ExperimentStatus.class));
+        
+        // Migrants travel around the ring
+        verify(islandMigrator, atLeastOnce()).migrate(sourceCaptor.capture(), targetCaptor.capture(), eq(2), eq(10));
+        for (int i = 0; i < sourceCaptor.getAllValues().size(); i++) {
+            int source = islandIds.indexOf(sourceCaptor.getAllValues().get(i));
+            assertEquals(islandIds.get((source + 1) % 3), targetCaptor.getAllValues().get(i));
+        }
+        verify(islandMigrator).merge(islandIds, basicExperiment.getId());
+        
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        ExperimentStatus savedStatus = statusCaptor.getValue();
+        assertEquals(60, savedStatus.getCyclesCompleted());
+        assertEquals(sourceCaptor.getAllValues().size(), savedStatus.getOrganismsMigrated());
+        assertEquals(ExperimentState.STOPPED, savedStatus.getStatus());
+    }
+    
+    @Test
+    void testRunExperiment_withRandomMigration_neverMigratesToTheSameIsland() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(200);
+        when(experimentConfiguration.getIslandCount()).thenReturn(4);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(40);
+        when(experimentConfiguration.getMigrationInterval()).thenReturn(1);
+        when(experimentConfiguration.getMigrationSize()).thenReturn(1);
+        when(experimentConfiguration.getMigrationTopology()).thenReturn(MigrationTopology.RANDOM);
+        ArgumentCaptor<String> sourceCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> targetCaptor = ArgumentCaptor.forClass(String.class);
+        
+        // Act
+        basicExperiment.runExperiment();
+        
+        // Assert
+        verify(islandMigrator, times(200)).migrate(sourceCaptor.capture(), targetCaptor.capture(), eq(1), eq(10));
+        for (int i = 0; i < 200; i++) {
+            assertNotEquals(sourceCaptor.getAllValues().get(i), targetCaptor.getAllValues().get(i));
+        }
+    }
+    
+    @Test
+    void testRunExperiment_withIslands_mergesIslandsWhenAnIslandFails() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(10);
+        when(experimentConfiguration.getIslandCount()).thenReturn(2);
+        doThrow(new IllegalStateException("Island exception"))
+                .when(experimentCycle).mutationCycle(anyString(), anyInt(), any(ExperimentStatus.class));
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+        
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> basicExperiment.runExperiment());
+        verify(islandMigrator).merge(List.of(basicExperiment.getIslandId(0), basicExperiment.getIslandId(1)),
+                basicExperiment.getId());
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        assertEquals(ExperimentState.EXCEPTION, statusCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void testRunSlice_runsTheCyclesInSlicesAndStopsAtTheEnd() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(25);
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+
+        // Act
+        basicExperiment.start();
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        ExperimentStatus status = statusCaptor.getValue();
+        assertTrue(basicExperiment.runSlice(10));
+        assertEquals(10, status.getCyclesCompleted());
+        assertTrue(basicExperiment.runSlice(10));
+        assertEquals(ExperimentState.RUNNING, status.getStatus());
+        assertFalse(basicExperiment.runSlice(10));
+
+        // Assert
+        verify(seeder).seed(basicExperiment.getId());
+        verify(experimentCycle, times(25)).mutationCycle(eq(basicExperiment.getId()), any(ExperimentStatus.class));
+        assertEquals(25, status.getCyclesCompleted());
+        assertEquals(ExperimentState.STOPPED, status.getStatus());
+    }
+
+    @Test
+    void testRunSlice_returnsWithoutWaitingWhenPaused() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(20);
+        when(experimentConfiguration.isPausable()).thenReturn(true);
+        when(experimentConfiguration.getPauseCycles()).thenReturn(3);
+        basicExperiment.start();
+
+        // Act & Assert - the auto-pause at cycle 3 ends the slice
+        assertTrue(basicExperiment.runSlice(10));
+        assertTrue(basicExperiment.isPaused());
+        assertTrue(basicExperiment.runSlice(10));
+        verify(experimentCycle, times(3)).mutationCycle(anyString(), any(ExperimentStatus.class));
+
+        basicExperiment.resume();
+        assertTrue(basicExperiment.runSlice(10));
+        verify(experimentCycle, times(6)).mutationCycle(anyString(), any(ExperimentStatus.class));
+    }
+
+    @Test
+    void testRunSlice_beforeStart_throws() {
+        assertThrows(IllegalStateException.class, () -> basicExperiment.runSlice(10));
+    }
+
+    @Test
+    void testRunSlice_setsStatusToExceptionOnError() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(5);
+        doThrow(new IllegalStateException("Cycle exception"))
+                .when(experimentCycle).mutationCycle(anyString(), any(ExperimentStatus.class));
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+        basicExperiment.start();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> basicExperiment.runSlice(10));
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        assertEquals(ExperimentState.EXCEPTION, statusCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void testRunExperiment_takesOverTheStatusSavedWhileQueued() {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(2);
+        ExperimentStatus queuedStatus = new ExperimentStatus();
+        queuedStatus.setExperimentId(basicExperiment.getId());
+        queuedStatus.setStatus(ExperimentState.QUEUED);
+        queuedStatus.setQueuePosition(1);
+        when(experimentStatusRepository.findByExperimentId(basicExperiment.getId()))
+                .thenReturn(Optional.of(queuedStatus));
+
+        // Act
+        basicExperiment.runExperiment();
+
+        // Assert
+        verify(experimentStatusRepository).save(queuedStatus);
+        assertEquals(0, queuedStatus.getQueuePosition());
+        assertEquals(2, queuedStatus.getCyclesCompleted());
+        assertEquals(ExperimentState.STOPPED, queuedStatus.getStatus());
+    }
+
+    @Test
+    void testPauseAndResume_onAVirtualThread() throws Exception {
+        // Arrange
+        when(experimentConfiguration.getCycleCount()).thenReturn(10);
+        when(experimentConfiguration.isPausable()).thenReturn(true);
+        when(experimentConfiguration.getPauseCycles()).thenReturn(5);
+
+        // Act - the experiment auto-pauses at cycle 5 and waits without holding its carrier
+        Thread runner = Thread.ofVirtual().start(basicExperiment::runExperiment);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!basicExperiment.isPaused() || runner.getState() != Thread.State.WAITING) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the pause");
+            Thread.sleep(1);
+        }
+        basicExperiment.resume();
+        runner.join(10_000);
+
+        // Assert
+        assertFalse(runner.isAlive());
+        verify(experimentCycle, times(10)).mutationCycle(anyString(), any(ExperimentStatus.class));
+    }
+
+    @Test
+    void testRunExperiment_withIslandsOfRealComponents_replacesSeedParentsOnEveryIsland() {
+        // Arrange - islands small enough that each replaces its seed parents many times
+        InMemoryOrganismRepository organismRepository = new InMemoryOrganismRepository();
+        RepositoryConfiguration repositoryConfiguration = new RepositoryConfiguration();
+        repositoryConfiguration.setSnapshotMutationInterval(1);
+        repositoryConfiguration.setSnapshotIntervalMillis(0);
+        InMemoryScoredOrganismRepository scoredOrganismRepository =
+                new InMemoryScoredOrganismRepository(repositoryConfiguration);
+        BasicEvaluator evaluator = new BasicEvaluator(1, 3);
+        List<DataQuantum> historicalData = new ArrayList<>();
+        for (int day = 0; day < 40; day++) {
+            DataQuantum dataQuantum = new DataQuantum();
+            dataQuantum.addValue(day);
+            dataQuantum.addValue(100 + Math.sin(day) * 10);
+            historicalData.add(dataQuantum);
+        }
+        evaluator.setHistoricalData(historicalData);
+        ExperimentConfiguration configuration = new ExperimentConfiguration();
+        configuration.setCycleCount(400);
+        configuration.setRepoCapacity(40);
+        configuration.setIslandCount(4);
+        configuration.setMigrationInterval(10);
+        configuration.setMigrationSize(2);
+        ExperimentCycleImpl cycle = new ExperimentCycleImpl(organismRepository, scoredOrganismRepository,
+                new BasicOrganismBreeder(), evaluator, configuration);
+        InMemoryExperimentStatusRepository statusRepository = new InMemoryExperimentStatusRepository();
+        BasicExperimentImpl experiment = new BasicExperimentImpl(
+                new BasicSeeder(scoredOrganismRepository, organismRepository, evaluator), configuration, cycle,
+                statusRepository, new IslandMigrator(scoredOrganismRepository, organismRepository));
+
+        // Act
+        experiment.runExperiment();
+
+        // Assert - no island deleted a seed organism another island still held
+        ExperimentStatus status = experiment.getExperimentStatus();
+        assertEquals(ExperimentState.STOPPED, status.getStatus());
+        assertEquals(400, status.getCyclesCompleted());
+        for (String organismId : scoredOrganismRepository.getAllOrganismIds(experiment.getId())) {
+            String id = scoredOrganismRepository.getById(organismId).organismId();
+            assertEquals(id, organismRepository.getOrganismById(id).getId());
+        }
+    }
 }
@@ -9,12 +9,17 @@ import com.intermancer.gaiaf.core.organism.repo.OrganismRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +52,9 @@ class ExperimentCycleImplTest {
     @Spy
     private ExperimentStatus experimentStatus = new ExperimentStatus();
 
+    @Captor
+    private ArgumentCaptor<List<ScoredOrganismRepository.Replacement>> replacementsCaptor;
+
     private ExperimentCycleImpl experimentCycle;
 
     @BeforeEach
@@ -147,8 +155,7 @@ class ExperimentCycleImplTest {
         Organism child2 = new Organism("child2");
         List<Organism> children = List.of(child1, child2);
 
-        when(evaluator.evaluate(argThat(o -> o != null && o.getId().equals("child1")))).thenReturn(2.5);
-        when(evaluator.evaluate(argThat(o -> o != null && o.getId().equals("child2")))).thenReturn(3.7);
+        when(evaluator.evaluateAll(children)).thenReturn(new double[] { 2.5, 3.7 });
 
         // When
         List<ScoredOrganism> result = experimentCycle.evaluateChildren(children, TEST_EXPERIMENT_ID);
@@ -162,9 +169,13 @@ class ExperimentCycleImplTest {
             assertEquals(TEST_EXPERIMENT_ID, scoredOrganism.experimentId());
             assertNotNull(scoredOrganism.id(), "New ScoredOrganism should have generated UUID id");
         }
+        assertEquals(2.5, result.get(0).score());
+        assertEquals(child1, result.get(0).organism());
+        assertEquals(3.7, result.get(1).score());
+        assertEquals(child2, result.get(1).organism());
 
-        verify(evaluator, times(1)).evaluate(argThat(o -> o != null && o.getId().equals("child1")));
-        verify(evaluator, times(1)).evaluate(argThat(o -> o != null && o.getId().equals("child2")));
+        verify(evaluator, times(1)).evaluateAll(children);
+        verify(evaluator, never()).evaluate(any());
     }
 
     @Test
@@ -248,21 +259,18 @@ class ExperimentCycleImplTest {
         when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(50);
         when(experimentConfiguration.getRepoCapacity()).thenReturn(50);
         when(organismRepository.saveOrganism(child1Org)).thenReturn(child1Org);
-        when(scoredOrganismRepository.save(any(ScoredOrganism.class)))
-                .thenAnswer(invocation -> {
-                    ScoredOrganism arg = invocation.getArgument(0);
-                    return new ScoredOrganism("new-id", arg.score(), arg.organismId(), arg.organism(), arg.experimentId());
-                });
+        when(scoredOrganismRepository.replace(anyList(), anyList())).thenReturn(true);
 
         // When
         experimentCycle.maintainRepository(parents, children, TEST_EXPERIMENT_ID, experimentStatus);
 
         // Then - worst parent should be replaced, organismsReplaced incremented by 1
         verify(scoredOrganismRepository).size(TEST_EXPERIMENT_ID);
-        verify(scoredOrganismRepository, times(1)).delete(parent2.id());
+        verify(scoredOrganismRepository, times(1)).replace(eq(List.of(parent2.id())),
+                argThat(replacements -> replacements.size() == 1 && replacements.get(0).organism() == child1Org));
         verify(organismRepository, times(1)).deleteOrganism(parent2.organismId());
         verify(organismRepository, times(1)).saveOrganism(child1Org);
-        verify(scoredOrganismRepository, times(1)).save(any(ScoredOrganism.class));
+        verify(scoredOrganismRepository, never()).save(any(ScoredOrganism.class));
         assertEquals(1, experimentStatus.getOrganismsReplaced());
     }
 
@@ -285,23 +293,19 @@ class ExperimentCycleImplTest {
         when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(50);
         when(experimentConfiguration.getRepoCapacity()).thenReturn(50);
         when(organismRepository.saveOrganism(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(scoredOrganismRepository.save(any(ScoredOrganism.class)))
-                .thenAnswer(invocation -> {
-                    ScoredOrganism arg = invocation.getArgument(0);
-                    return new ScoredOrganism("new-id", arg.score(), arg.organismId(), arg.organism(), arg.experimentId());
-                });
+        when(scoredOrganismRepository.replace(anyList(), anyList())).thenReturn(true);
 
         // When
         experimentCycle.maintainRepository(parents, children, TEST_EXPERIMENT_ID, experimentStatus);
 
         // Then - both parents should be replaced, organismsReplaced incremented by 2
         verify(scoredOrganismRepository).size(TEST_EXPERIMENT_ID);
-        verify(scoredOrganismRepository, times(1)).delete(parent1.id());
-        verify(scoredOrganismRepository, times(1)).delete(parent2.id());
+        verify(scoredOrganismRepository, times(1)).replace(eq(List.of(parent1.id(), parent2.id())),
+                argThat(replacements -> replacements.size() == 2));
         verify(organismRepository, times(1)).deleteOrganism(parent1.organismId());
         verify(organismRepository, times(1)).deleteOrganism(parent2.organismId());
         verify(organismRepository, times(2)).saveOrganism(any());
-        verify(scoredOrganismRepository, times(2)).save(any(ScoredOrganism.class));
+        verify(scoredOrganismRepository, never()).save(any(ScoredOrganism.class));
         assertEquals(2, experimentStatus.getOrganismsReplaced());
     }
 
@@ -324,19 +328,14 @@ class ExperimentCycleImplTest {
         when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(50);
         when(experimentConfiguration.getRepoCapacity()).thenReturn(50);
         when(organismBreeder.breed(any())).thenReturn(List.of(child1Org, child2Org));
-        when(evaluator.evaluate(child1Org)).thenReturn(2.0);
-        when(evaluator.evaluate(child2Org)).thenReturn(6.0);
+        when(evaluator.evaluateAll(List.of(child1Org, child2Org), 5.0)).thenReturn(new double[] { 2.0, 6.0 });
 
         MutationCommand mutation = mock(MutationCommand.class);
         when(child1Org.getMutationCommandList()).thenReturn(List.of(mutation));
         when(child2Org.getMutationCommandList()).thenReturn(List.of(mutation));
 
         when(organismRepository.saveOrganism(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(scoredOrganismRepository.save(any(ScoredOrganism.class)))
-                .thenAnswer(invocation -> {
-                    ScoredOrganism arg = invocation.getArgument(0);
-                    return new ScoredOrganism("new-id", arg.score(), arg.organismId(), arg.organism(), arg.experimentId());
-                });
+        when(scoredOrganismRepository.replace(anyList(), anyList())).thenReturn(true);
 
         // When
         experimentCycle.mutationCycle(TEST_EXPERIMENT_ID, experimentStatus);
@@ -344,10 +343,10 @@ class ExperimentCycleImplTest {
         // Then - verify experimentId was used throughout
         verify(scoredOrganismRepository).getRandomFromTopPercent(TEST_EXPERIMENT_ID, 0.1f);
         verify(scoredOrganismRepository).getRandomFromBottomPercent(TEST_EXPERIMENT_ID, 0.9f);
-        verify(scoredOrganismRepository).size(TEST_EXPERIMENT_ID);
+        // Once to choose the evaluation cutoff, once to maintain the repository
+        verify(scoredOrganismRepository, times(2)).size(TEST_EXPERIMENT_ID);
         verify(organismBreeder).breed(any());
-        verify(evaluator).evaluate(child1Org);
-        verify(evaluator).evaluate(child2Org);
+        verify(evaluator).evaluateAll(List.of(child1Org, child2Org), 5.0);
         verify(mutation, atLeastOnce()).execute();
         assertEquals(1, experimentStatus.getOrganismsReplaced());
     }
@@ -371,8 +370,7 @@ class ExperimentCycleImplTest {
         when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(10);
         when(experimentConfiguration.getRepoCapacity()).thenReturn(50);
         when(organismBreeder.breed(any())).thenReturn(List.of(child1Org, child2Org));
-        when(evaluator.evaluate(child1Org)).thenReturn(2.0);
-        when(evaluator.evaluate(child2Org)).thenReturn(6.0);
+        when(evaluator.evaluateAll(List.of(child1Org, child2Org))).thenReturn(new double[] { 2.0, 6.0 });
 
         MutationCommand mutation = mock(MutationCommand.class);
         when(child1Org.getMutationCommandList()).thenReturn(List.of(mutation));
@@ -389,7 +387,8 @@ class ExperimentCycleImplTest {
         experimentCycle.mutationCycle(TEST_EXPERIMENT_ID, experimentStatus);
 
         // Then - children added but no replacements
-        verify(scoredOrganismRepository).size(TEST_EXPERIMENT_ID);
+        verify(scoredOrganismRepository, times(2)).size(TEST_EXPERIMENT_ID);
+        verify(evaluator, never()).evaluateAll(anyList(), anyDouble());
         verify(organismRepository, times(2)).saveOrganism(any());
         verify(scoredOrganismRepository, times(2)).save(any());
         verify(scoredOrganismRepository, never()).delete(any());
@@ -453,7 +452,7 @@ class ExperimentCycleImplTest {
         when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(50);
         when(experimentConfiguration.getRepoCapacity()).thenReturn(50);
         when(organismRepository.saveOrganism(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(scoredOrganismRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(scoredOrganismRepository.replace(anyList(), anyList())).thenReturn(true);
 
         // When - run maintenance twice
         experimentCycle.maintainRepository(parents, children, TEST_EXPERIMENT_ID, experimentStatus);
@@ -462,4 +461,284 @@ class ExperimentCycleImplTest {
         // Then - should accumulate to 2 replacements
         assertEquals(2, experimentStatus.getOrganismsReplaced());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMaintainRepository_replacementConflictDropsChildren() {
+        // Given - another worker replaced the worse parent after it was selected
+        Organism parent1Org = new Organism("parent1");
+        Organism parent2Org = new Organism("parent2");
+        Organism child1Org = new Organism("child1");
+
+        ScoredOrganism parent1 = new ScoredOrganism("sp1", 1.0, "parent1", parent1Org, TEST_EXPERIMENT_ID);
+        ScoredOrganism parent2 = new ScoredOrganism("sp2", 5.0, "parent2", parent2Org, TEST_EXPERIMENT_ID);
+        ScoredOrganism child1 = new ScoredOrganism(null, 2.0, "child1", child1Org, TEST_EXPERIMENT_ID);
+
+        when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(50);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(50);
+        when(organismRepository.saveOrganism(child1Org)).thenReturn(child1Org);
+        when(scoredOrganismRepository.replace(anyList(), anyList())).thenReturn(false);
+
+        // When
+        experimentCycle.maintainRepository(List.of(parent1, parent2), List.of(child1),
+                TEST_EXPERIMENT_ID, experimentStatus);
+
+        // Then - the child is discarded and the parents' organisms are kept
+        verify(organismRepository).deleteOrganism(child1Org.getId());
+        verify(organismRepository, never()).deleteOrganism(parent2.organismId());
+        assertEquals(0, experimentStatus.getOrganismsReplaced());
+        assertEquals(1, experimentStatus.getReplacementConflicts());
+    }
+
+    @Test
+    void testEvaluateChildrenWithCutoff_passesCutoffToEvaluator() {
+        Organism child1 = new Organism("child1");
+        Organism child2 = new Organism("child2");
+        List<Organism> children = List.of(child1, child2);
+        when(evaluator.evaluateAll(children, 4.0)).thenReturn(new double[] { 3.0, Evaluator.REJECTED_SCORE });
+
+        List<ScoredOrganism> scoredChildren = experimentCycle.evaluateChildren(children, TEST_EXPERIMENT_ID, 4.0);
+
+        assertEquals(3.0, scoredChildren.get(0).score());
+        assertEquals(Evaluator.REJECTED_SCORE, scoredChildren.get(1).score());
+        verify(evaluator, never()).evaluateAll(children);
+    }
+
+    @Test
+    void testGetChildScoreCutoff_isTheWorseParentsScoreOnlyAtCapacity() {
+        ScoredOrganism parent1 = new ScoredOrganism("sp1", 1.0, "parent1", new Organism("parent1"), TEST_EXPERIMENT_ID);
+        ScoredOrganism parent2 = new ScoredOrganism("sp2", 5.0, "parent2", new Organism("parent2"), TEST_EXPERIMENT_ID);
+        when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(9, 10);
+
+        assertNull(experimentCycle.getChildScoreCutoff(List.of(parent1, parent2), TEST_EXPERIMENT_ID, 10));
+        assertEquals(5.0, experimentCycle.getChildScoreCutoff(List.of(parent1, parent2), TEST_EXPERIMENT_ID, 10));
+        assertNull(experimentCycle.getChildScoreCutoff(List.of(parent1), TEST_EXPERIMENT_ID, 10));
+    }
+
+    @Test
+    void testMaintainRepository_rejectedChildrenAreNotKept() {
+        Organism parent1Org = new Organism("parent1");
+        Organism parent2Org = new Organism("parent2");
+        ScoredOrganism parent1 = new ScoredOrganism("sp1", 1.0, "parent1", parent1Org, TEST_EXPERIMENT_ID);
+        ScoredOrganism parent2 = new ScoredOrganism("sp2", 5.0, "parent2", parent2Org, TEST_EXPERIMENT_ID);
+        ScoredOrganism child1 = new ScoredOrganism(Evaluator.REJECTED_SCORE, new Organism("child1"), TEST_EXPERIMENT_ID);
+        ScoredOrganism child2 = new ScoredOrganism(Evaluator.REJECTED_SCORE, new Organism("child2"), TEST_EXPERIMENT_ID);
+
+        when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(50);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(50);
+
+        experimentCycle.maintainRepository(List.of(parent1, parent2), List.of(child1, child2),
+                TEST_EXPERIMENT_ID, experimentStatus);
+
+        verify(scoredOrganismRepository, never()).delete(any());
+        verify(organismRepository, never()).saveOrganism(any());
+        assertEquals(0, experimentStatus.getOrganismsReplaced());
+    }
+
+    @Test
+    void testEvaluateChildrenInParallel_collectsScoresInOrder() {
+        List<Organism> children = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            children.add(new Organism("child" + i));
+        }
+        when(experimentConfiguration.getEvaluationParallelism()).thenReturn(3);
+        when(experimentConfiguration.getEvaluationThreadType()).thenReturn(EvaluationThreadType.PLATFORM);
+        List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+        List<String> firstIds = Collections.synchronizedList(new ArrayList<>());
+        when(evaluator.evaluateAll(anyList())).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            List<Organism> group = invocation.getArgument(0);
+            firstIds.add(group.get(0).getId() + "+" + group.size());
+            return group.stream().mapToDouble(organism -> Double.parseDouble(organism.getId().substring(5))).toArray();
+        });
+
+        try {
+            List<ScoredOrganism> result = experimentCycle.evaluateChildren(children, TEST_EXPERIMENT_ID);
+
+            assertEquals(7, result.size());
+            for (int i = 0; i < 7; i++) {
+                assertEquals(children.get(i), result.get(i).organism());
+                assertEquals(i, result.get(i).score());
+            }
+            // Empty organisms are all equal, so the groups are told apart by their first child's ID
+            assertEquals(List.of("child0+2", "child2+2", "child4+3"), firstIds.stream().sorted().toList());
+            assertTrue(threadNames.stream().allMatch(name -> name.startsWith("gaiaf-evaluation-")));
+        } finally {
+            experimentCycle.shutdown();
+        }
+    }
+
+    @Test
+    void testEvaluateChildrenOnVirtualThreads_passesCutoffToEveryGroup() {
+        Organism child1 = new Organism("child1");
+        Organism child2 = new Organism("child2");
+        List<Organism> children = List.of(child1, child2);
+        when(experimentConfiguration.getEvaluationParallelism()).thenReturn(4);
+        when(experimentConfiguration.getEvaluationThreadType()).thenReturn(EvaluationThreadType.VIRTUAL);
+        List<Boolean> virtualThreads = Collections.synchronizedList(new ArrayList<>());
+        when(evaluator.evaluateAll(anyList(), eq(4.0))).thenAnswer(invocation -> {
+            virtualThreads.add(Thread.currentThread().isVirtual());
+            List<Organism> group = invocation.getArgument(0);
+            return new double[] { group.get(0) == child1 ? 3.0 : Evaluator.REJECTED_SCORE };
+        });
+
+        try {
+            List<ScoredOrganism> result = experimentCycle.evaluateChildren(children, TEST_EXPERIMENT_ID, 4.0);
+
+            // Never more groups than children
+            verify(evaluator, times(2)).evaluateAll(anyList(), eq(4.0));
+            assertEquals(List.of(true, true), virtualThreads);
+            assertEquals(3.0, result.get(0).score());
+            assertEquals(Evaluator.REJECTED_SCORE, result.get(1).score());
+        } finally {
+            experimentCycle.shutdown();
+        }
+    }
+
+    @Test
+    void testEvaluateChildrenInParallel_rethrowsEvaluationFailures() {
+        List<Organism> children = List.of(new Organism("child1"), new Organism("child2"));
+        when(experimentConfiguration.getEvaluationParallelism()).thenReturn(2);
+        when(experimentConfiguration.getEvaluationThreadType()).thenReturn(EvaluationThreadType.PLATFORM);
+        when(evaluator.evaluateAll(anyList())).thenThrow(new IllegalStateException("No data"));
+
+        try {
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> experimentCycle.evaluateChildren(children, TEST_EXPERIMENT_ID));
+            assertEquals("No data", exception.getMessage());
+        } finally {
+            experimentCycle.shutdown();
+        }
+    }
+
+    @Test
+    void testEvaluateChildrenOnVirtualThreads_failureCancelsTheOtherGroupsAndClosesTheScope() {
+        Organism slowChild = new Organism("slow");
+        Organism failingChild = new Organism("failing");
+        when(experimentConfiguration.getEvaluationParallelism()).thenReturn(2);
+        when(experimentConfiguration.getEvaluationThreadType()).thenReturn(EvaluationThreadType.VIRTUAL);
+        AtomicBoolean slowGroupInterrupted = new AtomicBoolean();
+        AtomicBoolean slowGroupFinished = new AtomicBoolean();
+        CountDownLatch slowGroupStarted = new CountDownLatch(1);
+        when(evaluator.evaluateAll(anyList())).thenAnswer(invocation -> {
+            List<Organism> group = invocation.getArgument(0);
+            if (group.get(0) != slowChild) {
+                slowGroupStarted.await();
+                throw new IllegalStateException("No data");
+            }
+            slowGroupStarted.countDown();
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                slowGroupInterrupted.set(true);
+            } finally {
+                slowGroupFinished.set(true);
+            }
+            return new double[] { 1.0 };
+        });
+
+        long start = System.nanoTime();
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> experimentCycle.evaluateChildren(List.of(slowChild, failingChild), TEST_EXPERIMENT_ID));
+
+        // The slow group was cancelled rather than waited for, and had ended when the call returned
+        assertEquals("No data", exception.getMessage());
+        assertTrue(System.nanoTime() - start < 10_000_000_000L);
+        assertTrue(slowGroupInterrupted.get());
+        assertTrue(slowGroupFinished.get());
+    }
+
+    @Test
+    void testMutationCycleWithCapacity_usesGivenCapacityInsteadOfConfiguration() {
+        // Given - an island of capacity 10 that is full, although repoCapacity is larger
+        Organism child1Org = new Organism("child1");
+        Organism child2Org = new Organism("child2");
+        ScoredOrganism parent1 = new ScoredOrganism("sp1", 1.0, "parent1", new Organism("parent1"), TEST_EXPERIMENT_ID);
+        ScoredOrganism parent2 = new ScoredOrganism("sp2", 5.0, "parent2", new Organism("parent2"), TEST_EXPERIMENT_ID);
+
+        when(scoredOrganismRepository.getRandomFromTopPercent(TEST_EXPERIMENT_ID, 0.1f)).thenReturn(parent1);
+        when(scoredOrganismRepository.getRandomFromBottomPercent(TEST_EXPERIMENT_ID, 0.9f)).thenReturn(parent2);
+        when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(10);
+        when(organismBreeder.breed(any())).thenReturn(List.of(child1Org, child2Org));
+        when(evaluator.evaluateAll(List.of(child1Org, child2Org), 5.0))
+                .thenReturn(new double[] { Evaluator.REJECTED_SCORE, Evaluator.REJECTED_SCORE });
+
+        // When
+        experimentCycle.mutationCycle(TEST_EXPERIMENT_ID, 10, experimentStatus);
+
+        // Then - the island is treated as full: children are evaluated against the cutoff and not added
+        verify(experimentConfiguration, never()).getRepoCapacity();
+        verify(evaluator).evaluateAll(List.of(child1Org, child2Org), 5.0);
+        verify(scoredOrganismRepository, never()).save(any());
+        verify(scoredOrganismRepository, never()).replace(anyList(), anyList());
+    }
+
+    @Test
+    void testBatchCycle_notAtCapacity_addsEveryFamilyInOneReplaceAll() {
+        // Given - three families per cycle, and room for all of their children
+        ScoredOrganism parent1 = new ScoredOrganism("sp1", 1.0, "parent1", new Organism("parent1"), TEST_EXPERIMENT_ID);
+        ScoredOrganism parent2 = new ScoredOrganism("sp2", 5.0, "parent2", new Organism("parent2"), TEST_EXPERIMENT_ID);
+
+        when(experimentConfiguration.getBatchSize()).thenReturn(3);
+        when(scoredOrganismRepository.getRandomFromTopPercent(TEST_EXPERIMENT_ID, 0.1f)).thenReturn(parent1);
+        when(scoredOrganismRepository.getRandomFromBottomPercent(TEST_EXPERIMENT_ID, 0.9f)).thenReturn(parent2);
+        when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(10);
+        when(organismBreeder.breed(any())).thenAnswer(invocation -> List.of(mock(Organism.class), mock(Organism.class)));
+        when(evaluator.evaluateAll(argThat(children -> children.size() == 6)))
+                .thenReturn(new double[] { 1.0, 2.0, 3.0, 4.0, 5.0, 6.0 });
+        when(organismRepository.saveOrganism(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(scoredOrganismRepository.replaceAll(anyList())).thenReturn(new boolean[] { true, true, true });
+
+        // When
+        experimentCycle.mutationCycle(TEST_EXPERIMENT_ID, 50, experimentStatus);
+
+        // Then - the children of all families are evaluated together and saved in one call
+        verify(organismBreeder, times(3)).breed(any());
+        verify(evaluator, times(1)).evaluateAll(anyList());
+        verify(scoredOrganismRepository).replaceAll(replacementsCaptor.capture());
+        List<ScoredOrganismRepository.Replacement> replacements = replacementsCaptor.getValue();
+        assertEquals(3, replacements.size());
+        for (int family = 0; family < 3; family++) {
+            assertEquals(List.of(), replacements.get(family).ids());
+            assertEquals(List.of(2.0 * family + 1, 2.0 * family + 2), replacements.get(family).replacements().stream()
+                    .map(ScoredOrganism::score).toList());
+        }
+        verify(scoredOrganismRepository, never()).save(any());
+        assertEquals(0, experimentStatus.getOrganismsReplaced());
+    }
+
+    @Test
+    void testBatchCycle_atCapacity_appliesReplacementsAndCountsConflicts() {
+        // Given - both families of the batch chose the same worse parent
+        ScoredOrganism parent1 = new ScoredOrganism("sp1", 1.0, "parent1", new Organism("parent1"), TEST_EXPERIMENT_ID);
+        ScoredOrganism parent2 = new ScoredOrganism("sp2", 5.0, "parent2", new Organism("parent2"), TEST_EXPERIMENT_ID);
+        Organism firstFamilyChild = mock(Organism.class);
+        Organism secondFamilyChild = mock(Organism.class);
+        when(firstFamilyChild.getId()).thenReturn("child1");
+        when(secondFamilyChild.getId()).thenReturn("child3");
+
+        when(experimentConfiguration.getBatchSize()).thenReturn(2);
+        when(scoredOrganismRepository.getRandomFromTopPercent(TEST_EXPERIMENT_ID, 0.1f)).thenReturn(parent1);
+        when(scoredOrganismRepository.getRandomFromBottomPercent(TEST_EXPERIMENT_ID, 0.9f)).thenReturn(parent2);
+        when(scoredOrganismRepository.size(TEST_EXPERIMENT_ID)).thenReturn(50);
+        when(organismBreeder.breed(any()))
+                .thenReturn(List.of(firstFamilyChild, mock(Organism.class)))
+                .thenReturn(List.of(secondFamilyChild, mock(Organism.class)));
+        when(evaluator.evaluateAll(anyList(), eq(5.0)))
+                .thenReturn(new double[] { 2.0, Evaluator.REJECTED_SCORE, 3.0, Evaluator.REJECTED_SCORE });
+        when(organismRepository.saveOrganism(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(scoredOrganismRepository.replaceAll(anyList())).thenReturn(new boolean[] { true, false });
+
+        // When
+        experimentCycle.mutationCycle(TEST_EXPERIMENT_ID, 50, experimentStatus);
+
+        // Then - the first family replaces the parent, the second family's child is discarded
+        verify(scoredOrganismRepository).replaceAll(argThat(replacements -> replacements.size() == 2
+                && replacements.get(0).ids().equals(List.of("sp2"))
+                && replacements.get(1).ids().equals(List.of("sp2"))));
+        verify(organismRepository).deleteOrganism("parent2");
+        verify(organismRepository).deleteOrganism("child3");
+        verify(organismRepository, never()).deleteOrganism("child1");
+        assertEquals(1, experimentStatus.getOrganismsReplaced());
+        assertEquals(1, experimentStatus.getReplacementConflicts());
+    }
+}
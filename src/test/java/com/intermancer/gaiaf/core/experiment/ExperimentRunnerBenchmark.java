@@ -0,0 +1,153 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import com.intermancer.gaiaf.core.experiment.repo.InMemoryExperimentStatusRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the ways of running many experiments at once: the @Async pool the experiments
+ * ran on before (Spring Boot's default of 8 platform threads), a platform thread per
+ * experiment, a virtual thread per experiment, and the ExperimentScheduler.
+ *
+ * <p>Each run starts 100 experiments whose cycles do some CPU work and, in the blocking
+ * workload, also wait as if loading data. Every experiment auto-pauses half way and is
+ * resumed 20 ms later. The peak number of live threads, the peak heap in use and the
+ * cycles per second are printed for each runner.</p>
+ *
+ * Excluded from the test task; run it with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class ExperimentRunnerBenchmark {
+
+    private static final int EXPERIMENT_COUNT = 100;
+    private static final int CYCLE_COUNT = 200;
+    private static final long RESUME_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private enum Runner {
+        ASYNC_POOL, PLATFORM_THREADS, VIRTUAL_THREADS, SCHEDULER
+    }
+
+    @Test
+    void benchmarkExperimentRunners() throws InterruptedException {
+        for (boolean blocking : new boolean[] { false, true }) {
+            // Warm up once, untimed
+            run(Runner.VIRTUAL_THREADS, blocking);
+            for (Runner runner : Runner.values()) {
+                Result result = run(runner, blocking);
+                System.out.printf("%-8s %-16s peak threads %4d, peak heap %6.1f MB, %,9.0f cycles/s%n",
+                        blocking ? "blocking" : "cpu", runner, result.peakThreads(),
+                        result.peakHeapBytes() / 1_048_576.0, result.cyclesPerSecond());
+            }
+        }
+    }
+
+    private record Result(int peakThreads, long peakHeapBytes, double cyclesPerSecond) {
+    }
+
+    private Result run(Runner runner, boolean blocking) throws InterruptedException {
+        ExperimentConfiguration configuration = new ExperimentConfiguration();
+        configuration.setCycleCount(CYCLE_COUNT);
+        configuration.setPausable(true);
+        configuration.setPauseCycles(CYCLE_COUNT / 2);
+        configuration.setSchedulerThreads(8);
+        configuration.setSliceCycles(10);
+
+        ExperimentCycle experimentCycle = mock(ExperimentCycle.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            work(blocking);
+            return null;
+        }).when(experimentCycle).mutationCycle(anyString(), any(ExperimentStatus.class));
+        Seeder seeder = mock(Seeder.class, withSettings().stubOnly());
+        InMemoryExperimentStatusRepository statusRepository = new InMemoryExperimentStatusRepository();
+
+        List<BasicExperimentImpl> experiments = new ArrayList<>(EXPERIMENT_COUNT);
+        for (int i = 0; i < EXPERIMENT_COUNT; i++) {
+            experiments.add(new BasicExperimentImpl(seeder, configuration, experimentCycle, statusRepository, null));
+        }
+
+        System.gc();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        threads.resetPeakThreadCount();
+        long peakHeap = memory.getHeapMemoryUsage().getUsed();
+
+        CountDownLatch completed = new CountDownLatch(EXPERIMENT_COUNT);
+        ExperimentScheduler scheduler = new ExperimentScheduler(configuration);
+        ExecutorService executor = switch (runner) {
+            case ASYNC_POOL -> Executors.newFixedThreadPool(8);
+            case PLATFORM_THREADS -> Executors.newThreadPerTaskExecutor(Thread.ofPlatform().factory());
+            case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+            case SCHEDULER -> null;
+        };
+        long start = System.nanoTime();
+        for (BasicExperimentImpl experiment : experiments) {
+            if (executor != null) {
+                executor.execute(() -> {
+                    experiment.runExperiment();
+                    completed.countDown();
+                });
+            } else {
+                scheduler.schedule(experiment, 1, 0, completed::countDown);
+            }
+        }
+
+        // Resume each paused experiment after a delay, sampling the heap meanwhile
+        long[] pausedSince = new long[EXPERIMENT_COUNT];
+        while (!completed.await(1, TimeUnit.MILLISECONDS)) {
+            long now = System.nanoTime();
+            for (int i = 0; i < EXPERIMENT_COUNT; i++) {
+                BasicExperimentImpl experiment = experiments.get(i);
+                if (!experiment.isPaused()) {
+                    pausedSince[i] = 0;
+                } else if (pausedSince[i] == 0) {
+                    pausedSince[i] = now;
+                } else if (now - pausedSince[i] >= RESUME_DELAY_NANOS) {
+                    experiment.resume();
+                    scheduler.resume(experiment.getId());
+                }
+            }
+            peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int peakThreads = threads.getPeakThreadCount();
+
+        if (executor != null) {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        scheduler.shutdown();
+        return new Result(peakThreads, peakHeap, EXPERIMENT_COUNT * CYCLE_COUNT / seconds);
+    }
+
+    /**
+     * A cycle's work: some arithmetic, and in the blocking workload a 1 ms wait.
+     */
+    private static void work(boolean blocking) {
+        double x = 0;
+        for (int i = 0; i < 20_000; i++) {
+            x += Math.sqrt(i);
+        }
+        if (x < 0) {
+            throw new IllegalStateException();
+        }
+        if (blocking) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ExperimentScheduler, with experiments that record the order of their slices.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExperimentSchedulerTest {
+
+    @Mock
+    private ExperimentConfiguration experimentConfiguration;
+
+    private ExperimentScheduler experimentScheduler;
+
+    private final List<String> slicesRun = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * An experiment of a fixed number of slices, each recorded in slicesRun.
+     */
+    private class SlicedExperiment implements Experiment {
+        private final String id;
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private int slicesRemaining;
+        private int pauseAfterSlices;
+        private CountDownLatch gate;
+        private volatile boolean paused;
+
+        private SlicedExperiment(String id, int slices) {
+            this.id = id;
+            this.slicesRemaining = slices;
+        }
+
+        @Override
+        public void runExperiment() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public boolean runSlice(int maxCycles) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            if (paused) {
+                return true;
+            }
+            slicesRun.add(id);
+            if (--slicesRemaining == 0) {
+                completed.countDown();
+                return false;
+            }
+            if (--pauseAfterSlices == 0) {
+                paused = true;
+            }
+            return true;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void pause() {
+            paused = true;
+        }
+
+        @Override
+        public void resume() {
+            paused = false;
+        }
+
+        @Override
+        public boolean isPaused() {
+            return paused;
+        }
+
+        private void awaitCompletion() throws InterruptedException {
+            assertTrue(completed.await(10, TimeUnit.SECONDS), "Timed out waiting for " + id);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        experimentScheduler = new ExperimentScheduler(experimentConfiguration);
+        when(experimentConfiguration.getSchedulerThreads()).thenReturn(1);
+        when(experimentConfiguration.getSliceCycles()).thenReturn(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        experimentScheduler.shutdown();
+    }
+
+    /**
+     * Schedules an experiment that holds the only worker until the returned latch is
+     * released, so that the experiments scheduled next are all queued when it is.
+     */
+    private CountDownLatch holdTheWorker() {
+        SlicedExperiment holder = new SlicedExperiment("holder", 1);
+        holder.gate = new CountDownLatch(1);
+        experimentScheduler.schedule(holder, 1, Integer.MAX_VALUE);
+        return holder.gate;
+    }
+
+    @Test
+    void testSchedule_sharesCyclesInProportionToWeight() throws InterruptedException {
+        SlicedExperiment light = new SlicedExperiment("light", 40);
+        SlicedExperiment heavy = new SlicedExperiment("heavy", 40);
+        CountDownLatch gate = holdTheWorker();
+        experimentScheduler.schedule(light, 1, 0);
+        experimentScheduler.schedule(heavy, 3, 0);
+
+        gate.countDown();
+        heavy.awaitCompletion();
+        light.awaitCompletion();
+
+        // While both were running, the heavy experiment ran three slices for each light one
+        List<String> order = new ArrayList<>(slicesRun);
+        int lightSlicesBeforeHeavyCompleted = Collections.frequency(
+                order.subList(0, order.lastIndexOf("heavy") + 1), "light");
+        assertTrue(lightSlicesBeforeHeavyCompleted >= 12 && lightSlicesBeforeHeavyCompleted <= 15,
+                "light ran " + lightSlicesBeforeHeavyCompleted + " slices");
+    }
+
+    @Test
+    void testSchedule_runsHigherPrioritiesFirst() throws InterruptedException {
+        SlicedExperiment background = new SlicedExperiment("background", 5);
+        SlicedExperiment urgent = new SlicedExperiment("urgent", 5);
+        CountDownLatch gate = holdTheWorker();
+        experimentScheduler.schedule(background, 10, 0);
+        experimentScheduler.schedule(urgent, 1, 1);
+
+        gate.countDown();
+        background.awaitCompletion();
+
+        assertEquals(List.of("holder", "urgent", "urgent", "urgent", "urgent", "urgent",
+                "background", "background", "background", "background", "background"), slicesRun);
+    }
+
+    @Test
+    void testPausedExperiment_isParkedWithoutHoldingAThread() throws InterruptedException {
+        SlicedExperiment pausing = new SlicedExperiment("pausing", 5);
+        pausing.pauseAfterSlices = 2;
+        SlicedExperiment other = new SlicedExperiment("other", 10);
+        CountDownLatch gate = holdTheWorker();
+        experimentScheduler.schedule(pausing, 1, 0);
+        experimentScheduler.schedule(other, 1, 0);
+
+        // The only worker runs the other experiment to completion while the first is paused
+        gate.countDown();
+        other.awaitCompletion();
+        assertEquals(2, Collections.frequency(slicesRun, "pausing"));
+        assertEquals(1, experimentScheduler.getParkedCount());
+
+        pausing.resume();
+        experimentScheduler.resume("pausing");
+        pausing.awaitCompletion();
+        assertEquals(5, Collections.frequency(slicesRun, "pausing"));
+        assertEquals(0, experimentScheduler.getParkedCount());
+    }
+
+    @Test
+    void testResume_beforeTheSliceEnds_keepsTheExperimentQueued() throws InterruptedException {
+        SlicedExperiment experiment = new SlicedExperiment("experiment", 3);
+        experiment.gate = new CountDownLatch(1);
+        experimentScheduler.schedule(experiment, 1, 0);
+
+        // Paused and resumed while its slice is running
+        experiment.pause();
+        experiment.resume();
+        experimentScheduler.resume("experiment");
+        experiment.gate.countDown();
+
+        experiment.awaitCompletion();
+        assertEquals(0, experimentScheduler.getParkedCount());
+    }
+
+    @Test
+    void testFailingExperiment_doesNotStopTheScheduler() throws InterruptedException {
+        SlicedExperiment failing = new SlicedExperiment("failing", 5) {
+            @Override
+            public void start() {
+                throw new IllegalStateException("Seeder exception");
+            }
+        };
+        SlicedExperiment other = new SlicedExperiment("other", 3);
+        experimentScheduler.schedule(failing, 1, 0);
+        experimentScheduler.schedule(other, 1, 0);
+
+        other.awaitCompletion();
+        assertFalse(slicesRun.contains("failing"));
+        assertEquals(0, experimentScheduler.getQueuedCount());
+    }
+
+    @Test
+    void testCompletion_callsOnCompletionForCompletedAndFailedExperiments() throws InterruptedException {
+        SlicedExperiment failing = new SlicedExperiment("failing", 5) {
+            @Override
+            public boolean runSlice(int maxCycles) {
+                throw new IllegalStateException("Cycle exception");
+            }
+        };
+        SlicedExperiment completing = new SlicedExperiment("completing", 2);
+        CountDownLatch completions = new CountDownLatch(2);
+        experimentScheduler.schedule(failing, 1, 0, completions::countDown);
+        experimentScheduler.schedule(completing, 1, 0, completions::countDown);
+
+        assertTrue(completions.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSchedule_withAWeightBelowOne_throws() {
+        reset(experimentConfiguration);
+        SlicedExperiment experiment = new SlicedExperiment("experiment", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> experimentScheduler.schedule(experiment, 0, 0));
+    }
+}
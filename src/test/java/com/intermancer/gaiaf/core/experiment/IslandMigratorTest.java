@@ -0,0 +1,115 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import com.intermancer.gaiaf.core.evaluate.ScoredOrganism;
+import com.intermancer.gaiaf.core.evaluate.ScoredOrganismRepository;
+import com.intermancer.gaiaf.core.organism.Organism;
+import com.intermancer.gaiaf.core.organism.repo.OrganismRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for IslandMigrator.
+ */
+@ExtendWith(MockitoExtension.class)
+class IslandMigratorTest {
+
+    private static final String SOURCE_ISLAND_ID = "exp:island-0";
+    private static final String TARGET_ISLAND_ID = "exp:island-1";
+
+    @Mock
+    private ScoredOrganismRepository scoredOrganismRepository;
+
+    @Mock
+    private OrganismRepository organismRepository;
+
+    private IslandMigrator islandMigrator;
+
+    private final ScoredOrganism migrant =
+            new ScoredOrganism("migrant", 2.0, "migrant-organism", new Organism("migrant-organism"), SOURCE_ISLAND_ID);
+
+    @BeforeEach
+    void setUp() {
+        islandMigrator = new IslandMigrator(scoredOrganismRepository, organismRepository);
+        when(scoredOrganismRepository.getTopOrganisms(SOURCE_ISLAND_ID, 1)).thenReturn(List.of(migrant));
+    }
+
+    @Test
+    void testMigrateBelowCapacity_addsACopyWithTheMigrantsScore() {
+        when(scoredOrganismRepository.size(TARGET_ISLAND_ID)).thenReturn(5);
+        when(organismRepository.saveOrganism(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<ScoredOrganism> settlerCaptor = ArgumentCaptor.forClass(ScoredOrganism.class);
+
+        assertEquals(1, islandMigrator.migrate(SOURCE_ISLAND_ID, TARGET_ISLAND_ID, 1, 10));
+
+        verify(scoredOrganismRepository).save(settlerCaptor.capture());
+        ScoredOrganism settler = settlerCaptor.getValue();
+        assertEquals(2.0, settler.score());
+        assertEquals(TARGET_ISLAND_ID, settler.experimentId());
+        assertNotSame(migrant.organism(), settler.organism());
+        assertNotEquals(migrant.organismId(), settler.organismId());
+        assertEquals(settler.organism().getId(), settler.organismId());
+    }
+
+    @Test
+    void testMigrateAtCapacity_replacesTheTargetsWorseOrganism() {
+        ScoredOrganism worst = new ScoredOrganism("worst", 7.0, "worst-organism", new Organism("worst-organism"),
+                TARGET_ISLAND_ID);
+        when(scoredOrganismRepository.size(TARGET_ISLAND_ID)).thenReturn(10);
+        when(scoredOrganismRepository.getRandomFromBottomPercent(TARGET_ISLAND_ID, 0.0f)).thenReturn(worst);
+        when(organismRepository.saveOrganism(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(scoredOrganismRepository.replace(eq(List.of("worst")), anyList())).thenReturn(true);
+
+        assertEquals(1, islandMigrator.migrate(SOURCE_ISLAND_ID, TARGET_ISLAND_ID, 1, 10));
+
+        verify(organismRepository).deleteOrganism("worst-organism");
+        verify(scoredOrganismRepository, never()).save(any());
+    }
+
+    @Test
+    void testMigrateAtCapacity_skipsMigrantsNoBetterThanTheTargetsWorst() {
+        ScoredOrganism worst = new ScoredOrganism("worst", 1.0, "worst-organism", new Organism("worst-organism"),
+                TARGET_ISLAND_ID);
+        when(scoredOrganismRepository.size(TARGET_ISLAND_ID)).thenReturn(10);
+        when(scoredOrganismRepository.getRandomFromBottomPercent(TARGET_ISLAND_ID, 0.0f)).thenReturn(worst);
+
+        assertEquals(0, islandMigrator.migrate(SOURCE_ISLAND_ID, TARGET_ISLAND_ID, 1, 10));
+
+        verifyNoInteractions(organismRepository);
+        verify(scoredOrganismRepository, never()).replace(anyList(), anyList());
+    }
+
+    @Test
+    void testMigrateAtCapacity_discardsTheCopyWhenTheWorstWasAlreadyReplaced() {
+        ScoredOrganism worst = new ScoredOrganism("worst", 7.0, "worst-organism", new Organism("worst-organism"),
+                TARGET_ISLAND_ID);
+        when(scoredOrganismRepository.size(TARGET_ISLAND_ID)).thenReturn(10);
+        when(scoredOrganismRepository.getRandomFromBottomPercent(TARGET_ISLAND_ID, 0.0f)).thenReturn(worst);
+        when(organismRepository.saveOrganism(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(scoredOrganismRepository.replace(anyList(), anyList())).thenReturn(false);
+
+        assertEquals(0, islandMigrator.migrate(SOURCE_ISLAND_ID, TARGET_ISLAND_ID, 1, 10));
+
+        verify(organismRepository, never()).deleteOrganism("worst-organism");
+        verify(organismRepository).deleteOrganism(argThat(id -> !id.equals("worst-organism")));
+    }
+
+    @Test
+    void testMerge_reassignsEveryIslandToTheExperiment() {
+        reset(scoredOrganismRepository);
+
+        islandMigrator.merge(List.of(SOURCE_ISLAND_ID, TARGET_ISLAND_ID), "exp");
+
+        verify(scoredOrganismRepository).reassign(SOURCE_ISLAND_ID, "exp");
+        verify(scoredOrganismRepository).reassign(TARGET_ISLAND_ID, "exp");
+    }
+}
@@ -0,0 +1,174 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import com.intermancer.gaiaf.core.evaluate.ScoredOrganism;
+import com.intermancer.gaiaf.core.experiment.repo.ExperimentStatusRepository;
+import com.intermancer.gaiaf.core.organism.Organism;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for PipelinedExperimentImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class PipelinedExperimentImplTest {
+
+    @Mock
+    private Seeder seeder;
+
+    @Mock
+    private ExperimentConfiguration experimentConfiguration;
+
+    @Mock
+    private ExperimentCycle experimentCycle;
+
+    @Mock
+    private ExperimentStatusRepository experimentStatusRepository;
+
+    @Mock
+    private IslandMigrator islandMigrator;
+
+    private PipelinedExperimentImpl experiment;
+
+    private final ScoredOrganism parent1 = new ScoredOrganism("sp1", 1.0, "parent1", new Organism("parent1"), "exp");
+    private final ScoredOrganism parent2 = new ScoredOrganism("sp2", 5.0, "parent2", new Organism("parent2"), "exp");
+    private final List<Organism> children = List.of(new Organism("child1"), new Organism("child2"));
+    private final List<ScoredOrganism> scoredChildren = List.of(
+            new ScoredOrganism(2.0, children.get(0), "exp"), new ScoredOrganism(6.0, children.get(1), "exp"));
+
+    @BeforeEach
+    void setUp() {
+        experiment = new PipelinedExperimentImpl(seeder, experimentConfiguration, experimentCycle,
+                experimentStatusRepository, islandMigrator);
+        when(experimentConfiguration.getPipelineQueueCapacity()).thenReturn(2);
+        when(experimentConfiguration.getPipelineEvaluators()).thenReturn(3);
+    }
+
+    private void stubPhases() {
+        when(experimentCycle.selectParents(experiment.getId())).thenReturn(List.of(parent1, parent2));
+        when(experimentCycle.breedParents(List.of(parent1.organism(), parent2.organism()))).thenReturn(children);
+    }
+
+    @Test
+    void testRunExperiment_passesEveryFamilyThroughEveryStage() {
+        // Arrange
+        stubPhases();
+        when(experimentConfiguration.getCycleCount()).thenReturn(50);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(100);
+        when(experimentCycle.getChildScoreCutoff(List.of(parent1, parent2), experiment.getId(), 100)).thenReturn(null);
+        when(experimentCycle.evaluateChildren(children, experiment.getId())).thenReturn(scoredChildren);
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+
+        // Act
+        experiment.runExperiment();
+
+        // Assert
+        verify(seeder).seed(experiment.getId());
+        verify(experimentCycle, times(50)).selectParents(experiment.getId());
+        verify(experimentCycle, times(50)).mutateChildren(children);
+        verify(experimentCycle, times(50)).maintainRepository(eq(List.of(parent1, parent2)), eq(scoredChildren),
+                eq(experiment.getId()), any(ExperimentStatus.class));
+        verify(experimentCycle, never()).mutationCycle(anyString(), any(ExperimentStatus.class));
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        assertEquals(50, statusCaptor.getValue().getCyclesCompleted());
+        assertEquals(ExperimentState.STOPPED, statusCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void testRunExperiment_atCapacity_evaluatesWithTheWorseParentsScoreAsCutoff() {
+        // Arrange
+        stubPhases();
+        when(experimentConfiguration.getCycleCount()).thenReturn(5);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(100);
+        when(experimentCycle.getChildScoreCutoff(List.of(parent1, parent2), experiment.getId(), 100)).thenReturn(5.0);
+        when(experimentCycle.evaluateChildren(children, experiment.getId(), 5.0)).thenReturn(scoredChildren);
+
+        // Act
+        experiment.runExperiment();
+
+        // Assert
+        verify(experimentCycle, times(5)).evaluateChildren(children, experiment.getId(), 5.0);
+        verify(experimentCycle, never()).evaluateChildren(anyList(), anyString());
+    }
+
+    @Test
+    void testRunExperiment_stageFailureStopsThePipeline() {
+        // Arrange
+        stubPhases();
+        when(experimentConfiguration.getCycleCount()).thenReturn(50);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(100);
+        when(experimentCycle.getChildScoreCutoff(List.of(parent1, parent2), experiment.getId(), 100)).thenReturn(null);
+        when(experimentCycle.evaluateChildren(children, experiment.getId()))
+                .thenThrow(new IllegalStateException("Evaluation exception"));
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+
+        // Act & Assert
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> experiment.runExperiment());
+        assertEquals("Evaluation exception", thrown.getMessage());
+        verify(experimentCycle, never()).maintainRepository(anyList(), anyList(), anyString(), any());
+        verify(experimentStatusRepository).save(statusCaptor.capture());
+        assertEquals(ExperimentState.EXCEPTION, statusCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void testPause_drainsThePipelineBeforeWaiting() throws Exception {
+        // Arrange
+        stubPhases();
+        when(experimentConfiguration.getCycleCount()).thenReturn(30);
+        when(experimentConfiguration.isPausable()).thenReturn(true);
+        when(experimentConfiguration.getPauseCycles()).thenReturn(10);
+        when(experimentConfiguration.getRepoCapacity()).thenReturn(100);
+        when(experimentCycle.getChildScoreCutoff(List.of(parent1, parent2), experiment.getId(), 100)).thenReturn(null);
+        when(experimentCycle.evaluateChildren(children, experiment.getId())).thenReturn(scoredChildren);
+        ArgumentCaptor<ExperimentStatus> statusCaptor = ArgumentCaptor.forClass(ExperimentStatus.class);
+
+        Thread runner = new Thread(experiment::runExperiment);
+        runner.start();
+        try {
+            // Act - wait for the first auto-pause and for the families in flight to finish
+            waitUntil(experiment::isPaused);
+            verify(experimentStatusRepository).save(statusCaptor.capture());
+            ExperimentStatus status = statusCaptor.getValue();
+            waitUntil(() -> mockingDetails(experimentCycle).getInvocations().stream()
+                    .filter(invocation -> invocation.getMethod().getName().equals("selectParents"))
+                    .count() == status.getCyclesCompleted());
+
+            // Assert - every selected family was maintained, and no more are selected while paused
+            int drained = status.getCyclesCompleted();
+            assertTrue(drained >= 10);
+            Thread.sleep(50);
+            assertEquals(drained, status.getCyclesCompleted());
+            assertEquals(ExperimentState.PAUSED, status.getStatus());
+
+            // Resume through the remaining auto-pauses
+            while (runner.isAlive()) {
+                if (experiment.isPaused()) {
+                    experiment.resume();
+                }
+                Thread.sleep(1);
+            }
+            assertEquals(30, status.getCyclesCompleted());
+            assertEquals(ExperimentState.STOPPED, status.getStatus());
+        } finally {
+            runner.interrupt();
+            runner.join();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the pipeline");
+            Thread.sleep(1);
+        }
+    }
+}
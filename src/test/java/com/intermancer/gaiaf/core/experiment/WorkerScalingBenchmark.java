@@ -0,0 +1,76 @@
+package com.intermancer.gaiaf.core.experiment;
+
+import com.intermancer.gaiaf.core.evaluate.BasicEvaluator;
+import com.intermancer.gaiaf.core.evaluate.InMemoryScoredOrganismRepository;
+import com.intermancer.gaiaf.core.experiment.repo.InMemoryExperimentStatusRepository;
+import com.intermancer.gaiaf.core.organism.breeding.BasicOrganismBreeder;
+import com.intermancer.gaiaf.core.organism.repo.InMemoryOrganismRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures how the cycles per second of one experiment scale with workerCount, the
+ * number of threads running its mutation cycles at once against a shared repository.
+ *
+ * <p>Each run evolves a population of real components (the in-memory repositories,
+ * ExperimentCycleImpl and a BasicEvaluator over the default training data) for a fixed
+ * number of cycles. The cycles per second and the speedup over a single worker are
+ * printed for 1, 2, 4 and 8 workers and for one worker per available processor.</p>
+ *
+ * Excluded from the test task; run it with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class WorkerScalingBenchmark {
+
+    private static final int CYCLE_COUNT = 2000;
+    private static final int REPO_CAPACITY = 200;
+
+    @Test
+    void benchmarkWorkerScaling() {
+        TreeSet<Integer> workerCounts = new TreeSet<>();
+        workerCounts.add(1);
+        workerCounts.add(2);
+        workerCounts.add(4);
+        workerCounts.add(8);
+        workerCounts.add(Runtime.getRuntime().availableProcessors());
+
+        // Warm up once, untimed
+        run(1);
+        double baseline = 0;
+        for (int workerCount : workerCounts) {
+            double cyclesPerSecond = run(workerCount);
+            if (workerCount == 1) {
+                baseline = cyclesPerSecond;
+            }
+            System.out.printf("%2d workers: %,8.0f cycles/s, %.2fx one worker (%d processors)%n",
+                    workerCount, cyclesPerSecond, cyclesPerSecond / baseline,
+                    Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private double run(int workerCount) {
+        InMemoryOrganismRepository organismRepository = new InMemoryOrganismRepository();
+        InMemoryScoredOrganismRepository scoredOrganismRepository = new InMemoryScoredOrganismRepository();
+        BasicEvaluator evaluator = new BasicEvaluator();
+        ExperimentConfiguration configuration = new ExperimentConfiguration();
+        configuration.setCycleCount(CYCLE_COUNT);
+        configuration.setRepoCapacity(REPO_CAPACITY);
+        configuration.setWorkerCount(workerCount);
+        ExperimentCycleImpl cycle = new ExperimentCycleImpl(organismRepository, scoredOrganismRepository,
+                new BasicOrganismBreeder(), evaluator, configuration);
+        BasicExperimentImpl experiment = new BasicExperimentImpl(
+                new BasicSeeder(scoredOrganismRepository, organismRepository, evaluator), configuration, cycle,
+                new InMemoryExperimentStatusRepository(), new IslandMigrator(scoredOrganismRepository, organismRepository));
+
+        long start = System.nanoTime();
+        experiment.runExperiment();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(CYCLE_COUNT, experiment.getExperimentStatus().getCyclesCompleted());
+        return CYCLE_COUNT / seconds;
+    }
+}
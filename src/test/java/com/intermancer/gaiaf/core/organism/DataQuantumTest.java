@@ -1,5 +1,7 @@
 package com.intermancer.gaiaf.core.organism;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -133,4 +135,69 @@ public class DataQuantumTest {
         assertEquals(1, copy.getDataPoints().size());
         assertEquals(0, original.getDataPoints().size());
     }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        DataQuantum dataQuantum = new DataQuantum();
+        for (int i = 0; i < 100; i++) {
+            dataQuantum.addDataPoint(new DataQuantum.DataPoint("source" + (i % 3), i));
+        }
+        
+        assertEquals(100, dataQuantum.size());
+        assertEquals(100, dataQuantum.getDataPoints().size());
+        assertEquals(99.0, dataQuantum.getValue(-1));
+        assertEquals("source0", dataQuantum.getDataPoint(99).getSourceId());
+        assertEquals("source2", dataQuantum.getDataPoints().get(98).getSourceId());
+    }
+
+    @Test
+    public void testGetDataPointsIsReadOnlyView() {
+        DataQuantum dataQuantum = new DataQuantum();
+        dataQuantum.addValue(1.0);
+        List<DataQuantum.DataPoint> dataPoints = dataQuantum.getDataPoints();
+        
+        assertThrows(UnsupportedOperationException.class,
+                () -> dataPoints.add(new DataQuantum.DataPoint(2.0)));
+        
+        // The view reflects values added after it was obtained
+        dataQuantum.addValue(2.0);
+        assertEquals(2, dataPoints.size());
+        assertEquals(2.0, dataPoints.get(1).getValue());
+    }
+
+    @Test
+    public void testSetDataPointsReplacesContents() {
+        DataQuantum dataQuantum = new DataQuantum();
+        dataQuantum.addValue(1.0);
+        dataQuantum.setDataPoints(List.of(
+                new DataQuantum.DataPoint("a", 5.0),
+                new DataQuantum.DataPoint(null, 6.0)));
+        
+        assertEquals(2, dataQuantum.size());
+        assertEquals(5.0, dataQuantum.getValue(0));
+        assertEquals("a", dataQuantum.getDataPoint(0).getSourceId());
+        assertNull(dataQuantum.getDataPoint(1).getSourceId());
+    }
+
+    @Test
+    public void testCopyFromReusesScratchInstance() {
+        DataQuantum source = new DataQuantum();
+        source.addDataPoint(new DataQuantum.DataPoint("source1", 1.0));
+        source.addValue(2.0);
+        
+        DataQuantum scratch = new DataQuantum();
+        for (int i = 0; i < 20; i++) {
+            scratch.addValue(-1.0);
+        }
+        scratch.copyFrom(source);
+        
+        assertEquals(2, scratch.size());
+        assertEquals(1.0, scratch.getValue(0));
+        assertEquals(2.0, scratch.getValue(1));
+        assertEquals("source1", scratch.getDataPoint(0).getSourceId());
+        
+        // Appending to the scratch copy does not affect the source
+        scratch.addValue(3.0);
+        assertEquals(2, source.size());
+    }
 }
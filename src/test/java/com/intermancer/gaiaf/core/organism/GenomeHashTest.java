@@ -0,0 +1,89 @@
+package com.intermancer.gaiaf.core.organism;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import org.junit.jupiter.api.Test;
+
+public class GenomeHashTest {
+
+    @Test
+    public void testEqualGenomesHashTheSame() {
+        Organism organism = createOrganism("organism-1", 1.0, 2.0);
+        Organism copy = createOrganism("organism-2", 1.0, 2.0);
+
+        assertEquals(organism, copy);
+        assertEquals(GenomeHash.of(organism), GenomeHash.of(copy));
+    }
+
+    @Test
+    public void testIdsAreIgnored() {
+        Organism organism = createOrganism("organism-1", 1.0, 2.0);
+        Organism copy = createOrganism("organism-1", 1.0, 2.0);
+        copy.setId("another-id");
+        copy.getChromosomes().get(0).getGenes().get(0).setId("another-gene-id");
+
+        assertEquals(GenomeHash.of(organism), GenomeHash.of(copy));
+    }
+
+    @Test
+    public void testDifferentConstantsHashDifferently() {
+        assertNotEquals(GenomeHash.of(createOrganism("o", 1.0, 2.0)), GenomeHash.of(createOrganism("o", 1.0, 2.5)));
+        assertNotEquals(GenomeHash.of(createOrganism("o", 0.0, 2.0)), GenomeHash.of(createOrganism("o", -0.0, 2.0)));
+    }
+
+    @Test
+    public void testDifferentGeneClassesHashDifferently() {
+        Organism adder = new Organism();
+        Chromosome adderChromosome = new Chromosome();
+        adderChromosome.getGenes().add(new TestGenes.AdderGene(2.0, -1, "g"));
+        adder.addChromosome(adderChromosome);
+
+        Organism multiplier = new Organism();
+        Chromosome multiplierChromosome = new Chromosome();
+        multiplierChromosome.getGenes().add(new TestGenes.MultiplierGene(2.0, -1, "g"));
+        multiplier.addChromosome(multiplierChromosome);
+
+        assertNotEquals(GenomeHash.of(adder), GenomeHash.of(multiplier));
+    }
+
+    @Test
+    public void testDifferentTargetIndexesHashDifferently() {
+        Organism organism = createOrganism("o", 1.0, 2.0);
+        Organism retargeted = createOrganism("o", 1.0, 2.0);
+        retargeted.getChromosomes().get(0).getGenes().get(0).getTargetIndexList().set(0, -2);
+
+        assertNotEquals(GenomeHash.of(organism), GenomeHash.of(retargeted));
+    }
+
+    @Test
+    public void testChromosomeBoundariesAreHashed() {
+        // The same two genes, in one Chromosome or split across two
+        Organism oneChromosome = createOrganism("o", 1.0, 2.0);
+
+        Organism twoChromosomes = new Organism();
+        Chromosome first = new Chromosome();
+        first.getGenes().add(new TestGenes.AdderGene(1.0, -1, "g1"));
+        Chromosome second = new Chromosome();
+        second.getGenes().add(new TestGenes.AdderGene(2.0, -1, "g2"));
+        twoChromosomes.addChromosome(first);
+        twoChromosomes.addChromosome(second);
+
+        assertNotEquals(GenomeHash.of(oneChromosome), GenomeHash.of(twoChromosomes));
+    }
+
+    @Test
+    public void testToStringIsThirtyTwoHexDigits() {
+        String hash = GenomeHash.of(createOrganism("o", 1.0, 2.0)).toString();
+        assertEquals(32, hash.length());
+        assertEquals(hash, GenomeHash.of(createOrganism("p", 1.0, 2.0)).toString());
+    }
+
+    private Organism createOrganism(String id, double firstAmount, double secondAmount) {
+        Organism organism = new Organism(id);
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.AdderGene(firstAmount, -1, "g1"));
+        chromosome.getGenes().add(new TestGenes.AdderGene(secondAmount, -1, "g2"));
+        organism.addChromosome(chromosome);
+        return organism;
+    }
+}
@@ -0,0 +1,102 @@
+package com.intermancer.gaiaf.core.organism;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.intermancer.gaiaf.core.experiment.ChromosomeGenerator;
+import com.intermancer.gaiaf.core.experiment.MutationCommand;
+import com.intermancer.gaiaf.core.organism.gene.basic.AdditionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.DivisionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SineGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SubtractionGene;
+
+public class OrganismBytecodeGeneratorTest {
+
+    private static double[] registersFor(OrganismProgram program, double... input) {
+        double[] registers = new double[program.getRegisterCount()];
+        System.arraycopy(input, 0, registers, 0, input.length);
+        return registers;
+    }
+
+    @Test
+    public void testGeneratedProgramMatchesCompiledProgram() {
+        Organism organism = new Organism("basic");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new AdditionGene());
+        chromosome.getGenes().add(new SineGene());
+        SubtractionGene subtractionGene = new SubtractionGene();
+        subtractionGene.getTargetIndexList().set(0, 0);
+        chromosome.getGenes().add(subtractionGene);
+        DivisionGene divisionGene = new DivisionGene();
+        divisionGene.getTargetIndexList().set(0, -3);
+        chromosome.getGenes().add(divisionGene);
+        organism.addChromosome(chromosome);
+
+        CompiledOrganism compiled = OrganismCompiler.compile(organism, 2);
+        OrganismProgram generated = OrganismBytecodeGenerator.generate(compiled);
+
+        assertNotSame(compiled.getClass(), generated.getClass());
+        assertTrue(generated.getClass().isHidden());
+        assertEquals(compiled.getInputWidth(), generated.getInputWidth());
+        assertEquals(compiled.getRegisterCount(), generated.getRegisterCount());
+        assertEquals(compiled.execute(registersFor(compiled, 3.0, 8.0)),
+                generated.execute(registersFor(generated, 3.0, 8.0)));
+    }
+
+    @Test
+    public void testGeneratedMatchesCompiledForRandomMutatedOrganisms() {
+        Random random = new Random(7);
+        int generatedCount = 0;
+        for (int n = 0; n < 100; n++) {
+            Organism organism = new Organism("random-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            for (int m = 0; m < 5; m++) {
+                List<MutationCommand> mutations = organism.getMutationCommandList();
+                mutations.get(random.nextInt(mutations.size())).execute();
+            }
+
+            CompiledOrganism compiled = OrganismCompiler.compile(organism, 4);
+            if (!OrganismBytecodeGenerator.canGenerate(compiled)) {
+                continue;
+            }
+            OrganismProgram generated = OrganismBytecodeGenerator.generate(compiled);
+            generatedCount++;
+            for (int row = 0; row < 5; row++) {
+                double[] input = { random.nextDouble() * 100, random.nextDouble() * 100,
+                        random.nextDouble() * 100, random.nextDouble() * 100 };
+                assertEquals(compiled.execute(registersFor(compiled, input)),
+                        generated.execute(registersFor(generated, input)), "Organism " + n);
+            }
+        }
+        assertTrue(generatedCount > 0);
+    }
+
+    @Test
+    public void testEmptyOrganismReturnsLastInputValue() {
+        CompiledOrganism compiled = OrganismCompiler.compile(new Organism("empty"), 3);
+        OrganismProgram generated = OrganismBytecodeGenerator.generate(compiled);
+
+        assertEquals(9.0, generated.execute(new double[] { 1.0, 5.0, 9.0 }));
+    }
+
+    @Test
+    public void testProgramsWithGeneInstructionsAreRejected() {
+        Organism organism = new Organism("generic");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.SquareGene(0, "square"));
+        organism.addChromosome(chromosome);
+
+        CompiledOrganism compiled = OrganismCompiler.compile(organism, 1);
+
+        assertFalse(OrganismBytecodeGenerator.canGenerate(compiled));
+        assertThrows(OrganismCompilationException.class, () -> OrganismBytecodeGenerator.generate(compiled));
+    }
+}
@@ -0,0 +1,283 @@
+package com.intermancer.gaiaf.core.organism;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.intermancer.gaiaf.core.experiment.ChromosomeGenerator;
+import com.intermancer.gaiaf.core.experiment.MutationCommand;
+import com.intermancer.gaiaf.core.organism.gene.basic.AdditionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.DivisionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.MultiplicationGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SineGene;
+import com.intermancer.gaiaf.core.organism.kernel.ScalarColumnKernels;
+
+public class OrganismCompilerTest {
+
+    /**
+     * A Gene that emits two values, the input and its negation.
+     */
+    static class SplitGene extends Gene {
+        private final int declaredOutputCount;
+
+        SplitGene(int declaredOutputCount) {
+            this.declaredOutputCount = declaredOutputCount;
+        }
+
+        @Override
+        public int getOutputCount() {
+            return declaredOutputCount;
+        }
+
+        @Override
+        protected double[] operation(double[] values) {
+            return new double[] { values[0], -values[0] };
+        }
+
+        @Override
+        public SplitGene copyOf() {
+            SplitGene copy = new SplitGene(declaredOutputCount);
+            cloneProperties(copy);
+            return copy;
+        }
+    }
+
+    private static DataQuantum row(double... values) {
+        DataQuantum dataQuantum = new DataQuantum();
+        for (double value : values) {
+            dataQuantum.addValue(value);
+        }
+        return dataQuantum;
+    }
+
+    private static double interpret(Organism organism, DataQuantum input) {
+        DataQuantum copy = input.copyOf();
+        organism.consume(copy);
+        return copy.getValue(copy.size() - 1);
+    }
+
+    private static double execute(CompiledOrganism program, DataQuantum input) {
+        double[] registers = new double[program.getRegisterCount()];
+        input.copyValuesInto(registers);
+        return program.execute(registers);
+    }
+
+    @Test
+    public void testCompiledMatchesInterpretedForBasicGenes() {
+        Organism organism = new Organism("basic");
+        Chromosome chromosome1 = new Chromosome();
+        chromosome1.getGenes().add(new AdditionGene());
+        chromosome1.getGenes().add(new SineGene());
+        Chromosome chromosome2 = new Chromosome();
+        MultiplicationGene multiplicationGene = new MultiplicationGene();
+        multiplicationGene.getTargetIndexList().set(0, 1);
+        chromosome2.getGenes().add(multiplicationGene);
+        DivisionGene divisionGene = new DivisionGene();
+        divisionGene.getTargetIndexList().set(0, -4);
+        chromosome2.getGenes().add(divisionGene);
+        organism.addChromosome(chromosome1);
+        organism.addChromosome(chromosome2);
+
+        DataQuantum input = row(3.0, 7.0, 11.0);
+        CompiledOrganism program = OrganismCompiler.compile(organism, input.size());
+
+        assertEquals(3, program.getInputWidth());
+        assertEquals(7, program.getRegisterCount());
+        assertEquals(4, program.getInstructionCount());
+        assertEquals(interpret(organism, input), execute(program, input));
+    }
+
+    @Test
+    public void testTargetIndexesAreResolvedAgainstQuantumLengthAtEachGene() {
+        Organism organism = new Organism("wrapping");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.AdderGene(1.0, 5, "wrap-positive"));
+        chromosome.getGenes().add(new TestGenes.AdderGene(10.0, -7, "wrap-negative"));
+        organism.addChromosome(chromosome);
+
+        DataQuantum input = row(1.0, 2.0, 3.0);
+        CompiledOrganism program = OrganismCompiler.compile(organism, input.size());
+
+        // 5 % 3 = 2 -> 3.0 + 1.0; then -7 wraps over 4 values to index 1 -> 2.0 + 10.0
+        assertEquals(12.0, execute(program, input));
+        assertEquals(interpret(organism, input), execute(program, input));
+    }
+
+    @Test
+    public void testCompiledMatchesInterpretedForRandomMutatedOrganisms() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            Organism organism = new Organism("random-" + n);
+            int chromosomeCount = random.nextInt(3) + 1;
+            for (int c = 0; c < chromosomeCount; c++) {
+                organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            }
+            for (int m = 0; m < 5; m++) {
+                List<MutationCommand> mutations = organism.getMutationCommandList();
+                mutations.get(random.nextInt(mutations.size())).execute();
+            }
+
+            DataQuantum input = row(random.nextDouble() * 100, random.nextDouble() * 100,
+                    random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+            CompiledOrganism program = OrganismCompiler.compile(organism, input.size());
+
+            assertEquals(interpret(organism, input), execute(program, input), "Organism " + n);
+        }
+    }
+
+    @Test
+    public void testColumnExecutionMatchesRowExecution() {
+        Random random = new Random(17);
+        int rowCount = 10;
+        for (int n = 0; n < 50; n++) {
+            Organism organism = new Organism("columns-" + n);
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            organism.addChromosome(ChromosomeGenerator.getRandomChromosome());
+            for (int m = 0; m < 5; m++) {
+                List<MutationCommand> mutations = organism.getMutationCommandList();
+                mutations.get(random.nextInt(mutations.size())).execute();
+            }
+
+            double[][] columns = new double[3][rowCount];
+            for (double[] column : columns) {
+                for (int row = 0; row < rowCount; row++) {
+                    column[row] = random.nextDouble() * 100;
+                }
+            }
+            CompiledOrganism program = OrganismCompiler.compile(organism, columns.length);
+            double[] predictions = program.executeColumns(columns, rowCount);
+
+            for (int row = 0; row < rowCount; row++) {
+                DataQuantum input = row(columns[0][row], columns[1][row], columns[2][row]);
+                assertEquals(execute(program, input), predictions[row], "Organism " + n + " row " + row);
+            }
+        }
+    }
+
+    @Test
+    public void testColumnExecutionRunsGenericGenes() {
+        Organism organism = new Organism("generic-columns");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.SquareGene(0, "square"));
+        chromosome.getGenes().add(new SplitGene(2));
+        chromosome.getGenes().add(new TestGenes.AdderGene(0.5, -2, "adder"));
+        organism.addChromosome(chromosome);
+
+        CompiledOrganism program = OrganismCompiler.compile(organism, 1);
+        double[] input = { 4.0, -3.0 };
+        double[] predictions = program.executeColumns(new double[][] { input }, 2);
+
+        assertEquals(16.5, predictions[0]);
+        assertEquals(9.5, predictions[1]);
+        assertEquals(4.0, input[0]);
+    }
+
+    @Test
+    public void testGenericGenesUseTheirOwnOperation() {
+        Organism organism = new Organism("generic");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.SquareGene(0, "square"));
+        chromosome.getGenes().add(new SplitGene(2));
+        chromosome.getGenes().add(new TestGenes.AdderGene(0.5, -2, "adder"));
+        organism.addChromosome(chromosome);
+
+        DataQuantum input = row(4.0);
+        CompiledOrganism program = OrganismCompiler.compile(organism, input.size());
+
+        assertEquals(5, program.getRegisterCount());
+        assertEquals(16.5, execute(program, input));
+        assertEquals(interpret(organism, input), execute(program, input));
+    }
+
+    @Test
+    public void testMisdeclaredOutputCountIsDetected() {
+        Organism organism = new Organism("misdeclared");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new SplitGene(1));
+        organism.addChromosome(chromosome);
+
+        CompiledOrganism program = OrganismCompiler.compile(organism, 1);
+
+        assertThrows(OrganismCompilationException.class, () -> execute(program, row(2.0)));
+    }
+
+    @Test
+    public void testDivisionByZeroStillThrows() {
+        Organism organism = new Organism("divide-by-zero");
+        Chromosome chromosome = new Chromosome();
+        DivisionGene divisionGene = new DivisionGene();
+        divisionGene.getOperationConstantList().set(0, 0.0);
+        chromosome.getGenes().add(divisionGene);
+        organism.addChromosome(chromosome);
+
+        CompiledOrganism program = OrganismCompiler.compile(organism, 1);
+
+        assertThrows(ArithmeticException.class, () -> execute(program, row(2.0)));
+    }
+
+    @Test
+    public void testOrganismWithoutGenesPredictsLastInputValue() {
+        CompiledOrganism program = OrganismCompiler.compile(new Organism("empty"), 3);
+
+        assertEquals(0, program.getInstructionCount());
+        assertEquals(9.0, execute(program, row(1.0, 5.0, 9.0)));
+
+        double[] lastColumn = { 9.0, 8.0 };
+        double[] predictions = program.executeColumns(new double[][] { { 1.0, 2.0 }, { 5.0, 6.0 }, lastColumn }, 2);
+        assertEquals(8.0, predictions[1]);
+        assertNotSame(lastColumn, predictions);
+    }
+
+    @Test
+    public void testEmptyInputCannotBeCompiled() {
+        Organism organism = new Organism("reads-empty");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new AdditionGene());
+        organism.addChromosome(chromosome);
+
+        assertThrows(OrganismCompilationException.class, () -> OrganismCompiler.compile(organism, 0));
+    }
+
+    @Test
+    public void testExecutionFromSharedPrefixMatchesFullExecution() {
+        Organism parent = new Organism("parent");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new AdditionGene());
+        chromosome.getGenes().add(new SplitGene(2));
+        chromosome.getGenes().add(new MultiplicationGene());
+        parent.addChromosome(chromosome);
+
+        Organism child = new Organism("child");
+        Chromosome childChromosome = chromosome.copyOf();
+        childChromosome.getGenes().get(2).getOperationConstantList().set(0, 3.0);
+        childChromosome.getGenes().add(new SineGene());
+        child.addChromosome(childChromosome);
+
+        double[][] inputColumns = { { 1.0, 2.0, 3.0 }, { -4.0, 5.0, 0.5 } };
+        CompiledOrganism parentProgram = OrganismCompiler.compile(parent, 2);
+        CompiledOrganism childProgram = OrganismCompiler.compile(child, 2);
+        assertEquals(2, childProgram.getSharedPrefixLength(parentProgram, Integer.MAX_VALUE));
+        assertEquals(1, childProgram.getSharedPrefixLength(parentProgram, 1));
+        assertEquals(0, childProgram.getSharedPrefixLength(OrganismCompiler.compile(parent, 3), Integer.MAX_VALUE));
+
+        // Run the parent keeping its columns, then start the child from them
+        double[][] parentColumns = new double[parentProgram.getRegisterCount()][];
+        System.arraycopy(inputColumns, 0, parentColumns, 0, 2);
+        parentProgram.executeColumnsFrom(parentColumns, 0, 3, new ScalarColumnKernels());
+
+        double[][] childColumns = new double[childProgram.getRegisterCount()][];
+        System.arraycopy(parentColumns, 0, childColumns, 0, childProgram.getFirstOutputSlot(2));
+        double[] predictions = childProgram.executeColumnsFrom(childColumns, 2, 3, new ScalarColumnKernels());
+
+        assertEquals(5, childProgram.getFirstOutputSlot(2));
+        assertEquals(childProgram.getRegisterCount(), childProgram.getFirstOutputSlot(4));
+        assertArrayEquals(childProgram.executeColumns(inputColumns, 3, new ScalarColumnKernels()), predictions);
+        assertSame(parentColumns[2], childColumns[2]);
+    }
+}
@@ -517,4 +517,78 @@ public class OrganismTest {
             assertTrue(found, "Gene mutation should be included in chromosome mutations: " + geneMutation.getDescription());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMutationsShrinkTheInheritedGeneCount() {
+        Organism organism = new Organism("child");
+        for (int c = 0; c < 2; c++) {
+            Chromosome chromosome = new Chromosome();
+            chromosome.getGenes().add(new TestGenes.AdderGene(1.0, -1, "adder-" + c + "-0"));
+            chromosome.getGenes().add(new TestGenes.AdderGene(2.0, -1, "adder-" + c + "-1"));
+            organism.addChromosome(chromosome);
+        }
+        organism.setInheritance("parent", 4);
+        assertEquals("parent", organism.getInheritedFromId());
+        assertEquals(4, organism.getInheritedGeneCount());
+
+        // 3 organism mutations, then for each chromosome 3 chromosome mutations and 4 per gene
+        List<MutationCommand> mutations = organism.getMutationCommandList();
+        MutationCommand secondChromosomeLastGeneConstantUp = mutations.get(3 + (3 + 8) + 3 + 4 + 2);
+        assertEquals("Increase operationConstant[0] by 1-20%", secondChromosomeLastGeneConstantUp.getDescription());
+        secondChromosomeLastGeneConstantUp.execute();
+        assertEquals(3, organism.getInheritedGeneCount());
+
+        // Adding a gene to the first chromosome changes it from the insert position onwards
+        MutationCommand firstChromosomeAddGene = organism.getMutationCommandList().get(3 + 2);
+        assertEquals("Add a random gene at a random position", firstChromosomeAddGene.getDescription());
+        firstChromosomeAddGene.execute();
+        assertTrue(organism.getInheritedGeneCount() <= 2);
+
+        // Unrelated to inheritance, a fresh organism reports nothing inherited
+        Organism fresh = new Organism("fresh");
+        fresh.addChromosome(organism.getChromosomes().get(0).copyOf());
+        fresh.getMutationCommandList().get(0).execute();
+        assertNull(fresh.getInheritedFromId());
+        assertEquals(0, fresh.getInheritedGeneCount());
+    }
+
+    @Test
+    public void testChromosomeMutationsMarkChangesFromTheirFirstGene() {
+        Organism organism = new Organism("child");
+        for (int c = 0; c < 3; c++) {
+            Chromosome chromosome = new Chromosome();
+            chromosome.getGenes().add(new TestGenes.AdderGene(c, -1, "adder-" + c));
+            organism.addChromosome(chromosome);
+        }
+        organism.setInheritance("parent", 3);
+
+        // Deleting a chromosome changes the genome from that chromosome's first gene
+        MutationCommand deleteChromosome = organism.getMutationCommandList().get(1);
+        assertEquals("Delete a random chromosome", deleteChromosome.getDescription());
+        deleteChromosome.execute();
+
+        int firstChanged = organism.getInheritedGeneCount();
+        assertTrue(firstChanged <= 2);
+        for (int i = 0; i < firstChanged; i++) {
+            assertEquals((double) i, organism.getChromosomes().get(i).getGenes().get(0).getOperationConstantList().get(0));
+        }
+    }
+
+    @Test
+    public void testCopyOf() {
+        Organism organism = new Organism("original");
+        Chromosome chromosome = new Chromosome();
+        chromosome.getGenes().add(new TestGenes.AdderGene(1.0, -1, "adder"));
+        chromosome.getGenes().add(new TestGenes.MultiplierGene(2.0, -1, "multiplier"));
+        organism.addChromosome(chromosome);
+
+        Organism copy = organism.copyOf();
+
+        assertNotNull(copy.getId());
+        assertFalse(copy.getId().equals(organism.getId()));
+        assertEquals(organism, copy);
+        assertTrue(copy.getChromosomes().get(0) != chromosome);
+        assertEquals("original", copy.getInheritedFromId());
+        assertEquals(2, copy.getInheritedGeneCount());
+    }
+}
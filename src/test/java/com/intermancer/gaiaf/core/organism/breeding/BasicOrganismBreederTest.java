@@ -231,4 +231,39 @@ public class BasicOrganismBreederTest {
         assertNotEquals("parent-1", children.get(1).getId());
         assertNotEquals("parent-2", children.get(1).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testChildrenRecordTheGenesInheritedFromTheirFirstParent() {
+        BasicOrganismBreeder breeder = new BasicOrganismBreeder();
+
+        Organism parent1 = new Organism("parent-1");
+        Chromosome parent1Chromosome1 = new Chromosome();
+        parent1Chromosome1.getGenes().add(new TestGenes.AdderGene(1.0, 0, "p1-c1-g1"));
+        parent1Chromosome1.getGenes().add(new TestGenes.AdderGene(2.0, 0, "p1-c1-g2"));
+        Chromosome parent1Chromosome2 = new Chromosome();
+        parent1Chromosome2.getGenes().add(new TestGenes.AdderGene(3.0, 0, "p1-c2-g1"));
+        parent1.addChromosome(parent1Chromosome1);
+        parent1.addChromosome(parent1Chromosome2);
+
+        Organism parent2 = new Organism("parent-2");
+        Chromosome parent2Chromosome1 = new Chromosome();
+        parent2Chromosome1.getGenes().add(new TestGenes.MultiplierGene(4.0, 0, "p2-c1-g1"));
+        Chromosome parent2Chromosome2 = new Chromosome();
+        parent2Chromosome2.getGenes().add(new TestGenes.MultiplierGene(5.0, 0, "p2-c2-g1"));
+        parent2.addChromosome(parent2Chromosome1);
+        parent2.addChromosome(parent2Chromosome2);
+
+        List<Organism> children = breeder.breed(Arrays.asList(parent1, parent2));
+
+        // Child 1 takes its first chromosome from parent 1 and its second from parent 2
+        assertEquals("parent-1", children.get(0).getInheritedFromId());
+        assertEquals(2, children.get(0).getInheritedGeneCount());
+        assertEquals("parent-2", children.get(1).getInheritedFromId());
+        assertEquals(1, children.get(1).getInheritedGeneCount());
+
+        // A single parent is copied whole
+        Organism clone = breeder.breed(List.of(parent1)).get(0);
+        assertEquals("parent-1", clone.getInheritedFromId());
+        assertEquals(3, clone.getInheritedGeneCount());
+    }
+}
@@ -0,0 +1,188 @@
+package com.intermancer.gaiaf.core.organism.kernel;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.intermancer.gaiaf.core.organism.DataQuantum;
+import com.intermancer.gaiaf.core.organism.Gene;
+import com.intermancer.gaiaf.core.organism.gene.basic.AdditionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.DivisionGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.MultiplicationGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SineGene;
+import com.intermancer.gaiaf.core.organism.gene.basic.SubtractionGene;
+
+public class ColumnKernelsTest {
+
+    private static final double SINE_TOLERANCE = 1e-15;
+
+    // Covers empty columns and lengths that are not a multiple of any vector width
+    private static final int[] LENGTHS = { 0, 1, 3, 7, 8, 13, 64, 1001 };
+
+    private final Random random = new Random(23);
+    private ScalarColumnKernels scalarKernels;
+    private ColumnKernels vectorKernels;
+
+    @BeforeEach
+    public void setUp() {
+        scalarKernels = new ScalarColumnKernels();
+        vectorKernels = ColumnKernels.getDefault() instanceof VectorColumnKernels ? ColumnKernels.getDefault() : null;
+    }
+
+    private double[] randomColumn(int length) {
+        double[] column = new double[length];
+        for (int i = 0; i < length; i++) {
+            column[i] = (random.nextDouble() - 0.5) * 2000;
+        }
+        return column;
+    }
+
+    /**
+     * Runs the Gene's operation through Gene.consume() on a single-value DataQuantum.
+     */
+    private static double applyGene(Gene gene, double value) {
+        DataQuantum dataQuantum = new DataQuantum();
+        dataQuantum.addValue(value);
+        gene.consume(dataQuantum);
+        return dataQuantum.getValue(1);
+    }
+
+    private static Gene geneWithConstant(Gene gene, double constant) {
+        gene.getTargetIndexList().set(0, 0);
+        gene.getOperationConstantList().set(0, constant);
+        return gene;
+    }
+
+    private interface ConstantKernel {
+        void apply(ColumnKernels kernels, double[] input, double constant, double[] output, int length);
+    }
+
+    private void assertConstantKernelMatchesGene(Gene gene, ConstantKernel kernel) {
+        double constant = gene.getOperationConstantList().get(0);
+        for (int length : LENGTHS) {
+            double[] input = randomColumn(length);
+            double[] scalarOutput = new double[length];
+            kernel.apply(scalarKernels, input, constant, scalarOutput, length);
+            double[] vectorOutput = new double[length];
+            if (vectorKernels != null) {
+                kernel.apply(vectorKernels, input, constant, vectorOutput, length);
+            }
+
+            for (int i = 0; i < length; i++) {
+                double expected = applyGene(gene, input[i]);
+                assertEquals(expected, scalarOutput[i], "Scalar row " + i + " of " + length);
+                if (vectorKernels != null) {
+                    assertEquals(expected, vectorOutput[i], "Vector row " + i + " of " + length);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAddMatchesAdditionGene() {
+        assertConstantKernelMatchesGene(geneWithConstant(new AdditionGene(), 3.75), ColumnKernels::add);
+    }
+
+    @Test
+    public void testSubtractMatchesSubtractionGene() {
+        assertConstantKernelMatchesGene(geneWithConstant(new SubtractionGene(), -12.5), ColumnKernels::subtract);
+    }
+
+    @Test
+    public void testMultiplyMatchesMultiplicationGene() {
+        assertConstantKernelMatchesGene(geneWithConstant(new MultiplicationGene(), 0.3), ColumnKernels::multiply);
+    }
+
+    @Test
+    public void testDivideMatchesDivisionGene() {
+        assertConstantKernelMatchesGene(geneWithConstant(new DivisionGene(), 7.1), ColumnKernels::divide);
+    }
+
+    @Test
+    public void testSineMatchesSineGeneWithinTolerance() {
+        Gene gene = new SineGene();
+        for (int length : LENGTHS) {
+            double[] input = randomColumn(length);
+            double[] scalarOutput = new double[length];
+            scalarKernels.sine(input, scalarOutput, length);
+            double[] vectorOutput = new double[length];
+            if (vectorKernels != null) {
+                vectorKernels.sine(input, vectorOutput, length);
+            }
+
+            for (int i = 0; i < length; i++) {
+                double expected = applyGene(gene, input[i]);
+                assertEquals(expected, scalarOutput[i], "Scalar row " + i + " of " + length);
+                if (vectorKernels != null) {
+                    assertEquals(expected, vectorOutput[i], SINE_TOLERANCE, "Vector row " + i + " of " + length);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAbsoluteErrorReductionMatchesStreamSum() {
+        for (int length : LENGTHS) {
+            double[] predictions = randomColumn(length + 2);
+            double[] actualValues = randomColumn(length + 5);
+            double expected = IntStream.range(0, length)
+                    .mapToDouble(i -> Math.abs(predictions[i + 2] - actualValues[i + 5]))
+                    .sum();
+
+            CompensatedSum scalarSum = new CompensatedSum();
+            scalarKernels.addAbsoluteErrors(scalarSum, predictions, 2, actualValues, 5, length);
+            assertEquals(expected, scalarSum.getSum(), "Scalar length " + length);
+
+            if (vectorKernels != null) {
+                CompensatedSum vectorSum = new CompensatedSum();
+                vectorKernels.addAbsoluteErrors(vectorSum, predictions, 2, actualValues, 5, length);
+                assertEquals(expected, vectorSum.getSum(), "Vector length " + length);
+            }
+        }
+    }
+
+    @Test
+    public void testAbsoluteErrorReductionDoesNotDependOnHowRowsAreSplit() {
+        int length = 1001;
+        double[] predictions = randomColumn(length);
+        double[] actualValues = randomColumn(length);
+        for (ColumnKernels kernels : new ColumnKernels[] { scalarKernels, vectorKernels }) {
+            if (kernels == null) {
+                continue;
+            }
+            CompensatedSum whole = new CompensatedSum();
+            kernels.addAbsoluteErrors(whole, predictions, 0, actualValues, 0, length);
+            for (int blockSize : new int[] { 1, 3, 8, 512 }) {
+                CompensatedSum blocked = new CompensatedSum();
+                for (int start = 0; start < length; start += blockSize) {
+                    kernels.addAbsoluteErrors(blocked, predictions, start, actualValues, start,
+                            Math.min(blockSize, length - start));
+                }
+                assertEquals(whole.getSum(), blocked.getSum(),
+                        kernels.getClass().getSimpleName() + " in blocks of " + blockSize);
+            }
+        }
+    }
+
+    @Test
+    public void testKernelsMayWriteInPlace() {
+        double[] column = { 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0 };
+        ColumnKernels.getDefault().multiply(column, 2.0, column, column.length);
+
+        assertEquals(2.0, column[0]);
+        assertEquals(18.0, column[8]);
+    }
+
+    @Test
+    public void testVectorKernelsAreSelectedWhenModuleIsPresent() {
+        assumeTrue(ModuleLayer.boot().findModule(ColumnKernelsHolder.VECTOR_MODULE).isPresent());
+        assumeTrue(jdk.incubator.vector.DoubleVector.SPECIES_PREFERRED.length() > 1);
+
+        assertTrue(ColumnKernels.getDefault() instanceof VectorColumnKernels);
+    }
+}
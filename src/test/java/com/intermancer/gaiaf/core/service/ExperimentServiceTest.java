@@ -0,0 +1,185 @@
+package com.intermancer.gaiaf.core.service;
+
+import com.intermancer.gaiaf.core.experiment.Experiment;
+import com.intermancer.gaiaf.core.experiment.ExperimentConfiguration;
+import com.intermancer.gaiaf.core.experiment.ExperimentScheduler;
+import com.intermancer.gaiaf.core.experiment.ExperimentState;
+import com.intermancer.gaiaf.core.experiment.ExperimentStatus;
+import com.intermancer.gaiaf.core.experiment.ExperimentThreadType;
+import com.intermancer.gaiaf.core.experiment.repo.ExperimentRepository;
+import com.intermancer.gaiaf.core.experiment.repo.InMemoryExperimentStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the admission control of ExperimentService. Experiments run on a mocked
+ * ExperimentScheduler, so that the test decides when each one completes.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExperimentServiceTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private ExperimentRepository experimentRepository;
+
+    @Mock
+    private ObjectProvider<ExperimentService> serviceProvider;
+
+    @Mock
+    private ExperimentScheduler experimentScheduler;
+
+    private final InMemoryExperimentStatusRepository experimentStatusRepository = new InMemoryExperimentStatusRepository();
+    private final ExperimentConfiguration experimentConfiguration = new ExperimentConfiguration();
+    private ExperimentService experimentService;
+
+    @BeforeEach
+    void setUp() {
+        experimentService = new ExperimentService(applicationContext, experimentRepository,
+                experimentStatusRepository, experimentConfiguration, serviceProvider, experimentScheduler);
+        experimentConfiguration.setSchedulerThreads(1);
+        experimentConfiguration.setMaxConcurrentExperiments(2);
+    }
+
+    private List<Experiment> mockExperiments(int count) {
+        List<Experiment> experiments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Experiment experiment = mock(Experiment.class);
+            when(experiment.getId()).thenReturn("experiment-" + i);
+            experiments.add(experiment);
+        }
+        Experiment first = experiments.get(0);
+        Experiment[] rest = experiments.subList(1, count).toArray(new Experiment[0]);
+        when(applicationContext.getBean(Experiment.class)).thenReturn(first, rest);
+        return experiments;
+    }
+
+    private ExperimentStatus statusOf(String experimentId) {
+        return experimentStatusRepository.findByExperimentId(experimentId).orElseThrow();
+    }
+
+    @Test
+    void testStartExperiment_belowTheLimit_schedulesAtOnce() {
+        List<Experiment> experiments = mockExperiments(2);
+
+        assertEquals("experiment-0", experimentService.startExperiment());
+        assertEquals("experiment-1", experimentService.startExperiment());
+
+        verify(experimentScheduler).schedule(eq(experiments.get(0)), eq(1), eq(0), any(Runnable.class));
+        verify(experimentScheduler).schedule(eq(experiments.get(1)), eq(1), eq(0), any(Runnable.class));
+        assertTrue(experimentStatusRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void testStartExperiment_atTheLimit_queuesWithPositions() {
+        List<Experiment> experiments = mockExperiments(4);
+
+        for (int i = 0; i < 4; i++) {
+            experimentService.startExperiment();
+        }
+
+        verify(experimentScheduler, times(2)).schedule(any(), anyInt(), anyInt(), any(Runnable.class));
+        assertEquals(ExperimentState.QUEUED, statusOf("experiment-2").getStatus());
+        assertEquals(1, statusOf("experiment-2").getQueuePosition());
+        assertEquals(2, statusOf("experiment-3").getQueuePosition());
+        verify(experimentRepository).save(experiments.get(3));
+    }
+
+    @Test
+    void testCompletion_startsTheNextQueuedExperimentAndRenumbersTheQueue() {
+        List<Experiment> experiments = mockExperiments(4);
+        ArgumentCaptor<Runnable> completionCaptor = ArgumentCaptor.forClass(Runnable.class);
+        for (int i = 0; i < 4; i++) {
+            experimentService.startExperiment();
+        }
+        verify(experimentScheduler, times(2)).schedule(any(), anyInt(), anyInt(), completionCaptor.capture());
+
+        // The first experiment completes
+        completionCaptor.getAllValues().get(0).run();
+
+        verify(experimentScheduler).schedule(eq(experiments.get(2)), anyInt(), anyInt(), any(Runnable.class));
+        verify(experimentScheduler, never()).schedule(eq(experiments.get(3)), anyInt(), anyInt(), any(Runnable.class));
+        assertEquals(1, statusOf("experiment-3").getQueuePosition());
+    }
+
+    @Test
+    void testCompletion_withARaisedLimit_startsEveryQueuedExperimentThatFits() {
+        mockExperiments(4);
+        ArgumentCaptor<Runnable> completionCaptor = ArgumentCaptor.forClass(Runnable.class);
+        for (int i = 0; i < 4; i++) {
+            experimentService.startExperiment();
+        }
+        verify(experimentScheduler, times(2)).schedule(any(), anyInt(), anyInt(), completionCaptor.capture());
+
+        experimentConfiguration.setMaxConcurrentExperiments(0);
+        completionCaptor.getAllValues().get(0).run();
+
+        verify(experimentScheduler, times(4)).schedule(any(), anyInt(), anyInt(), any(Runnable.class));
+    }
+
+    @Test
+    void testRunExperimentAsync_releasesTheSlotWhenTheExperimentFails() {
+        experimentConfiguration.setSchedulerThreads(0);
+        experimentConfiguration.setMaxConcurrentExperiments(1);
+        List<Experiment> experiments = mockExperiments(2);
+        when(serviceProvider.getObject()).thenReturn(experimentService);
+        doThrow(new IllegalStateException("Seeder exception")).when(experiments.get(0)).runExperiment();
+
+        // Without the proxy, the first experiment runs and fails inside startExperiment()
+        assertThrows(IllegalStateException.class, () -> experimentService.startExperiment());
+        experimentService.startExperiment();
+
+        verify(experiments.get(1)).runExperiment();
+        assertTrue(experimentStatusRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void testPauseExperiment_whileQueued_throws() {
+        List<Experiment> experiments = mockExperiments(3);
+        for (int i = 0; i < 3; i++) {
+            experimentService.startExperiment();
+        }
+        when(experimentRepository.findById("experiment-2")).thenReturn(Optional.of(experiments.get(2)));
+
+        assertThrows(IllegalArgumentException.class, () -> experimentService.pauseExperiment("experiment-2"));
+        verify(experiments.get(2), never()).pause();
+    }
+
+    @Test
+    void testStartExperiment_withVirtualExperimentThreads_runsEachOnAVirtualThread() throws InterruptedException {
+        experimentConfiguration.setSchedulerThreads(0);
+        experimentConfiguration.setExperimentThreadType(ExperimentThreadType.VIRTUAL);
+        List<Experiment> experiments = mockExperiments(1);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicBoolean virtual = new AtomicBoolean();
+        doAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            ran.countDown();
+            return null;
+        }).when(experiments.get(0)).runExperiment();
+
+        experimentService.startExperiment();
+
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+        assertTrue(virtual.get());
+        verifyNoInteractions(serviceProvider, experimentScheduler);
+    }
+}